@@ -37,6 +37,8 @@ import fr.cril.rubens.utils.ASoftwareExecutor;
 /**
  * A software executor for argumentation solvers.
  * 
+ * In server mode, the solver receives on each line the arguments it would have received on its command line (except its path).
+ * 
  * @author Emmanuel Lonca - lonca@cril.fr
  *
  * @param <T> the type of argumentation instances under consideration;
@@ -73,4 +75,9 @@ public class AFSolverExecutor<T extends AArgumentationFrameworkGraph> extends AS
 		return cliArgs;
 	}
 
+	@Override
+	public boolean isServerModeSupported() {
+		return true;
+	}
+
 }
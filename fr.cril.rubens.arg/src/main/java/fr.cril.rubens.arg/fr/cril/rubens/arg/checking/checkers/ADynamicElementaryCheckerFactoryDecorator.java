@@ -77,6 +77,17 @@ public abstract class ADynamicElementaryCheckerFactoryDecorator implements Argum
 		return new DynamicSemTestGeneratorFactoryDecorator(this.decorated.newTestGenerator(), this.extensionSetComputer);
 	}
 	
+	/**
+	 * Returns the key of the decorated checker, marked as dynamic; the dynamic generators share their instances iff the decorated ones do.
+	 * 
+	 * @return the key of the generated instances, or <code>null</code> if the decorated checker does not share its instances
+	 */
+	@Override
+	public String getTestGeneratorKey() {
+		final String decoratedKey = this.decorated.getTestGeneratorKey();
+		return decoratedKey == null ? null : (decoratedKey+"/dynamic");
+	}
+	
 	@Override
 	public ASoftwareExecutor<DynamicArgumentationFramework> newExecutor(final Path execPath) {
 		return new AFSolverExecutor<>(execPath, this.problem);
@@ -39,6 +39,7 @@ import fr.cril.rubens.core.CheckResult;
 import fr.cril.rubens.options.MethodOption;
 import fr.cril.rubens.reflection.ReflectorParam;
 import fr.cril.rubens.specs.CheckerFactory;
+import fr.cril.rubens.specs.OutputChecker;
 import fr.cril.rubens.specs.TestGeneratorFactory;
 import fr.cril.rubens.utils.ASoftwareExecutor;
 
@@ -81,11 +82,41 @@ public abstract class AbstractElementaryCheckerFactory implements ArgumentationF
 		return this.generatorSupplier.get();
 	}
 
+	/**
+	 * Returns a key made of the class of the test generator and the fingerprint of its root instance.
+	 * 
+	 * The generators of this module only differ by their semantics, given by their class, and by their root (with or without arguments),
+	 * so the queries sharing a semantics and a root (e.g. EE and SE, or DC and DS) share their instances.
+	 * 
+	 * @return the key of the generated instances
+	 */
+	@Override
+	public String getTestGeneratorKey() {
+		final TestGeneratorFactory<ArgumentationFramework> generator = newTestGenerator();
+		return generator.getClass().getName()+"@"+generator.initInstance().fingerprint();
+	}
+
 	@Override
 	public CheckResult checkSoftwareOutput(final ArgumentationFramework instance, final String result) {
 		return this.resultChecker.apply(instance, result, this.outputFormatDecoder);
 	}
 	
+	/**
+	 * Returns an output checker detecting unknown arguments as soon as they are written, for the queries answered by extensions (EE, SE).
+	 * 
+	 * For the other queries, <code>null</code> is returned.
+	 * 
+	 * @param instance the instance
+	 * @return the output checker, or <code>null</code>
+	 */
+	@Override
+	public OutputChecker newOutputChecker(final ArgumentationFramework instance) {
+		if(!this.problem.startsWith("EE-") && !this.problem.startsWith("SE-")) {
+			return null;
+		}
+		return new ExtensionOutputChecker(instance, this.outputFormatDecoder.getNoExt(), output -> checkSoftwareOutput(instance, output));
+	}
+	
 	@Override
 	public ASoftwareExecutor<ArgumentationFramework> newExecutor(final Path execPath) {
 		return new AFSolverExecutor<>(execPath, problem);
@@ -0,0 +1,93 @@
+package fr.cril.rubens.arg.checking.checkers;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import fr.cril.rubens.arg.core.Argument;
+import fr.cril.rubens.arg.core.ArgumentationFramework;
+import fr.cril.rubens.core.CheckResult;
+import fr.cril.rubens.specs.OutputChecker;
+
+/**
+ * An output checker for the queries answered by extensions (EE, SE).
+ * 
+ * Each word of the output made of letters and digits must be the name of an argument of the framework (or the keyword used when there is no extension);
+ * an error is returned as soon as an unknown argument is read.
+ * The whole output is checked by the usual checking function once the solver has exited.
+ * 
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+class ExtensionOutputChecker implements OutputChecker {
+	
+	private final Set<String> argNames;
+	
+	private final String noExt;
+	
+	private final Function<String, CheckResult> outputChecker;
+	
+	private final StringBuilder output = new StringBuilder();
+	
+	/**
+	 * Builds a new output checker.
+	 * 
+	 * @param instance the framework
+	 * @param noExt the keyword used by the solver when there is no extension
+	 * @param outputChecker the function checking the whole output
+	 */
+	ExtensionOutputChecker(final ArgumentationFramework instance, final String noExt, final Function<String, CheckResult> outputChecker) {
+		this.argNames = instance.getArguments().stream().map(Argument::getName).collect(Collectors.toUnmodifiableSet());
+		this.noExt = noExt;
+		this.outputChecker = outputChecker;
+	}
+
+	@Override
+	public CheckResult consumeLine(final String line) {
+		this.output.append(line).append('\n');
+		int start = -1;
+		for(int i=0; i<=line.length(); ++i) {
+			if(i < line.length() && Character.isLetterOrDigit(line.charAt(i))) {
+				if(start == -1) {
+					start = i;
+				}
+			} else if(start != -1) {
+				final String word = line.substring(start, i);
+				if(!this.argNames.contains(word) && !this.noExt.equals(word)) {
+					return CheckResult.newError("unknown argument \""+word+"\" in solver output");
+				}
+				start = -1;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public CheckResult end() {
+		return this.outputChecker.apply(this.output.toString());
+	}
+
+}
@@ -110,6 +110,21 @@ public abstract class AArgumentationFrameworkGraph implements Instance {
 	public Collection<String> getFileExtensions() {
 		return Stream.of(APX_EXT, EXTS_EXT).collect(Collectors.toList());
 	}
+	
+	/**
+	 * Returns the number of arguments.
+	 * 
+	 * @return the number of arguments
+	 */
+	@Override
+	public int getSize() {
+		return this.arguments.size();
+	}
+	
+	@Override
+	public Collection<String> getInputFileExtensions() {
+		return Stream.of(APX_EXT).collect(Collectors.toList());
+	}
 
 	@Override
 	public void write(final String extension, final OutputStream os) throws IOException {
@@ -24,8 +24,8 @@ package fr.cril.rubens.arg.core;
  * #L%
  */
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A class used to handle arguments in argumentation frameworks.
@@ -38,7 +38,7 @@ import java.util.Map;
 public class Argument implements Comparable<Argument> {
 	
 	/** a map used to store all existing arguments */
-	private static final Map<String, Argument> ARGUMENTS = new HashMap<>();
+	private static final Map<String, Argument> ARGUMENTS = new ConcurrentHashMap<>();
 	
 	/** the (unique) name of the argument */
 	private final String name;
@@ -25,11 +25,12 @@ package fr.cril.rubens.arg.core;
  */
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -38,6 +39,9 @@ import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import fr.cril.rubens.utils.Fingerprint;
+import fr.cril.rubens.utils.FingerprintHasher;
+
 /**
  * An immutable set of arguments.
  * 
@@ -54,11 +58,14 @@ public class ArgumentSet implements Comparable<ArgumentSet> {
 	/** the id of this set of arguments */
 	private final int id;
 
+	/** the fingerprint of this set, computed on demand */
+	private volatile Fingerprint fingerprint;
+
 	/** the id that will be associated with the next {@link ArgumentSet} instance */
-	private static int nextId = 0;
+	private static final AtomicInteger NEXT_ID = new AtomicInteger();
 
 	/** the map of all {@link ArgumentSet} instances */
-	private static final Map<Set<Argument>, ArgumentSet> ARGSETS = new HashMap<>();
+	private static final Map<Set<Argument>, ArgumentSet> ARGSETS = new ConcurrentHashMap<>();
 
 	/**
 	 * Builds an {@link ArgumentSet} given the set of arguments and its unique id.
@@ -80,7 +87,7 @@ public class ArgumentSet implements Comparable<ArgumentSet> {
 	 * @return the corresponding instance
 	 */
 	public static ArgumentSet getInstance(final Set<Argument> args) {
-		return ARGSETS.computeIfAbsent(args, k -> new ArgumentSet(k, nextId++));
+		return ARGSETS.computeIfAbsent(args, k -> new ArgumentSet(k, NEXT_ID.getAndIncrement()));
 	}
 
 	/**
@@ -132,6 +139,18 @@ public class ArgumentSet implements Comparable<ArgumentSet> {
 		return this.args.size();
 	}
 
+	/**
+	 * Returns a fingerprint of this set, which does not depend on the order of the arguments.
+	 * 
+	 * @return a fingerprint of this set
+	 */
+	public Fingerprint fingerprint() {
+		if(this.fingerprint == null) {
+			this.fingerprint = new FingerprintHasher().putUnordered(this.args.stream().map(a -> new FingerprintHasher().putString(a.getName()).fingerprint())).fingerprint();
+		}
+		return this.fingerprint;
+	}
+
 	@Override
 	public int hashCode() {
 		return this.id;
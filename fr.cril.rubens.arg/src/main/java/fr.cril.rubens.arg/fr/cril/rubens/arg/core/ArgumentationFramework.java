@@ -34,6 +34,9 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import fr.cril.rubens.utils.Fingerprint;
+import fr.cril.rubens.utils.FingerprintHasher;
+
 /**
  * A class used to handle argumentation frameworks.
  * 
@@ -116,6 +119,12 @@ public class ArgumentationFramework extends AArgumentationFrameworkGraph {
 		return this.extensions;
 	}
 	
+	@Override
+	public Fingerprint fingerprint() {
+		return new FingerprintHasher().putFingerprint(this.arguments.fingerprint()).putFingerprint(this.attacks.fingerprint())
+				.putFingerprint(this.extensions.fingerprint()).fingerprint();
+	}
+	
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -24,8 +24,8 @@ package fr.cril.rubens.arg.core;
  * #L%
  */
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A class used to handle descriptions of argumentation framework translations.
@@ -38,7 +38,7 @@ import java.util.Map;
  */
 public class ArgumentationFrameworkTranslation {
 	
-	private static final Map<String, ArgumentationFrameworkTranslation> INSTANCES = new HashMap<>();
+	private static final Map<String, ArgumentationFrameworkTranslation> INSTANCES = new ConcurrentHashMap<>();
 	
 	private final String description;
 
@@ -76,7 +76,7 @@ public class ArgumentationFrameworkTranslation {
 	 */
 	public static class ArgumentFrameworkAttackTranslation extends ArgumentationFrameworkTranslation {
 		
-		private static final Map<String, ArgumentFrameworkAttackTranslation> INSTANCES = new HashMap<>();
+		private static final Map<String, ArgumentFrameworkAttackTranslation> INSTANCES = new ConcurrentHashMap<>();
 		
 		private final boolean isNewAttack;
 		
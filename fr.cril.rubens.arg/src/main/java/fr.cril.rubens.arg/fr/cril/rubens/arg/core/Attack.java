@@ -24,8 +24,8 @@ package fr.cril.rubens.arg.core;
  * #L%
  */
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An attack in an argumentation framework.
@@ -44,7 +44,7 @@ public class Attack implements Comparable<Attack> {
 	private final Argument attacked;
 	
 	/** the set of existing attacks, as a mapping attacker -&gt; attacked -&gt; attack */
-	private static final Map<Argument, Map<Argument, Attack>> ATTACKS = new HashMap<>();
+	private static final Map<Argument, Map<Argument, Attack>> ATTACKS = new ConcurrentHashMap<>();
 	
 	/**
 	 * Builds a new attack given the two involved arguments.
@@ -72,7 +72,7 @@ public class Attack implements Comparable<Attack> {
 		if(attacker == null || attacked == null) {
 			throw new IllegalArgumentException();
 		}
-		return ATTACKS.computeIfAbsent(attacker, k -> new HashMap<>()).computeIfAbsent(attacked, k -> new Attack(attacker, k));
+		return ATTACKS.computeIfAbsent(attacker, k -> new ConcurrentHashMap<>()).computeIfAbsent(attacked, k -> new Attack(attacker, k));
 	}
 	
 	/**
@@ -25,11 +25,12 @@ package fr.cril.rubens.arg.core;
  */
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -38,6 +39,9 @@ import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import fr.cril.rubens.utils.Fingerprint;
+import fr.cril.rubens.utils.FingerprintHasher;
+
 /**
  * An immutable set of attacks.
  * 
@@ -53,12 +57,15 @@ public class AttackSet {
 	
 	/** the id of this set of attacks */
 	private final int id;
+
+	/** the fingerprint of this set, computed on demand */
+	private volatile Fingerprint fingerprint;
 	
 	/** the id that will be associated with the next {@link AttackSet} instance */
-	private static int nextId = 0;
+	private static final AtomicInteger NEXT_ID = new AtomicInteger();
 	
 	/** the map of all {@link AttackSet} instances */
-	private static final Map<Set<Attack>, AttackSet> ATTSETS = new HashMap<>();
+	private static final Map<Set<Attack>, AttackSet> ATTSETS = new ConcurrentHashMap<>();
 	
 	/**
 	 * Builds an {@link AttackSet} given the set of attacks and its unique id.
@@ -80,7 +87,7 @@ public class AttackSet {
 	 * @return the corresponding instance
 	 */
 	public static AttackSet getInstance(final Set<Attack> args) {
-		return ATTSETS.computeIfAbsent(args, k -> new AttackSet(k, nextId++));
+		return ATTSETS.computeIfAbsent(args, k -> new AttackSet(k, NEXT_ID.getAndIncrement()));
 	}
 	
 	/**
@@ -114,6 +121,18 @@ public class AttackSet {
 		return Stream.concat(ext.stream(), attacked.stream()).collect(ArgumentSet.collector());
 	}
 	
+	/**
+	 * Returns a fingerprint of this set, which does not depend on the order of the attacks.
+	 * 
+	 * @return a fingerprint of this set
+	 */
+	public Fingerprint fingerprint() {
+		if(this.fingerprint == null) {
+			this.fingerprint = new FingerprintHasher().putUnordered(this.atts.stream().map(a -> new FingerprintHasher().putString(a.getAttacker().getName()).putString(a.getAttacked().getName()).fingerprint())).fingerprint();
+		}
+		return this.fingerprint;
+	}
+
 	@Override
 	public int hashCode() {
 		return this.id;
@@ -151,6 +151,11 @@ public class DynamicArgumentationFramework extends AArgumentationFrameworkGraph
 				IntStream.range(0, translations.size()).mapToObj(i -> AArgumentationFrameworkGraph.EXTS_EXT+"."+(i+1)))
 				.collect(Collectors.toUnmodifiableList());
 	}
+	
+	@Override
+	public Collection<String> getInputFileExtensions() {
+		return Stream.of(AArgumentationFrameworkGraph.APX_EXT, APXM_EXT).collect(Collectors.toUnmodifiableList());
+	}
 
 	@Override
 	public void write(final String extension, final OutputStream os) throws IOException {
@@ -25,12 +25,13 @@ package fr.cril.rubens.arg.core;
  */
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -39,6 +40,9 @@ import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import fr.cril.rubens.utils.Fingerprint;
+import fr.cril.rubens.utils.FingerprintHasher;
+
 /**
  * An immutable set of extensions.
  * 
@@ -54,12 +58,15 @@ public class ExtensionSet {
 	
 	/** the id of this set of extensions */
 	private final int id;
+
+	/** the fingerprint of this set, computed on demand */
+	private volatile Fingerprint fingerprint;
 	
 	/** the id that will be associated with the next {@link ExtensionSet} instance */
-	private static int nextId = 0;
+	private static final AtomicInteger NEXT_ID = new AtomicInteger();
 	
 	/** the map of all {@link ExtensionSet} instances */
-	private static final Map<Set<ArgumentSet>, ExtensionSet> EXTSETS = new HashMap<>();
+	private static final Map<Set<ArgumentSet>, ExtensionSet> EXTSETS = new ConcurrentHashMap<>();
 	
 	/**
 	 * Builds an {@link ExtensionSet} given the set of extensions and its unique id.
@@ -81,7 +88,7 @@ public class ExtensionSet {
 	 * @return the corresponding instance
 	 */
 	public static synchronized ExtensionSet getInstance(final Set<ArgumentSet> exts) {
-		return EXTSETS.computeIfAbsent(exts, k -> new ExtensionSet(k, nextId++));
+		return EXTSETS.computeIfAbsent(exts, k -> new ExtensionSet(k, NEXT_ID.getAndIncrement()));
 	}
 	
 	/**
@@ -102,6 +109,18 @@ public class ExtensionSet {
 		return this.exts.isEmpty();
 	}
 	
+	/**
+	 * Returns a fingerprint of this set, which does not depend on the order of the extensions.
+	 * 
+	 * @return a fingerprint of this set
+	 */
+	public Fingerprint fingerprint() {
+		if(this.fingerprint == null) {
+			this.fingerprint = new FingerprintHasher().putUnordered(this.exts.stream().map(ArgumentSet::fingerprint)).fingerprint();
+		}
+		return this.fingerprint;
+	}
+
 	@Override
 	public int hashCode() {
 		return this.id;
@@ -70,7 +70,7 @@ public class ASemTestGeneratorFactory implements TestGeneratorFactory<Argumentat
 	}
 
 	@Override
-	public List<InstanceTranslator<ArgumentationFramework>> translators() {
+	public synchronized List<InstanceTranslator<ArgumentationFramework>> translators() {
 		final List<InstanceTranslator<ArgumentationFramework>> result = Stream.of(this.newArgTranslator, new NewAttackTranslator(this.extensionSetComputer)).collect(Collectors.toList());
 		this.newArgTranslator = new NewArgTranslator(this.extensionSetComputer);
 		return result;
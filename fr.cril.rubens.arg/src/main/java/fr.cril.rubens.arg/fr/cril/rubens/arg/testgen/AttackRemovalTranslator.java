@@ -38,6 +38,7 @@ import fr.cril.rubens.arg.core.Attack;
 import fr.cril.rubens.arg.core.AttackSet;
 import fr.cril.rubens.arg.core.ExtensionSet;
 import fr.cril.rubens.specs.InstanceTranslator;
+import fr.cril.rubens.utils.RandomHelper;
 
 /**
  * An instance translator that removes an attack from an existing framework.
@@ -48,8 +49,6 @@ import fr.cril.rubens.specs.InstanceTranslator;
  */
 public class AttackRemovalTranslator implements InstanceTranslator<ArgumentationFramework> {
 	
-	private static final Random RND = new Random();
-	
 	private final EExtensionSetComputer extensionSetComputer;
 	
 	/**
@@ -85,7 +84,7 @@ public class AttackRemovalTranslator implements InstanceTranslator<Argumentation
 		final ExtensionSet newExtensions = this.extensionSetComputer.compute(arguments, newAttacks);
 		final ArgumentationFramework newAf = new ArgumentationFramework(arguments, newAttacks, newExtensions, af, ArgumentFrameworkAttackTranslation.attackRemoval(attack));
 		final List<Argument> argsList = af.getArguments().stream().collect(Collectors.toList());
-		Collections.shuffle(argsList);
+		Collections.shuffle(argsList, RandomHelper.getInstance().newRandom(newAf));
 		newAf.setArgUnderDecision(argsList.get(0));
 		return newAf;
 	}
@@ -94,13 +93,14 @@ public class AttackRemovalTranslator implements InstanceTranslator<Argumentation
 	 * Computes an attack that can be removed from the provided AF.
 	 * 
 	 * You must check that the translator can be applied on the instance before calling this method.
+	 * The choice only depends on the instance and the seed given by {@link RandomHelper}.
 	 * 
 	 * @param instance the AF under consideration
 	 * @return an attack that can be removed from the AF
 	 */
 	public Attack selectAttackToRemove(final ArgumentationFramework instance) {
 		final AttackSet oldAttacks = instance.getAttacks();
-		final int index = RND.nextInt(oldAttacks.size());
+		final int index = RandomHelper.getInstance().newRandom(instance).nextInt(oldAttacks.size());
 		return oldAttacks.stream().skip(index).findFirst().orElseThrow();
 	}
 
@@ -35,6 +35,7 @@ import fr.cril.rubens.arg.core.DynamicArgumentationFramework;
 import fr.cril.rubens.reflection.ReflectorParam;
 import fr.cril.rubens.specs.InstanceTranslator;
 import fr.cril.rubens.specs.TestGeneratorFactory;
+import fr.cril.rubens.utils.RandomHelper;
 
 @ReflectorParam(enabled=false)
 /**
@@ -50,8 +51,6 @@ public class DynamicSemTestGeneratorFactoryDecorator implements TestGeneratorFac
 	
 	private final AttackRemovalTranslator attackRemovalTranslator;
 	
-	private static final Random RND = new Random();
-
 	/**
 	 * Builds a decorator given the decorated element and an extension set computer for the semantics under consideration.
 	 * 
@@ -101,13 +100,14 @@ public class DynamicSemTestGeneratorFactoryDecorator implements TestGeneratorFac
 		private void addDynamics(final DynamicArgumentationFramework af) {
 			final int nDyn = 1 + (int) Math.floor(Math.log(1.+af.getInitInstance().getArguments().size()));
 			ArgumentationFramework lastAf = af.getInitInstance();
+			final Random random = RandomHelper.getInstance().newRandom(lastAf);
 			for(int i=0; i<nDyn; ++i) {
-				lastAf = addDynamics(af, lastAf);
+				lastAf = addDynamics(af, lastAf, random.nextBoolean());
 			}
 		}
 
-		private ArgumentationFramework addDynamics(final DynamicArgumentationFramework dynAf, ArgumentationFramework lastAf) {
-			if(RND.nextBoolean()) {
+		private ArgumentationFramework addDynamics(final DynamicArgumentationFramework dynAf, ArgumentationFramework lastAf, final boolean preferNewAttack) {
+			if(preferNewAttack) {
 				if(newAttackTranslator.canBeAppliedTo(lastAf)) {
 					lastAf = addAttackDyn(dynAf, lastAf);
 				} else {
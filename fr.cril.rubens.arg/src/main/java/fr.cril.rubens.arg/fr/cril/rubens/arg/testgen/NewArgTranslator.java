@@ -26,6 +26,7 @@ package fr.cril.rubens.arg.testgen;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,6 +36,7 @@ import fr.cril.rubens.arg.core.ArgumentationFramework;
 import fr.cril.rubens.arg.core.ArgumentationFrameworkTranslation;
 import fr.cril.rubens.arg.core.ExtensionSet;
 import fr.cril.rubens.specs.InstanceTranslator;
+import fr.cril.rubens.utils.RandomHelper;
 
 /**
  * An instance translator that adds new arguments to an existing frameworks.
@@ -43,8 +45,8 @@ import fr.cril.rubens.specs.InstanceTranslator;
  */
 public class NewArgTranslator implements InstanceTranslator<ArgumentationFramework> {
 	
-	/** the integer index used to build argument names */
-	private int nextArgIndex = 0;
+	/** the integer index used to build argument names; shared between the threads expanding a generation level */
+	private final AtomicInteger nextArgIndex = new AtomicInteger();
 	
 	/** the algorithm used to compute extensions */
 	private EExtensionSetComputer extensionSetComputer;
@@ -67,7 +69,7 @@ public class NewArgTranslator implements InstanceTranslator<ArgumentationFramewo
 	public ArgumentationFramework translate(final ArgumentationFramework instance) {
 		Argument newArg0 = null;
 		while(newArg0 == null) {
-			final Argument a = Argument.getInstance("a"+(this.nextArgIndex++));
+			final Argument a = Argument.getInstance("a"+this.nextArgIndex.getAndIncrement());
 			if(!instance.getArguments().contains(a)) {
 				newArg0 = a;
 			}
@@ -77,7 +79,7 @@ public class NewArgTranslator implements InstanceTranslator<ArgumentationFramewo
 		final ExtensionSet newExtensions = this.extensionSetComputer.compute(newArguments, instance.getAttacks());
 		final ArgumentationFramework af = new ArgumentationFramework(newArguments, instance.getAttacks(), newExtensions, instance, ArgumentationFrameworkTranslation.newArgument(newArg));
 		final List<Argument> argList = newArguments.stream().collect(Collectors.toList());
-		Collections.shuffle(argList);
+		Collections.shuffle(argList, RandomHelper.getInstance().newRandom(af));
 		af.setArgUnderDecision(argList.get(0));
 		return af;
 	}
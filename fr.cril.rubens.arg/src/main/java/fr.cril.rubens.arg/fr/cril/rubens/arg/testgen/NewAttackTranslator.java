@@ -26,6 +26,7 @@ package fr.cril.rubens.arg.testgen;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -38,6 +39,7 @@ import fr.cril.rubens.arg.core.Attack;
 import fr.cril.rubens.arg.core.AttackSet;
 import fr.cril.rubens.arg.core.ExtensionSet;
 import fr.cril.rubens.specs.InstanceTranslator;
+import fr.cril.rubens.utils.RandomHelper;
 
 /**
  * An instance translator that adds new attacks to an existing framework.
@@ -75,19 +77,21 @@ public class NewAttackTranslator implements InstanceTranslator<ArgumentationFram
 	 * Computes an attack that can be added to the provided AF.
 	 * 
 	 * You must check that the translator can be applied on the instance before calling this method.
+	 * The choice only depends on the instance and the seed given by {@link RandomHelper}.
 	 * 
 	 * @param instance the AF under consideration
 	 * @return an attack that can be added to the AF
 	 */
 	public Attack selectNewAttack(final ArgumentationFramework instance) {
+		final Random random = RandomHelper.getInstance().newRandom(instance);
 		final List<Argument> args = instance.getArguments().stream().collect(Collectors.toList());
-		Collections.shuffle(args);
+		Collections.shuffle(args, random);
 		for(int i=0; i<args.size(); ++i) {
 			final Argument attacker = args.get(i);
 			final Set<Argument> alreadyAttacked = instance.getAttacks().stream().filter(att -> att.getAttacker().equals(attacker)).map(Attack::getAttacked).collect(Collectors.toSet());
 			if(alreadyAttacked.size() < args.size() - (this.autoAttacksAllowed ? 0 : 1)) {
 				final List<Argument> candidateTargets = args.stream().filter(arg -> !alreadyAttacked.contains(arg)).collect(Collectors.toList());
-				Collections.shuffle(candidateTargets);
+				Collections.shuffle(candidateTargets, random);
 				return Attack.getInstance(attacker, candidateTargets.get(0));
 			}
 		}
@@ -107,7 +111,7 @@ public class NewAttackTranslator implements InstanceTranslator<ArgumentationFram
 		final ExtensionSet newExtensions = this.extensionSetComputer.compute(args, newAttacks);
 		final ArgumentationFramework af = new ArgumentationFramework(args, newAttacks, newExtensions, instance, ArgumentationFrameworkTranslation.ArgumentFrameworkAttackTranslation.newAttack(newAttack));
 		final List<Argument> argsList = instance.getArguments().stream().collect(Collectors.toList());
-		Collections.shuffle(argsList);
+		Collections.shuffle(argsList, RandomHelper.getInstance().newRandom(af));
 		af.setArgUnderDecision(argsList.get(0));
 		return af;
 	}
@@ -25,6 +25,8 @@ package fr.cril.rubens.arg.checking.checkers;
  */
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Paths;
@@ -48,6 +50,7 @@ import fr.cril.rubens.arg.testgen.SemistableSemTestGeneratorFactory;
 import fr.cril.rubens.arg.utils.Forget;
 import fr.cril.rubens.core.CheckResult;
 import fr.cril.rubens.reflection.ReflectorParam;
+import fr.cril.rubens.specs.OutputChecker;
 import fr.cril.rubens.specs.TestGeneratorFactory;
 
 class AbstractElementaryCheckerFactoryTest {
@@ -79,6 +82,26 @@ class AbstractElementaryCheckerFactoryTest {
 		assertEquals(CheckResult.SUCCESS, result);
 	}
 	
+	@Test
+	void testOutputChecker() {
+		final Argument arg = Argument.getInstance("a");
+		final ArgumentSet argSet = ArgumentSet.getInstance(Collections.singleton(arg));
+		final ArgumentationFramework af = new ArgumentationFramework(argSet, AttackSet.getInstance(Collections.emptySet()), ExtensionSet.getInstance(Collections.singleton(argSet)));
+		final OutputChecker checker = this.factory.newOutputChecker(af);
+		assertNull(checker.consumeLine("[[a]]"));
+		assertEquals(CheckResult.SUCCESS, checker.end());
+	}
+	
+	@Test
+	void testOutputCheckerUnknownArgument() {
+		final Argument arg = Argument.getInstance("a");
+		final ArgumentSet argSet = ArgumentSet.getInstance(Collections.singleton(arg));
+		final ArgumentationFramework af = new ArgumentationFramework(argSet, AttackSet.getInstance(Collections.emptySet()), ExtensionSet.getInstance(Collections.singleton(argSet)));
+		final OutputChecker checker = this.factory.newOutputChecker(af);
+		assertNull(checker.consumeLine("["));
+		assertFalse(checker.consumeLine("[a,b]").isSuccessful());
+	}
+	
 	@Test
 	void testNewExecutor() {
 		assertTrue(this.factory.newExecutor(Paths.get("/foo/bar")) instanceof AFSolverExecutor);
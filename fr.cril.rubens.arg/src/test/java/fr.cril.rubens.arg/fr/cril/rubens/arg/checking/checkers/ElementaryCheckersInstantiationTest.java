@@ -24,6 +24,9 @@ package fr.cril.rubens.arg.checking.checkers;
  * #L%
  */
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
@@ -37,6 +40,18 @@ class ElementaryCheckersInstantiationTest {
 		Stream.of("DC", "DS", "EE", "CE", "SE").forEach(this::test);
 	}
 	
+	@Test
+	void testTestGeneratorKeys() {
+		assertEquals(testGeneratorKey("EE-PR"), testGeneratorKey("SE-PR"));
+		assertEquals(testGeneratorKey("DC-PR"), testGeneratorKey("DS-PR"));
+		assertNotEquals(testGeneratorKey("EE-PR"), testGeneratorKey("DC-PR"));
+		assertNotEquals(testGeneratorKey("EE-PR"), testGeneratorKey("EE-CO"));
+	}
+	
+	private String testGeneratorKey(final String name) {
+		return CheckerFactoryReflector.getInstance().getClassInstance(name).getTestGeneratorKey();
+	}
+	
 	private void test(final String query) {
 		Stream.of("CO", "GR", "PR", "ST", "SST", "STG", "ID").forEach(s -> test(query, s));
 	}
@@ -78,6 +78,9 @@ class ArgumentationFrameworkTest {
 		assertEquals(2, fileExtensions.size());
 		assertTrue(fileExtensions.contains(".apx"));
 		assertTrue(fileExtensions.contains(".exts"));
+		final Collection<String> inputFileExtensions = new ArgumentationFramework().getInputFileExtensions();
+		assertEquals(1, inputFileExtensions.size());
+		assertTrue(inputFileExtensions.contains(".apx"));
 	}
 	
 	@Test
@@ -177,6 +180,27 @@ class ArgumentationFrameworkTest {
 		assertEquals(new ArgumentationFramework(), af);
 	}
 	
+	@Test
+	void testFingerprint() {
+		final ArgumentationFramework af = new ArgumentationFramework(
+				ArgumentSet.getInstance(Collections.emptySet()),
+				AttackSet.getInstance(Collections.emptySet()),
+				ExtensionSet.getInstance(Collections.singleton(ArgumentSet.getInstance(Collections.emptySet()))));
+		assertEquals(new ArgumentationFramework().fingerprint(), af.fingerprint());
+	}
+	
+	@Test
+	void testNotEqualsFingerprint() {
+		final Argument a1 = Argument.getInstance("a1");
+		final Argument a2 = Argument.getInstance("a2");
+		final ArgumentSet args = ArgumentSet.getInstance(Stream.of(a1, a2).collect(Collectors.toSet()));
+		final ArgumentationFramework af1 = new ArgumentationFramework(args,
+				AttackSet.getInstance(Collections.singleton(Attack.getInstance(a1, a2))), ExtensionSet.getInstance(Collections.emptySet()));
+		final ArgumentationFramework af2 = new ArgumentationFramework(args,
+				AttackSet.getInstance(Collections.singleton(Attack.getInstance(a2, a1))), ExtensionSet.getInstance(Collections.emptySet()));
+		assertNotEquals(af1.fingerprint(), af2.fingerprint());
+	}
+	
 	@Test
 	void testEquals2() {
 		final ArgumentationFramework af = new ArgumentationFramework();
@@ -79,6 +79,7 @@ class DynamicArgumentationFrameworkTest {
 		assertTrue(translations.get(0).getTranslation().isNewAttack());
 		assertFalse(translations.get(1).getTranslation().isNewAttack());
 		assertEquals(Stream.of(".apx", ".apxm", ".exts", ".exts.1", ".exts.2").collect(Collectors.toList()), this.dynAf.getFileExtensions());
+		assertEquals(Stream.of(".apx", ".apxm").collect(Collectors.toList()), this.dynAf.getInputFileExtensions());
 	}
 	
 	@Test
@@ -26,9 +26,12 @@ package fr.cril.rubens.arg.testgen;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import fr.cril.rubens.arg.core.ArgumentationFramework;
+import fr.cril.rubens.core.TestGenerator;
 
 class ASemTestGeneratorFactoryTest {
 	
@@ -44,6 +47,16 @@ class ASemTestGeneratorFactoryTest {
 		assertEquals(1, tgf.initInstance().getArguments().size());
 	}
 	
+	@Test
+	void testParallelGeneration() {
+		final TestGenerator<ArgumentationFramework> generator = new TestGenerator<>(new LocalTGF(true));
+		generator.setParallelism(4);
+		final List<ArgumentationFramework> instances = generator.computeToDepth(5);
+		for(final ArgumentationFramework af : instances) {
+			assertEquals(EExtensionSetComputer.COMPLETE_SEM.compute(af.getArguments(), af.getAttacks()), af.getExtensions());
+		}
+	}
+	
 	private class LocalTGF extends ASemTestGeneratorFactory {
 		
 		private LocalTGF(final boolean emptyAllowed) {
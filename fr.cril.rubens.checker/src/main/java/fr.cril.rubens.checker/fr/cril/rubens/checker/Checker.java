@@ -27,13 +27,38 @@ package fr.cril.rubens.checker;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -45,9 +70,14 @@ import fr.cril.rubens.options.MethodOption;
 import fr.cril.rubens.specs.CheckerFactory;
 import fr.cril.rubens.specs.Instance;
 import fr.cril.rubens.utils.ASoftwareExecutor;
+import fr.cril.rubens.utils.AdaptiveTimeout;
 import fr.cril.rubens.utils.FileUtils;
+import fr.cril.rubens.utils.Fingerprint;
+import fr.cril.rubens.utils.FingerprintHasher;
 import fr.cril.rubens.utils.GNUGPL3;
 import fr.cril.rubens.utils.LoggerHelper;
+import fr.cril.rubens.utils.RandomHelper;
+import fr.cril.rubens.utils.ResultCache;
 import fr.cril.rubens.utils.SoftwareExecutorResult;
 
 /**
@@ -55,30 +85,68 @@ import fr.cril.rubens.utils.SoftwareExecutorResult;
  * 
  * This class is responsible of the generation of the test instances, their execution by the software under test, and the checking of the result.
  * 
+ * When several software are under test, each instance is generated once and checked against each of them.
+ * The errors, the resources and the output files are then attributed to targets named after the factory and the software,
+ * in the form <code>factoryName@software</code>, where <code>software</code> is the file name of the software
+ * (followed by its rank in the command line if several software have the same file name).
+ *
+ * The factories sharing their test generator (see {@link CheckerFactory#getTestGeneratorKey()}) are checked together:
+ * their instances are generated once, and each of them is checked for all these factories.
+ * The instances of several groups are generated at the same time (see {@link CheckerOptionsReader#getConcurrentGenerations()}),
+ * and their checks share the same threads.
+ *
+ * When a maximal number of errors is set (see {@link CheckerOptionsReader#getMaxErrors()}) and reached, the checking process is stopped:
+ * the generation is cancelled, the software under test which are running are killed, and the pending checks are dropped.
+ * 
  * @author Emmanuel Lonca - lonca@cril.fr
  */
 public class Checker {
 	
 	private static final Logger LOGGER = LoggerHelper.getInstance().switchLogger("RUBENS-CHK");
 	
-	private int statusCode;
+	/** the lowest timeout the adaptive timeout may set, in nanoseconds */
+	private static final long MIN_ADAPTIVE_TIMEOUT = TimeUnit.SECONDS.toNanos(1);
 	
-	private int checkCount = 0;
+	private int statusCode;
 	
-	private final Object checkCountLock = new Object();
+	private final LongAdder checkCount = new LongAdder();
 	
-	private int errorCount = 0;
+	private final AtomicInteger errorCount = new AtomicInteger();
 	
-	private final Object errorCountLock = new Object();
+	private final LongAdder ignCount = new LongAdder();
 	
-	private int ignCount = 0;
+	private final LongAdder generatedCount = new LongAdder();
 	
-	private final Object ignCountLock = new Object();
+	private final ReadWriteLock checkpointLock = new ReentrantReadWriteLock();
 	
 	private final CheckerOptionsReader checkerOptions;
 
 	private boolean cleanedOldFiles = false;
 	
+	private final Set<String> completedFactories = ConcurrentHashMap.newKeySet();
+	
+	private final Map<String, Set<Fingerprint>> checkedInstances = new ConcurrentHashMap<>();
+	
+	private Checkpoint resumedCheckpoint;
+	
+	private final Map<String, ResourceStatistics> resourceStatistics = new LinkedHashMap<>();
+	
+	private ResultCache resultCache;
+	
+	private final Map<String, Fingerprint> cacheKeys = new HashMap<>();
+	
+	private final AtomicInteger cacheHits = new AtomicInteger();
+	
+	private final Map<String, LongAdder> execErrorCounts = new LinkedHashMap<>();
+	
+	private final List<ASoftwareExecutor<Instance>> executors = new CopyOnWriteArrayList<>();
+	
+	private final Set<CheckingSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+	
+	private final Map<String, FactoryCounts> factoryCounts = new LinkedHashMap<>();
+	
+	private final AtomicBoolean stopped = new AtomicBoolean();
+	
 	/**
 	 * Application entry point.
 	 * 
@@ -117,15 +185,62 @@ public class Checker {
 			}
 			return;
 		}
+		if(this.checkerOptions.isResume() && !resume()) {
+			return;
+		}
+		if(this.checkerOptions.getSeed() != null) {
+			RandomHelper.getInstance().setSeed(this.checkerOptions.getSeed());
+		}
+		LOGGER.info("using random seed {}", RandomHelper.getInstance().getSeed());
+		if(this.checkerOptions.getCacheDirectory() != null && !openResultCache()) {
+			return;
+		}
 		final Map<String, CheckerFactory<Instance>> factories = this.checkerOptions.getFactories();
-		final ExecutorService threadPool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
-		for(final Entry<String, CheckerFactory<Instance>> factoryEntry : factories.entrySet()) {
-			final CheckerFactory<Instance> factory = factoryEntry.getValue();
-			applyCheckerOptions(this.checkerOptions.getCheckerOptions(), factory);
-			final TestGenerator<Instance> generator = new TestGenerator<>(factory.newTestGenerator());
-			final String factoryName = factoryEntry.getKey();
-			LOGGER.info("checking {}", factoryName);
-			generator.computeToDepth(this.checkerOptions.getMaxDepth(), i -> this.checkInstance(threadPool, factory, factoryName, i));
+		final List<String> execLocations = this.checkerOptions.getExecLocations();
+		final int nWorkers = Runtime.getRuntime().availableProcessors();
+		final int maxPending = this.checkerOptions.getMaxPending();
+		final List<List<String>> groups = groupFactories(factories);
+		final int concurrentGenerations = Math.max(1, Math.min(this.checkerOptions.getConcurrentGenerations(), groups.size()));
+		final int maxGroupSize = groups.stream().mapToInt(List::size).max().orElse(1);
+		final ThreadPoolExecutor threadPool = newThreadPool(nWorkers, maxPending * maxGroupSize * execLocations.size() * concurrentGenerations);
+		final ScheduledExecutorService checkpointer = startCheckpointer();
+		final ProgressReporter progressReporter = newProgressReporter(threadPool, groups.size(), concurrentGenerations);
+		final ScheduledExecutorService progressReporterThread = startProgressReporter(progressReporter);
+		final List<String> execLabels = execLabels(execLocations);
+		execLocations.forEach(l -> this.execErrorCounts.put(l, new LongAdder()));
+		// all the targets are registered before any group starts, since the checking threads read the maps filled here
+		final List<CheckingSubscriber> groupSubscribers = new ArrayList<>();
+		for(final List<String> group : groups) {
+			final List<Target> targets = new ArrayList<>();
+			for(final String factoryName : group) {
+				final CheckerFactory<Instance> factory = factories.get(factoryName);
+				this.factoryCounts.put(factoryName, new FactoryCounts());
+				for(int i=0; i<execLocations.size(); ++i) {
+					final String execLocation = execLocations.get(i);
+					final String targetName = execLocations.size() == 1 ? factoryName : (factoryName+"@"+execLabels.get(i));
+					final ASoftwareExecutor<Instance> executor = newExecutor(factory, factoryName, execLocation);
+					this.executors.add(executor);
+					this.resourceStatistics.put(targetName, new ResourceStatistics());
+					if(this.resultCache != null) {
+						this.cacheKeys.put(targetName, cacheKey(factoryName, execLocation));
+					}
+					targets.add(new Target(factory, factoryName, executor, execLocation, targetName));
+				}
+			}
+			groupSubscribers.add(new CheckingSubscriber(threadPool, targets, group, maxPending));
+		}
+		final ExecutorService generationPool = newGenerationPool(concurrentGenerations);
+		for(int i=0; i<groups.size(); ++i) {
+			final CheckerFactory<Instance> groupFactory = factories.get(groups.get(i).get(0));
+			final CheckingSubscriber subscriber = groupSubscribers.get(i);
+			generationPool.execute(() -> generate(groupFactory, subscriber, progressReporter));
+		}
+		generationPool.shutdown();
+		try {
+			generationPool.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			LOGGER.error("got an error while waiting for generation threads", e);
 		}
 		threadPool.shutdown();
 		try {
@@ -134,54 +249,701 @@ public class Checker {
 			Thread.currentThread().interrupt();
 			LOGGER.error("got an error while waiting for checking threads", e);
 		}
+		this.executors.forEach(ASoftwareExecutor::close);
+		if(progressReporterThread != null) {
+			progressReporterThread.shutdownNow();
+		}
+		if(checkpointer != null) {
+			checkpointer.shutdownNow();
+			writeCheckpoint();
+		}
 		final Supplier<String> strTimeSupplier = () -> String.format("%.3f", (System.currentTimeMillis() - startTime)/1000f);
-		LOGGER.info("checked {} instances in {}s", this.checkCount, strTimeSupplier.get());
-		LOGGER.info("found {} errors.", this.errorCount);
-		LOGGER.info("ignored {} instances.", this.ignCount);
+		if(this.stopped.get()) {
+			LOGGER.warn("the checking process was stopped after reaching the maximal number of errors");
+		}
+		LOGGER.info("checked {} instances in {}s", this.checkCount.sum(), strTimeSupplier.get());
+		LOGGER.info("found {} errors.", this.errorCount.get());
+		if(execLocations.size() > 1) {
+			this.execErrorCounts.forEach((exec, count) -> LOGGER.info("found {} errors for {}.", count.sum(), exec));
+		}
+		LOGGER.info("ignored {} instances.", this.ignCount.sum());
+		if(this.resultCache != null) {
+			LOGGER.info("took {} results from the cache.", this.cacheHits.get());
+			this.resultCache.evict();
+		}
+		if(this.factoryCounts.size() > 1) {
+			this.factoryCounts.forEach((name, counts) -> LOGGER.info("{}: {} checks, {} errors, {} ignored instances", name, counts.checks.sum(),
+					counts.errors.sum(), counts.ignored.sum()));
+		}
+		this.resourceStatistics.forEach((name, stats) -> LOGGER.info("{} resources: {}", name, stats));
 	}
 	
 	/**
-	 * Given a checking factory, executes the software under test on the provided instance and checks the result.
-	 * This method uses a thread pool to allow parallelization of instance checking.
+	 * Generates the instances of a group of factories and gives them to its subscriber, until they have all been generated.
 	 * 
-	 * @param threadPool the thread pool
-	 * @param factory the factory
-	 * @param factoryName the name of the factory under consideration
-	 * @param instance the instance
+	 * This method is run by the threads of the generation pool (see {@link Checker#newGenerationPool(int)}),
+	 * which are the only ones generating instances.
+	 * It returns immediately if the checking process is stopped.
+	 * 
+	 * @param factory the factory providing the test generator of the group
+	 * @param subscriber the subscriber of the group
+	 * @param progressReporter the progress reporter
 	 */
-	private void checkInstance(final ExecutorService threadPool, final CheckerFactory<Instance> factory, final String factoryName, final Instance instance) {
-		if(factory.ignoreInstance(instance)) {
-			synchronized (this.ignCountLock) {
-				this.ignCount++;
+	private void generate(final CheckerFactory<Instance> factory, final CheckingSubscriber subscriber, final ProgressReporter progressReporter) {
+		this.subscribers.add(subscriber);
+		try {
+			if(this.stopped.get()) {
+				return;
+			}
+			final TestGenerator<Instance> generator = new TestGenerator<>(factory.newTestGenerator());
+			generator.setTraversalStrategy(this.checkerOptions.getTraversalStrategy());
+			generator.setParallelism(this.checkerOptions.getGenerationThreads());
+			generator.setDeduplicationIndex(this.checkerOptions.getDeduplicationIndex());
+			generator.setFrontierBudget(this.checkerOptions.getFrontierBudget() << 20);
+			if(this.checkerOptions.getSpillDirectory() != null) {
+				generator.setSpillDirectory(this.checkerOptions.getSpillDirectory().toPath());
+			}
+			generator.setMaxInstances(this.checkerOptions.getMaxInstances());
+			generator.setMaxTime(Duration.ofSeconds(this.checkerOptions.getMaxTime()));
+			generator.setMaxHeap(this.checkerOptions.getMaxHeap() << 20);
+			generator.setWalks(this.checkerOptions.getWalks());
+			generator.setReservoirSize(this.checkerOptions.getReservoirSize());
+			generator.setWalkEmission(this.checkerOptions.getWalkEmission());
+			generator.setShard(this.checkerOptions.getShardIndex(), this.checkerOptions.getShardCount());
+			LOGGER.info("checking {}", String.join(", ", subscriber.factoryNames));
+			final ProgressReporter.RunningFactory progress = progressReporter.factoryStarted(subscriber.generated::sum);
+			try {
+				generator.publisher(this.checkerOptions.getMaxDepth()).subscribe(subscriber);
+				subscriber.generate();
+			} finally {
+				progressReporter.factoryEnded(progress);
 			}
+		} finally {
+			this.subscribers.remove(subscriber);
+		}
+	}
+	
+	/**
+	 * Stops the checking process once the maximal number of errors is reached.
+	 * 
+	 * The generation process is cancelled, and the software under test which are running are killed.
+	 * The instances which are waiting for or under check are neither counted as checked nor recorded in the checkpoint.
+	 */
+	private void stop() {
+		if(!this.stopped.compareAndSet(false, true)) {
 			return;
 		}
-		final ASoftwareExecutor<Instance> executor = factory.newExecutor(Paths.get(this.checkerOptions.getExecLocation()));
-		threadPool.submit(() -> {
-			CheckResult checkResult;
+		LOGGER.warn("reached the maximal number of errors ({}); stopping the checking process", this.checkerOptions.getMaxErrors());
+		this.subscribers.forEach(CheckingSubscriber::cancel);
+		this.executors.forEach(ASoftwareExecutor::cancel);
+	}
+	
+	/**
+	 * Applies the checker options on the factories which were not completed before the checkpoint the process is resumed from,
+	 * and groups the ones sharing their test generator (see {@link CheckerFactory#getTestGeneratorKey()}).
+	 * 
+	 * The instances of a group are generated once, and each of them is checked for all the factories of the group.
+	 * The groups and the factories they contain are given in the order of the factories.
+	 * 
+	 * @param factories the factories, indexed by their names
+	 * @return the names of the factories of each group
+	 */
+	private List<List<String>> groupFactories(final Map<String, CheckerFactory<Instance>> factories) {
+		final List<List<String>> groups = new ArrayList<>();
+		final Map<String, List<String>> keyedGroups = new HashMap<>();
+		for(final Entry<String, CheckerFactory<Instance>> factoryEntry : factories.entrySet()) {
+			final String factoryName = factoryEntry.getKey();
+			if(this.completedFactories.contains(factoryName)) {
+				LOGGER.info("skipping {}, which was already checked before the checkpoint", factoryName);
+				continue;
+			}
+			final CheckerFactory<Instance> factory = factoryEntry.getValue();
+			applyCheckerOptions(this.checkerOptions.getCheckerOptions(), factory);
+			final String key = factory.getTestGeneratorKey();
+			if(key == null) {
+				groups.add(new ArrayList<>(List.of(factoryName)));
+				continue;
+			}
+			keyedGroups.computeIfAbsent(key, k -> {
+				final List<String> group = new ArrayList<>();
+				groups.add(group);
+				return group;
+			}).add(factoryName);
+		}
+		return groups;
+	}
+	
+	/**
+	 * Builds the thread pool running the checks.
+	 * 
+	 * Its queue is bounded, so that the memory used by the pending checks does not depend on the number of generated instances.
+	 * The subscribers never have more pending instances than the queue can hold, but the last checks of a factory may still be running
+	 * when the instances of the next one are generated; in this case, a check which does not fit in the queue is run by the thread submitting it,
+	 * which also slows down the generation.
+	 * 
+	 * @param nWorkers the number of threads
+	 * @param queueCapacity the capacity of the queue
+	 * @return the thread pool
+	 */
+	private static ThreadPoolExecutor newThreadPool(final int nWorkers, final int queueCapacity) {
+		return new ThreadPoolExecutor(nWorkers, nWorkers, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+	
+	/**
+	 * Builds the thread pool running the generation processes of the groups of factories (see {@link Checker#groupFactories(Map)}).
+	 * 
+	 * The groups are started in their order, as soon as a thread is available.
+	 * Since the demand of each subscriber is bounded (see {@link CheckerOptionsReader#getMaxPending()}),
+	 * each group running at a given time has the same share of the queue of the thread pool running the checks;
+	 * a group whose generation is slow does not prevent the others from feeding the checking threads.
+	 * 
+	 * @param nThreads the maximal number of generation processes run at the same time
+	 * @return the thread pool
+	 */
+	private static ExecutorService newGenerationPool(final int nThreads) {
+		return Executors.newFixedThreadPool(nThreads, r -> {
+			final Thread thread = new Thread(r, "rubens-generation");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+	 * Opens the result cache.
+	 * 
+	 * @return <code>true</code> iff the cache has been opened
+	 */
+	private boolean openResultCache() {
+		try {
+			this.resultCache = new ResultCache(this.checkerOptions.getCacheDirectory().toPath(), this.checkerOptions.getCacheSize() << 20,
+					Duration.ofDays(this.checkerOptions.getCacheAge()));
+			return true;
+		} catch(IOException e) {
+			LOGGER.error("cannot open the result cache: {}", e.getMessage());
+			this.statusCode = 1;
+			return false;
+		}
+	}
+	
+	/**
+	 * Computes the labels identifying the software under test in the target names.
+	 * 
+	 * The label of a software is the name of its file, followed by its rank in the command line if several software have the same file name.
+	 * 
+	 * @param execLocations the locations of the software under test
+	 * @return the labels, in the same order as the locations
+	 */
+	private static List<String> execLabels(final List<String> execLocations) {
+		final List<String> fileNames = execLocations.stream().map(l -> Paths.get(l).getFileName().toString()).collect(Collectors.toList());
+		final List<String> labels = new ArrayList<>(fileNames.size());
+		for(int i=0; i<fileNames.size(); ++i) {
+			final String fileName = fileNames.get(i);
+			labels.add(Collections.frequency(fileNames, fileName) > 1 ? (fileName+"-"+(i+1)) : fileName);
+		}
+		return labels;
+	}
+	
+	/**
+	 * Computes the part of the result cache keys shared by all the instances of a checker factory, for a software under test.
+	 * 
+	 * It identifies the content of the software under test, the checking method and the checker options.
+	 * 
+	 * @param factoryName the name of the factory
+	 * @param execLocation the location of the software under test
+	 * @return the factory part of the cache keys, or <code>null</code> if the software cannot be read
+	 */
+	private Fingerprint cacheKey(final String factoryName, final String execLocation) {
+		final Path execPath = Paths.get(execLocation);
+		try {
+			return new FingerprintHasher().putBytes(Files.readAllBytes(execPath)).putString(factoryName)
+					.putString(this.checkerOptions.getCheckerOptions()).fingerprint();
+		} catch(IOException e) {
+			LOGGER.warn("cannot read {}, the result cache is not used for {}: {}", execPath, factoryName, e.getMessage());
+			return null;
+		}
+	}
+	
+	/**
+	 * Computes the result cache key of an instance.
+	 * 
+	 * Besides the factory part of the key and the instance, the key identifies the arguments given to the software for this instance
+	 * (see {@link ASoftwareExecutor#identifyingArgs(Instance)}), since some of them (e.g. the argument under decision of an argumentation framework)
+	 * are not taken into account by the fingerprint of the instance.
+	 * 
+	 * @param factoryKey the factory part of the key (see {@link Checker#cacheKey(String, String)})
+	 * @param executor the executor of the software under test
+	 * @param instance the instance
+	 * @return the key
+	 */
+	private static Fingerprint cacheKey(final Fingerprint factoryKey, final ASoftwareExecutor<Instance> executor, final Instance instance) {
+		final FingerprintHasher hasher = new FingerprintHasher().putFingerprint(factoryKey).putFingerprint(instance.fingerprint());
+		executor.identifyingArgs(instance).forEach(hasher::putString);
+		return hasher.fingerprint();
+	}
+	
+	/**
+	 * Executes the software under test on an instance, or takes its result from the cache if available.
+	 * 
+	 * The results of executions which reached the timeout or exceeded an output limit are not stored in the cache.
+	 * The resources used by the software are only recorded when it is actually executed.
+	 * When the result cache is not used and the factory provides an output checker, the output is checked while the software is running
+	 * (see {@link CheckerFactory#newOutputChecker(Instance)}).
+	 * 
+	 * @param target the target
+	 * @param instance the instance
+	 * @return the result
+	 */
+	private SoftwareExecutorResult execOrGetCached(final Target target, final Instance instance) {
+		final CheckerFactory<Instance> factory = target.factory;
+		final ASoftwareExecutor<Instance> executor = target.executor;
+		final Fingerprint factoryKey = this.resultCache == null ? null : this.cacheKeys.get(target.name);
+		final Fingerprint key = factoryKey == null ? null : cacheKey(factoryKey, executor, instance);
+		if(key != null) {
+			final Optional<SoftwareExecutorResult> cached = this.resultCache.get(key);
+			if(cached.isPresent()) {
+				this.cacheHits.incrementAndGet();
+				return cached.get();
+			}
+		}
+		final SoftwareExecutorResult result = key == null ? executor.exec(instance, factory.newOutputChecker(instance)) : executor.exec(instance);
+		this.resourceStatistics.get(target.name).add(instance, result.getResourceUsage());
+		if(key != null && !result.hasTimeouted() && !result.hasExceededOutputLimit()) {
+			this.resultCache.put(key, result);
+		}
+		return result;
+	}
+	
+	/**
+	 * Builds the executor used to run a software under test for a checker factory, enabling the server mode if required and setting the instance staging mode.
+	 * 
+	 * @param factory the factory
+	 * @param factoryName the name of the factory
+	 * @param execLocation the location of the software under test
+	 * @return the executor
+	 */
+	private ASoftwareExecutor<Instance> newExecutor(final CheckerFactory<Instance> factory, final String factoryName, final String execLocation) {
+		final ASoftwareExecutor<Instance> executor = factory.newExecutor(Paths.get(execLocation));
+		executor.setStaging(this.checkerOptions.getStaging());
+		executor.setOutputLimits(this.checkerOptions.getStdoutLimit() << 10, this.checkerOptions.getStderrCapture(), this.checkerOptions.getStderrLimit() << 10);
+		if(this.checkerOptions.getAdaptiveTimeout() > 0) {
+			executor.setAdaptiveTimeout(new AdaptiveTimeout(this.checkerOptions.getAdaptiveTimeout(), MIN_ADAPTIVE_TIMEOUT));
+		}
+		if(this.checkerOptions.isServerMode()) {
+			if(executor.isServerModeSupported()) {
+				executor.setServerMode(true);
+			} else {
+				LOGGER.warn("{} does not support the server mode; the software is launched for each instance", factoryName);
+			}
+		}
+		return executor;
+	}
+	
+	/**
+	 * Restores the random seed, the counters and the checked instances from the checkpoint file.
+	 * 
+	 * The checkpoint cannot be restored if a seed different from the one of the checkpoint is given by the options.
+	 * 
+	 * @return <code>true</code> iff the checkpoint has been restored
+	 */
+	private boolean resume() {
+		final Path checkpointFile = this.checkerOptions.getCheckpointFile().toPath();
+		try {
+			this.resumedCheckpoint = Checkpoint.read(checkpointFile);
+		} catch(IOException e) {
+			LOGGER.error("cannot read the checkpoint file {}: {}", checkpointFile, e.getMessage());
+			this.statusCode = 1;
+			return false;
+		}
+		final Long seed = this.checkerOptions.getSeed();
+		if(seed != null && seed != this.resumedCheckpoint.getSeed()) {
+			LOGGER.error("the random seed {} differs from the one of the checkpoint ({})", seed, this.resumedCheckpoint.getSeed());
+			this.statusCode = 1;
+			return false;
+		}
+		RandomHelper.getInstance().setSeed(this.resumedCheckpoint.getSeed());
+		this.checkCount.add(this.resumedCheckpoint.getCheckCount());
+		this.errorCount.set(this.resumedCheckpoint.getErrorCount());
+		this.ignCount.add(this.resumedCheckpoint.getIgnoredCount());
+		this.completedFactories.addAll(this.resumedCheckpoint.getCompletedFactories());
+		LOGGER.info("resuming from checkpoint: {} checked instances, {} errors, {} ignored instances", this.checkCount.sum(), this.errorCount.get(),
+				this.ignCount.sum());
+		return true;
+	}
+	
+	/**
+	 * Starts the thread writing the checkpoints periodically, if a checkpoint file is set.
+	 * 
+	 * @return the checkpoint thread, or <code>null</code> if no checkpoint file is set
+	 */
+	private ScheduledExecutorService startCheckpointer() {
+		if(this.checkerOptions.getCheckpointFile() == null) {
+			return null;
+		}
+		final ScheduledExecutorService checkpointer = Executors.newSingleThreadScheduledExecutor(r -> {
+			final Thread thread = new Thread(r, "rubens-checkpoint");
+			thread.setDaemon(true);
+			return thread;
+		});
+		final long interval = this.checkerOptions.getCheckpointInterval();
+		checkpointer.scheduleWithFixedDelay(this::writeCheckpoint, interval, interval, TimeUnit.SECONDS);
+		return checkpointer;
+	}
+	
+	/**
+	 * Builds the progress reporter of the checking process.
+	 * 
+	 * @param threadPool the thread pool running the checks
+	 * @param nGroups the number of groups of factories to check (see {@link Checker#groupFactories(Map)})
+	 * @param concurrentGenerations the number of groups checked at the same time
+	 * @return the progress reporter
+	 */
+	private ProgressReporter newProgressReporter(final ThreadPoolExecutor threadPool, final int nGroups, final int concurrentGenerations) {
+		return new ProgressReporter(LOGGER, this.generatedCount::sum, this.checkCount::sum, this.errorCount::get, () -> threadPool.getQueue().size(),
+				nGroups, concurrentGenerations, this.checkerOptions.getMaxInstances(), TimeUnit.SECONDS.toNanos(this.checkerOptions.getMaxTime()));
+	}
+	
+	/**
+	 * Starts the thread logging the progress periodically, if a progress interval is set.
+	 * 
+	 * @param progressReporter the progress reporter
+	 * @return the progress thread, or <code>null</code> if no progress interval is set
+	 */
+	private ScheduledExecutorService startProgressReporter(final ProgressReporter progressReporter) {
+		final long interval = this.checkerOptions.getProgressInterval();
+		if(interval == 0) {
+			return null;
+		}
+		final ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+			final Thread thread = new Thread(r, "rubens-progress");
+			thread.setDaemon(true);
+			return thread;
+		});
+		reporter.scheduleAtFixedRate(progressReporter, interval, interval, TimeUnit.SECONDS);
+		return reporter;
+	}
+	
+	/**
+	 * Writes the current progress to the checkpoint file.
+	 * 
+	 * The counters and the sets of checked instances are read while holding the write lock of the checkpoint lock,
+	 * the read lock of which is held by the checking threads while they count an instance and record its fingerprint;
+	 * this way, an instance is counted as checked (or ignored) in the checkpoint iff its fingerprint is in it.
+	 * An error found for an instance which is not counted yet will be found (and counted) again when resuming from the checkpoint.
+	 */
+	private synchronized void writeCheckpoint() {
+		final Checkpoint checkpoint;
+		final Lock lock = this.checkpointLock.writeLock();
+		lock.lock();
+		try {
+			final Map<String, Set<Fingerprint>> checked = new HashMap<>();
+			this.checkedInstances.forEach((k, v) -> checked.put(k, new HashSet<>(v)));
+			checkpoint = new Checkpoint(RandomHelper.getInstance().getSeed(), this.checkCount.intValue(), this.errorCount.get(), this.ignCount.intValue(),
+					new LinkedHashSet<>(this.completedFactories), checked);
+		} finally {
+			lock.unlock();
+		}
+		final Path checkpointFile = this.checkerOptions.getCheckpointFile().toPath();
+		try {
+			checkpoint.write(checkpointFile);
+		} catch(IOException e) {
+			LOGGER.error("cannot write the checkpoint file {}: {}", checkpointFile, e.getMessage());
+		}
+	}
+	
+	/**
+	 * A subscriber to the instances generated for a group of checker factories sharing their test generator.
+	 * 
+	 * The subscriber first requests as many instances as the maximal number of pending instances (see {@link CheckerOptionsReader#getMaxPending()}),
+	 * and then requests a new one each time an instance has been checked (or ignored) against all the targets.
+	 * This way, the generation process does not run ahead of the checking process, and the number of pending instances is bounded.
+	 * Since the instances are generated by the thread requesting them, the checking threads do not request them themselves:
+	 * they only record the demand, which is turned into requests by the generation thread of the group (see {@link CheckingSubscriber#generate()}).
+	 * No reference to an instance is kept once it has been checked, except its fingerprint when a checkpoint file is set.
+	 * 
+	 * When a checkpoint file is set, the fingerprints of the checked instances are recorded for each factory,
+	 * and the factories are marked as completed once all the instances have been checked.
+	 * The targets of the factories which checked an instance before the checkpoint the process is resumed from are skipped for this instance.
+	 * 
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private final class CheckingSubscriber implements Flow.Subscriber<Instance> {
+		
+		private final ExecutorService threadPool;
+		
+		private final List<Target> targets;
+		
+		private final List<String> factoryNames;
+		
+		private final int maxPending;
+		
+		private final Semaphore demand = new Semaphore(0);
+		
+		private volatile boolean done = false;
+		
+		private volatile Flow.Subscription subscription;
+		
+		private final Map<String, Set<Fingerprint>> resumedInstances = new HashMap<>();
+		
+		private final Map<String, Set<Fingerprint>> checkedInstances;
+		
+		private final AtomicInteger pending = new AtomicInteger(1);
+		
+		private final LongAdder generated = new LongAdder();
+		
+		private CheckingSubscriber(final ExecutorService threadPool, final List<Target> targets, final List<String> factoryNames, final int maxPending) {
+			this.threadPool = threadPool;
+			this.targets = targets;
+			this.factoryNames = factoryNames;
+			this.maxPending = maxPending;
+			this.checkedInstances = Checker.this.checkerOptions.getCheckpointFile() == null ? null : new HashMap<>();
+			for(final String factoryName : factoryNames) {
+				final Set<Fingerprint> resumed = Checker.this.resumedCheckpoint == null ? Collections.emptySet() : Checker.this.resumedCheckpoint.getCheckedInstances(factoryName);
+				this.resumedInstances.put(factoryName, resumed);
+				if(this.checkedInstances != null) {
+					final Set<Fingerprint> checked = ConcurrentHashMap.newKeySet();
+					checked.addAll(resumed);
+					this.checkedInstances.put(factoryName, checked);
+					Checker.this.checkedInstances.put(factoryName, checked);
+				}
+			}
+		}
+		
+		@Override
+		public void onSubscribe(final Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if(Checker.this.stopped.get()) {
+				cancel();
+				return;
+			}
+			subscription.request(this.maxPending);
+		}
+		
+		@Override
+		public void onNext(final Instance instance) {
+			Checker.this.generatedCount.increment();
+			this.generated.increment();
+			if(Checker.this.stopped.get()) {
+				return;
+			}
+			if(this.checkedInstances == null) {
+				checkInstance(this.threadPool, this.targets, instance, () -> {}, this.demand::release);
+				return;
+			}
+			final Fingerprint fingerprint = instance.fingerprint();
+			final List<Target> remainingTargets = this.targets.stream()
+					.filter(t -> !this.resumedInstances.get(t.factoryName).contains(fingerprint)).collect(Collectors.toList());
+			if(remainingTargets.isEmpty()) {
+				this.demand.release();
+				return;
+			}
+			this.pending.incrementAndGet();
+			checkInstance(this.threadPool, remainingTargets, instance,
+					() -> remainingTargets.forEach(t -> this.checkedInstances.get(t.factoryName).add(fingerprint)), () -> {
+				instanceDone();
+				this.demand.release();
+			});
+		}
+		
+		@Override
+		public void onError(final Throwable throwable) {
+			LOGGER.error("an error occurred while generating the instances for {}", String.join(", ", this.factoryNames), throwable);
+			Checker.this.statusCode = 1;
+			this.done = true;
+		}
+		
+		@Override
+		public void onComplete() {
+			if(this.checkedInstances != null) {
+				instanceDone();
+			}
+			this.done = true;
+		}
+		
+		/**
+		 * Signals an instance has been checked, or that the generation is over, and marks the factories as completed when nothing is pending anymore.
+		 * 
+		 * Once the checking process is stopped, the instances which are still pending may not have been counted nor recorded,
+		 * so the factories are never marked as completed.
+		 */
+		private void instanceDone() {
+			if(Checker.this.stopped.get()) {
+				return;
+			}
+			if(this.pending.decrementAndGet() == 0) {
+				for(final String factoryName : this.factoryNames) {
+					Checker.this.completedFactories.add(factoryName);
+					Checker.this.checkedInstances.remove(factoryName);
+				}
+			}
+		}
+		
+		/**
+		 * Cancels the generation process.
+		 */
+		private void cancel() {
+			this.done = true;
+			final Flow.Subscription sub = this.subscription;
+			if(sub != null) {
+				sub.cancel();
+			}
+			this.demand.release();
+		}
+		
+		/**
+		 * Generates the instances as the checking threads ask for them, until all the instances have been generated or the generation is cancelled.
+		 * 
+		 * This method must be called by the thread which subscribed to the instances, after the subscription.
+		 * The demand recorded by the checking threads is turned into requests by this thread, so the instances are only generated by it.
+		 * Some of the instances may still be under check when this method returns.
+		 */
+		private void generate() {
 			try {
-				final SoftwareExecutorResult result = executor.exec(instance);
-				checkResult = factory.checkSoftwareOutput(instance, result.getStdout());
-			} catch(Exception e) {
-				LOGGER.error("an unexpected exception occurred for instance {} with the message \"{}\"", instance, e.getMessage());
-				checkResult = CheckResult.newError("an unexpected exception occurred");
+				while(!this.done) {
+					this.demand.acquire();
+					final int n = 1 + this.demand.drainPermits();
+					if(!this.done) {
+						this.subscription.request(n);
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				LOGGER.error("got an error while waiting for the generation process", e);
+				this.subscription.cancel();
+			}
+		}
+		
+	}
+	
+	/**
+	 * Executes each software under test on the provided instance and checks the results, for each factory of the targets.
+	 * This method uses a thread pool to allow parallelization of instance checking; each target is processed by its own task.
+	 * The targets of a factory which ignores the instance are skipped (see {@link CheckerFactory#ignoreInstance(Instance)}).
+	 * 
+	 * The first callback is called when the instance is counted as checked or ignored, once it has been checked against all the targets
+	 * (see {@link Checker#count(int, int, Runnable)});
+	 * the second one is called once the instance has been checked (or ignored).
+	 * 
+	 * @param threadPool the thread pool
+	 * @param targets the targets, the ones of a same factory being contiguous
+	 * @param instance the instance
+	 * @param onCounted the callback called when the instance is counted
+	 * @param onChecked the callback called when the instance has been checked
+	 */
+	private void checkInstance(final ExecutorService threadPool, final List<Target> targets, final Instance instance, final Runnable onCounted,
+			final Runnable onChecked) {
+		final List<Target> checkedTargets = new ArrayList<>(targets.size());
+		int nIgnored = 0;
+		CheckerFactory<Instance> factory = null;
+		boolean ignored = false;
+		for(final Target target : targets) {
+			if(target.factory != factory) {
+				factory = target.factory;
+				ignored = factory.ignoreInstance(instance);
+				if(ignored) {
+					nIgnored++;
+					this.factoryCounts.get(target.factoryName).ignored.increment();
+				}
+			}
+			if(!ignored) {
+				checkedTargets.add(target);
 			}
-			if(!checkResult.isSuccessful()) {
-				synchronized (this.errorCountLock) {
-					this.errorCount++;
-					LOGGER.error("{} error ({}) for instance {}: {}.", factoryName, this.errorCount, instance, checkResult.getExplanation());
-					if(this.checkerOptions.getOutputDirectory() != null) {
-						outputInstance(factoryName, instance);
+		}
+		final int nIgnoredFactories = nIgnored;
+		if(checkedTargets.isEmpty()) {
+			count(0, nIgnoredFactories, onCounted);
+			onChecked.run();
+			return;
+		}
+		final AtomicInteger remaining = new AtomicInteger(checkedTargets.size());
+		for(final Target target : checkedTargets) {
+			threadPool.execute(() -> {
+				try {
+					if(!this.stopped.get()) {
+						checkInstance(target, instance);
+					}
+				} finally {
+					if(remaining.decrementAndGet() == 0) {
+						try {
+							if(!this.stopped.get()) {
+								count(checkedTargets.size(), nIgnoredFactories, onCounted);
+							}
+						} finally {
+							onChecked.run();
+						}
 					}
 				}
+			});
+		}
+	}
+	
+	private void checkInstance(final Target target, final Instance instance) {
+		final CheckerFactory<Instance> factory = target.factory;
+		CheckResult checkResult;
+		try {
+			final SoftwareExecutorResult result = execOrGetCached(target, instance);
+			if(result.hasTimeouted()) {
+				checkResult = CheckResult.newError("timeout reached");
+			} else if(result.hasExceededOutputLimit()) {
+				checkResult = CheckResult.newError("output limit exceeded");
+			} else if(result.getCheckResult() != null) {
+				checkResult = result.getCheckResult();
+			} else {
+				checkResult = factory.checkSoftwareOutput(instance, result.getStdout());
 			}
-			synchronized (this.checkCountLock) {
-				this.checkCount++;
+		} catch(Exception e) {
+			LOGGER.error("an unexpected exception occurred for instance {} with the message \"{}\"", instance, e.getMessage());
+			checkResult = CheckResult.newError("an unexpected exception occurred");
+		}
+		if(this.stopped.get()) {
+			return;
+		}
+		final FactoryCounts counts = this.factoryCounts.get(target.factoryName);
+		counts.checks.increment();
+		if(!checkResult.isSuccessful()) {
+			counts.errors.increment();
+			final int errorIndex = this.errorCount.incrementAndGet();
+			this.execErrorCounts.get(target.execLocation).increment();
+			LOGGER.error("{} error ({}) for instance {}: {}.", target.name, errorIndex, instance, checkResult.getExplanation());
+			if(this.checkerOptions.getOutputDirectory() != null) {
+				outputInstance(target.name, instance, errorIndex);
 			}
-		});
+			final long maxErrors = this.checkerOptions.getMaxErrors();
+			if(maxErrors > 0 && errorIndex >= maxErrors) {
+				stop();
+			}
+		}
 	}
 	
-	private void outputInstance(final String factoryName, final Instance instance) {
+	/**
+	 * Adds some checks and ignored instances to the counters.
+	 * 
+	 * When a checkpoint file is set, the counters are updated and the callback is called while holding the read lock of the checkpoint lock
+	 * (see {@link Checker#writeCheckpoint()}); otherwise, no lock is taken.
+	 * 
+	 * @param nChecked the number of checks to add
+	 * @param nIgnored the number of ignored instances to add
+	 * @param onCounted the callback
+	 */
+	private void count(final int nChecked, final int nIgnored, final Runnable onCounted) {
+		if(this.checkerOptions.getCheckpointFile() == null) {
+			this.checkCount.add(nChecked);
+			this.ignCount.add(nIgnored);
+			onCounted.run();
+			return;
+		}
+		final Lock lock = this.checkpointLock.readLock();
+		lock.lock();
+		try {
+			this.checkCount.add(nChecked);
+			this.ignCount.add(nIgnored);
+			onCounted.run();
+		} finally {
+			lock.unlock();
+		}
+	}
+	
+	private synchronized void outputInstance(final String targetName, final Instance instance, final int errorIndex) {
 		final Collection<String> extensions = instance.getFileExtensions();
 		final File outputDirectory = this.checkerOptions.getOutputDirectory();
 		if(!this.cleanedOldFiles) {
@@ -190,7 +952,7 @@ public class Checker {
 		}
 		try {
 			for(final String ext : extensions) {
-				instance.write(ext, new FileOutputStream(new File(outputDirectory, factoryName+"-"+this.errorCount+ext)));
+				instance.write(ext, new FileOutputStream(new File(outputDirectory, targetName+"-"+errorIndex+ext)));
 			}
 		} catch (IOException e) {
 			this.statusCode = 1;
@@ -200,10 +962,12 @@ public class Checker {
 	/**
 	 * Returns the number of checks that have been realized.
 	 * 
+	 * When several software are under test, an instance is counted once for each of them.
+	 * 
 	 * @return the number of checks that have been realized
 	 */
 	public int getCheckCount() {
-		return this.checkCount;
+		return this.checkCount.intValue();
 	}
 	
 	/**
@@ -212,7 +976,36 @@ public class Checker {
 	 * @return the number of errors found during the checking process
 	 */
 	public int getErrorCount() {
-		return this.errorCount;
+		return this.errorCount.get();
+	}
+	
+	/**
+	 * Returns the number of errors found during the checking process, for each software under test.
+	 * 
+	 * The map is indexed by the locations of the software, in the order they were given.
+	 * The errors counted before the checkpoint the process was resumed from are not included.
+	 * 
+	 * @return the number of errors found for each software under test
+	 */
+	public Map<String, Integer> getErrorCounts() {
+		final Map<String, Integer> counts = new LinkedHashMap<>();
+		this.execErrorCounts.forEach((exec, count) -> counts.put(exec, count.intValue()));
+		return Collections.unmodifiableMap(counts);
+	}
+	
+	/**
+	 * Returns the number of errors found during the checking process, for each factory.
+	 * 
+	 * The map is indexed by the names of the factories, in the order they were given.
+	 * The factories which were skipped because they were completed before the checkpoint the process was resumed from are not included,
+	 * and the errors counted before this checkpoint are not included.
+	 * 
+	 * @return the number of errors found for each factory
+	 */
+	public Map<String, Integer> getFactoryErrorCounts() {
+		final Map<String, Integer> counts = new LinkedHashMap<>();
+		this.factoryCounts.forEach((name, c) -> counts.put(name, c.errors.intValue()));
+		return Collections.unmodifiableMap(counts);
 	}
 	
 	/**
@@ -221,7 +1014,28 @@ public class Checker {
 	 * @return the number of ignored instances during the checking process
 	 */
 	public int getIgnoredCount() {
-		return this.ignCount;
+		return this.ignCount.intValue();
+	}
+	
+	/**
+	 * Returns the resources used by the software under test, for each target (see {@link Checker}).
+	 * 
+	 * The factories which were skipped because they were completed before the checkpoint the process was resumed from are not included,
+	 * nor are the results taken from the result cache.
+	 * 
+	 * @return the resources used by the software under test, for each target
+	 */
+	public Map<String, ResourceStatistics> getResourceStatistics() {
+		return Collections.unmodifiableMap(this.resourceStatistics);
+	}
+	
+	/**
+	 * Returns the number of results which were taken from the result cache instead of executing the software under test.
+	 * 
+	 * @return the number of results taken from the result cache
+	 */
+	public int getCacheHits() {
+		return this.cacheHits.get();
 	}
 	
 	/**
@@ -258,4 +1072,47 @@ public class Checker {
 		}
 	}
 	
+	/**
+	 * The numbers of checks, errors and ignored instances of a checker factory.
+	 * 
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private static final class FactoryCounts {
+		
+		private final LongAdder checks = new LongAdder();
+		
+		private final LongAdder errors = new LongAdder();
+		
+		private final LongAdder ignored = new LongAdder();
+		
+	}
+	
+	/**
+	 * A software under test checked for a checker factory.
+	 * 
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private static final class Target {
+		
+		private final CheckerFactory<Instance> factory;
+		
+		private final String factoryName;
+		
+		private final ASoftwareExecutor<Instance> executor;
+		
+		private final String execLocation;
+		
+		private final String name;
+		
+		private Target(final CheckerFactory<Instance> factory, final String factoryName, final ASoftwareExecutor<Instance> executor,
+				final String execLocation, final String name) {
+			this.factory = factory;
+			this.factoryName = factoryName;
+			this.executor = executor;
+			this.execLocation = execLocation;
+			this.name = name;
+		}
+		
+	}
+	
 }
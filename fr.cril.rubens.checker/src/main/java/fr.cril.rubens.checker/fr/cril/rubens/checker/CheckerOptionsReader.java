@@ -24,10 +24,13 @@ package fr.cril.rubens.checker;
  * #L%
  */
 
+import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +52,8 @@ import fr.cril.rubens.reflection.CheckerFactoryReflector;
 import fr.cril.rubens.specs.CheckerFactory;
 import fr.cril.rubens.specs.CheckerFactoryCollection;
 import fr.cril.rubens.specs.Instance;
+import fr.cril.rubens.utils.EInstanceStaging;
+import fr.cril.rubens.utils.EStderrCapture;
 import fr.cril.rubens.utils.LoggerHelper;
 
 /**
@@ -60,7 +65,7 @@ import fr.cril.rubens.utils.LoggerHelper;
  */
 public class CheckerOptionsReader extends AppOptions<CheckerOptionsReader> {
 	
-	private static final String MANDATORY_OPTIONS_TO_STRING = "-m method -e execLocation [other options]";
+	private static final String MANDATORY_OPTIONS_TO_STRING = "-m method -e execLocation [-e execLocation ...] [other options]";
 
 	private static CheckerOptionsReader instance = null; 
 	
@@ -68,9 +73,77 @@ public class CheckerOptionsReader extends AppOptions<CheckerOptionsReader> {
 	
 	private final Map<String, CheckerFactory<Instance>> factories = new LinkedHashMap<>();
 	
-	private String execLocation;
+	private final List<String> execLocations = new ArrayList<>();
 	
 	private String checkerOptions = "";
+	
+	/** the default time (in seconds) between two checkpoints */
+	public static final long DEFAULT_CHECKPOINT_INTERVAL = 60;
+	
+	private File checkpointFile;
+	
+	private long checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+	
+	private boolean resume = false;
+	
+	private boolean serverMode = false;
+	
+	/** the default way the instances are given to the software under test */
+	public static final EInstanceStaging DEFAULT_STAGING = EInstanceStaging.TEMP_FILES;
+	
+	private EInstanceStaging staging = DEFAULT_STAGING;
+	
+	/** the default maximal size of the result cache, in MB */
+	public static final long DEFAULT_CACHE_SIZE = 1024;
+	
+	/** the default maximal age of the result cache entries, in days */
+	public static final long DEFAULT_CACHE_AGE = 30;
+	
+	private File cacheDirectory;
+	
+	private long cacheSize = DEFAULT_CACHE_SIZE;
+	
+	private long cacheAge = DEFAULT_CACHE_AGE;
+	
+	/** the default factor of the adaptive timeout (zero means the adaptive timeout is disabled) */
+	public static final double DEFAULT_ADAPTIVE_TIMEOUT = 0;
+	
+	private double adaptiveTimeout = DEFAULT_ADAPTIVE_TIMEOUT;
+	
+	/** the default maximal size of the standard output of the software under test, in KB */
+	public static final long DEFAULT_STDOUT_LIMIT = 65536;
+	
+	/** the default way the error output of the software under test is captured */
+	public static final EStderrCapture DEFAULT_STDERR_CAPTURE = EStderrCapture.TAIL;
+	
+	/** the default maximal size of the error output of the software under test, in KB */
+	public static final long DEFAULT_STDERR_LIMIT = 1024;
+	
+	private long stdoutLimit = DEFAULT_STDOUT_LIMIT;
+	
+	private EStderrCapture stderrCapture = DEFAULT_STDERR_CAPTURE;
+	
+	private long stderrLimit = DEFAULT_STDERR_LIMIT;
+	
+	/** the default maximal number of instances waiting for or under check, which is the number of available processors */
+	public static final int DEFAULT_MAX_PENDING = Runtime.getRuntime().availableProcessors();
+	
+	private int maxPending = DEFAULT_MAX_PENDING;
+	
+	/** the default time (in seconds) between two progress reports */
+	public static final long DEFAULT_PROGRESS_INTERVAL = 60;
+	
+	private long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+	
+	/** the default maximal number of errors before the checking process is stopped (zero means there is no limit) */
+	public static final long DEFAULT_MAX_ERRORS = 0;
+	
+	private long maxErrors = DEFAULT_MAX_ERRORS;
+	
+	/** the default maximal number of generation processes run at the same time, which is the number of available processors */
+	public static final int DEFAULT_CONCURRENT_GENERATIONS = Runtime.getRuntime().availableProcessors();
+	
+	private int concurrentGenerations = DEFAULT_CONCURRENT_GENERATIONS;
 
 	private CheckerOptionsReader() {
 		super(ECheckerOption.values());
@@ -92,6 +165,23 @@ public class CheckerOptionsReader extends AppOptions<CheckerOptionsReader> {
 	protected void reset() {
 		super.reset();
 		this.factories.clear();
+		this.execLocations.clear();
+		this.checkpointFile = null;
+		this.checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+		this.resume = false;
+		this.serverMode = false;
+		this.staging = DEFAULT_STAGING;
+		this.cacheDirectory = null;
+		this.cacheSize = DEFAULT_CACHE_SIZE;
+		this.cacheAge = DEFAULT_CACHE_AGE;
+		this.adaptiveTimeout = DEFAULT_ADAPTIVE_TIMEOUT;
+		this.stdoutLimit = DEFAULT_STDOUT_LIMIT;
+		this.stderrCapture = DEFAULT_STDERR_CAPTURE;
+		this.stderrLimit = DEFAULT_STDERR_LIMIT;
+		this.maxPending = DEFAULT_MAX_PENDING;
+		this.progressInterval = DEFAULT_PROGRESS_INTERVAL;
+		this.maxErrors = DEFAULT_MAX_ERRORS;
+		this.concurrentGenerations = DEFAULT_CONCURRENT_GENERATIONS;
 	}
 	
 	protected void checkOptionsRequirements() {
@@ -100,9 +190,14 @@ public class CheckerOptionsReader extends AppOptions<CheckerOptionsReader> {
 			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
 			return;
 		}
-		if(this.execLocation == null) {
+		if(this.execLocations.isEmpty()) {
 			LOGGER.error("no exec location; use -e or --exec");
 			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+			return;
+		}
+		if(this.resume && (this.checkpointFile == null || !this.checkpointFile.isFile())) {
+			LOGGER.error("no checkpoint file to resume from; use -C or --checkpoint");
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
 		}
 	}
 	
@@ -165,7 +260,10 @@ public class CheckerOptionsReader extends AppOptions<CheckerOptionsReader> {
 	}
 	
 	/**
-	 * Sets the location of the software under test.
+	 * Adds the location of a software under test.
+	 * 
+	 * This method may be called several times, in which case each generated instance is checked against each software.
+	 * A location which was already added is ignored.
 	 * 
 	 * @param location the location
 	 */
@@ -175,16 +273,29 @@ public class CheckerOptionsReader extends AppOptions<CheckerOptionsReader> {
 			LOGGER.error("expected a path to an executable regular file, got \"{}\"", location);
 			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
 		}
-		this.execLocation = location;
+		if(this.execLocations.contains(location)) {
+			LOGGER.warn("the software {} is set more than once", location);
+			return;
+		}
+		this.execLocations.add(location);
 	}
 	
 	/**
-	 * Gets the location of the software under test.
+	 * Gets the location of the (first) software under test.
 	 * 
 	 * @return the location of the software under test
 	 */
 	public String getExecLocation() {
-		return this.execLocation;
+		return this.execLocations.isEmpty() ? null : this.execLocations.get(0);
+	}
+	
+	/**
+	 * Gets the locations of the software under test, in the order they were set.
+	 * 
+	 * @return the locations of the software under test
+	 */
+	public List<String> getExecLocations() {
+		return Collections.unmodifiableList(this.execLocations);
 	}
 	
 	/**
@@ -199,6 +310,410 @@ public class CheckerOptionsReader extends AppOptions<CheckerOptionsReader> {
 		this.checkerOptions = options;
 	}
 	
+	/**
+	 * Sets the file in which the progress of the checking process is periodically saved.
+	 * 
+	 * If the path denotes a directory, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param path the checkpoint file
+	 */
+	public void setCheckpointFile(final String path) {
+		final File file = new File(path);
+		if(file.isDirectory()) {
+			LOGGER.error("expected a path to a checkpoint file, got the directory \"{}\"", path);
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+			return;
+		}
+		this.checkpointFile = file;
+	}
+	
+	/**
+	 * Returns the file in which the progress of the checking process is periodically saved.
+	 * 
+	 * If it has not been set by the appropriate option, the value is <code>null</code>.
+	 * 
+	 * @return the checkpoint file
+	 */
+	public File getCheckpointFile() {
+		return this.checkpointFile;
+	}
+	
+	/**
+	 * Sets the time between two checkpoints.
+	 * 
+	 * The value is passed as a string and is expressed in seconds; if it does not correspond to a valid interval (a strictly positive integer),
+	 * the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the time between two checkpoints, in seconds
+	 */
+	public void setCheckpointInterval(final String value) {
+		final String errorMsg = "wrong value for argument checkpoint-interval: expected a strictly positive integer, got {}";
+		try {
+			final long interval = Long.parseLong(value);
+			if(interval < 1) {
+				LOGGER.error(errorMsg, value);
+				setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+				return;
+			}
+			this.checkpointInterval = interval;
+		} catch(NumberFormatException e) {
+			LOGGER.error(errorMsg, value);
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Returns the time (in seconds) between two checkpoints.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link CheckerOptionsReader#DEFAULT_CHECKPOINT_INTERVAL}.
+	 * 
+	 * @return the time between two checkpoints, in seconds
+	 */
+	public long getCheckpointInterval() {
+		return this.checkpointInterval;
+	}
+	
+	/**
+	 * Requires the checking process to resume from the checkpoint file.
+	 */
+	public void setResume() {
+		this.resume = true;
+	}
+	
+	/**
+	 * Returns <code>true</code> iff the checking process must resume from the checkpoint file.
+	 * 
+	 * @return <code>true</code> iff the checking process must resume from the checkpoint file
+	 */
+	public boolean isResume() {
+		return this.resume;
+	}
+	
+	/**
+	 * Requires the software under test to be run in server mode (see {@link fr.cril.rubens.utils.ASoftwareExecutor#setServerMode(boolean)}).
+	 */
+	public void setServerMode() {
+		this.serverMode = true;
+	}
+	
+	/**
+	 * Returns <code>true</code> iff the software under test must be run in server mode.
+	 * 
+	 * @return <code>true</code> iff the software under test must be run in server mode
+	 */
+	public boolean isServerMode() {
+		return this.serverMode;
+	}
+	
+	/**
+	 * Sets the way the instances are given to the software under test (see {@link fr.cril.rubens.utils.ASoftwareExecutor#setStaging(EInstanceStaging)}).
+	 * 
+	 * The value is passed as the short name of a staging mode (see {@link EInstanceStaging#getShortName()});
+	 * if it does not correspond to any staging mode, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the short name of the staging mode
+	 */
+	public void setStaging(final String value) {
+		try {
+			this.staging = EInstanceStaging.fromShortName(value);
+		} catch(IllegalArgumentException e) {
+			LOGGER.error("wrong value for argument staging: {}", e.getMessage());
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Returns the way the instances are given to the software under test.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link CheckerOptionsReader#DEFAULT_STAGING}.
+	 * 
+	 * @return the staging mode
+	 */
+	public EInstanceStaging getStaging() {
+		return this.staging;
+	}
+	
+	/**
+	 * Sets the directory of the cache in which the results of the software under test are kept from a run to another.
+	 * 
+	 * If the directory cannot be created or written, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param path the cache directory
+	 */
+	public void setCacheDirectory(final String path) {
+		try {
+			this.cacheDirectory = getOrCreateOutputDirectory(path);
+		} catch(IllegalArgumentException e) {
+			LOGGER.error(e.getMessage());
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Returns the directory of the result cache.
+	 * 
+	 * If it has not been set by the appropriate option, the value is <code>null</code>, and no cache is used.
+	 * 
+	 * @return the cache directory
+	 */
+	public File getCacheDirectory() {
+		return this.cacheDirectory;
+	}
+	
+	/**
+	 * Sets the maximal size of the result cache.
+	 * 
+	 * The value is passed as a string and is expressed in MB; zero means there is no limit.
+	 * If it is not a nonnegative integer, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the maximal size of the result cache, in MB
+	 */
+	public void setCacheSize(final String value) {
+		final long size = parseNonNegativeLong(value, "cache-size");
+		if(size >= 0) {
+			this.cacheSize = size;
+		}
+	}
+	
+	/**
+	 * Returns the maximal size of the result cache, in MB (zero means there is no limit).
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link CheckerOptionsReader#DEFAULT_CACHE_SIZE}.
+	 * 
+	 * @return the maximal size of the result cache
+	 */
+	public long getCacheSize() {
+		return this.cacheSize;
+	}
+	
+	/**
+	 * Sets the maximal time since a result cache entry was last used, after which it is removed.
+	 * 
+	 * The value is passed as a string and is expressed in days; zero means there is no limit.
+	 * If it is not a nonnegative integer, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the maximal age of the result cache entries, in days
+	 */
+	public void setCacheAge(final String value) {
+		final long age = parseNonNegativeLong(value, "cache-age");
+		if(age >= 0) {
+			this.cacheAge = age;
+		}
+	}
+	
+	/**
+	 * Returns the maximal age of the result cache entries, in days (zero means there is no limit).
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link CheckerOptionsReader#DEFAULT_CACHE_AGE}.
+	 * 
+	 * @return the maximal age of the result cache entries
+	 */
+	public long getCacheAge() {
+		return this.cacheAge;
+	}
+	
+	/**
+	 * Sets the factor of the adaptive timeout (see {@link fr.cril.rubens.utils.AdaptiveTimeout}).
+	 * 
+	 * The timeout of an instance becomes this factor times a high percentile of the runtimes observed for the instances of the same size.
+	 * The value is passed as a string; zero disables the adaptive timeout.
+	 * If it is neither zero nor a number greater than or equal to one, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the factor of the adaptive timeout
+	 */
+	public void setAdaptiveTimeout(final String value) {
+		final String errorMsg = "wrong value for argument adaptive-timeout: expected zero or a number greater than or equal to 1, got {}";
+		try {
+			final double factor = Double.parseDouble(value);
+			if(factor == 0 || factor >= 1 && !Double.isInfinite(factor)) {
+				this.adaptiveTimeout = factor;
+				return;
+			}
+		} catch(NumberFormatException e) {
+			// handled below
+		}
+		LOGGER.error(errorMsg, value);
+		setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+	}
+	
+	/**
+	 * Returns the factor of the adaptive timeout (zero means the adaptive timeout is disabled).
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link CheckerOptionsReader#DEFAULT_ADAPTIVE_TIMEOUT}.
+	 * 
+	 * @return the factor of the adaptive timeout
+	 */
+	public double getAdaptiveTimeout() {
+		return this.adaptiveTimeout;
+	}
+	
+	/**
+	 * Sets the maximal size of the standard output of the software under test (see {@link fr.cril.rubens.utils.ASoftwareExecutor#setOutputLimits(long, EStderrCapture, long)}).
+	 * 
+	 * The value is passed as a string and is expressed in KB; zero means there is no limit.
+	 * If it is not a nonnegative integer, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the maximal size of the standard output, in KB
+	 */
+	public void setStdoutLimit(final String value) {
+		final long limit = parseNonNegativeLong(value, "stdout-limit");
+		if(limit >= 0) {
+			this.stdoutLimit = limit;
+		}
+	}
+	
+	/**
+	 * Returns the maximal size of the standard output of the software under test, in KB (zero means there is no limit).
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link CheckerOptionsReader#DEFAULT_STDOUT_LIMIT}.
+	 * 
+	 * @return the maximal size of the standard output
+	 */
+	public long getStdoutLimit() {
+		return this.stdoutLimit;
+	}
+	
+	/**
+	 * Sets the way the error output of the software under test is captured.
+	 * 
+	 * The value is passed as the short name of a capture mode (see {@link EStderrCapture#getShortName()});
+	 * if it does not correspond to any capture mode, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the short name of the capture mode
+	 */
+	public void setStderrCapture(final String value) {
+		try {
+			this.stderrCapture = EStderrCapture.fromShortName(value);
+		} catch(IllegalArgumentException e) {
+			LOGGER.error("wrong value for argument stderr-capture: {}", e.getMessage());
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Returns the way the error output of the software under test is captured.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link CheckerOptionsReader#DEFAULT_STDERR_CAPTURE}.
+	 * 
+	 * @return the way the error output is captured
+	 */
+	public EStderrCapture getStderrCapture() {
+		return this.stderrCapture;
+	}
+	
+	/**
+	 * Sets the maximal size of the error output of the software under test.
+	 * 
+	 * The value is passed as a string and is expressed in KB; zero means there is no limit.
+	 * If it is not a nonnegative integer, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the maximal size of the error output, in KB
+	 */
+	public void setStderrLimit(final String value) {
+		final long limit = parseNonNegativeLong(value, "stderr-limit");
+		if(limit >= 0) {
+			this.stderrLimit = limit;
+		}
+	}
+	
+	/**
+	 * Returns the maximal size of the error output of the software under test, in KB (zero means there is no limit).
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link CheckerOptionsReader#DEFAULT_STDERR_LIMIT}.
+	 * 
+	 * @return the maximal size of the error output
+	 */
+	public long getStderrLimit() {
+		return this.stderrLimit;
+	}
+	
+	/**
+	 * Sets the maximal number of generated instances waiting for or under check.
+	 * 
+	 * The value is passed as a string.
+	 * If it is not a strictly positive integer, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the maximal number of pending instances
+	 */
+	public void setMaxPending(final String value) {
+		final String errorMsg = "wrong value for argument max-pending: expected a strictly positive integer, got {}";
+		try {
+			final int max = Integer.parseInt(value);
+			if(max < 1) {
+				LOGGER.error(errorMsg, value);
+				setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+				return;
+			}
+			this.maxPending = max;
+		} catch(NumberFormatException e) {
+			LOGGER.error(errorMsg, value);
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Returns the maximal number of generated instances waiting for or under check.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link CheckerOptionsReader#DEFAULT_MAX_PENDING}.
+	 * 
+	 * @return the maximal number of pending instances
+	 */
+	public int getMaxPending() {
+		return this.maxPending;
+	}
+	
+	/**
+	 * Sets the time between two progress reports.
+	 * 
+	 * The value is passed as a string and is expressed in seconds; zero means no progress is reported.
+	 * If it is not a nonnegative integer, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the time between two progress reports, in seconds
+	 */
+	public void setProgressInterval(final String value) {
+		final long interval = parseNonNegativeLong(value, "progress-interval");
+		if(interval >= 0) {
+			this.progressInterval = interval;
+		}
+	}
+	
+	/**
+	 * Returns the time (in seconds) between two progress reports (zero means no progress is reported).
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link CheckerOptionsReader#DEFAULT_PROGRESS_INTERVAL}.
+	 * 
+	 * @return the time between two progress reports, in seconds
+	 */
+	public long getProgressInterval() {
+		return this.progressInterval;
+	}
+	
+	/**
+	 * Sets the maximal number of errors, once reached the checking process is stopped.
+	 * 
+	 * The value is passed as a string; zero means there is no limit.
+	 * If it is not a nonnegative integer, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the maximal number of errors
+	 */
+	public void setMaxErrors(final String value) {
+		final long max = parseNonNegativeLong(value, "max-errors");
+		if(max >= 0) {
+			this.maxErrors = max;
+		}
+	}
+	
+	/**
+	 * Returns the maximal number of errors, once reached the checking process is stopped (zero means there is no limit).
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link CheckerOptionsReader#DEFAULT_MAX_ERRORS}.
+	 * 
+	 * @return the maximal number of errors
+	 */
+	public long getMaxErrors() {
+		return this.maxErrors;
+	}
+	
 	/**
 	 * Returns the options dedicated to the checker.
 	 * 
@@ -220,6 +735,41 @@ public class CheckerOptionsReader extends AppOptions<CheckerOptionsReader> {
 		return new LinkedHashMap<>(this.factories);
 	}
 	
+	/**
+	 * Sets the maximal number of generation processes run at the same time.
+	 * 
+	 * The value is passed as a string.
+	 * If it is not a strictly positive integer, the application exits with a status of {@link CheckerOptionsReader#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the maximal number of concurrent generation processes
+	 */
+	public void setConcurrentGenerations(final String value) {
+		final String errorMsg = "wrong value for argument concurrent-generations: expected a strictly positive integer, got {}";
+		try {
+			final int max = Integer.parseInt(value);
+			if(max < 1) {
+				LOGGER.error(errorMsg, value);
+				setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+				return;
+			}
+			this.concurrentGenerations = max;
+		} catch(NumberFormatException e) {
+			LOGGER.error(errorMsg, value);
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Returns the maximal number of generation processes run at the same time.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link CheckerOptionsReader#DEFAULT_CONCURRENT_GENERATIONS}.
+	 * 
+	 * @return the maximal number of concurrent generation processes
+	 */
+	public int getConcurrentGenerations() {
+		return this.concurrentGenerations;
+	}
+	
 	@Override
 	protected CheckerOptionsReader getThis() {
 		return this;
@@ -0,0 +1,216 @@
+package fr.cril.rubens.checker;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import fr.cril.rubens.utils.Fingerprint;
+
+/**
+ * A snapshot of the progress of a checking process: the random seed, the counters, the factories which instances have all been checked,
+ * and the fingerprints of the instances already checked (or ignored) for the other factories.
+ * The seed is needed to generate the same instances again when the process is resumed.
+ * 
+ * Checkpoints are written to a compressed binary file.
+ * The file is first written next to its final location, and then moved atomically, so a crash while writing a checkpoint keeps the previous one.
+ * 
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+final class Checkpoint {
+	
+	private static final int VERSION = 2;
+	
+	private final long seed;
+	
+	private final int checkCount;
+	
+	private final int errorCount;
+	
+	private final int ignCount;
+	
+	private final Set<String> completedFactories;
+	
+	private final Map<String, Set<Fingerprint>> checkedInstances;
+	
+	/**
+	 * Builds a new checkpoint.
+	 * 
+	 * @param seed the random seed used by the checking process
+	 * @param checkCount the number of checked instances
+	 * @param errorCount the number of errors
+	 * @param ignCount the number of ignored instances
+	 * @param completedFactories the names of the factories which instances have all been checked
+	 * @param checkedInstances the fingerprints of the checked instances, for each factory which is not completed
+	 */
+	Checkpoint(final long seed, final int checkCount, final int errorCount, final int ignCount, final Set<String> completedFactories,
+			final Map<String, Set<Fingerprint>> checkedInstances) {
+		this.seed = seed;
+		this.checkCount = checkCount;
+		this.errorCount = errorCount;
+		this.ignCount = ignCount;
+		this.completedFactories = completedFactories;
+		this.checkedInstances = checkedInstances;
+	}
+	
+	/**
+	 * Returns the random seed used by the checking process.
+	 * 
+	 * @return the random seed
+	 */
+	long getSeed() {
+		return this.seed;
+	}
+	
+	/**
+	 * Returns the number of checked instances.
+	 * 
+	 * @return the number of checked instances
+	 */
+	int getCheckCount() {
+		return this.checkCount;
+	}
+	
+	/**
+	 * Returns the number of errors.
+	 * 
+	 * @return the number of errors
+	 */
+	int getErrorCount() {
+		return this.errorCount;
+	}
+	
+	/**
+	 * Returns the number of ignored instances.
+	 * 
+	 * @return the number of ignored instances
+	 */
+	int getIgnoredCount() {
+		return this.ignCount;
+	}
+	
+	/**
+	 * Returns the names of the factories which instances have all been checked.
+	 * 
+	 * @return the names of the completed factories
+	 */
+	Set<String> getCompletedFactories() {
+		return Collections.unmodifiableSet(this.completedFactories);
+	}
+	
+	/**
+	 * Returns the fingerprints of the instances already checked for a factory.
+	 * 
+	 * @param factoryName the factory name
+	 * @return the fingerprints of the checked instances (an empty set if none)
+	 */
+	Set<Fingerprint> getCheckedInstances(final String factoryName) {
+		return Collections.unmodifiableSet(this.checkedInstances.getOrDefault(factoryName, Collections.emptySet()));
+	}
+	
+	/**
+	 * Writes this checkpoint to a file, replacing the existing one if any.
+	 * 
+	 * @param path the checkpoint file
+	 * @throws IOException if an I/O error occurs
+	 */
+	void write(final Path path) throws IOException {
+		final Path tmpPath = path.resolveSibling(path.getFileName()+".tmp");
+		try(final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmpPath))))) {
+			out.writeInt(VERSION);
+			out.writeLong(this.seed);
+			out.writeInt(this.checkCount);
+			out.writeInt(this.errorCount);
+			out.writeInt(this.ignCount);
+			out.writeInt(this.completedFactories.size());
+			for(final String name : this.completedFactories) {
+				out.writeUTF(name);
+			}
+			out.writeInt(this.checkedInstances.size());
+			for(final Entry<String, Set<Fingerprint>> entry : this.checkedInstances.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeInt(entry.getValue().size());
+				for(final Fingerprint fingerprint : entry.getValue()) {
+					out.writeLong(fingerprint.getHigh());
+					out.writeLong(fingerprint.getLow());
+				}
+			}
+		}
+		Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+	
+	/**
+	 * Reads a checkpoint from a file.
+	 * 
+	 * @param path the checkpoint file
+	 * @return the checkpoint
+	 * @throws IOException if an I/O error occurs, or if the file is not a checkpoint file
+	 */
+	static Checkpoint read(final Path path) throws IOException {
+		try(final DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))))) {
+			final int version = in.readInt();
+			if(version != VERSION) {
+				throw new IOException("unsupported checkpoint version: "+version);
+			}
+			final long seed = in.readLong();
+			final int checkCount = in.readInt();
+			final int errorCount = in.readInt();
+			final int ignCount = in.readInt();
+			final int nCompleted = in.readInt();
+			final Set<String> completedFactories = new LinkedHashSet<>();
+			for(int i=0; i<nCompleted; ++i) {
+				completedFactories.add(in.readUTF());
+			}
+			final int nFactories = in.readInt();
+			final Map<String, Set<Fingerprint>> checkedInstances = new HashMap<>();
+			for(int i=0; i<nFactories; ++i) {
+				final String name = in.readUTF();
+				final int nInstances = in.readInt();
+				final Set<Fingerprint> fingerprints = new HashSet<>();
+				for(int j=0; j<nInstances; ++j) {
+					fingerprints.add(new Fingerprint(in.readLong(), in.readLong()));
+				}
+				checkedInstances.put(name, fingerprints);
+			}
+			return new Checkpoint(seed, checkCount, errorCount, ignCount, completedFactories, checkedInstances);
+		}
+	}
+
+}
@@ -53,12 +53,99 @@ public enum ECheckerOption implements IAppOption<CheckerOptionsReader> {
 	/** set the generation tree max depth */
 	SET_DEPTH("d", "depth", true, "set the computation tree max depth", setMaxDepth()),
 	
+	/** set the generation tree traversal strategy */
+	SET_STRATEGY("s", "strategy", true, "set the computation tree traversal strategy (BFS, DFS, IDDFS or RW)", setTraversalStrategy()),
+	
+	/** set the number of threads used to expand the generation tree levels */
+	SET_THREADS("t", "threads", true, "set the number of threads used to expand the computation tree levels (BFS only)", setGenerationThreads()),
+	
+	/** set the index used to remove duplicate instances across the generation tree */
+	SET_DEDUPLICATION("u", "dedup", true, "set the index used to remove duplicates across the computation tree (none, heap or off-heap)", setDeduplicationIndex()),
+	
+	/** set the heap budget of the breadth-first search frontier */
+	SET_FRONTIER_BUDGET("f", "frontier-budget", true, "set the heap budget (in MB) above which the BFS frontier is spilled to disk (0 to disable)", setFrontierBudget()),
+	
+	/** set the directory in which the frontier is spilled */
+	SET_SPILL_DIR("F", "spill-dir", true, "set the directory in which the BFS frontier is spilled (defaults to the system temporary directory)", setSpillDirectory()),
+	
+	/** set the maximal number of generated instances */
+	SET_MAX_INSTANCES("n", "max-instances", true, "set the maximal number of generated instances (0 for no limit)", setMaxInstances()),
+	
+	/** set the maximal generation time */
+	SET_MAX_TIME("x", "max-time", true, "set the maximal generation time (in seconds), after which the current level is finished and the generation stops (0 for no limit)", setMaxTime()),
+	
+	/** set the maximal heap usage of the generation process */
+	SET_MAX_HEAP("y", "max-heap", true, "set the maximal heap usage (in MB), above which the current level is finished and the generation stops (0 for no limit)", setMaxHeap()),
+	
+	/** set the number of walks of the random walk strategy */
+	SET_WALKS("w", "walks", true, "set the number of walks performed by the random walk strategy (RW only)", setWalks()),
+	
+	/** set the size of the per-depth samples of the random walk strategy */
+	SET_RESERVOIR("r", "reservoir", true, "set the size of the sample kept for each depth by the random walk strategy (RW only, 0 to output every instance)", setReservoirSize()),
+	
+	/** set the instances output by each walk */
+	SET_WALK_EMISSION("W", "walk-emit", true, "set the instances output by each walk (leaves or all; RW only)", setWalkEmission()),
+	
+	/** set the shard of the generated instances */
+	SET_SHARD("z", "shard", true, "only keep the i-th of N shards of the generated instances (format: i/N, 0 <= i < N; requires a seed)", setShard()),
+	
+	/** set the seed of the random generators */
+	SET_SEED("Z", "seed", true, "set the seed of the random generators used to build the instances", setSeed()),
+	
 	/** set the binary under test */
-	SET_EXEC("e", "exec", true, "set the software location", setExecLocation()),
+	SET_EXEC("e", "exec", true, "set the software location (may be given several times to check several software)", setExecLocation()),
 	
 	/** set the options dedicated to the checker */
 	SET_CHECKER_OPTS("c", "checker-options", true, "set the checker options", setCheckerOptions()),
 	
+	/** set the checkpoint file */
+	SET_CHECKPOINT("C", "checkpoint", true, "set the file in which the checking progress is periodically saved", setCheckpointFile()),
+	
+	/** set the time between two checkpoints */
+	SET_CHECKPOINT_INTERVAL("I", "checkpoint-interval", true, "set the time (in seconds) between two checkpoints (default: 60)", setCheckpointInterval()),
+	
+	/** resume from the checkpoint file */
+	RESUME("R", "resume", false, "resume the checking process from the checkpoint file, skipping the instances already checked", resume()),
+	
+	/** run the software under test in server mode */
+	SERVER_MODE("S", "server", false, "launch the software once per worker and send it the instances on its standard input", serverMode()),
+	
+	/** set the way the instances are given to the software under test */
+	SET_STAGING("T", "staging", true, "set how instances are given to the software: temp (new temporary files), scratch (recycled files, in memory if possible) or fifo (named pipes) (default: temp)", setStaging()),
+	
+	/** set the directory of the result cache */
+	SET_CACHE("K", "cache", true, "set the directory of a cache keeping the results of the software under test from a run to another", setCacheDirectory()),
+	
+	/** set the maximal size of the result cache */
+	SET_CACHE_SIZE("Q", "cache-size", true, "set the maximal size (in MB) of the result cache (0 for no limit; default: 1024)", setCacheSize()),
+	
+	/** set the maximal age of the result cache entries */
+	SET_CACHE_AGE("A", "cache-age", true, "set the time (in days) after which unused entries are removed from the result cache (0 for no limit; default: 30)", setCacheAge()),
+	
+	/** set the factor of the adaptive timeout */
+	SET_ADAPTIVE_TIMEOUT("a", "adaptive-timeout", true, "stop the software after a multiple of the usual runtime for instances of the same size (0 to disable; default: 0)", setAdaptiveTimeout()),
+	
+	/** set the maximal size of the standard output */
+	SET_STDOUT_LIMIT("O", "stdout-limit", true, "set the maximal size (in KB) of the output of the software, which is stopped when it is exceeded (0 for no limit; default: 65536)", setStdoutLimit()),
+	
+	/** set the way the error output is captured */
+	SET_STDERR_CAPTURE("M", "stderr-capture", true, "set how the error output of the software is kept: full (stopped when exceeding the limit), tail (last bytes only) or discard (default: tail)", setStderrCapture()),
+	
+	/** set the maximal size of the error output */
+	SET_STDERR_LIMIT("E", "stderr-limit", true, "set the maximal size (in KB) of the error output of the software (0 for no limit; default: 1024)", setStderrLimit()),
+	
+	/** set the maximal number of instances waiting for or under check */
+	SET_MAX_PENDING("B", "max-pending", true, "set the maximal number of generated instances waiting for or under check (default: number of processors)", setMaxPending()),
+	
+	/** set the time between two progress reports */
+	SET_PROGRESS_INTERVAL("P", "progress-interval", true, "set the time (in seconds) between two progress reports (0 for no report; default: 60)", setProgressInterval()),
+	
+	/** set the maximal number of errors */
+	SET_MAX_ERRORS("N", "max-errors", true, "stop the checking process once this number of errors is reached (0 for no limit; default: 0)", setMaxErrors()),
+	
+	/** set the maximal number of concurrent generation processes */
+	SET_CONCURRENT_GENERATIONS("G", "concurrent-generations", true, "set the maximal number of methods whose instances are generated at the same time (default: number of processors)", setConcurrentGenerations()),
+	
 	/** display the license and exit */
 	DISPLAY_LICENCE("g", "license", false, "display the license and exit", displayLicense());
 
@@ -121,6 +208,58 @@ public enum ECheckerOption implements IAppOption<CheckerOptionsReader> {
 		return (o, s) -> o.setMaxDepth(s);
 	}
 	
+	private static BiConsumer<CheckerOptionsReader, String> setTraversalStrategy() {
+		return (o, s) -> o.setTraversalStrategy(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setGenerationThreads() {
+		return (o, s) -> o.setGenerationThreads(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setDeduplicationIndex() {
+		return (o, s) -> o.setDeduplicationIndex(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setFrontierBudget() {
+		return (o, s) -> o.setFrontierBudget(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setSpillDirectory() {
+		return (o, s) -> o.setSpillDirectory(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setMaxInstances() {
+		return (o, s) -> o.setMaxInstances(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setMaxTime() {
+		return (o, s) -> o.setMaxTime(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setMaxHeap() {
+		return (o, s) -> o.setMaxHeap(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setWalks() {
+		return (o, s) -> o.setWalks(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setReservoirSize() {
+		return (o, s) -> o.setReservoirSize(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setWalkEmission() {
+		return (o, s) -> o.setWalkEmission(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setShard() {
+		return (o, s) -> o.setShard(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setSeed() {
+		return (o, s) -> o.setSeed(s);
+	}
+	
 	private static BiConsumer<CheckerOptionsReader, String> setExecLocation() {
 		return (o, s) -> o.setExecLocation(s);
 	}
@@ -129,6 +268,70 @@ public enum ECheckerOption implements IAppOption<CheckerOptionsReader> {
 		return (o, s) -> o.setCheckerOptions(s);
 	}
 	
+	private static BiConsumer<CheckerOptionsReader, String> setCheckpointFile() {
+		return (o, s) -> o.setCheckpointFile(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setCheckpointInterval() {
+		return (o, s) -> o.setCheckpointInterval(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> resume() {
+		return (o, s) -> o.setResume();
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> serverMode() {
+		return (o, s) -> o.setServerMode();
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setStaging() {
+		return (o, s) -> o.setStaging(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setCacheDirectory() {
+		return (o, s) -> o.setCacheDirectory(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setCacheSize() {
+		return (o, s) -> o.setCacheSize(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setCacheAge() {
+		return (o, s) -> o.setCacheAge(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setAdaptiveTimeout() {
+		return (o, s) -> o.setAdaptiveTimeout(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setStdoutLimit() {
+		return (o, s) -> o.setStdoutLimit(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setStderrCapture() {
+		return (o, s) -> o.setStderrCapture(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setStderrLimit() {
+		return (o, s) -> o.setStderrLimit(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setMaxPending() {
+		return (o, s) -> o.setMaxPending(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setProgressInterval() {
+		return (o, s) -> o.setProgressInterval(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setMaxErrors() {
+		return (o, s) -> o.setMaxErrors(s);
+	}
+	
+	private static BiConsumer<CheckerOptionsReader, String> setConcurrentGenerations() {
+		return (o, s) -> o.setConcurrentGenerations(s);
+	}
+	
 	private static BiConsumer<CheckerOptionsReader, String> displayLicense() {
 		return (o, s) -> o.printLicenseAndExit();
 	}
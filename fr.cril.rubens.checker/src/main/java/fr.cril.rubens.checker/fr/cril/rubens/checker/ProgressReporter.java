@@ -0,0 +1,205 @@
+package fr.cril.rubens.checker;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Periodically logs the progress of a checking process.
+ *
+ * Each report gives the number of generated instances, of checks and of errors, the generation and checking throughputs since the previous report,
+ * and the number of checks waiting for a thread.
+ *
+ * The number of instances a search tree has at a given depth is not known before it is built,
+ * so the remaining time can only be projected when the generation of each factory is bounded by a number of instances or a time (or both).
+ * In this case, the projection assumes the remaining factories are checked at the same speed as the previous ones.
+ * When several factories are checked at the same time, the progress of each of them is tracked separately,
+ * and the factories which are not started yet are assumed to be started each time a running one is over.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+final class ProgressReporter implements Runnable {
+
+	private final Logger logger;
+
+	private final LongSupplier generated;
+
+	private final LongSupplier checked;
+
+	private final LongSupplier errors;
+
+	private final LongSupplier queued;
+
+	private final int nFactories;
+	
+	private final int concurrency;
+
+	private final long maxInstances;
+
+	private final long maxTimeNanos;
+
+	private final long startTime;
+
+	private long lastTime;
+
+	private long lastGenerated;
+
+	private long lastChecked;
+
+	private int nStartedFactories = 0;
+
+	private final Set<RunningFactory> runningFactories = new HashSet<>();
+
+	/**
+	 * Builds a new progress reporter and starts its clock.
+	 *
+	 * @param logger the logger the reports are written to
+	 * @param generated the supplier of the number of generated instances
+	 * @param checked the supplier of the number of checks
+	 * @param errors the supplier of the number of errors
+	 * @param queued the supplier of the number of checks waiting for a thread
+	 * @param nFactories the number of factories to check
+	 * @param concurrency the maximal number of factories checked at the same time
+	 * @param maxInstances the maximal number of instances generated for each factory (zero means there is no limit)
+	 * @param maxTimeNanos the maximal generation time for each factory, in nanoseconds (zero means there is no limit)
+	 */
+	ProgressReporter(final Logger logger, final LongSupplier generated, final LongSupplier checked, final LongSupplier errors, final LongSupplier queued,
+			final int nFactories, final int concurrency, final long maxInstances, final long maxTimeNanos) {
+		this.logger = logger;
+		this.generated = generated;
+		this.checked = checked;
+		this.errors = errors;
+		this.queued = queued;
+		this.nFactories = nFactories;
+		this.concurrency = concurrency;
+		this.maxInstances = maxInstances;
+		this.maxTimeNanos = maxTimeNanos;
+		this.startTime = System.nanoTime();
+		this.lastTime = this.startTime;
+	}
+
+	/**
+	 * Signals the checking process has started to check a new factory.
+	 *
+	 * The returned object must be given to {@link ProgressReporter#factoryEnded(RunningFactory)} once the instances of the factory are all generated.
+	 *
+	 * @param factoryGenerated the supplier of the number of instances generated for this factory
+	 * @return the object tracking the progress of the factory
+	 */
+	synchronized RunningFactory factoryStarted(final LongSupplier factoryGenerated) {
+		this.nStartedFactories++;
+		final RunningFactory factory = new RunningFactory(System.nanoTime(), factoryGenerated);
+		this.runningFactories.add(factory);
+		return factory;
+	}
+
+	/**
+	 * Signals the instances of a factory are all generated.
+	 *
+	 * @param factory the object returned by {@link ProgressReporter#factoryStarted(LongSupplier)} for this factory
+	 */
+	synchronized void factoryEnded(final RunningFactory factory) {
+		this.runningFactories.remove(factory);
+	}
+
+	@Override
+	public void run() {
+		this.logger.info("progress: {}", report(System.nanoTime()));
+	}
+
+	/**
+	 * Builds a report about the progress at the given time, and starts a new period for the throughputs.
+	 *
+	 * @param now the current time, as given by {@link System#nanoTime()}
+	 * @return the report
+	 */
+	synchronized String report(final long now) {
+		final long nGenerated = this.generated.getAsLong();
+		final long nChecked = this.checked.getAsLong();
+		final double period = Math.max(1, now - this.lastTime) / 1e9;
+		final StringBuilder sb = new StringBuilder();
+		sb.append(nGenerated).append(" instances generated (").append(String.format("%.1f", (nGenerated - this.lastGenerated) / period)).append("/s), ");
+		sb.append(nChecked).append(" checks (").append(String.format("%.1f", (nChecked - this.lastChecked) / period)).append("/s), ");
+		sb.append(this.queued.getAsLong()).append(" queued checks, ");
+		sb.append(this.errors.getAsLong()).append(" errors");
+		final long remaining = remainingNanos(now, nGenerated);
+		if(remaining >= 0) {
+			sb.append(", about ").append(String.format("%.0f", remaining / 1e9)).append("s remaining");
+		}
+		this.lastTime = now;
+		this.lastGenerated = nGenerated;
+		this.lastChecked = nChecked;
+		return sb.toString();
+	}
+
+	private long remainingNanos(final long now, final long nGenerated) {
+		final int nextFactories = Math.max(0, this.nFactories - this.nStartedFactories);
+		long remaining = -1;
+		if(this.maxTimeNanos > 0) {
+			// each factory which is not started yet takes the place of the first one to end
+			final PriorityQueue<Long> slots = new PriorityQueue<>();
+			this.runningFactories.forEach(f -> slots.add(Math.max(0, this.maxTimeNanos - (now - f.startTime))));
+			while(slots.size() < this.concurrency) {
+				slots.add(0L);
+			}
+			for(int i=0; i<nextFactories; ++i) {
+				slots.add(slots.poll() + this.maxTimeNanos);
+			}
+			remaining = slots.stream().mapToLong(Long::longValue).max().orElse(0);
+		}
+		if(this.maxInstances > 0 && nGenerated > 0) {
+			// the throughput is the one of all the factories running at the same time
+			final double nanosPerInstance = (double) (now - this.startTime) / nGenerated;
+			final long runningRemaining = this.runningFactories.stream().mapToLong(f -> Math.max(0, this.maxInstances - f.generated.getAsLong())).sum();
+			final long byInstances = (long) ((runningRemaining + nextFactories * this.maxInstances) * nanosPerInstance);
+			remaining = remaining < 0 ? byInstances : Math.min(remaining, byInstances);
+		}
+		return remaining;
+	}
+
+	/**
+	 * The progress of a factory which instances are being generated.
+	 *
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	static final class RunningFactory {
+
+		private final long startTime;
+
+		private final LongSupplier generated;
+
+		private RunningFactory(final long startTime, final LongSupplier generated) {
+			this.startTime = startTime;
+			this.generated = generated;
+		}
+
+	}
+
+}
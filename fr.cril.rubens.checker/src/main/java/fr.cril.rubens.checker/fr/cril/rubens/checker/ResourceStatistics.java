@@ -0,0 +1,171 @@
+package fr.cril.rubens.checker;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import fr.cril.rubens.specs.Instance;
+import fr.cril.rubens.utils.ResourceUsage;
+
+/**
+ * The aggregation of the resources used by the executions of the software under test for a checker factory.
+ * 
+ * In addition to the totals, the instances which required the longest wall time and the highest memory are kept,
+ * in order to point out the kind of instances which make the software slow or memory-hungry.
+ * The resources which could not be measured (see {@link ResourceUsage}) are ignored.
+ * 
+ * The methods of this class are thread-safe.
+ * 
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public final class ResourceStatistics {
+	
+	private int runs;
+	
+	private long wallTime;
+	
+	private long userTime;
+	
+	private long systemTime;
+	
+	private long maxWallTime = -1;
+	
+	private String maxWallTimeInstance;
+	
+	private long peakMemory = -1;
+	
+	private String peakMemoryInstance;
+	
+	/**
+	 * Adds the resources used by an execution.
+	 * 
+	 * @param instance the instance the software was executed on
+	 * @param usage the resources used by the execution
+	 */
+	public synchronized void add(final Instance instance, final ResourceUsage usage) {
+		this.runs++;
+		this.wallTime += usage.getWallTime();
+		this.userTime += Math.max(0, usage.getUserTime());
+		this.systemTime += Math.max(0, usage.getSystemTime());
+		if(usage.getWallTime() > this.maxWallTime) {
+			this.maxWallTime = usage.getWallTime();
+			this.maxWallTimeInstance = instance.toString();
+		}
+		if(usage.getPeakMemory() > this.peakMemory) {
+			this.peakMemory = usage.getPeakMemory();
+			this.peakMemoryInstance = instance.toString();
+		}
+	}
+	
+	/**
+	 * Returns the number of executions.
+	 * 
+	 * @return the number of executions
+	 */
+	public synchronized int getRuns() {
+		return this.runs;
+	}
+	
+	/**
+	 * Returns the total wall time, in nanoseconds.
+	 * 
+	 * @return the total wall time
+	 */
+	public synchronized long getWallTime() {
+		return this.wallTime;
+	}
+	
+	/**
+	 * Returns the total user CPU time, in nanoseconds.
+	 * 
+	 * @return the total user CPU time
+	 */
+	public synchronized long getUserTime() {
+		return this.userTime;
+	}
+	
+	/**
+	 * Returns the total system CPU time, in nanoseconds.
+	 * 
+	 * @return the total system CPU time
+	 */
+	public synchronized long getSystemTime() {
+		return this.systemTime;
+	}
+	
+	/**
+	 * Returns the longest wall time of an execution, in nanoseconds, or <code>-1</code> if no execution took place.
+	 * 
+	 * @return the longest wall time
+	 */
+	public synchronized long getMaxWallTime() {
+		return this.maxWallTime;
+	}
+	
+	/**
+	 * Returns the string representation of the instance which required the longest wall time, or <code>null</code> if no execution took place.
+	 * 
+	 * @return the instance which required the longest wall time
+	 */
+	public synchronized String getMaxWallTimeInstance() {
+		return this.maxWallTimeInstance;
+	}
+	
+	/**
+	 * Returns the highest peak memory of an execution, in bytes, or <code>-1</code> if it was never measured.
+	 * 
+	 * @return the highest peak memory
+	 */
+	public synchronized long getPeakMemory() {
+		return this.peakMemory;
+	}
+	
+	/**
+	 * Returns the string representation of the instance which required the highest peak memory, or <code>null</code> if it was never measured.
+	 * 
+	 * @return the instance which required the highest peak memory
+	 */
+	public synchronized String getPeakMemoryInstance() {
+		return this.peakMemoryInstance;
+	}
+	
+	@Override
+	public synchronized String toString() {
+		final StringBuilder builder = new StringBuilder();
+		builder.append(this.runs).append(" runs, wall time ").append(seconds(this.wallTime)).append("s");
+		if(this.runs > 0) {
+			builder.append(" (mean ").append(seconds(this.wallTime / this.runs)).append("s, max ").append(seconds(this.maxWallTime))
+				.append("s for instance ").append(this.maxWallTimeInstance).append(")");
+		}
+		builder.append(", user time ").append(seconds(this.userTime)).append("s, system time ").append(seconds(this.systemTime)).append("s");
+		if(this.peakMemory >= 0) {
+			builder.append(", peak memory ").append(this.peakMemory >> 10).append("KiB for instance ").append(this.peakMemoryInstance);
+		}
+		return builder.toString();
+	}
+	
+	private static String seconds(final long nanos) {
+		return String.format("%.3f", nanos / 1e9);
+	}
+	
+}
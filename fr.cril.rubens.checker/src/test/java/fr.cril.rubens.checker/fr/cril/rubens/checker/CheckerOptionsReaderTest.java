@@ -26,6 +26,7 @@ package fr.cril.rubens.checker;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
@@ -55,6 +56,8 @@ import fr.cril.rubens.specs.CheckerFactory;
 import fr.cril.rubens.specs.Instance;
 import fr.cril.rubens.specs.TestGeneratorFactory;
 import fr.cril.rubens.utils.ASoftwareExecutor;
+import fr.cril.rubens.utils.EInstanceStaging;
+import fr.cril.rubens.utils.EStderrCapture;
 
 class CheckerOptionsReaderTest {
 	
@@ -226,6 +229,14 @@ class CheckerOptionsReaderTest {
 		assertEquals("foo", this.optReader.getExecLocation());
 	}
 	
+	@Test
+	void testSeveralExecLocs() throws IOException {
+		this.optReader.loadOptions(new String[] {"-e", "/bin/cat", "-e", "/bin/echo", "-e", "/bin/cat", "-m", "EE-CO"});
+		assertFalse(this.optReader.mustExit());
+		assertEquals(List.of("/bin/cat", "/bin/echo"), this.optReader.getExecLocations());
+		assertEquals("/bin/cat", this.optReader.getExecLocation());
+	}
+	
 	@Test
 	void testCheckerOptions() {
 		this.optReader.setCheckerOptions("a=b;c=d");
@@ -252,6 +263,181 @@ class CheckerOptionsReaderTest {
 		assertTrue(this.optReader.mustExit());
 	}
 	
+	@Test
+	void testCheckpointOptions() throws IOException {
+		final Path file = Files.createTempFile("junit-rubens-", "");
+		tempFiles.add(file);
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-C", file.toString(), "-I", "10", "-R"});
+		assertFalse(this.optReader.mustExit());
+		assertEquals(file.toFile(), this.optReader.getCheckpointFile());
+		assertEquals(10, this.optReader.getCheckpointInterval());
+		assertTrue(this.optReader.isResume());
+	}
+	
+	@Test
+	void testServerMode() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-S"});
+		assertFalse(this.optReader.mustExit());
+		assertTrue(this.optReader.isServerMode());
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO"});
+		assertFalse(this.optReader.isServerMode());
+	}
+	
+	@Test
+	void testStaging() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO"});
+		assertEquals(CheckerOptionsReader.DEFAULT_STAGING, this.optReader.getStaging());
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-T", "fifo"});
+		assertFalse(this.optReader.mustExit());
+		assertEquals(EInstanceStaging.FIFO, this.optReader.getStaging());
+	}
+	
+	@Test
+	void testUnknownStaging() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-T", "foo"});
+		assertTrue(this.optReader.mustExit());
+	}
+	
+	@Test
+	void testCacheOptions() throws IOException {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO"});
+		assertNull(this.optReader.getCacheDirectory());
+		assertEquals(CheckerOptionsReader.DEFAULT_CACHE_SIZE, this.optReader.getCacheSize());
+		assertEquals(CheckerOptionsReader.DEFAULT_CACHE_AGE, this.optReader.getCacheAge());
+		final Path dir = Files.createTempDirectory("junit-rubens-");
+		tempFiles.add(dir);
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-K", dir.toString(), "-Q", "0", "-A", "7"});
+		assertFalse(this.optReader.mustExit());
+		assertEquals(dir.toFile(), this.optReader.getCacheDirectory());
+		assertEquals(0, this.optReader.getCacheSize());
+		assertEquals(7, this.optReader.getCacheAge());
+	}
+	
+	@Test
+	void testWrongCacheSize() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-Q", "-1"});
+		assertTrue(this.optReader.mustExit());
+	}
+	
+	@Test
+	void testAdaptiveTimeout() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO"});
+		assertEquals(CheckerOptionsReader.DEFAULT_ADAPTIVE_TIMEOUT, this.optReader.getAdaptiveTimeout());
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-a", "2.5"});
+		assertFalse(this.optReader.mustExit());
+		assertEquals(2.5, this.optReader.getAdaptiveTimeout());
+	}
+	
+	@Test
+	void testWrongAdaptiveTimeout() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-a", "0.5"});
+		assertTrue(this.optReader.mustExit());
+	}
+	
+	@Test
+	void testOutputLimits() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO"});
+		assertEquals(CheckerOptionsReader.DEFAULT_STDOUT_LIMIT, this.optReader.getStdoutLimit());
+		assertEquals(CheckerOptionsReader.DEFAULT_STDERR_CAPTURE, this.optReader.getStderrCapture());
+		assertEquals(CheckerOptionsReader.DEFAULT_STDERR_LIMIT, this.optReader.getStderrLimit());
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-O", "10", "-M", "discard", "-E", "0"});
+		assertFalse(this.optReader.mustExit());
+		assertEquals(10, this.optReader.getStdoutLimit());
+		assertEquals(EStderrCapture.DISCARD, this.optReader.getStderrCapture());
+		assertEquals(0, this.optReader.getStderrLimit());
+	}
+	
+	@Test
+	void testWrongStderrCapture() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-M", "foo"});
+		assertTrue(this.optReader.mustExit());
+	}
+	
+	@Test
+	void testMaxPending() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO"});
+		assertEquals(CheckerOptionsReader.DEFAULT_MAX_PENDING, this.optReader.getMaxPending());
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-B", "3"});
+		assertFalse(this.optReader.mustExit());
+		assertEquals(3, this.optReader.getMaxPending());
+	}
+	
+	@Test
+	void testWrongMaxPending() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-B", "0"});
+		assertTrue(this.optReader.mustExit());
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-B", "foo"});
+		assertTrue(this.optReader.mustExit());
+	}
+	
+	@Test
+	void testConcurrentGenerations() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO"});
+		assertEquals(CheckerOptionsReader.DEFAULT_CONCURRENT_GENERATIONS, this.optReader.getConcurrentGenerations());
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-G", "2"});
+		assertFalse(this.optReader.mustExit());
+		assertEquals(2, this.optReader.getConcurrentGenerations());
+	}
+	
+	@Test
+	void testWrongConcurrentGenerations() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-G", "0"});
+		assertTrue(this.optReader.mustExit());
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-G", "foo"});
+		assertTrue(this.optReader.mustExit());
+	}
+	
+	@Test
+	void testProgressInterval() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO"});
+		assertEquals(CheckerOptionsReader.DEFAULT_PROGRESS_INTERVAL, this.optReader.getProgressInterval());
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-P", "0"});
+		assertFalse(this.optReader.mustExit());
+		assertEquals(0, this.optReader.getProgressInterval());
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-P", "-1"});
+		assertTrue(this.optReader.mustExit());
+	}
+	
+	@Test
+	void testMaxErrors() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO"});
+		assertEquals(CheckerOptionsReader.DEFAULT_MAX_ERRORS, this.optReader.getMaxErrors());
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-N", "10"});
+		assertFalse(this.optReader.mustExit());
+		assertEquals(10, this.optReader.getMaxErrors());
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-N", "foo"});
+		assertTrue(this.optReader.mustExit());
+	}
+	
+	@Test
+	void testDefaultCheckpointOptions() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO"});
+		assertNull(this.optReader.getCheckpointFile());
+		assertEquals(CheckerOptionsReader.DEFAULT_CHECKPOINT_INTERVAL, this.optReader.getCheckpointInterval());
+		assertFalse(this.optReader.isResume());
+	}
+	
+	@Test
+	void testCheckpointIsADirectory() throws IOException {
+		final Path dir = Files.createTempDirectory("junit-rubens-");
+		tempFiles.add(dir);
+		this.optReader.setCheckpointFile(dir.toString());
+		assertTrue(this.optReader.mustExit());
+	}
+	
+	@Test
+	void testSetNullCheckpointInterval() {
+		this.optReader.setCheckpointInterval("0");
+		assertTrue(this.optReader.mustExit());
+	}
+	
+	@Test
+	void testResumeWithoutCheckpointFile() {
+		this.optReader.loadOptions(new String[] {"-e", this.exec.toAbsolutePath().toString(), "-m", "EE-CO", "-R"});
+		assertTrue(this.optReader.mustExit());
+		assertEquals(CheckerOptionsReader.STATUS_OPTIONS_EXIT_ERROR, this.optReader.exitStatus());
+	}
+	
 	@ReflectorParam(enabled=false)
 	private class ACheckerFactory implements CheckerFactory<Instance> {
 
@@ -26,6 +26,8 @@ package fr.cril.rubens.checker;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
@@ -34,6 +36,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -45,7 +50,11 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import fr.cril.rubens.checker.utils.EchoCheckerFactory;
+import fr.cril.rubens.checker.utils.SharedEchoCheckerFactory;
+import fr.cril.rubens.checker.utils.EchoInstance;
 import fr.cril.rubens.reflection.CheckerFactoryReflector;
+import fr.cril.rubens.utils.Fingerprint;
+import fr.cril.rubens.utils.RandomHelper;
 
 class CheckerTest {
 	
@@ -92,6 +101,130 @@ class CheckerTest {
 		assertEquals(0, checker.getErrorCount());
 	}
 	
+	@Test
+	void testResourceStatistics() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			System.out.println("no \"cat\" command; aborting test");
+			return;
+		}
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-o", tmpDir.toAbsolutePath().toString(), "-d", "3"});
+		checker.check();
+		final ResourceStatistics stats = checker.getResourceStatistics().get("ECHO");
+		assertEquals(7, stats.getRuns());
+		assertTrue(stats.getWallTime() > 0);
+		assertTrue(stats.getMaxWallTime() > 0);
+		assertNotNull(stats.getMaxWallTimeInstance());
+	}
+	
+	@Test
+	void testSeveralSoftware() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			System.out.println("no \"cat\" command; aborting test");
+			return;
+		}
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-e", "/bin/echo", "-o", tmpDir.toAbsolutePath().toString(), "-d", "3"});
+		checker.check();
+		assertEquals(14, checker.getCheckCount());
+		assertEquals(7, checker.getErrorCount());
+		assertEquals(Map.of("/bin/cat", 0, "/bin/echo", 7), checker.getErrorCounts());
+		assertEquals(7, checker.getResourceStatistics().get("ECHO@cat").getRuns());
+		assertEquals(7, checker.getResourceStatistics().get("ECHO@echo").getRuns());
+		try(final Stream<Path> files = Files.list(tmpDir)) {
+			assertTrue(files.allMatch(f -> f.getFileName().toString().startsWith("ECHO@echo-")));
+		}
+		assertEquals(7, Files.list(tmpDir).count());
+	}
+	
+	@Test
+	void testSeveralSoftwareWithSameName() throws IOException, InterruptedException {
+		if(!checkCat() || !Files.isExecutable(Paths.get("/usr/bin/cat"))) {
+			System.out.println("no \"cat\" command; aborting test");
+			return;
+		}
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-e", "/usr/bin/cat", "-d", "3"});
+		checker.check();
+		assertEquals(14, checker.getCheckCount());
+		assertEquals(0, checker.getErrorCount());
+		assertEquals(Set.of("ECHO@cat-1", "ECHO@cat-2"), checker.getResourceStatistics().keySet());
+	}
+	
+	@Test
+	void testSinglePendingInstance() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			System.out.println("no \"cat\" command; aborting test");
+			return;
+		}
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-e", "/bin/echo", "-o", tmpDir.toAbsolutePath().toString(), "-d", "3", "-B", "1"});
+		checker.check();
+		assertEquals(0, checker.getStatusCode());
+		assertEquals(14, checker.getCheckCount());
+		assertEquals(7, checker.getErrorCount());
+	}
+	
+	@Test
+	void testSharedTestGenerator() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			System.out.println("no \"cat\" command; aborting test");
+			return;
+		}
+		CheckerFactoryReflector.getInstance().addClass("ECHO2", SharedEchoCheckerFactory.class);
+		CheckerFactoryReflector.getInstance().addClass("ECHO3", SharedEchoCheckerFactory.class);
+		SharedEchoCheckerFactory.resetTestGeneratorCount();
+		final Checker checker = new Checker(new String[] {"-m", "ECHO2", "-m", "ECHO3", "-e", "/bin/cat", "-o", tmpDir.toAbsolutePath().toString(), "-d", "3"});
+		checker.check();
+		assertEquals(0, checker.getStatusCode());
+		assertEquals(1, SharedEchoCheckerFactory.getTestGeneratorCount());
+		assertEquals(14, checker.getCheckCount());
+		assertEquals(0, checker.getErrorCount());
+		assertEquals(7, checker.getResourceStatistics().get("ECHO2").getRuns());
+		assertEquals(7, checker.getResourceStatistics().get("ECHO3").getRuns());
+	}
+	
+	@Test
+	void testConcurrentGenerations() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			System.out.println("no \"cat\" command; aborting test");
+			return;
+		}
+		CheckerFactoryReflector.getInstance().addClass("ECHO2", SharedEchoCheckerFactory.class);
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-m", "ECHO2", "-e", "/bin/cat", "-o", tmpDir.toAbsolutePath().toString(), "-d", "3",
+				"-G", "2"});
+		EchoCheckerFactory.setAlwaysReturnFalse(true);
+		checker.check();
+		assertEquals(0, checker.getStatusCode());
+		assertEquals(14, checker.getCheckCount());
+		assertEquals(14, checker.getErrorCount());
+		assertEquals(Map.of("ECHO", 7, "ECHO2", 7), checker.getFactoryErrorCounts());
+	}
+	
+	@Test
+	void testInstancesGeneratedByGenerationThreads() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			System.out.println("no \"cat\" command; aborting test");
+			return;
+		}
+		CheckerFactoryReflector.getInstance().addClass("ECHO2", SharedEchoCheckerFactory.class);
+		SharedEchoCheckerFactory.resetGenerationThreads();
+		final Checker checker = new Checker(new String[] {"-m", "ECHO2", "-e", "/bin/cat", "-o", tmpDir.toAbsolutePath().toString(), "-d", "6", "-B", "1"});
+		checker.check();
+		assertEquals(63, checker.getCheckCount());
+		assertEquals(Collections.singleton("rubens-generation"), SharedEchoCheckerFactory.getGenerationThreads());
+	}
+	
+	@Test
+	void testMaxErrors() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			System.out.println("no \"cat\" command; aborting test");
+			return;
+		}
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-o", tmpDir.toAbsolutePath().toString(), "-d", "10", "-N", "3"});
+		EchoCheckerFactory.setAlwaysReturnFalse(true);
+		checker.check();
+		assertEquals(0, checker.getStatusCode());
+		assertTrue(checker.getErrorCount() >= 3);
+		assertTrue(checker.getCheckCount() < 1023);
+	}
+	
 	@Test
 	void testWrongCLIOpts() {
 		final Checker checker = new Checker(new String[] {"-e", "/bin/cat", "-o", tmpDir.toAbsolutePath().toString(), "-d", "3"});
@@ -183,6 +316,157 @@ class CheckerTest {
 		assertEquals(ignCount, checker.getIgnoredCount());
 	}
 	
+	@Test
+	void testCheckpoint() throws IOException {
+		final Path checkpointFile = tmpDir.resolve("checkpoint");
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-C", checkpointFile.toString()});
+		checker.check();
+		final Checkpoint checkpoint = Checkpoint.read(checkpointFile);
+		assertEquals(7, checkpoint.getCheckCount());
+		assertEquals(Collections.singleton("ECHO"), checkpoint.getCompletedFactories());
+		assertTrue(checkpoint.getCheckedInstances("ECHO").isEmpty());
+	}
+	
+	@Test
+	void testResumeCompleted() throws IOException {
+		final Path checkpointFile = tmpDir.resolve("checkpoint");
+		new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-C", checkpointFile.toString()}).check();
+		EchoCheckerFactory.setAlwaysReturnFalse(true);
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-C", checkpointFile.toString(), "-R"});
+		checker.check();
+		assertEquals(7, checker.getCheckCount());
+		assertEquals(0, checker.getErrorCount());
+	}
+	
+	@Test
+	void testResumePartial() throws IOException {
+		final Path checkpointFile = tmpDir.resolve("checkpoint");
+		final Set<Fingerprint> checked = Stream.of("", "a").map(s -> new EchoInstance(s).fingerprint()).collect(Collectors.toSet());
+		new Checkpoint(RandomHelper.getInstance().getSeed(), 2, 0, 0, Collections.emptySet(), Collections.singletonMap("ECHO", checked)).write(checkpointFile);
+		EchoCheckerFactory.setAlwaysReturnFalse(true);
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-C", checkpointFile.toString(), "-R"});
+		checker.check();
+		assertEquals(7, checker.getCheckCount());
+		assertEquals(5, checker.getErrorCount());
+		assertEquals(Collections.singleton("ECHO"), Checkpoint.read(checkpointFile).getCompletedFactories());
+	}
+	
+	@Test
+	void testResumeAfterMaxErrors() throws IOException {
+		final Path checkpointFile = tmpDir.resolve("checkpoint");
+		EchoCheckerFactory.setAlwaysReturnFalse(true);
+		new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-B", "8", "-N", "1", "-C", checkpointFile.toString()}).check();
+		final Checkpoint checkpoint = Checkpoint.read(checkpointFile);
+		assertTrue(checkpoint.getCompletedFactories().isEmpty());
+		assertTrue(checkpoint.getCheckCount() < 7);
+		EchoCheckerFactory.setAlwaysReturnFalse(false);
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-C", checkpointFile.toString(), "-R"});
+		checker.check();
+		assertEquals(7, checker.getCheckCount());
+		assertEquals(Collections.singleton("ECHO"), Checkpoint.read(checkpointFile).getCompletedFactories());
+	}
+	
+	@Test
+	void testResumeRestoresSeed() throws IOException {
+		final Path checkpointFile = tmpDir.resolve("checkpoint");
+		new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-Z", "1", "-C", checkpointFile.toString()}).check();
+		assertEquals(1, Checkpoint.read(checkpointFile).getSeed());
+		RandomHelper.getInstance().setSeed(2);
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-C", checkpointFile.toString(), "-R"});
+		checker.check();
+		assertEquals(0, checker.getStatusCode());
+		assertEquals(1, RandomHelper.getInstance().getSeed());
+	}
+	
+	@Test
+	void testResumeWithConflictingSeed() throws IOException {
+		final Path checkpointFile = tmpDir.resolve("checkpoint");
+		new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-Z", "1", "-C", checkpointFile.toString()}).check();
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-Z", "2", "-C", checkpointFile.toString(), "-R"});
+		checker.check();
+		assertNotEquals(0, checker.getStatusCode());
+		assertEquals(0, checker.getCheckCount());
+	}
+	
+	@Test
+	void testResumeWithoutCheckpoint() {
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-R"});
+		assertNotEquals(0, checker.getStatusCode());
+	}
+	
+	@Test
+	void testResumeWrongCheckpoint() throws IOException {
+		final Path checkpointFile = tmpDir.resolve("checkpoint");
+		Files.write(checkpointFile, "foo".getBytes());
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-C", checkpointFile.toString(), "-R"});
+		checker.check();
+		assertNotEquals(0, checker.getStatusCode());
+		assertEquals(0, checker.getCheckCount());
+	}
+	
+	@Test
+	void testServerMode() throws IOException {
+		final Path server = tmpDir.resolve("server.sh");
+		Files.write(server, "#!/bin/sh\nwhile read f; do cat \"$f\"; [ -s \"$f\" ] && echo; echo \"--rubens-end--\"; done\n".getBytes());
+		Files.setPosixFilePermissions(server, PosixFilePermissions.fromString("rwx------"));
+		final Checker checker = new Checker(new String[] {"-m", "ECHO", "-e", server.toString(), "-d", "3", "-S"});
+		checker.check();
+		assertEquals(0, checker.getStatusCode());
+		assertEquals(7, checker.getCheckCount());
+		assertEquals(0, checker.getErrorCount());
+	}
+	
+	@Test
+	void testResultCache() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			System.out.println("no \"cat\" command; aborting test");
+			return;
+		}
+		final Path cacheDir = Files.createTempDirectory("rubens-cache-");
+		try {
+			final String[] args = new String[] {"-m", "ECHO", "-e", "/bin/cat", "-d", "3", "-K", cacheDir.toString()};
+			final Checker firstChecker = new Checker(args);
+			firstChecker.check();
+			assertEquals(0, firstChecker.getCacheHits());
+			final Checker secondChecker = new Checker(args);
+			secondChecker.check();
+			assertEquals(7, secondChecker.getCacheHits());
+			assertEquals(7, secondChecker.getCheckCount());
+			assertEquals(0, secondChecker.getErrorCount());
+			assertEquals(0, secondChecker.getResourceStatistics().get("ECHO").getRuns());
+		} finally {
+			try(final Stream<Path> paths = Files.walk(cacheDir)) {
+				for(final Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+					Files.delete(path);
+				}
+			}
+		}
+	}
+	
+	@Test
+	void testResultCacheWithArgUnderDecision() throws IOException {
+		final Path solver = tmpDir.resolve("solver.sh");
+		Files.writeString(solver, "#!/bin/sh\necho YES\n");
+		Files.setPosixFilePermissions(solver, PosixFilePermissions.fromString("rwx------"));
+		final Path cacheDir = Files.createTempDirectory("rubens-cache-");
+		try {
+			final Checker uncachedChecker = new Checker(new String[] {"-m", "DC-CO", "-e", solver.toString(), "-d", "4", "-Z", "2"});
+			uncachedChecker.check();
+			new Checker(new String[] {"-m", "DC-CO", "-e", solver.toString(), "-d", "4", "-Z", "1", "-K", cacheDir.toString()}).check();
+			final Checker cachedChecker = new Checker(new String[] {"-m", "DC-CO", "-e", solver.toString(), "-d", "4", "-Z", "2", "-K", cacheDir.toString()});
+			cachedChecker.check();
+			assertTrue(cachedChecker.getCacheHits() < cachedChecker.getCheckCount());
+			assertEquals(uncachedChecker.getCheckCount(), cachedChecker.getCheckCount());
+			assertEquals(uncachedChecker.getErrorCount(), cachedChecker.getErrorCount());
+		} finally {
+			try(final Stream<Path> paths = Files.walk(cacheDir)) {
+				for(final Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+					Files.delete(path);
+				}
+			}
+		}
+	}
+	
 	@Test
 	void testHelp() throws IOException, InterruptedException {
 		final Checker checker = new Checker(new String[] {"-h"});
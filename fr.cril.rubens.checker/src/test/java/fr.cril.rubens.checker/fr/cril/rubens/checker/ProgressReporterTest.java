@@ -0,0 +1,136 @@
+package fr.cril.rubens.checker;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import fr.cril.rubens.utils.LoggerHelper;
+
+class ProgressReporterTest {
+
+	private final AtomicLong generated = new AtomicLong();
+
+	private final AtomicLong checked = new AtomicLong();
+
+	private ProgressReporter newReporter(final int nFactories, final long maxInstances, final long maxTime) {
+		return newReporter(nFactories, 1, maxInstances, maxTime);
+	}
+	
+	private ProgressReporter newReporter(final int nFactories, final int concurrency, final long maxInstances, final long maxTime) {
+		return new ProgressReporter(LoggerHelper.getInstance().getLogger(), this.generated::get, this.checked::get, () -> 3, () -> 4,
+				nFactories, concurrency, maxInstances, TimeUnit.SECONDS.toNanos(maxTime));
+	}
+
+	@Test
+	void testCounts() {
+		final ProgressReporter reporter = newReporter(1, 0, 0);
+		reporter.factoryStarted(this.generated::get);
+		this.generated.set(100);
+		this.checked.set(50);
+		final String report = reporter.report(System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+		assertTrue(report.startsWith("100 instances generated (10"));
+		assertTrue(report.contains("50 checks (5"));
+		assertTrue(report.contains("4 queued checks"));
+		assertTrue(report.endsWith("3 errors"));
+	}
+
+	@Test
+	void testRatesArePerPeriod() {
+		final ProgressReporter reporter = newReporter(1, 0, 0);
+		reporter.factoryStarted(this.generated::get);
+		final long start = System.nanoTime();
+		this.generated.set(100);
+		reporter.report(start + TimeUnit.SECONDS.toNanos(10));
+		this.generated.set(120);
+		assertTrue(reporter.report(start + TimeUnit.SECONDS.toNanos(20)).startsWith("120 instances generated (2"));
+	}
+
+	@Test
+	void testNoProjectionWithoutLimit() {
+		final ProgressReporter reporter = newReporter(1, 0, 0);
+		reporter.factoryStarted(this.generated::get);
+		this.generated.set(100);
+		assertFalse(reporter.report(System.nanoTime() + TimeUnit.SECONDS.toNanos(10)).contains("remaining"));
+	}
+
+	@Test
+	void testProjectionByTime() {
+		final ProgressReporter reporter = newReporter(2, 0, 100);
+		reporter.factoryStarted(this.generated::get);
+		assertTrue(reporter.report(System.nanoTime() + TimeUnit.SECONDS.toNanos(10)).endsWith("about 190s remaining"));
+	}
+
+	@Test
+	void testProjectionByTimeWithConcurrency() {
+		final ProgressReporter reporter = newReporter(5, 2, 0, 100);
+		reporter.factoryStarted(this.generated::get);
+		reporter.factoryStarted(this.generated::get);
+		assertTrue(reporter.report(System.nanoTime() + TimeUnit.SECONDS.toNanos(10)).endsWith("about 290s remaining"));
+	}
+	
+	@Test
+	void testProjectionByTimeWithEndedFactory() {
+		final ProgressReporter reporter = newReporter(3, 2, 0, 100);
+		final long start = System.nanoTime();
+		reporter.factoryEnded(reporter.factoryStarted(this.generated::get));
+		reporter.factoryStarted(this.generated::get);
+		reporter.factoryStarted(this.generated::get);
+		assertTrue(reporter.report(start + TimeUnit.SECONDS.toNanos(10)).endsWith("about 90s remaining"));
+	}
+	
+	@Test
+	void testProjectionByInstancesWithConcurrency() {
+		final ProgressReporter reporter = newReporter(3, 2, 400, 0);
+		final AtomicLong generated1 = new AtomicLong(100);
+		final AtomicLong generated2 = new AtomicLong(300);
+		reporter.factoryStarted(generated1::get);
+		reporter.factoryStarted(generated2::get);
+		this.generated.set(400);
+		assertTrue(reporter.report(System.nanoTime() + TimeUnit.SECONDS.toNanos(10)).endsWith("about 20s remaining"));
+	}
+	
+	@Test
+	void testProjectionByInstances() {
+		final ProgressReporter reporter = newReporter(1, 400, 0);
+		reporter.factoryStarted(this.generated::get);
+		this.generated.set(100);
+		assertTrue(reporter.report(System.nanoTime() + TimeUnit.SECONDS.toNanos(10)).endsWith("about 30s remaining"));
+	}
+
+	@Test
+	void testProjectionTakesTheLowestBound() {
+		final ProgressReporter reporter = newReporter(1, 400, 20);
+		reporter.factoryStarted(this.generated::get);
+		this.generated.set(100);
+		assertTrue(reporter.report(System.nanoTime() + TimeUnit.SECONDS.toNanos(10)).endsWith("about 10s remaining"));
+	}
+
+}
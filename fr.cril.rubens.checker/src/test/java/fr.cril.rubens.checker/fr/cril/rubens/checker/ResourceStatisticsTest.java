@@ -0,0 +1,63 @@
+package fr.cril.rubens.checker;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import fr.cril.rubens.checker.utils.EchoInstance;
+import fr.cril.rubens.utils.ResourceUsage;
+
+class ResourceStatisticsTest {
+	
+	@Test
+	void testEmpty() {
+		final ResourceStatistics stats = new ResourceStatistics();
+		assertEquals(0, stats.getRuns());
+		assertEquals(-1, stats.getMaxWallTime());
+		assertNull(stats.getMaxWallTimeInstance());
+		assertEquals(-1, stats.getPeakMemory());
+		assertNull(stats.getPeakMemoryInstance());
+	}
+	
+	@Test
+	void testAggregation() {
+		final ResourceStatistics stats = new ResourceStatistics();
+		stats.add(new EchoInstance("a"), new ResourceUsage(10, 4, 1, 1024));
+		stats.add(new EchoInstance("b"), new ResourceUsage(30, 20, 2, 512));
+		stats.add(new EchoInstance("c"), new ResourceUsage(20, -1, -1, -1));
+		assertEquals(3, stats.getRuns());
+		assertEquals(60, stats.getWallTime());
+		assertEquals(24, stats.getUserTime());
+		assertEquals(3, stats.getSystemTime());
+		assertEquals(30, stats.getMaxWallTime());
+		assertEquals("b", stats.getMaxWallTimeInstance());
+		assertEquals(1024, stats.getPeakMemory());
+		assertEquals("a", stats.getPeakMemoryInstance());
+	}
+	
+}
@@ -78,6 +78,11 @@ public class EchoCheckerFactory implements CheckerFactory<EchoInstance> {
 			return Stream.of(execLocation.toAbsolutePath().toString(), instanceFiles.get(".txt").toAbsolutePath().toString()).collect(Collectors.toList());
 		}
 		
+		@Override
+		public boolean isServerModeSupported() {
+			return true;
+		}
+		
 	}
 	
 	public static void setAlwaysReturnFalse(final boolean value) {
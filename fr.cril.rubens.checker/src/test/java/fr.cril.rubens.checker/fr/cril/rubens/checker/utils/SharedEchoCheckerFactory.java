@@ -0,0 +1,102 @@
+package fr.cril.rubens.checker.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import fr.cril.rubens.reflection.ReflectorParam;
+import fr.cril.rubens.specs.InstanceTranslator;
+import fr.cril.rubens.specs.TestGeneratorFactory;
+
+@ReflectorParam(enabled=false)
+public class SharedEchoCheckerFactory extends EchoCheckerFactory {
+	
+	private static final AtomicInteger TEST_GENERATOR_COUNT = new AtomicInteger();
+	
+	private static final Set<String> GENERATION_THREADS = ConcurrentHashMap.newKeySet();
+	
+	@Override
+	public TestGeneratorFactory<EchoInstance> newTestGenerator() {
+		TEST_GENERATOR_COUNT.incrementAndGet();
+		final TestGeneratorFactory<EchoInstance> generator = super.newTestGenerator();
+		return new TestGeneratorFactory<EchoInstance>() {
+			
+			@Override
+			public EchoInstance initInstance() {
+				return generator.initInstance();
+			}
+			
+			@Override
+			public List<InstanceTranslator<EchoInstance>> translators() {
+				return generator.translators().stream().map(SharedEchoCheckerFactory::recordThreads).collect(Collectors.toList());
+			}
+			
+		};
+	}
+	
+	private static InstanceTranslator<EchoInstance> recordThreads(final InstanceTranslator<EchoInstance> translator) {
+		return new InstanceTranslator<EchoInstance>() {
+			
+			@Override
+			public boolean canBeAppliedTo(final EchoInstance instance) {
+				return translator.canBeAppliedTo(instance);
+			}
+			
+			@Override
+			public EchoInstance translate(final EchoInstance instance) {
+				GENERATION_THREADS.add(Thread.currentThread().getName());
+				return translator.translate(instance);
+			}
+			
+		};
+	}
+	
+	@Override
+	public String getTestGeneratorKey() {
+		return EchoTestGenerator.class.getName();
+	}
+	
+	public static int getTestGeneratorCount() {
+		return TEST_GENERATOR_COUNT.get();
+	}
+	
+	public static void resetTestGeneratorCount() {
+		TEST_GENERATOR_COUNT.set(0);
+	}
+	
+	public static Set<String> getGenerationThreads() {
+		return Collections.unmodifiableSet(GENERATION_THREADS);
+	}
+	
+	public static void resetGenerationThreads() {
+		GENERATION_THREADS.clear();
+	}
+
+}
@@ -26,6 +26,7 @@ package fr.cril.rubens.cnf.core;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -34,6 +35,8 @@ import java.util.stream.Stream;
 
 import fr.cril.rubens.cnf.utils.WriteUtils;
 import fr.cril.rubens.specs.Instance;
+import fr.cril.rubens.utils.Fingerprint;
+import fr.cril.rubens.utils.FingerprintHasher;
 
 /**
  * An {@link Instance} implementation dedicated to the CNF format.
@@ -44,9 +47,13 @@ import fr.cril.rubens.specs.Instance;
  * Each model is represented by a sorted list of integers.
  * Both orders are lexicographic.
  * 
+ * Instances are serializable, so that they can be spilled to disk during the generation process.
+ * 
  * @author Emmanuel Lonca - lonca@cril.fr
  */
-public class CnfInstance implements Instance {
+public class CnfInstance implements Instance, Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	/** the default extension associated with a CNF DIMACS problem */ 
 	public static final String CNF_EXT = ".cnf";
@@ -138,6 +145,21 @@ public class CnfInstance implements Instance {
 	public Collection<String> getFileExtensions() {
 		return Stream.of(CNF_EXT, MODS_EXT).collect(Collectors.toList());
 	}
+	
+	/**
+	 * Returns the number of variables.
+	 * 
+	 * @return the number of variables
+	 */
+	@Override
+	public int getSize() {
+		return this.nVars;
+	}
+	
+	@Override
+	public Collection<String> getInputFileExtensions() {
+		return Stream.of(CNF_EXT).collect(Collectors.toList());
+	}
 
 	@Override
 	public void write(final String extension, final OutputStream os) throws IOException {
@@ -150,6 +172,23 @@ public class CnfInstance implements Instance {
 		}
 	}
 
+	@Override
+	public final Fingerprint fingerprint() {
+		final FingerprintHasher hasher = new FingerprintHasher();
+		hasher.putInt(this.nVars);
+		putLists(hasher, this.clauses);
+		putLists(hasher, this.models);
+		return hasher.fingerprint();
+	}
+	
+	private static void putLists(final FingerprintHasher hasher, final List<List<Integer>> lists) {
+		hasher.putInt(lists.size());
+		for(final List<Integer> list : lists) {
+			hasher.putInt(list.size());
+			list.forEach(hasher::putInt);
+		}
+	}
+
 	@Override
 	public final int hashCode() {
 		final int prime = 31;
@@ -35,6 +35,8 @@ import fr.cril.rubens.utils.ASoftwareExecutor;
 /**
  * A software executor dedicated to solvers taking a CNF as input.
  * 
+ * In server mode, the solver receives on each line the path to the instance to solve.
+ * 
  * @author Emmanuel Lonca - lonca@cril.fr
  *
  * @param <T> the effective type of CNF instance under consideration.
@@ -59,4 +61,9 @@ public class CnfSolverExecutor<T extends CnfInstance> extends ASoftwareExecutor<
 		return Stream.of(execPathStr, cnfPathStr).collect(Collectors.toList());
 	}
 
+	@Override
+	public boolean isServerModeSupported() {
+		return true;
+	}
+
 }
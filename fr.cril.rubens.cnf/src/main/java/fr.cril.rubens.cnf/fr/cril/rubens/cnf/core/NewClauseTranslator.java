@@ -31,6 +31,7 @@ import java.util.stream.Stream;
 
 import fr.cril.rubens.cnf.utils.LiteralUtils;
 import fr.cril.rubens.specs.InstanceTranslator;
+import fr.cril.rubens.utils.RandomHelper;
 
 /**
  * An {@link InstanceTranslator} dedicated to CNF instances.
@@ -59,7 +60,7 @@ public class NewClauseTranslator implements InstanceTranslator<CnfInstance> {
 			litCandidates.add(-i);
 		}
 		instance.clauses().stream().filter(cl -> cl.size()==1).map(cl -> cl.get(0)).forEach(l -> litCandidates.set(LiteralUtils.dimacsToInternal(l), 0));
-		final int lit = LiteralUtils.selectRandomLiteral(litCandidates);
+		final int lit = LiteralUtils.selectRandomLiteral(litCandidates, RandomHelper.getInstance().newRandom(instance));
 		final List<List<Integer>> newClauses = new ArrayList<>(instance.clauses());
 		newClauses.add(Stream.of(lit).collect(Collectors.toList()));
 		final int finalLit = lit;
@@ -42,6 +42,7 @@ import org.sat4j.tools.ModelIterator;
 
 import fr.cril.rubens.cnf.utils.LiteralUtils;
 import fr.cril.rubens.specs.InstanceTranslator;
+import fr.cril.rubens.utils.RandomHelper;
 
 /**
  * An {@link InstanceTranslator} dedicated to CNF instances.
@@ -55,8 +56,6 @@ import fr.cril.rubens.specs.InstanceTranslator;
  * @author Emmanuel Lonca - lonca@cril.fr
  */
 public class NewLitInClauseTranslator implements InstanceTranslator<CnfInstance> {
-	
-	private static final Random RANDOM = new Random(System.currentTimeMillis());
 
 	@Override
 	public boolean canBeAppliedTo(final CnfInstance instance) {
@@ -65,10 +64,11 @@ public class NewLitInClauseTranslator implements InstanceTranslator<CnfInstance>
 
 	@Override
 	public CnfInstance translate(final CnfInstance instance) {
-		int clauseIndex = selectClauseIndex(instance);
+		final Random random = RandomHelper.getInstance().newRandom(instance);
+		int clauseIndex = selectClauseIndex(instance, random);
 		final List<List<Integer>> clauses = new ArrayList<>(instance.clauses());
 		List<Integer> clause = clauses.get(clauseIndex);
-		int lit = selectLiteral(instance, clause);
+		int lit = selectLiteral(instance, clause, random);
 		int nVars = instance.nVars();
 		final List<Integer> newClause = new ArrayList<>(clauses.get(clauseIndex));
 		newClause.add(lit);
@@ -80,13 +80,13 @@ public class NewLitInClauseTranslator implements InstanceTranslator<CnfInstance>
 		return new CnfInstance(instance.nVars(), newClauses, models);
 	}
 
-	private int selectClauseIndex(final CnfInstance instance) {
+	private int selectClauseIndex(final CnfInstance instance, final Random random) {
 		int clauseIndex = -1;
 		final List<List<Integer>> initClauses = instance.clauses();
 		final List<List<Integer>> clauses = new ArrayList<>(initClauses);
 		final int nVars = instance.nVars();
 		do {
-			final int index = RANDOM.nextInt(clauses.size());
+			final int index = random.nextInt(clauses.size());
 			if(clauses.get(index).size() == (nVars << 1)) {
 				clauses.set(index, clauses.get(clauses.size()-1));
 				clauses.remove(clauses.size()-1);
@@ -102,14 +102,14 @@ public class NewLitInClauseTranslator implements InstanceTranslator<CnfInstance>
 		throw new IllegalArgumentException("clauses are full");
 	}
 	
-	private int selectLiteral(final CnfInstance instance, final List<Integer> clause) {
+	private int selectLiteral(final CnfInstance instance, final List<Integer> clause, final Random random) {
 		final List<Integer> litCandidates = new ArrayList<>(instance.nVars());
 		for(int i=1; i<=instance.nVars(); ++i) {
 			litCandidates.add(i);
 			litCandidates.add(-i);
 		}
 		clause.stream().map(LiteralUtils::dimacsToInternal).forEach(i -> litCandidates.set(i, 0));
-		return LiteralUtils.selectRandomLiteral(litCandidates);
+		return LiteralUtils.selectRandomLiteral(litCandidates, random);
 	}
 
 	private List<List<Integer>> computeModels(final int nVars, final List<List<Integer>> clauses) {
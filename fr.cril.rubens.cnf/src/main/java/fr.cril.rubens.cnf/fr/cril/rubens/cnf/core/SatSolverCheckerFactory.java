@@ -25,7 +25,6 @@ package fr.cril.rubens.cnf.core;
  */
 
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -34,6 +33,7 @@ import java.util.stream.IntStream;
 import fr.cril.rubens.core.CheckResult;
 import fr.cril.rubens.core.CheckResult.ResultIsErrorException;
 import fr.cril.rubens.reflection.ReflectorParam;
+import fr.cril.rubens.specs.OutputChecker;
 import fr.cril.rubens.specs.TestGeneratorFactory;
 import fr.cril.rubens.utils.ASoftwareExecutor;
 
@@ -45,6 +45,10 @@ import fr.cril.rubens.utils.ASoftwareExecutor;
 @ReflectorParam(name="SAT", family="CNF/SAT")
 public class SatSolverCheckerFactory extends ASatCheckerFactory<CnfInstance> {
 	
+	private static final String SAT_STATUS = "s SATISFIABLE";
+	
+	private static final String UNSAT_STATUS = "s UNSATISFIABLE";
+	
 	@Override
 	public TestGeneratorFactory<CnfInstance> newTestGenerator() {
 		return new CnfTestGeneratorFactory();
@@ -57,61 +61,99 @@ public class SatSolverCheckerFactory extends ASatCheckerFactory<CnfInstance> {
 
 	@Override
 	public CheckResult checkSoftwareOutput(final CnfInstance instance, final String result) {
-		String status = null;
-		final List<String> values = new ArrayList<>();
-		final List<String> lines = Arrays.stream(result.split("\n")).collect(Collectors.toList());
-		for(final String line : lines) {
+		final OutputChecker checker = newOutputChecker(instance);
+		for(final String line : result.split("\n")) {
+			final CheckResult lineResult = checker.consumeLine(line);
+			if(lineResult != null) {
+				return lineResult;
+			}
+		}
+		return checker.end();
+	}
+	
+	@Override
+	public OutputChecker newOutputChecker(final CnfInstance instance) {
+		return new SatOutputChecker(instance);
+	}
+	
+	/**
+	 * An output checker for SAT solvers, which reads the values lines as they are written.
+	 * 
+	 * Syntax errors, wrong status lines and wrong literals are detected as soon as the corresponding line is read.
+	 * 
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private static final class SatOutputChecker implements OutputChecker {
+		
+		private final CnfInstance instance;
+		
+		private final int[] arrayModel;
+		
+		private String status;
+		
+		private boolean hasValues = false;
+		
+		private boolean lastZero = false;
+		
+		private SatOutputChecker(final CnfInstance instance) {
+			this.instance = instance;
+			this.arrayModel = IntStream.range(1, instance.nVars()+1).toArray();
+		}
+		
+		@Override
+		public CheckResult consumeLine(final String line) {
 			if(line.startsWith("c")) {
-				continue;
+				return null;
 			}
 			if(line.startsWith("s")) {
-				if(status != null) {
+				if(this.status != null) {
 					return CheckResult.newError("multiple status line");
 				}
-				status = line;
-			} else if(line.startsWith("v")) {
-				if(status == null) {
+				if(!SAT_STATUS.equals(line) && !UNSAT_STATUS.equals(line)) {
+					return CheckResult.newError("unexpected status line: \""+line+"\"");
+				}
+				this.status = line;
+				return null;
+			}
+			if(line.startsWith("v")) {
+				if(this.status == null) {
 					return CheckResult.newError("a values line is present although no status line were written");
 				}
-				values.add(line);
-			} else {
-				return CheckResult.newError("unexpected line: \""+line+"\"");
+				if(UNSAT_STATUS.equals(this.status)) {
+					return CheckResult.newError("unexpected values line (status is UNSAT");
+				}
+				this.hasValues = true;
+				try {
+					this.lastZero = processValueLine(this.arrayModel, line, this.lastZero);
+				} catch (ResultIsErrorException e) {
+					return e.getErrorResult();
+				}
+				return null;
 			}
+			return CheckResult.newError("unexpected line: \""+line+"\"");
 		}
-		if(status == null) {
-			return CheckResult.newError("no status line");
-		}
-		switch(status) {
-		case "s SATISFIABLE":
-			return checkSatResult(instance, values);
-		case "s UNSATISFIABLE":
-			return checkUnsatResult(instance, values);
-		default:
-			return CheckResult.newError("unexpected status line: \""+status+"\"");
-		}
-	}
-
-	private CheckResult checkSatResult(final CnfInstance instance, final List<String> values) {
-		if(values.isEmpty()) {
-			return CheckResult.newError("status is SATISFIABLE but no values lines are provided");
-		}
-		final int[] arrayModel = IntStream.range(1, instance.nVars()+1).toArray();
-		boolean lastZero = false;
-		for(final String value : values) {
-			try {
-				lastZero = processValueLine(arrayModel, value, lastZero);
-			} catch (ResultIsErrorException e) {
-				return e.getErrorResult();
+		
+		@Override
+		public CheckResult end() {
+			if(this.status == null) {
+				return CheckResult.newError("no status line");
 			}
+			if(UNSAT_STATUS.equals(this.status)) {
+				return this.instance.models().isEmpty() ? CheckResult.SUCCESS : CheckResult.newError("solver answered UNSATISFIABLE although formula has models");
+			}
+			if(!this.hasValues) {
+				return CheckResult.newError("status is SATISFIABLE but no values lines are provided");
+			}
+			if(!this.lastZero) {
+				return CheckResult.newError("no final 0 in values");
+			}
+			final List<Integer> model = Arrays.stream(this.arrayModel).boxed().collect(Collectors.toList());
+			return this.instance.models().contains(model) ? CheckResult.SUCCESS : CheckResult.newError("wrong model provided: "+model);
 		}
-		if(!lastZero) {
-			return CheckResult.newError("no final 0 in values");
-		}
-		final List<Integer> model = Arrays.stream(arrayModel).boxed().collect(Collectors.toList());
-		return instance.models().contains(model) ? CheckResult.SUCCESS : CheckResult.newError("wrong model provided: "+model);
+		
 	}
 
-	private boolean processValueLine(final int[] arrayModel, final String value, boolean lastZero) throws ResultIsErrorException {
+	private static boolean processValueLine(final int[] arrayModel, final String value, boolean lastZero) throws ResultIsErrorException {
 		if(value.length() < 2 || value.charAt(1) != ' ') {
 			throw CheckResult.newError("\"v\" is not followed by a space in a value line").asException();
 		}
@@ -123,6 +165,8 @@ public class SatSolverCheckerFactory extends ASatCheckerFactory<CnfInstance> {
 				final int v = Integer.parseInt(word);
 				if(v == 0) {
 					lastZero = true;
+				} else if(Math.abs(v) > arrayModel.length) {
+					throw CheckResult.newError("literal out of range provided: \""+word+"\"").asException();
 				} else {
 					arrayModel[Math.abs(v)-1] = v;
 				}
@@ -132,12 +176,5 @@ public class SatSolverCheckerFactory extends ASatCheckerFactory<CnfInstance> {
 		}
 		return lastZero;
 	}
-	
-	private CheckResult checkUnsatResult(final CnfInstance instance, final List<String> values) {
-		if(!values.isEmpty()) {
-			return CheckResult.newError("unexpected values line (status is UNSAT");
-		}
-		return instance.models().isEmpty() ? CheckResult.SUCCESS : CheckResult.newError("solver answered UNSATISFIABLE although formula has models");
-	}
 
 }
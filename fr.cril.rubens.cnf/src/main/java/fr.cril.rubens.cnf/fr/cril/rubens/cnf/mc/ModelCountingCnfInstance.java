@@ -42,6 +42,8 @@ import fr.cril.rubens.specs.Instance;
  * @author Emmanuel Lonca - lonca@cril.fr
  */
 public class ModelCountingCnfInstance extends CnfInstance {
+
+	private static final long serialVersionUID = 1L;
 	
 	/** the default extension for files storing the model count */
 	public static final String MC_EXT = ".mc";
@@ -34,8 +34,6 @@ import java.util.Random;
  */
 public class LiteralUtils {
 	
-	private static final Random RANDOM = new Random(System.currentTimeMillis());
-	
 	private LiteralUtils() {
 		// hiding the public constructor
 	}
@@ -47,12 +45,13 @@ public class LiteralUtils {
 	 * No check is performed; it is assumed there is at least one non-null literal.
 	 * 
 	 * @param litCandidates the literal candidates
+	 * @param random the random generator used to select the literal
 	 * @return the selected literal
 	 */
-	public static int selectRandomLiteral(final List<Integer> litCandidates) {
+	public static int selectRandomLiteral(final List<Integer> litCandidates, final Random random) {
 		int lit = 0;
 		do {
-			final int index = RANDOM.nextInt(litCandidates.size());
+			final int index = random.nextInt(litCandidates.size());
 			final int curLit = litCandidates.get(index);
 			if(curLit == 0) {
 				litCandidates.set(index, litCandidates.get(litCandidates.size()-1));
@@ -45,6 +45,8 @@ import fr.cril.rubens.specs.Instance;
  */
 public class WeightedModelCountingCnfInstance extends WeightedModelsCnfInstance {
 
+	private static final long serialVersionUID = 1L;
+
 	/** the default extension for weighted model counts */
 	public static final String WMC_EXT = ".wmc";
 
@@ -68,6 +70,11 @@ public class WeightedModelCountingCnfInstance extends WeightedModelsCnfInstance
 	public Collection<String> getFileExtensions() {
 		return Stream.of(CNF_EXT, W_EXT, WMC_EXT).collect(Collectors.toList());
 	}
+	
+	@Override
+	public Collection<String> getInputFileExtensions() {
+		return Stream.of(CNF_EXT, W_EXT).collect(Collectors.toList());
+	}
 
 	@Override
 	public void write(final String extension, final OutputStream os) throws IOException {
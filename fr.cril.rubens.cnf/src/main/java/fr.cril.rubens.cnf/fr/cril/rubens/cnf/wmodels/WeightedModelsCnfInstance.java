@@ -41,6 +41,7 @@ import java.util.stream.Stream;
 
 import fr.cril.rubens.cnf.core.CnfInstance;
 import fr.cril.rubens.cnf.utils.WriteUtils;
+import fr.cril.rubens.utils.RandomHelper;
 
 /**
  * An extension of the CNF instance where models are weighted.
@@ -57,14 +58,14 @@ import fr.cril.rubens.cnf.utils.WriteUtils;
  */
 public class WeightedModelsCnfInstance extends CnfInstance {
 
+	private static final long serialVersionUID = 1L;
+
 	/** the default extension for weight files */
 	public static final String W_EXT = ".w";
 
 	/** the default extension for weighted models files */
 	public static final String WMODS_EXT = ".wmods";
 
-	private static final Random RANDOM = new Random(0);
-
 	private final List<Integer> objWeightsPositiveLits;
 
 	private final List<Integer> objWeightsNegativeLits;
@@ -89,18 +90,19 @@ public class WeightedModelsCnfInstance extends CnfInstance {
 	 */
 	public WeightedModelsCnfInstance(final CnfInstance cnfInstance) {
 		super(cnfInstance);
-		this.objWeightsPositiveLits = randomObjectiveWeights();
-		this.objWeightsNegativeLits = randomObjectiveWeights();
+		final Random random = RandomHelper.getInstance().newRandom(cnfInstance);
+		this.objWeightsPositiveLits = randomObjectiveWeights(random);
+		this.objWeightsNegativeLits = randomObjectiveWeights(random);
 		final List<List<Integer>> models = super.models();
 		this.modelWeights = new HashMap<>();
 		models.stream().forEach(m -> this.modelWeights.put(m, modelWeight(m)));
 	}
 
-	private List<Integer> randomObjectiveWeights() {
+	private List<Integer> randomObjectiveWeights(final Random random) {
 		final int nVars = super.nVars();
 		final List<Integer>  weights = new ArrayList<>(nVars);
 		for(int i=0; i<nVars; ++i) {
-			weights.add(RANDOM.nextInt(1+nVars) * ((RANDOM.nextInt()&1) == 0 ? -1 : 1));
+			weights.add(random.nextInt(1+nVars) * ((random.nextInt()&1) == 0 ? -1 : 1));
 		}
 		return weights;
 	}
@@ -127,6 +129,11 @@ public class WeightedModelsCnfInstance extends CnfInstance {
 	public Collection<String> getFileExtensions() {
 		return Stream.of(CNF_EXT, W_EXT, WMODS_EXT).collect(Collectors.toList());
 	}
+	
+	@Override
+	public Collection<String> getInputFileExtensions() {
+		return Stream.of(CNF_EXT, W_EXT).collect(Collectors.toList());
+	}
 
 	@Override
 	public void write(final String extension, final OutputStream os) throws IOException {
@@ -26,9 +26,13 @@ package fr.cril.rubens.cnf.core;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -83,6 +87,7 @@ class CnfInstanceTest {
 		assertEquals(2, extensions.size());
 		assertTrue(extensions.contains(CnfInstance.CNF_EXT));
 		assertTrue(extensions.contains(CnfInstance.MODS_EXT));
+		assertEquals(Collections.singletonList(CnfInstance.CNF_EXT), new ArrayList<>(this.instance.getInputFileExtensions()));
 	}
 	
 	@Test
@@ -117,6 +122,26 @@ class CnfInstanceTest {
 		EqualsVerifier.forClass(CnfInstance.class).verify();
 	}
 	
+	@Test
+	void testFingerprint() {
+		assertEquals(this.instance.fingerprint(), new CnfInstance(this.instance).fingerprint());
+		assertNotEquals(this.instance.fingerprint(), new CnfInstance().fingerprint());
+		final CnfInstance other = new CnfInstance(1, Stream.of(Stream.of(-1).collect(Collectors.toList())).collect(Collectors.toList()),
+				Stream.of(Stream.of(1).collect(Collectors.toList())).collect(Collectors.toList()));
+		assertNotEquals(this.instance.fingerprint(), other.fingerprint());
+	}
+	
+	@Test
+	void testSerialization() throws IOException, ClassNotFoundException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try(final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(this.instance);
+		}
+		try(final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertEquals(this.instance, in.readObject());
+		}
+	}
+	
 	@Test
 	void testToString() {
 		assertEquals("[nVars=1, clauses=[[1]], models=[[1]]]", this.instance.toString());
@@ -25,7 +25,9 @@ package fr.cril.rubens.cnf.core;
  */
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Path;
@@ -40,6 +42,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import fr.cril.rubens.core.CheckResult;
+import fr.cril.rubens.specs.OutputChecker;
 
 class SatSolverCheckerFactoryTest {
 	
@@ -74,6 +77,31 @@ class SatSolverCheckerFactoryTest {
 		assertEquals(CheckResult.SUCCESS, this.factory.checkSoftwareOutput(instance, "c this is a comment\ns SATISFIABLE\nv 1 0\n"));
 	}
 	
+	@Test
+	void testOutputCheckerStopsOnWrongLiteral() {
+		final CnfInstance instance = new CnfInstance(1, Stream.of(Stream.of(1).collect(Collectors.toList())).collect(Collectors.toList()), Collections.singletonList(Collections.singletonList(1)));
+		final OutputChecker checker = this.factory.newOutputChecker(instance);
+		assertNull(checker.consumeLine("s SATISFIABLE"));
+		assertFalse(checker.consumeLine("v 2 0").isSuccessful());
+	}
+	
+	@Test
+	void testOutputCheckerStopsOnValuesAfterUnsat() {
+		final CnfInstance instance = new CnfInstance(1, Stream.of(Stream.of(1).collect(Collectors.toList())).collect(Collectors.toList()), Collections.singletonList(Collections.singletonList(1)));
+		final OutputChecker checker = this.factory.newOutputChecker(instance);
+		assertNull(checker.consumeLine("s UNSATISFIABLE"));
+		assertFalse(checker.consumeLine("v 1 0").isSuccessful());
+	}
+	
+	@Test
+	void testOutputChecker() {
+		final CnfInstance instance = new CnfInstance(1, Stream.of(Stream.of(1).collect(Collectors.toList())).collect(Collectors.toList()), Collections.singletonList(Collections.singletonList(1)));
+		final OutputChecker checker = this.factory.newOutputChecker(instance);
+		assertNull(checker.consumeLine("s SATISFIABLE"));
+		assertNull(checker.consumeLine("v 1 0"));
+		assertEquals(CheckResult.SUCCESS, checker.end());
+	}
+	
 	@ParameterizedTest
 	@ValueSource(strings = {
 			"c this is a comment\ns UNSATISFIABLE\ns UNSATISFIABLE\n",
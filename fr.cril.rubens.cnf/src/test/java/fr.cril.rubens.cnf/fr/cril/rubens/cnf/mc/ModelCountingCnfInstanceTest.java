@@ -30,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -72,6 +73,7 @@ class ModelCountingCnfInstanceTest {
 	void testExtensions() {
 		assertEquals(Arrays.stream(new String[]{CnfInstance.CNF_EXT, ModelCountingCnfInstance.MC_EXT}).collect(Collectors.toSet()),
 				new HashSet<>(this.instance.getFileExtensions()));
+		assertEquals(Collections.singleton(CnfInstance.CNF_EXT), new HashSet<>(this.instance.getInputFileExtensions()));
 	}
 	
 	@Test
@@ -26,6 +26,7 @@ package fr.cril.rubens.cnf.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -44,7 +45,7 @@ class LiteralUtilsTest {
 	@Test
 	void testSelectRandomLiteral() {
 		for(int i=0; i<10; ++i) {
-			assertEquals(1, LiteralUtils.selectRandomLiteral(Stream.of(0, 1, 0).collect(Collectors.toList())));
+			assertEquals(1, LiteralUtils.selectRandomLiteral(Stream.of(0, 1, 0).collect(Collectors.toList()), new Random(i)));
 		}
 
 	}
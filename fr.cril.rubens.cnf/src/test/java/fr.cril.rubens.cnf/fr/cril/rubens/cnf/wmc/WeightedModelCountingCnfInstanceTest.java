@@ -76,6 +76,8 @@ class WeightedModelCountingCnfInstanceTest {
 	void testExtensions() {
 		assertEquals(Arrays.stream(new String[]{CnfInstance.CNF_EXT, WeightedModelCountingCnfInstance.W_EXT, WeightedModelCountingCnfInstance.WMC_EXT}).collect(Collectors.toSet()),
 				new HashSet<>(this.instance.getFileExtensions()));
+		assertEquals(Arrays.stream(new String[]{CnfInstance.CNF_EXT, WeightedModelCountingCnfInstance.W_EXT}).collect(Collectors.toSet()),
+				new HashSet<>(this.instance.getInputFileExtensions()));
 	}
 	
 	@Test
@@ -75,6 +75,8 @@ class WeightedModelsCnfInstanceTest {
 	void testExtensions() {
 		assertEquals(Arrays.stream(new String[]{CnfInstance.CNF_EXT, WeightedModelsCnfInstance.W_EXT, WeightedModelsCnfInstance.WMODS_EXT}).collect(Collectors.toSet()),
 				new HashSet<>(this.instance.getFileExtensions()));
+		assertEquals(Arrays.stream(new String[]{CnfInstance.CNF_EXT, WeightedModelsCnfInstance.W_EXT}).collect(Collectors.toSet()),
+				new HashSet<>(this.instance.getInputFileExtensions()));
 	}
 	
 	@Test
@@ -0,0 +1,93 @@
+package fr.cril.rubens.core;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.Arrays;
+
+import fr.cril.rubens.utils.FingerprintSet;
+
+/**
+ * An enumeration of the indexes a {@link TestGenerator} can use to remove duplicate instances across the whole generation tree.
+ *
+ * Each index is associated with a short name, which is the one used on the command line interface.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public enum EDeduplicationIndex {
+
+	/**
+	 * No global index: duplicates are only removed inside each level (breadth-first search)
+	 * or between siblings (depth-first searches).
+	 */
+	NONE("none"),
+
+	/** The fingerprints of the generated instances are stored in a table allocated on the heap. */
+	HEAP("heap"),
+
+	/** The fingerprints of the generated instances are stored in a table allocated off-heap. */
+	OFF_HEAP("off-heap");
+
+	private final String shortName;
+
+	private EDeduplicationIndex(final String shortName) {
+		this.shortName = shortName;
+	}
+
+	/**
+	 * Returns the short name of the index, as it is expected on the command line interface.
+	 *
+	 * @return the short name of the index
+	 */
+	public String getShortName() {
+		return this.shortName;
+	}
+
+	/**
+	 * Builds a new empty fingerprint set for this index.
+	 *
+	 * The value <code>null</code> is returned for {@link EDeduplicationIndex#NONE}.
+	 *
+	 * @return the new fingerprint set, or <code>null</code>
+	 */
+	public FingerprintSet newFingerprintSet() {
+		return this == NONE ? null : new FingerprintSet(this == OFF_HEAP);
+	}
+
+	/**
+	 * Returns the index associated with the provided short name.
+	 *
+	 * The comparison ignores the case.
+	 * In case no index matches the name, an {@link IllegalArgumentException} is thrown.
+	 *
+	 * @param shortName the short name
+	 * @return the corresponding index
+	 * @throws IllegalArgumentException if no index matches the name
+	 */
+	public static EDeduplicationIndex fromShortName(final String shortName) {
+		return Arrays.stream(values()).filter(s -> s.shortName.equalsIgnoreCase(shortName)).findAny()
+				.orElseThrow(() -> new IllegalArgumentException("unknown deduplication index: "+shortName));
+	}
+
+}
@@ -0,0 +1,46 @@
+package fr.cril.rubens.core;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+/**
+ * An enumeration of the reasons why a generation process stopped.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public enum EStopReason {
+
+	/** the generation tree was walked through up to the depth bound */
+	COMPLETED,
+
+	/** the maximal number of instances was reached */
+	MAX_INSTANCES,
+
+	/** the maximal generation time was exceeded */
+	MAX_TIME,
+
+	/** the maximal heap usage was exceeded */
+	MAX_HEAP;
+
+}
@@ -0,0 +1,104 @@
+package fr.cril.rubens.core;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.Arrays;
+
+/**
+ * An enumeration of the strategies a {@link TestGenerator} can use to walk through the generation tree.
+ *
+ * Each strategy is associated with a short name, which is the one used on the command line interface.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public enum ETraversalStrategy {
+
+	/**
+	 * Breadth-first search: instances are generated level by level, and the duplicates are removed inside each level.
+	 *
+	 * This strategy requires to store two complete levels of the tree, so its space is exponential in the depth.
+	 */
+	BREADTH_FIRST("BFS"),
+
+	/**
+	 * Depth-first search using an explicit stack.
+	 *
+	 * Only the instances lying on the current branch (and their direct successors) are stored,
+	 * so the space is proportional to the depth times the number of translators.
+	 * Since the instances of different branches are not compared, an instance may be generated more than once.
+	 */
+	DEPTH_FIRST("DFS"),
+
+	/**
+	 * Iterative deepening: successive depth-first searches with increasing depth bounds,
+	 * each one outputting only the instances at its depth bound.
+	 *
+	 * Instances are output level by level (as for the breadth-first search) while using the space of a depth-first search.
+	 * Upper levels are generated again at each iteration; since translators may have random parts, generated levels may not
+	 * be made of the successors of the instances output at the preceding level.
+	 */
+	ITERATIVE_DEEPENING("IDDFS"),
+
+	/**
+	 * Random walks: independent walks from the root instance, each one applying randomly chosen translators until the depth bound is reached.
+	 *
+	 * This strategy does not walk through the whole tree, but reaches deep instances at a cost linear in the depth.
+	 * Only the last instance of each walk, or each visited instance, is output (see {@link EWalkEmission}),
+	 * possibly through a sample of fixed size for each depth.
+	 * Since the walks are independent, the same instance may be output more than once unless a deduplication index is set.
+	 */
+	RANDOM_WALK("RW");
+
+	private final String shortName;
+
+	private ETraversalStrategy(final String shortName) {
+		this.shortName = shortName;
+	}
+
+	/**
+	 * Returns the short name of the strategy, as it is expected on the command line interface.
+	 *
+	 * @return the short name of the strategy
+	 */
+	public String getShortName() {
+		return this.shortName;
+	}
+
+	/**
+	 * Returns the strategy associated with the provided short name.
+	 *
+	 * The comparison ignores the case.
+	 * In case no strategy matches the name, an {@link IllegalArgumentException} is thrown.
+	 *
+	 * @param shortName the short name
+	 * @return the corresponding strategy
+	 * @throws IllegalArgumentException if no strategy matches the name
+	 */
+	public static ETraversalStrategy fromShortName(final String shortName) {
+		return Arrays.stream(values()).filter(s -> s.shortName.equalsIgnoreCase(shortName)).findAny()
+				.orElseThrow(() -> new IllegalArgumentException("unknown traversal strategy: "+shortName));
+	}
+
+}
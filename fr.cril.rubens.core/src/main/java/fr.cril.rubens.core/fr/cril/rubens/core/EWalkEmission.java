@@ -0,0 +1,74 @@
+package fr.cril.rubens.core;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.Arrays;
+
+/**
+ * An enumeration of the instances a random walk (see {@link ETraversalStrategy#RANDOM_WALK}) gives to the consumer.
+ *
+ * Each value is associated with a short name, which is the one used on the command line interface.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public enum EWalkEmission {
+
+	/** Only the last instance of each walk is given, i.e. the one at the depth bound (or the one for which no translator can be applied). */
+	LEAVES("leaves"),
+
+	/** Each instance visited by a walk is given; the root instance is given once. */
+	ALL("all");
+
+	private final String shortName;
+
+	private EWalkEmission(final String shortName) {
+		this.shortName = shortName;
+	}
+
+	/**
+	 * Returns the short name of the value, as it is expected on the command line interface.
+	 *
+	 * @return the short name of the value
+	 */
+	public String getShortName() {
+		return this.shortName;
+	}
+
+	/**
+	 * Returns the value associated with the provided short name.
+	 *
+	 * The comparison ignores the case.
+	 * In case no value matches the name, an {@link IllegalArgumentException} is thrown.
+	 *
+	 * @param shortName the short name
+	 * @return the corresponding value
+	 * @throws IllegalArgumentException if no value matches the name
+	 */
+	public static EWalkEmission fromShortName(final String shortName) {
+		return Arrays.stream(values()).filter(s -> s.shortName.equalsIgnoreCase(shortName)).findAny()
+				.orElseThrow(() -> new IllegalArgumentException("unknown walk emission: "+shortName));
+	}
+
+}
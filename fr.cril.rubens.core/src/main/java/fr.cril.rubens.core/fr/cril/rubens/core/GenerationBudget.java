@@ -0,0 +1,146 @@
+package fr.cril.rubens.core;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+import fr.cril.rubens.utils.LoggerHelper;
+
+/**
+ * The budget of a single generation process, which tracks the generated instances and decides when the process must stop.
+ *
+ * The maximal number of instances is a hard limit: once it is reached, no more instance may be given to the consumer.
+ * The time and heap limits are checked each time a new level is about to be generated;
+ * once they are exceeded, the current level is finished but no new level is started.
+ * For depth-first searches, which have no levels, each instance is considered as starting a new level.
+ *
+ * A limit set to zero means there is no limit.
+ * The methods of this class are thread-safe.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+class GenerationBudget {
+
+	private static final Logger LOGGER = LoggerHelper.getInstance().getLogger();
+
+	private final long maxInstances;
+
+	private final long maxTimeNanos;
+
+	private final long maxHeap;
+
+	private final long startTime = System.nanoTime();
+
+	private final AtomicLong nInstances = new AtomicLong();
+
+	private final AtomicInteger depth = new AtomicInteger();
+
+	private EStopReason stopReason;
+
+	/**
+	 * Builds a new budget and starts its clock.
+	 *
+	 * @param maxInstances the maximal number of instances
+	 * @param maxTimeNanos the maximal generation time, in nanoseconds
+	 * @param maxHeap the maximal heap usage, in bytes
+	 */
+	GenerationBudget(final long maxInstances, final long maxTimeNanos, final long maxHeap) {
+		this.maxInstances = maxInstances;
+		this.maxTimeNanos = maxTimeNanos;
+		this.maxHeap = maxHeap;
+	}
+
+	/**
+	 * Checks whether a new instance may be given to the consumer, and counts it if so.
+	 *
+	 * @param instanceDepth the depth of the instance
+	 * @return <code>true</code> iff the instance may be given to the consumer
+	 */
+	boolean tryEmit(final int instanceDepth) {
+		if(this.maxInstances > 0) {
+			if(this.nInstances.incrementAndGet() > this.maxInstances) {
+				this.nInstances.decrementAndGet();
+				stop(EStopReason.MAX_INSTANCES);
+				return false;
+			}
+		} else {
+			this.nInstances.incrementAndGet();
+		}
+		this.depth.accumulateAndGet(instanceDepth, Math::max);
+		return true;
+	}
+
+	/**
+	 * Checks whether a new level may be generated.
+	 *
+	 * @return <code>true</code> iff a new level may be generated
+	 */
+	boolean canStartLevel() {
+		if(isStopped()) {
+			return false;
+		}
+		if(this.maxTimeNanos > 0 && System.nanoTime() - this.startTime > this.maxTimeNanos) {
+			stop(EStopReason.MAX_TIME);
+			return false;
+		}
+		if(this.maxHeap > 0) {
+			final Runtime runtime = Runtime.getRuntime();
+			if(runtime.totalMemory() - runtime.freeMemory() > this.maxHeap) {
+				stop(EStopReason.MAX_HEAP);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns <code>true</code> iff a limit was reached.
+	 *
+	 * @return <code>true</code> iff a limit was reached
+	 */
+	synchronized boolean isStopped() {
+		return this.stopReason != null;
+	}
+
+	private synchronized void stop(final EStopReason reason) {
+		if(this.stopReason == null) {
+			this.stopReason = reason;
+			LOGGER.info("generation budget exhausted ({}) after {} instances at depth {}", reason, this.nInstances.get(), this.depth.get());
+		}
+	}
+
+	/**
+	 * Builds a report about the generation process.
+	 *
+	 * @return the report
+	 */
+	synchronized GenerationReport report() {
+		return new GenerationReport(this.nInstances.get(), this.depth.get(), this.stopReason == null ? EStopReason.COMPLETED : this.stopReason);
+	}
+
+}
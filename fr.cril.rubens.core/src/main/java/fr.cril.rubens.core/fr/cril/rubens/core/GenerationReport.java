@@ -0,0 +1,85 @@
+package fr.cril.rubens.core;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+/**
+ * A report about a generation process: the number of generated instances, the depth reached and the reason why the process stopped.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public final class GenerationReport {
+
+	private final long nInstances;
+
+	private final int depth;
+
+	private final EStopReason stopReason;
+
+	/**
+	 * Builds a new report.
+	 *
+	 * @param nInstances the number of generated instances
+	 * @param depth the depth of the deepest generated instance
+	 * @param stopReason the reason why the process stopped
+	 */
+	public GenerationReport(final long nInstances, final int depth, final EStopReason stopReason) {
+		this.nInstances = nInstances;
+		this.depth = depth;
+		this.stopReason = stopReason;
+	}
+
+	/**
+	 * Returns the number of generated instances.
+	 *
+	 * @return the number of generated instances
+	 */
+	public long getInstanceCount() {
+		return this.nInstances;
+	}
+
+	/**
+	 * Returns the depth of the deepest generated instance (the root depth is one).
+	 *
+	 * @return the depth of the deepest generated instance
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+
+	/**
+	 * Returns the reason why the process stopped.
+	 *
+	 * @return the reason why the process stopped
+	 */
+	public EStopReason getStopReason() {
+		return this.stopReason;
+	}
+
+	@Override
+	public String toString() {
+		return "[nInstances="+this.nInstances+", depth="+this.depth+", stopReason="+this.stopReason+"]";
+	}
+
+}
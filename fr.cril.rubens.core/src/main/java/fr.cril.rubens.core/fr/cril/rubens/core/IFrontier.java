@@ -0,0 +1,70 @@
+package fr.cril.rubens.core;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.function.Consumer;
+
+import fr.cril.rubens.specs.Instance;
+
+/**
+ * A level of the generation tree, as it is stored by a breadth-first search.
+ *
+ * Instances are first added to the frontier while the level is built; then, the frontier is read (possibly several times).
+ * Instances must not be added once the frontier has been read.
+ * Implementations may remove duplicate instances.
+ *
+ * Frontiers must be closed when they are not used anymore, in order to release the resources they hold.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ *
+ * @param <T> the type of instances under consideration
+ */
+interface IFrontier<T extends Instance> extends AutoCloseable {
+
+	/**
+	 * Adds an instance to this frontier.
+	 *
+	 * @param instance the instance
+	 */
+	void add(T instance);
+
+	/**
+	 * Returns <code>true</code> iff no instance was added to this frontier.
+	 *
+	 * @return <code>true</code> iff no instance was added to this frontier
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Applies a consumer to each instance of this frontier.
+	 *
+	 * @param consumer the consumer
+	 */
+	void forEach(Consumer<T> consumer);
+
+	@Override
+	void close();
+
+}
@@ -0,0 +1,83 @@
+package fr.cril.rubens.core;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import fr.cril.rubens.specs.Instance;
+
+/**
+ * A frontier which instances are kept in the heap.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ *
+ * @param <T> the type of instances under consideration
+ */
+class InMemoryFrontier<T extends Instance> implements IFrontier<T> {
+
+	private final Collection<T> instances;
+
+	/**
+	 * Builds a new in-memory frontier.
+	 *
+	 * When duplicates must be removed, the instances are stored in a set; otherwise, they are stored in a list.
+	 *
+	 * @param concurrent <code>true</code> iff several threads may add instances to the frontier
+	 * @param removeDuplicates <code>true</code> iff duplicate instances must be removed
+	 */
+	InMemoryFrontier(final boolean concurrent, final boolean removeDuplicates) {
+		if(removeDuplicates) {
+			this.instances = concurrent ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+		} else {
+			this.instances = concurrent ? new ConcurrentLinkedQueue<>() : new ArrayList<>();
+		}
+	}
+
+	@Override
+	public void add(final T instance) {
+		this.instances.add(instance);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.instances.isEmpty();
+	}
+
+	@Override
+	public void forEach(final Consumer<T> consumer) {
+		this.instances.forEach(consumer);
+	}
+
+	@Override
+	public void close() {
+		this.instances.clear();
+	}
+
+}
@@ -0,0 +1,178 @@
+package fr.cril.rubens.core;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+import fr.cril.rubens.specs.Instance;
+import fr.cril.rubens.utils.LoggerHelper;
+
+/**
+ * A publisher of generated instances, which generates them only when its subscribers request them.
+ *
+ * Each subscription gets its own generation process, given by a lazy iterator obtained from the source provided at build time.
+ * The instances are generated (and given to the subscriber) by the thread calling {@link Flow.Subscription#request(long)};
+ * in case the subscriber requests more instances while receiving one, the request is served by the loop already running,
+ * so the recursion depth is bounded.
+ * When the subscription ends, the iterator is closed if it implements {@link AutoCloseable}.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ *
+ * @param <T> the type of instances under consideration
+ */
+class InstancePublisher<T extends Instance> implements Flow.Publisher<T> {
+
+	private static final Logger LOGGER = LoggerHelper.getInstance().getLogger();
+
+	private final Supplier<Iterator<T>> source;
+
+	/**
+	 * Builds a new publisher given the source of the lazy iterators used to generate the instances.
+	 *
+	 * @param source the source of iterators
+	 */
+	InstancePublisher(final Supplier<Iterator<T>> source) {
+		this.source = source;
+	}
+
+	@Override
+	public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+		Objects.requireNonNull(subscriber);
+		subscriber.onSubscribe(new GenerationSubscription<>(subscriber, this.source));
+	}
+
+	/**
+	 * A subscription which generates the requested instances.
+	 *
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 *
+	 * @param <T> the type of instances under consideration
+	 */
+	private static final class GenerationSubscription<T extends Instance> implements Flow.Subscription {
+
+		private final Flow.Subscriber<? super T> subscriber;
+
+		private final Supplier<Iterator<T>> source;
+
+		private Iterator<T> iterator;
+
+		private final AtomicLong demand = new AtomicLong();
+
+		private final AtomicInteger workInProgress = new AtomicInteger();
+
+		private volatile boolean done = false;
+
+		private volatile IllegalArgumentException requestError;
+
+		private GenerationSubscription(final Flow.Subscriber<? super T> subscriber, final Supplier<Iterator<T>> source) {
+			this.subscriber = subscriber;
+			this.source = source;
+		}
+
+		@Override
+		public void request(final long n) {
+			if(n <= 0) {
+				this.requestError = new IllegalArgumentException("the number of requested instances must be positive, got "+n);
+			} else {
+				this.demand.accumulateAndGet(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+			}
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			this.done = true;
+			drain();
+		}
+
+		private void drain() {
+			if(this.workInProgress.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			do {
+				emit();
+				missed = this.workInProgress.addAndGet(-missed);
+			} while(missed != 0);
+		}
+
+		private void emit() {
+			if(this.done) {
+				release();
+				return;
+			}
+			if(this.requestError != null) {
+				this.done = true;
+				release();
+				this.subscriber.onError(this.requestError);
+				return;
+			}
+			while(this.demand.get() > 0 && !this.done) {
+				final T next;
+				try {
+					if(this.iterator == null) {
+						this.iterator = this.source.get();
+					}
+					next = this.iterator.hasNext() ? this.iterator.next() : null;
+				} catch(RuntimeException e) {
+					this.done = true;
+					release();
+					this.subscriber.onError(e);
+					return;
+				}
+				if(next == null) {
+					this.done = true;
+					release();
+					this.subscriber.onComplete();
+					return;
+				}
+				if(this.demand.get() != Long.MAX_VALUE) {
+					this.demand.decrementAndGet();
+				}
+				this.subscriber.onNext(next);
+			}
+		}
+
+		private void release() {
+			if(this.iterator instanceof AutoCloseable) {
+				try {
+					((AutoCloseable) this.iterator).close();
+				} catch(Exception e) {
+					LOGGER.error("cannot release the generation process", e);
+				}
+			}
+			this.iterator = null;
+		}
+
+	}
+
+}
@@ -0,0 +1,220 @@
+package fr.cril.rubens.core;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import fr.cril.rubens.specs.Instance;
+import fr.cril.rubens.specs.InstanceTranslator;
+import fr.cril.rubens.specs.TestGeneratorFactory;
+
+/**
+ * A sampler of the generation tree performing independent random walks from the root instance.
+ *
+ * Each walk starts from the root instance and applies a translator chosen uniformly among the ones which can be applied to the current instance,
+ * until the depth bound is reached or no translator can be applied.
+ * Each walk uses its own random generator, derived from the sampler seed and the walk index,
+ * so the walks do not depend on the order in which they are run and may be run in parallel.
+ *
+ * If a reservoir size is set, the instances given by the walks are not returned directly: for each depth, a uniform sample of the given
+ * instances is kept (each instance gets a random priority, and the ones with the lowest priorities are kept).
+ * The samples are returned depth by depth once all the walks are done.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ *
+ * @param <T> the type of instances under consideration
+ */
+class RandomWalkSampler<T extends Instance> {
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private final TestGeneratorFactory<T> factory;
+
+	private final List<InstanceTranslator<T>> translators;
+
+	private final int depth;
+
+	private final int nWalks;
+
+	private final int reservoirSize;
+
+	private final EWalkEmission emission;
+
+	private final long seed;
+
+	/**
+	 * Builds a new sampler.
+	 *
+	 * @param factory the factory giving the root instance and the translators
+	 * @param depth the depth bound
+	 * @param nWalks the number of walks
+	 * @param reservoirSize the size of the sample kept for each depth, or zero to return all the instances
+	 * @param emission the instances of the walks to return
+	 * @param seed the seed of the random generators
+	 */
+	RandomWalkSampler(final TestGeneratorFactory<T> factory, final int depth, final int nWalks, final int reservoirSize,
+			final EWalkEmission emission, final long seed) {
+		this.factory = factory;
+		this.translators = factory.translators();
+		this.depth = depth;
+		this.nWalks = nWalks;
+		this.reservoirSize = reservoirSize;
+		this.emission = emission;
+		this.seed = seed;
+	}
+
+	/**
+	 * Returns a lazy stream of the sampled instances.
+	 *
+	 * A walk is only started if the budget allows to start a new level; the instances are not counted against the budget by this method.
+	 * If the stream is made parallel (or if the parallel flag is set), the walks are run in parallel;
+	 * when reservoirs are used, the walks are run when the first instance is requested, and only the parallel flag is taken into account.
+	 *
+	 * @param budget the generation budget
+	 * @param parallel <code>true</code> iff the walks must be run in parallel
+	 * @return the stream of sampled instances
+	 */
+	Stream<Step<T>> steps(final GenerationBudget budget, final boolean parallel) {
+		final IntStream indices = IntStream.range(0, this.nWalks);
+		final Stream<Step<T>> walks = (parallel ? indices.parallel() : indices).filter(i -> budget.canStartLevel()).mapToObj(i -> i).flatMap(this::walk);
+		if(this.reservoirSize == 0) {
+			return walks;
+		}
+		return Stream.of(walks).flatMap(w -> {
+			final Reservoirs reservoirs = new Reservoirs();
+			w.forEach(reservoirs::offer);
+			return reservoirs.stream();
+		});
+	}
+
+	private Stream<Step<T>> walk(final int walkIndex) {
+		final SplittableRandom random = new SplittableRandom(this.seed + walkIndex * GOLDEN_GAMMA);
+		final List<T> path = new ArrayList<>();
+		T current = this.factory.initInstance();
+		path.add(current);
+		final List<InstanceTranslator<T>> applicable = new ArrayList<>(this.translators.size());
+		for(int d=2; d<=this.depth; ++d) {
+			applicable.clear();
+			for(final InstanceTranslator<T> translator : this.translators) {
+				if(translator.canBeAppliedTo(current)) {
+					applicable.add(translator);
+				}
+			}
+			if(applicable.isEmpty()) {
+				break;
+			}
+			current = applicable.get(random.nextInt(applicable.size())).translate(current);
+			path.add(current);
+		}
+		if(this.emission == EWalkEmission.LEAVES) {
+			return Stream.of(new Step<>(current, path.size(), random.nextLong()));
+		}
+		final List<Step<T>> steps = new ArrayList<>(path.size());
+		for(int i=(walkIndex == 0 ? 0 : 1); i<path.size(); ++i) {
+			steps.add(new Step<>(path.get(i), i + 1, random.nextLong()));
+		}
+		return steps.stream();
+	}
+
+	/**
+	 * An instance given by a walk, associated with its depth and a random priority used by the reservoirs.
+	 *
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 *
+	 * @param <T> the type of instances under consideration
+	 */
+	static final class Step<T extends Instance> {
+
+		private final T instance;
+
+		private final int depth;
+
+		private final long priority;
+
+		private Step(final T instance, final int depth, final long priority) {
+			this.instance = instance;
+			this.depth = depth;
+			this.priority = priority;
+		}
+
+		/**
+		 * Returns the instance.
+		 *
+		 * @return the instance
+		 */
+		T getInstance() {
+			return this.instance;
+		}
+
+		/**
+		 * Returns the depth of the instance (the root depth is one).
+		 *
+		 * @return the depth of the instance
+		 */
+		int getDepth() {
+			return this.depth;
+		}
+
+	}
+
+	/**
+	 * The samples kept for each depth, each one made of the steps with the lowest priorities.
+	 *
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private final class Reservoirs {
+
+		private final List<PriorityQueue<Step<T>>> samples = new ArrayList<>();
+
+		private synchronized void offer(final Step<T> step) {
+			while(this.samples.size() < step.depth) {
+				this.samples.add(new PriorityQueue<>(Comparator.<Step<T>>comparingLong(s -> s.priority).reversed()));
+			}
+			final PriorityQueue<Step<T>> sample = this.samples.get(step.depth - 1);
+			if(sample.size() < RandomWalkSampler.this.reservoirSize) {
+				sample.add(step);
+			} else if(step.priority < sample.peek().priority) {
+				sample.poll();
+				sample.add(step);
+			}
+		}
+
+		private synchronized Stream<Step<T>> stream() {
+			final List<Step<T>> steps = new ArrayList<>();
+			for(final PriorityQueue<Step<T>> sample : this.samples) {
+				sample.stream().sorted(Comparator.comparingLong(s -> s.priority)).forEachOrdered(steps::add);
+			}
+			return steps.stream();
+		}
+
+	}
+
+}
@@ -0,0 +1,335 @@
+package fr.cril.rubens.core;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import fr.cril.rubens.specs.Instance;
+import fr.cril.rubens.utils.Fingerprint;
+
+/**
+ * A frontier which spills its instances to disk when the heap usage exceeds a budget.
+ *
+ * Instances are first stored in the heap, indexed by their fingerprints (see {@link Instance#fingerprint()}).
+ * Each time a given number of instances were added, the heap usage is checked;
+ * if it exceeds the budget, the instances are sorted by fingerprint and written to a compressed run file.
+ * When the frontier is read, the remaining instances are spilled too, and the run files are merged;
+ * since they are sorted, duplicate instances are consecutive in the merge and are removed at this step.
+ * In case too many run files are written, they are merged into a single one, which bounds the number of files opened at once.
+ *
+ * Instances are written using the Java serialization, so they must implement {@link java.io.Serializable}.
+ * Instances read from the frontier are copies of the ones that were added.
+ *
+ * The {@link SpillingFrontier#add(Instance)} method is thread-safe.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ *
+ * @param <T> the type of instances under consideration
+ */
+class SpillingFrontier<T extends Instance> implements IFrontier<T> {
+
+	/** the default number of added instances between two checks of the heap usage */
+	static final int DEFAULT_CHECK_PERIOD = 1 << 10;
+
+	private static final int MAX_MERGE_FAN_IN = 64;
+
+	private static final int RESET_PERIOD = 1 << 8;
+
+	private final long heapBudget;
+
+	private final Path directory;
+
+	private final int checkPeriod;
+
+	private Map<Fingerprint, T> buffer = new HashMap<>();
+
+	private final List<Path> runs = new ArrayList<>();
+
+	private int nAddsSinceCheck = 0;
+
+	private boolean empty = true;
+
+	/**
+	 * Builds a new spilling frontier.
+	 *
+	 * @param heapBudget the heap usage (in bytes) above which instances are spilled
+	 * @param directory the directory in which the run files are written
+	 */
+	SpillingFrontier(final long heapBudget, final Path directory) {
+		this(heapBudget, directory, DEFAULT_CHECK_PERIOD);
+	}
+
+	/**
+	 * Builds a new spilling frontier, given the number of added instances between two checks of the heap usage.
+	 *
+	 * @param heapBudget the heap usage (in bytes) above which instances are spilled
+	 * @param directory the directory in which the run files are written
+	 * @param checkPeriod the number of added instances between two checks of the heap usage
+	 */
+	SpillingFrontier(final long heapBudget, final Path directory, final int checkPeriod) {
+		this.heapBudget = heapBudget;
+		this.directory = directory;
+		this.checkPeriod = checkPeriod;
+	}
+
+	@Override
+	public void add(final T instance) {
+		final Fingerprint fingerprint = instance.fingerprint();
+		synchronized(this) {
+			this.buffer.putIfAbsent(fingerprint, instance);
+			this.empty = false;
+			if(++this.nAddsSinceCheck >= this.checkPeriod) {
+				this.nAddsSinceCheck = 0;
+				if(usedHeap() > this.heapBudget) {
+					spill();
+				}
+			}
+		}
+	}
+
+	@Override
+	public synchronized boolean isEmpty() {
+		return this.empty;
+	}
+
+	/**
+	 * Returns the number of run files currently written by this frontier.
+	 *
+	 * @return the number of run files
+	 */
+	synchronized int nRuns() {
+		return this.runs.size();
+	}
+
+	@Override
+	public synchronized void forEach(final Consumer<T> consumer) {
+		if(this.runs.isEmpty()) {
+			this.buffer.values().forEach(consumer);
+			return;
+		}
+		spill();
+		try {
+			merge(this.runs, (f, i) -> consumer.accept(i));
+		} catch (IOException e) {
+			throw new UncheckedIOException("cannot read frontier run files", e);
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		this.buffer.clear();
+		try {
+			for(final Path run : this.runs) {
+				Files.deleteIfExists(run);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("cannot delete frontier run files", e);
+		} finally {
+			this.runs.clear();
+		}
+	}
+
+	private static long usedHeap() {
+		final Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private void spill() {
+		if(this.buffer.isEmpty()) {
+			return;
+		}
+		final List<Map.Entry<Fingerprint, T>> entries = new ArrayList<>(this.buffer.entrySet());
+		this.buffer = new HashMap<>();
+		entries.sort(Map.Entry.comparingByKey());
+		try {
+			try(final RunWriter writer = new RunWriter()) {
+				for(final Map.Entry<Fingerprint, T> entry : entries) {
+					writer.write(entry.getKey(), entry.getValue());
+				}
+				this.runs.add(writer.path);
+			}
+			if(this.runs.size() >= MAX_MERGE_FAN_IN) {
+				compact();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("cannot write frontier run file", e);
+		}
+	}
+
+	private void compact() throws IOException {
+		try(final RunWriter writer = new RunWriter()) {
+			merge(this.runs, (f, i) -> {
+				try {
+					writer.write(f, i);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			for(final Path run : this.runs) {
+				Files.delete(run);
+			}
+			this.runs.clear();
+			this.runs.add(writer.path);
+		}
+	}
+
+	/**
+	 * Merges sorted run files, calling a consumer for each fingerprint that appears in the runs.
+	 *
+	 * When several instances share the same fingerprint, only the first one read is given to the consumer.
+	 *
+	 * @param paths the run files
+	 * @param consumer the consumer
+	 * @throws IOException if an I/O error occurs while reading a run file
+	 */
+	private void merge(final List<Path> paths, final BiConsumer<Fingerprint, T> consumer) throws IOException {
+		final PriorityQueue<RunReader> queue = new PriorityQueue<>(Comparator.comparing(r -> r.headFingerprint));
+		final List<RunReader> readers = new ArrayList<>(paths.size());
+		try {
+			for(final Path path : paths) {
+				final RunReader reader = new RunReader(path);
+				readers.add(reader);
+				if(reader.advance()) {
+					queue.add(reader);
+				}
+			}
+			Fingerprint last = null;
+			while(!queue.isEmpty()) {
+				final RunReader reader = queue.poll();
+				if(!reader.headFingerprint.equals(last)) {
+					last = reader.headFingerprint;
+					consumer.accept(last, reader.headInstance);
+				}
+				if(reader.advance()) {
+					queue.add(reader);
+				}
+			}
+		} finally {
+			for(final RunReader reader : readers) {
+				reader.close();
+			}
+		}
+	}
+
+	/**
+	 * Writes a run file.
+	 *
+	 * Each record is made of a marker, the fingerprint and the serialized instance; the end of the file is indicated by a negative marker.
+	 *
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private final class RunWriter implements Closeable {
+
+		private final Path path;
+
+		private final ObjectOutputStream out;
+
+		private int nWritten = 0;
+
+		private RunWriter() throws IOException {
+			this.path = Files.createTempFile(SpillingFrontier.this.directory, "rubens-frontier-", ".run");
+			this.out = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(this.path))));
+		}
+
+		private void write(final Fingerprint fingerprint, final T instance) throws IOException {
+			this.out.writeBoolean(true);
+			this.out.writeLong(fingerprint.getHigh());
+			this.out.writeLong(fingerprint.getLow());
+			this.out.writeUnshared(instance);
+			if(++this.nWritten % RESET_PERIOD == 0) {
+				this.out.reset();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				this.out.writeBoolean(false);
+			} finally {
+				this.out.close();
+			}
+		}
+
+	}
+
+	/**
+	 * Reads a run file, one record at a time.
+	 *
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private final class RunReader implements Closeable {
+
+		private final ObjectInputStream in;
+
+		private Fingerprint headFingerprint;
+
+		private T headInstance;
+
+		private RunReader(final Path path) throws IOException {
+			this.in = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(Files.newInputStream(path))));
+		}
+
+		@SuppressWarnings("unchecked")
+		private boolean advance() throws IOException {
+			if(!this.in.readBoolean()) {
+				this.headFingerprint = null;
+				this.headInstance = null;
+				return false;
+			}
+			this.headFingerprint = new Fingerprint(this.in.readLong(), this.in.readLong());
+			try {
+				this.headInstance = (T) this.in.readUnshared();
+			} catch (ClassNotFoundException e) {
+				throw new IOException(e);
+			}
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.in.close();
+		}
+
+	}
+
+}
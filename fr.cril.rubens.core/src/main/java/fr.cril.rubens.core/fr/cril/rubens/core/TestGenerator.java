@@ -24,30 +24,78 @@ package fr.cril.rubens.core;
  * #L%
  */
 
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.SynchronousQueue;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
 
 import fr.cril.rubens.specs.Instance;
 import fr.cril.rubens.specs.InstanceTranslator;
 import fr.cril.rubens.specs.TestGeneratorFactory;
+import fr.cril.rubens.utils.Fingerprint;
+import fr.cril.rubens.utils.FingerprintSet;
 import fr.cril.rubens.utils.LoggerHelper;
+import fr.cril.rubens.utils.RandomHelper;
 
 /**
  * Launches a test generation process according to a provided {@link TestGeneratorFactory} instance.
  * 
- * The test generation process uses a breadth-first search algorithm:
+ * By default, the test generation process uses a breadth-first search algorithm:
  * the first instance under consideration is the root one, followed by the instances obtained by applying each translator to the root instance,
  * followed by the ones generated by applying each generator to last generated ones, and so on.
  * This process is applied until the provided depth bound is reached.
  * 
- * This class allows to get the whole set of computing instances, or to apply a function to each new instance, which is freed then.
+ * Since the breadth-first search requires an exponential space, other traversal strategies may be set (see {@link ETraversalStrategy}).
+ * 
+ * When using the breadth-first search, the expansion of a level may be shared between several threads (see {@link TestGenerator#setParallelism(int)}).
+ * In this case, the translators must be thread-safe, as well as the {@link TestGeneratorFactory#translators()} method.
+ * Instances are still given to the consumer level by level, by the thread which called the generation method.
+ * 
+ * By default, duplicate instances are only removed inside each level (or between siblings for depth-first searches).
+ * A global index of instance fingerprints (see {@link Instance#fingerprint()}) may be set to remove duplicates across the whole tree
+ * (see {@link TestGenerator#setDeduplicationIndex(EDeduplicationIndex)}).
+ * 
+ * When using random walks, the number of walks, the instances they output and the size of the per-depth samples may be set
+ * (see {@link TestGenerator#setWalks(int)}, {@link TestGenerator#setWalkEmission(EWalkEmission)} and {@link TestGenerator#setReservoirSize(int)}).
+ * The walks are run in parallel when the parallelism is greater than one.
+ * 
+ * The generated instances may be partitioned between several processes (see {@link TestGenerator#setShard(int, int)}).
+ * Each process walks through the whole tree, but only gives to the consumer the instances of its own shard.
+ * The shard of an instance is decided by its fingerprint, so the processes do not need to communicate;
+ * the translators must however be reproducible, i.e. use the same seed in each process (see {@link RandomHelper}).
+ * 
+ * When using the breadth-first search, a heap budget may be set (see {@link TestGenerator#setFrontierBudget(long)}).
+ * When the heap usage exceeds this budget while a level is built, the instances of the level are spilled to sorted run files on disk,
+ * which are merged (removing duplicates) when the level is read.
+ * 
+ * This class allows to get the whole set of computing instances, to apply a function to each new instance, which is freed then,
+ * or to pull the instances lazily from a stream (see {@link TestGenerator#stream(int)}) or a publisher (see {@link TestGenerator#publisher(int)}).
  * 
  * @author Emmanuel Lonca - lonca@cril.fr
  *
@@ -57,6 +105,34 @@ public class TestGenerator<T extends Instance> {
 	
 	private final TestGeneratorFactory<T> factory;
 	
+	private ETraversalStrategy traversalStrategy = ETraversalStrategy.BREADTH_FIRST;
+	
+	private int parallelism = 1;
+	
+	private EDeduplicationIndex deduplicationIndex = EDeduplicationIndex.NONE;
+	
+	private long frontierBudget = 0;
+	
+	private Path spillDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+	
+	private long maxInstances = 0;
+	
+	private Duration maxTime = Duration.ZERO;
+	
+	private long maxHeap = 0;
+	
+	private int walks = 1 << 10;
+	
+	private int reservoirSize = 0;
+	
+	private EWalkEmission walkEmission = EWalkEmission.LEAVES;
+	
+	private int shardIndex = 0;
+	
+	private int shardCount = 1;
+	
+	private static final int EXPANSION_BATCH_SIZE = 1 << 12;
+	
 	private static final Logger LOGGER = LoggerHelper.getInstance().getLogger();
 
 	/**
@@ -68,6 +144,337 @@ public class TestGenerator<T extends Instance> {
 		this.factory = factory;
 	}
 	
+	/**
+	 * Sets the strategy used to walk through the generation tree.
+	 * 
+	 * The default strategy is {@link ETraversalStrategy#BREADTH_FIRST}.
+	 * 
+	 * @param strategy the traversal strategy
+	 */
+	public void setTraversalStrategy(final ETraversalStrategy strategy) {
+		this.traversalStrategy = strategy;
+	}
+	
+	/**
+	 * Returns the strategy used to walk through the generation tree.
+	 * 
+	 * @return the traversal strategy
+	 */
+	public ETraversalStrategy getTraversalStrategy() {
+		return this.traversalStrategy;
+	}
+	
+	/**
+	 * Sets the number of threads used to expand the levels of the generation tree when using the breadth-first strategy.
+	 * 
+	 * The frontier instances and the translators applied to them are shared between the threads of a {@link ForkJoinPool},
+	 * and the new instances are merged into a concurrent set which removes the duplicates.
+	 * A parallelism of one (the default value) means the levels are expanded by the thread which called the generation method.
+	 * When using the random walk strategy, the walks are shared between the threads of the pool instead.
+	 * 
+	 * The parallelism must be at least one.
+	 * In case the provided value does not fit this requirement, an {@link IllegalArgumentException} is thrown.
+	 * 
+	 * @param parallelism the number of threads used to expand a level
+	 * @throws IllegalArgumentException if the provided parallelism is less than one
+	 */
+	public void setParallelism(final int parallelism) {
+		if(parallelism < 1) {
+			final IllegalArgumentException exception = new IllegalArgumentException("parallelism must be at least one");
+			LOGGER.error(exception.getMessage(), exception);
+			throw exception;
+		}
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Returns the number of threads used to expand the levels of the generation tree when using the breadth-first strategy.
+	 * 
+	 * @return the number of threads used to expand a level
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+	
+	/**
+	 * Sets the index used to remove duplicate instances across the whole generation tree.
+	 * 
+	 * When an index is set, the fingerprint of each new instance is computed and stored in a primitive hash table,
+	 * and the instances which fingerprint was already encountered are dropped.
+	 * When using the breadth-first search, the descendants of a dropped instance are not generated, since they were already.
+	 * When using the depth-first searches, a dropped instance is not given to the consumer, but its descendants are still generated
+	 * (they may not have been reached from its first occurrence, which may have been deeper in the tree).
+	 * 
+	 * The default value is {@link EDeduplicationIndex#NONE}, which removes duplicates only inside each level (or between siblings).
+	 * 
+	 * @param index the deduplication index
+	 */
+	public void setDeduplicationIndex(final EDeduplicationIndex index) {
+		this.deduplicationIndex = index;
+	}
+	
+	/**
+	 * Returns the index used to remove duplicate instances across the whole generation tree.
+	 * 
+	 * @return the deduplication index
+	 */
+	public EDeduplicationIndex getDeduplicationIndex() {
+		return this.deduplicationIndex;
+	}
+	
+	/**
+	 * Sets the heap budget of the frontier when using the breadth-first strategy.
+	 * 
+	 * When the heap usage exceeds this budget (in bytes) while a level is built, the instances of the level are spilled to disk
+	 * (see {@link TestGenerator#setSpillDirectory(Path)}); they are read back when the level is given to the consumer and expanded.
+	 * Spilling requires the instances to implement {@link Serializable}; if they do not, the budget is ignored.
+	 * 
+	 * The default value is zero, which means the frontier is kept in the heap.
+	 * In case the provided budget is negative, an {@link IllegalArgumentException} is thrown.
+	 * 
+	 * @param budget the heap budget, in bytes
+	 * @throws IllegalArgumentException if the provided budget is negative
+	 */
+	public void setFrontierBudget(final long budget) {
+		if(budget < 0) {
+			final IllegalArgumentException exception = new IllegalArgumentException("frontier budget must not be negative");
+			LOGGER.error(exception.getMessage(), exception);
+			throw exception;
+		}
+		this.frontierBudget = budget;
+	}
+	
+	/**
+	 * Returns the heap budget of the frontier when using the breadth-first strategy.
+	 * 
+	 * @return the heap budget, in bytes (zero if the frontier is kept in the heap)
+	 */
+	public long getFrontierBudget() {
+		return this.frontierBudget;
+	}
+	
+	/**
+	 * Sets the directory in which the frontier is spilled (see {@link TestGenerator#setFrontierBudget(long)}).
+	 * 
+	 * The default value is the temporary directory of the system.
+	 * 
+	 * @param directory the spill directory
+	 */
+	public void setSpillDirectory(final Path directory) {
+		this.spillDirectory = directory;
+	}
+	
+	/**
+	 * Returns the directory in which the frontier is spilled.
+	 * 
+	 * @return the spill directory
+	 */
+	public Path getSpillDirectory() {
+		return this.spillDirectory;
+	}
+	
+	/**
+	 * Sets the maximal number of instances to generate.
+	 * 
+	 * Once this number is reached, the generation process stops, even in the middle of a level.
+	 * The default value is zero, which means there is no limit.
+	 * In case the provided value is negative, an {@link IllegalArgumentException} is thrown.
+	 * 
+	 * @param maxInstances the maximal number of instances
+	 * @throws IllegalArgumentException if the provided value is negative
+	 */
+	public void setMaxInstances(final long maxInstances) {
+		checkNonNegativeLimit(maxInstances, "maximal number of instances");
+		this.maxInstances = maxInstances;
+	}
+	
+	/**
+	 * Returns the maximal number of instances to generate.
+	 * 
+	 * @return the maximal number of instances (zero if there is no limit)
+	 */
+	public long getMaxInstances() {
+		return this.maxInstances;
+	}
+	
+	/**
+	 * Sets the maximal duration of the generation process.
+	 * 
+	 * The duration is checked each time a new level is about to be generated (each time a new instance is generated for the depth-first search):
+	 * once it is exceeded, the current level is finished, and the generation process stops.
+	 * The default value is {@link Duration#ZERO}, which means there is no limit.
+	 * In case the provided value is negative, an {@link IllegalArgumentException} is thrown.
+	 * 
+	 * @param maxTime the maximal duration
+	 * @throws IllegalArgumentException if the provided value is negative
+	 */
+	public void setMaxTime(final Duration maxTime) {
+		if(maxTime.isNegative()) {
+			final IllegalArgumentException exception = new IllegalArgumentException("maximal generation time must not be negative");
+			LOGGER.error(exception.getMessage(), exception);
+			throw exception;
+		}
+		this.maxTime = maxTime;
+	}
+	
+	/**
+	 * Returns the maximal duration of the generation process.
+	 * 
+	 * @return the maximal duration ({@link Duration#ZERO} if there is no limit)
+	 */
+	public Duration getMaxTime() {
+		return this.maxTime;
+	}
+	
+	/**
+	 * Sets the maximal heap usage of the generation process.
+	 * 
+	 * The heap usage is checked each time a new level is about to be generated (each time a new instance is generated for the depth-first search):
+	 * once it is exceeded, the current level is finished, and the generation process stops.
+	 * The default value is zero, which means there is no limit.
+	 * In case the provided value is negative, an {@link IllegalArgumentException} is thrown.
+	 * 
+	 * @param maxHeap the maximal heap usage, in bytes
+	 * @throws IllegalArgumentException if the provided value is negative
+	 */
+	public void setMaxHeap(final long maxHeap) {
+		checkNonNegativeLimit(maxHeap, "maximal heap usage");
+		this.maxHeap = maxHeap;
+	}
+	
+	/**
+	 * Returns the maximal heap usage of the generation process.
+	 * 
+	 * @return the maximal heap usage, in bytes (zero if there is no limit)
+	 */
+	public long getMaxHeap() {
+		return this.maxHeap;
+	}
+	
+	/**
+	 * Sets the number of walks performed when using the random walk strategy.
+	 * 
+	 * The default value is 1024.
+	 * The number of walks must be at least one.
+	 * In case the provided value does not fit this requirement, an {@link IllegalArgumentException} is thrown.
+	 * 
+	 * @param walks the number of walks
+	 * @throws IllegalArgumentException if the provided number of walks is less than one
+	 */
+	public void setWalks(final int walks) {
+		if(walks < 1) {
+			final IllegalArgumentException exception = new IllegalArgumentException("number of walks must be at least one");
+			LOGGER.error(exception.getMessage(), exception);
+			throw exception;
+		}
+		this.walks = walks;
+	}
+	
+	/**
+	 * Returns the number of walks performed when using the random walk strategy.
+	 * 
+	 * @return the number of walks
+	 */
+	public int getWalks() {
+		return this.walks;
+	}
+	
+	/**
+	 * Sets the size of the sample kept for each depth when using the random walk strategy.
+	 * 
+	 * When this size is positive, the instances output by the walks are not given to the consumer as they are generated:
+	 * a uniform sample of this size is kept for each depth, and the samples are given to the consumer depth by depth once all the walks are done.
+	 * The default value is zero, which means each instance is given to the consumer as soon as it is generated.
+	 * In case the provided value is negative, an {@link IllegalArgumentException} is thrown.
+	 * 
+	 * @param reservoirSize the size of the sample kept for each depth
+	 * @throws IllegalArgumentException if the provided value is negative
+	 */
+	public void setReservoirSize(final int reservoirSize) {
+		checkNonNegativeLimit(reservoirSize, "reservoir size");
+		this.reservoirSize = reservoirSize;
+	}
+	
+	/**
+	 * Returns the size of the sample kept for each depth when using the random walk strategy.
+	 * 
+	 * @return the size of the sample kept for each depth (zero if there is no sampling)
+	 */
+	public int getReservoirSize() {
+		return this.reservoirSize;
+	}
+	
+	/**
+	 * Sets the instances output by each walk when using the random walk strategy.
+	 * 
+	 * The default value is {@link EWalkEmission#LEAVES}.
+	 * 
+	 * @param walkEmission the instances output by each walk
+	 */
+	public void setWalkEmission(final EWalkEmission walkEmission) {
+		this.walkEmission = walkEmission;
+	}
+	
+	/**
+	 * Returns the instances output by each walk when using the random walk strategy.
+	 * 
+	 * @return the instances output by each walk
+	 */
+	public EWalkEmission getWalkEmission() {
+		return this.walkEmission;
+	}
+	
+	/**
+	 * Sets the shard of the instances given to the consumer by this generator.
+	 * 
+	 * The instances are partitioned into <code>count</code> shards given their fingerprint (see {@link Instance#fingerprint()}),
+	 * and only the instances of the shard which index is provided are given to the consumer.
+	 * The instances of the other shards are still generated, since their successors may belong to the shard.
+	 * The default is a single shard, containing all the instances.
+	 * 
+	 * The number of shards must be at least one, and the index must be between zero (included) and the number of shards (excluded).
+	 * In case the provided values do not fit these requirements, an {@link IllegalArgumentException} is thrown.
+	 * 
+	 * @param index the index of the shard
+	 * @param count the number of shards
+	 * @throws IllegalArgumentException if the provided values are not valid
+	 */
+	public void setShard(final int index, final int count) {
+		if(count < 1 || index < 0 || index >= count) {
+			final IllegalArgumentException exception = new IllegalArgumentException("wrong shard "+index+"/"+count);
+			LOGGER.error(exception.getMessage(), exception);
+			throw exception;
+		}
+		this.shardIndex = index;
+		this.shardCount = count;
+	}
+	
+	/**
+	 * Returns the index of the shard of the instances given to the consumer.
+	 * 
+	 * @return the index of the shard
+	 */
+	public int getShardIndex() {
+		return this.shardIndex;
+	}
+	
+	/**
+	 * Returns the number of shards the instances are partitioned into.
+	 * 
+	 * @return the number of shards
+	 */
+	public int getShardCount() {
+		return this.shardCount;
+	}
+	
+	private static void checkNonNegativeLimit(final long value, final String name) {
+		if(value < 0) {
+			final IllegalArgumentException exception = new IllegalArgumentException(name+" must not be negative");
+			LOGGER.error(exception.getMessage(), exception);
+			throw exception;
+		}
+	}
+	
 	/**
 	 * Generate the instances for a search tree which depth is bounded by the provided parameter.
 	 * The set of generated instances is retained and fully returned as the result of the function.
@@ -90,40 +497,722 @@ public class TestGenerator<T extends Instance> {
 	 * The depth must be at least one (i.e., the root depth).
 	 * In case the provided depth does not fit this requirement, an {@link IllegalArgumentException} is thrown.
 	 * 
-	 * This method would use an exponential space for an unbounded depth.
+	 * When using the breadth-first strategy, this method would use an exponential space for an unbounded depth;
+	 * the other strategies use a space proportional to the depth times the number of translators.
+	 * 
+	 * The generation process may stop before the depth bound is reached if a limit is set on the number of instances,
+	 * the generation time or the heap usage; the returned report indicates where and why the process stopped.
 	 * 
 	 * @param depth the tree depth
 	 * @param consumer the consumer
+	 * @return a report about the generation process
+	 * @throws IllegalArgumentException if the provided depth is less than one
+	 */
+	public GenerationReport computeToDepth(final int depth, final Consumer<T> consumer) {
+		checkDepth(depth);
+		final FingerprintSet seen = this.deduplicationIndex.newFingerprintSet();
+		final GenerationBudget budget = newBudget();
+		switch(this.traversalStrategy) {
+		case DEPTH_FIRST:
+			depthFirstSearch(depth, consumer, seen, budget);
+			break;
+		case ITERATIVE_DEEPENING:
+			iterativeDeepeningSearch(depth, consumer, seen, budget);
+			break;
+		case RANDOM_WALK:
+			randomWalkSearch(depth, consumer, seen, budget);
+			break;
+		default:
+			breadthFirstSearch(depth, consumer, seen, budget);
+		}
+		return budget.report();
+	}
+	
+	private GenerationBudget newBudget() {
+		return new GenerationBudget(this.maxInstances, this.maxTime.toNanos(), this.maxHeap);
+	}
+	
+	private void breadthFirstSearch(final int depth, final Consumer<T> consumer, final FingerprintSet seen, final GenerationBudget budget) {
+		final ForkJoinPool pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+		final T root = this.factory.initInstance();
+		final boolean spill = this.frontierBudget > 0 && root instanceof Serializable;
+		if(this.frontierBudget > 0 && !spill) {
+			LOGGER.warn("instances are not serializable; the frontier will not be spilled to disk");
+		}
+		IFrontier<T> current = newFrontier(pool != null, seen, spill);
+		try {
+			addIfNew(root, current::add, seen);
+			if(owns(root) && budget.tryEmit(1)) {
+				consumer.accept(root);
+			}
+			for(int i=2; i<=depth && budget.canStartLevel(); ++i) {
+				final int level = i;
+				final IFrontier<T> next = newFrontier(pool != null, seen, spill);
+				try {
+					expand(current, next, seen, pool);
+				} finally {
+					current.close();
+					current = next;
+				}
+				if(next.isEmpty()) {
+					break;
+				}
+				next.forEach(instance -> {
+					if(owns(instance) && budget.tryEmit(level)) {
+						consumer.accept(instance);
+					}
+				});
+			}
+		} finally {
+			current.close();
+			if(pool != null) {
+				pool.shutdownNow();
+			}
+		}
+	}
+	
+	/**
+	 * Returns a lazy stream of the instances of a search tree which depth is bounded by the provided parameter.
+	 * 
+	 * Instances are generated as the stream pulls them, so short-circuiting operations (like {@link Stream#limit(long)})
+	 * do not generate the remaining instances, even inside a level.
+	 * The traversal strategy, the deduplication index and the generation limits are taken into account; the parallelism and the frontier budget are not.
+	 * 
+	 * When using the breadth-first strategy, the stream may be made parallel ({@link Stream#parallel()}):
+	 * the instances of the frontier (or, for a frontier made of a single instance, the translators) are shared between the splits,
+	 * each split generating the subtrees of its own instances.
+	 * In this case, the translators must be thread-safe, and duplicates are only removed inside the levels of each split
+	 * (unless a deduplication index is set).
+	 * The instances given by a parallel stream are not ordered.
+	 * 
+	 * The depth must be at least one (i.e., the root depth).
+	 * In case the provided depth does not fit this requirement, an {@link IllegalArgumentException} is thrown.
+	 * 
+	 * @param depth the tree depth
+	 * @return the stream of instances
 	 * @throws IllegalArgumentException if the provided depth is less than one
 	 */
-	public void computeToDepth(final int depth, final Consumer<T> consumer) {
-		Map<Integer, Set<T>> instances = new TreeMap<>();
+	public Stream<T> stream(final int depth) {
+		checkDepth(depth);
+		final FingerprintSet seen = this.deduplicationIndex.newFingerprintSet();
+		final GenerationBudget budget = newBudget();
+		switch(this.traversalStrategy) {
+		case DEPTH_FIRST:
+			return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new DepthFirstIterator(depth, false, seen, budget), Spliterator.NONNULL), false);
+		case ITERATIVE_DEEPENING:
+			return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new IterativeDeepeningIterator(depth, seen, budget), Spliterator.NONNULL), false);
+		case RANDOM_WALK:
+			return randomWalks(depth, seen, budget, false);
+		default:
+			return StreamSupport.stream(new BreadthFirstSpliterator(depth, seen, budget), false);
+		}
+	}
+	
+	/**
+	 * Returns a publisher of the instances of a search tree which depth is bounded by the provided parameter.
+	 * 
+	 * The generation is driven by the demand of the subscribers: instances are only generated when they are requested,
+	 * so the memory does not depend on the speed of the subscriber.
+	 * Each subscriber gets its own generation process, as given by {@link TestGenerator#stream(int)}.
+	 * Instances are generated by the thread which requests them.
+	 * 
+	 * When using the breadth-first strategy with a parallelism greater than one or a frontier budget, which the stream does not take into account,
+	 * or when using random walks with a parallelism greater than one,
+	 * the generation process is run by a dedicated thread, which is blocked each time an instance is generated until a subscriber requests it.
+	 * 
+	 * The depth must be at least one (i.e., the root depth).
+	 * In case the provided depth does not fit this requirement, an {@link IllegalArgumentException} is thrown.
+	 * 
+	 * @param depth the tree depth
+	 * @return the publisher of instances
+	 * @throws IllegalArgumentException if the provided depth is less than one
+	 */
+	public Flow.Publisher<T> publisher(final int depth) {
+		checkDepth(depth);
+		if((this.traversalStrategy == ETraversalStrategy.BREADTH_FIRST && (this.parallelism > 1 || this.frontierBudget > 0))
+				|| (this.traversalStrategy == ETraversalStrategy.RANDOM_WALK && this.parallelism > 1)) {
+			return new InstancePublisher<>(() -> new GenerationThreadIterator(depth));
+		}
+		return new InstancePublisher<>(() -> stream(depth).iterator());
+	}
+	
+	/**
+	 * An iterator over the instances given by {@link TestGenerator#computeToDepth(int, Consumer)}, run by a dedicated thread.
+	 * 
+	 * The generation thread hands each instance over to the thread calling {@link Iterator#hasNext()}, and is blocked until then.
+	 * Closing the iterator interrupts the generation thread, which stops the generation process.
+	 * 
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private final class GenerationThreadIterator implements Iterator<T>, AutoCloseable {
+		
+		private final Object end = new Object();
+		
+		private final SynchronousQueue<Object> handOff = new SynchronousQueue<>();
+		
+		private final Thread thread;
+		
+		private Object nextItem;
+		
+		private boolean finished = false;
+		
+		private GenerationThreadIterator(final int depth) {
+			this.thread = new Thread(() -> {
+				try {
+					computeToDepth(depth, this::handOver);
+					handOver(this.end);
+				} catch(CancellationException e) {
+					// the iterator was closed
+				} catch(RuntimeException e) {
+					handOver(e);
+				}
+			}, "rubens-generation");
+			this.thread.setDaemon(true);
+			this.thread.start();
+		}
+		
+		private void handOver(final Object item) {
+			try {
+				this.handOff.put(item);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException();
+			}
+		}
+		
+		@Override
+		public boolean hasNext() {
+			if(this.finished) {
+				return false;
+			}
+			if(this.nextItem == null) {
+				try {
+					this.nextItem = this.handOff.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("interrupted while waiting for the generation thread", e);
+				}
+			}
+			if(this.nextItem instanceof RuntimeException) {
+				this.finished = true;
+				throw (RuntimeException) this.nextItem;
+			}
+			if(this.nextItem == this.end) {
+				this.finished = true;
+				return false;
+			}
+			return true;
+		}
+		
+		@SuppressWarnings("unchecked")
+		@Override
+		public T next() {
+			if(!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			final T result = (T) this.nextItem;
+			this.nextItem = null;
+			return result;
+		}
+		
+		@Override
+		public void close() {
+			this.finished = true;
+			this.thread.interrupt();
+		}
+		
+	}
+	
+	private static void checkDepth(final int depth) {
 		if(depth < 1) {
 			final IllegalArgumentException exception = new IllegalArgumentException("depth must be at least one");
 			LOGGER.error(exception.getMessage(), exception);
 			throw exception;
 		}
-		instances.computeIfAbsent(1, k -> new HashSet<>()).add(this.factory.initInstance());
-		consumer.accept(this.factory.initInstance());
-		for(int i=2; i<=depth; ++i) {
-			computeForDepth(i, instances);
-			final Set<T> newInstances = instances.get(i);
-			if(newInstances.isEmpty()) {
-				break;
+	}
+	
+	private void iterativeDeepeningSearch(final int depth, final Consumer<T> consumer, final FingerprintSet seen, final GenerationBudget budget) {
+		new IterativeDeepeningIterator(depth, seen, budget).forEachRemaining(consumer);
+	}
+	
+	private void randomWalkSearch(final int depth, final Consumer<T> consumer, final FingerprintSet seen, final GenerationBudget budget) {
+		if(this.parallelism == 1) {
+			randomWalks(depth, seen, budget, false).forEach(consumer);
+			return;
+		}
+		final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+		try {
+			pool.submit(() -> randomWalks(depth, seen, budget, true).forEachOrdered(consumer)).get();
+		} catch(InterruptedException e) {
+			// the consumer is applied by the workers, which may be blocked in it (see GenerationThreadIterator)
+			pool.shutdownNow();
+			Thread.currentThread().interrupt();
+			throw new CancellationException();
+		} catch(ExecutionException e) {
+			if(e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			if(e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	private Stream<T> randomWalks(final int depth, final FingerprintSet seen, final GenerationBudget budget, final boolean parallel) {
+		final long seed = RandomHelper.getInstance().getSeed();
+		final RandomWalkSampler<T> sampler = new RandomWalkSampler<>(this.factory, depth, this.walks, this.reservoirSize, this.walkEmission, seed);
+		return sampler.steps(budget, parallel).filter(s -> isNew(s.getInstance(), seen) && owns(s.getInstance()) && budget.tryEmit(s.getDepth()))
+				.map(RandomWalkSampler.Step::getInstance);
+	}
+	
+	private void depthFirstSearch(final int depth, final Consumer<T> consumer, final FingerprintSet seen, final GenerationBudget budget) {
+		new DepthFirstIterator(depth, false, seen, budget).forEachRemaining(consumer);
+	}
+	
+	/**
+	 * An iterator walking through the generation tree in a depth-first way, using an explicit stack.
+	 * 
+	 * Each stack element is an iterator over the successors of an instance of the current branch which have not been visited yet.
+	 * The successors of an instance are deduplicated; instances of different branches are only compared if a fingerprint set is provided.
+	 * 
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private final class DepthFirstIterator implements Iterator<T> {
+		
+		private final int depth;
+		
+		private final boolean boundOnly;
+		
+		private final FingerprintSet seen;
+		
+		private final GenerationBudget budget;
+		
+		private Deque<Iterator<T>> branch;
+		
+		private T nextInstance;
+		
+		private boolean boundReached = false;
+		
+		/**
+		 * Builds a depth-first iterator.
+		 * 
+		 * @param depth the depth bound
+		 * @param boundOnly <code>true</code> iff only the instances lying at the depth bound must be returned
+		 * @param seen the fingerprints of the instances already returned, or <code>null</code>
+		 * @param budget the generation budget
+		 */
+		private DepthFirstIterator(final int depth, final boolean boundOnly, final FingerprintSet seen, final GenerationBudget budget) {
+			this.depth = depth;
+			this.boundOnly = boundOnly;
+			this.seen = seen;
+			this.budget = budget;
+		}
+		
+		@Override
+		public boolean hasNext() {
+			if(this.nextInstance == null) {
+				computeNext();
+			}
+			return this.nextInstance != null;
+		}
+		
+		@Override
+		public T next() {
+			if(!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			final T result = this.nextInstance;
+			this.nextInstance = null;
+			return result;
+		}
+		
+		private void computeNext() {
+			if(this.branch == null) {
+				this.branch = new ArrayDeque<>();
+				final T root = TestGenerator.this.factory.initInstance();
+				if(this.depth == 1) {
+					this.boundReached = true;
+				} else {
+					this.branch.push(successors(root).iterator());
+				}
+				if((!this.boundOnly || this.depth == 1) && isNew(root, this.seen) && owns(root)) {
+					offer(root, 1);
+					return;
+				}
+			}
+			while(!this.branch.isEmpty()) {
+				final Iterator<T> it = this.branch.peek();
+				if(!it.hasNext()) {
+					this.branch.pop();
+					continue;
+				}
+				final T next = it.next();
+				final int nextDepth = this.branch.size() + 1;
+				if(nextDepth == this.depth) {
+					this.boundReached = true;
+				} else {
+					this.branch.push(successors(next).iterator());
+				}
+				if((!this.boundOnly || nextDepth == this.depth) && isNew(next, this.seen) && owns(next)) {
+					offer(next, nextDepth);
+					return;
+				}
+			}
+		}
+		
+		private void offer(final T instance, final int instanceDepth) {
+			if((!this.boundOnly && !this.budget.canStartLevel()) || !this.budget.tryEmit(instanceDepth)) {
+				this.branch.clear();
+				return;
+			}
+			this.nextInstance = instance;
+		}
+	
+	}
+	
+	/**
+	 * An iterator chaining depth-first iterators with increasing depth bounds, each one returning only the instances at its depth bound.
+	 * 
+	 * The iteration stops when the depth bound is reached, or when a depth-first iterator did not reach its own bound.
+	 * 
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private final class IterativeDeepeningIterator implements Iterator<T> {
+		
+		private final int depth;
+		
+		private final FingerprintSet seen;
+		
+		private final GenerationBudget budget;
+		
+		private int bound = 1;
+		
+		private DepthFirstIterator current;
+		
+		private IterativeDeepeningIterator(final int depth, final FingerprintSet seen, final GenerationBudget budget) {
+			this.depth = depth;
+			this.seen = seen;
+			this.budget = budget;
+			this.current = new DepthFirstIterator(1, true, seen, budget);
+		}
+		
+		@Override
+		public boolean hasNext() {
+			while(!this.current.hasNext()) {
+				if(!this.current.boundReached || this.bound >= this.depth || !this.budget.canStartLevel()) {
+					return false;
+				}
+				this.current = new DepthFirstIterator(++this.bound, true, this.seen, this.budget);
+			}
+			return true;
+		}
+		
+		@Override
+		public T next() {
+			if(!hasNext()) {
+				throw new NoSuchElementException();
 			}
-			newInstances.forEach(consumer::accept);
-			instances.remove(i-1);
+			return this.current.next();
 		}
+	
 	}
+	
+	/**
+	 * A spliterator walking lazily through the generation tree in a breadth-first way.
+	 * 
+	 * The spliterator owns a list of parent instances lying at the same level, and a range of translators for its current parent.
+	 * As in the other strategies, the translators are given by a new call to {@link TestGeneratorFactory#translators()} for each parent,
+	 * since they may be stateful (e.g. to name the new elements they create); this way, the instances do not depend on the order in which the parents are expanded.
+	 * Successors are given to the consumer as they are generated, and stored to become the parents of the next level.
+	 * Splitting the spliterator gives away half of the remaining parents, or half of the translators of the current parent if it is the last one.
+	 * 
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private final class BreadthFirstSpliterator implements Spliterator<T> {
+		
+		private final int depth;
+		
+		private final FingerprintSet seen;
+		
+		private final GenerationBudget budget;
+		
+		private List<InstanceTranslator<T>> translators;
+		
+		private T root;
+		
+		private List<T> parents;
+		
+		private int parentsDepth;
+		
+		private int parentIndex = 0;
+		
+		private int translatorIndex;
+		
+		private int translatorEnd;
+		
+		private Collection<T> children;
+		
+		private boolean levelStarted;
+		
+		/**
+		 * Builds a spliterator for the whole tree.
+		 * 
+		 * @param depth the depth bound
+		 * @param seen the fingerprint set, or <code>null</code>
+		 * @param budget the generation budget
+		 */
+		private BreadthFirstSpliterator(final int depth, final FingerprintSet seen, final GenerationBudget budget) {
+			this(depth, seen, budget, null, null, 1, 0, 0);
+			this.root = TestGenerator.this.factory.initInstance();
+			this.parents = Collections.singletonList(this.root);
+			this.levelStarted = false;
+		}
+		
+		private BreadthFirstSpliterator(final int depth, final FingerprintSet seen, final GenerationBudget budget, final List<InstanceTranslator<T>> translators,
+				final List<T> parents, final int parentsDepth, final int translatorIndex, final int translatorEnd) {
+			this.depth = depth;
+			this.seen = seen;
+			this.budget = budget;
+			this.levelStarted = true;
+			this.translators = translators;
+			this.parents = parents;
+			this.parentsDepth = parentsDepth;
+			this.translatorIndex = translatorIndex;
+			this.translatorEnd = translatorEnd;
+			this.children = seen == null ? new HashSet<>() : new ArrayList<>();
+		}
+		
+		@Override
+		public boolean tryAdvance(final Consumer<? super T> action) {
+			if(this.root != null) {
+				final T instance = this.root;
+				this.root = null;
+				isNew(instance, this.seen);
+				if(owns(instance)) {
+					if(!this.budget.tryEmit(1)) {
+						this.parentsDepth = this.depth;
+						return false;
+					}
+					action.accept(instance);
+					return true;
+				}
+			}
+			while(this.parentsDepth < this.depth) {
+				if(!this.levelStarted) {
+					if(!this.budget.canStartLevel()) {
+						this.parentsDepth = this.depth;
+						return false;
+					}
+					this.levelStarted = true;
+				}
+				while(this.parentIndex < this.parents.size()) {
+					final T parent = this.parents.get(this.parentIndex);
+					final List<InstanceTranslator<T>> parentTranslators = currentTranslators();
+					while(this.translatorIndex < this.translatorEnd) {
+						final InstanceTranslator<T> translator = parentTranslators.get(this.translatorIndex++);
+						if(translator.canBeAppliedTo(parent)) {
+							final T child = translator.translate(parent);
+							if(isNew(child, this.seen) && this.children.add(child) && owns(child)) {
+								if(!this.budget.tryEmit(this.parentsDepth + 1)) {
+									this.parentsDepth = this.depth;
+									return false;
+								}
+								action.accept(child);
+								return true;
+							}
+						}
+					}
+					++this.parentIndex;
+					this.translatorIndex = 0;
+					this.translators = null;
+				}
+				if(this.children.isEmpty()) {
+					this.parentsDepth = this.depth;
+					break;
+				}
+				this.parents = new ArrayList<>(this.children);
+				this.children = this.seen == null ? new HashSet<>() : new ArrayList<>();
+				this.parentIndex = 0;
+				this.levelStarted = false;
+				++this.parentsDepth;
+			}
+			return false;
+		}
+		
+		@Override
+		public Spliterator<T> trySplit() {
+			if(this.parentsDepth >= this.depth) {
+				return null;
+			}
+			final int size = this.parents.size();
+			if(size - this.parentIndex >= 2) {
+				final int middle = (this.parentIndex + 1 + size) >>> 1;
+				final List<T> given = new ArrayList<>(this.parents.subList(middle, size));
+				this.parents = this.parents.subList(0, middle);
+				return new BreadthFirstSpliterator(this.depth, this.seen, this.budget, null, given, this.parentsDepth, 0, 0);
+			}
+			if(this.parentIndex == size) {
+				return null;
+			}
+			final List<InstanceTranslator<T>> parentTranslators = currentTranslators();
+			if(this.translatorEnd - this.translatorIndex >= 2) {
+				final int middle = (this.translatorIndex + this.translatorEnd) >>> 1;
+				final List<T> given = Collections.singletonList(this.parents.get(this.parentIndex));
+				final Spliterator<T> split = new BreadthFirstSpliterator(this.depth, this.seen, this.budget, parentTranslators, given, this.parentsDepth, middle, this.translatorEnd);
+				this.translatorEnd = middle;
+				return split;
+			}
+			return null;
+		}
+		
+		/**
+		 * Returns the translators of the current parent, getting them from the factory if they were not already.
+		 * 
+		 * @return the translators of the current parent
+		 */
+		private List<InstanceTranslator<T>> currentTranslators() {
+			if(this.translators == null) {
+				this.translators = TestGenerator.this.factory.translators();
+				this.translatorEnd = this.translators.size();
+			}
+			return this.translators;
+		}
+		
+		@Override
+		public long estimateSize() {
+			return Long.MAX_VALUE;
+		}
+		
+		@Override
+		public int characteristics() {
+			return Spliterator.NONNULL;
+		}
+	
+	}
+	
+	private Set<T> successors(final T from) {
+		final Set<T> result = new LinkedHashSet<>();
+		computeFromPreceedingInstance(from, result::add, null);
+		return result;
+	}
+	
+	private boolean owns(final T instance) {
+		if(this.shardCount == 1) {
+			return true;
+		}
+		final Fingerprint fingerprint = instance.fingerprint();
+		return Math.floorMod(fingerprint.getHigh() ^ fingerprint.getLow(), this.shardCount) == this.shardIndex;
+	}
+	
+	private static <T extends Instance> boolean isNew(final T instance, final FingerprintSet seen) {
+		return seen == null || seen.add(instance.fingerprint());
+	}
+	
+	private static <T extends Instance> void addIfNew(final T instance, final Consumer<T> to, final FingerprintSet seen) {
+		if(isNew(instance, seen)) {
+			to.accept(instance);
+		}
+	}
+	
+	/**
+	 * Builds a new frontier used to store a level of the tree.
+	 * 
+	 * Without a fingerprint set, the frontier removes duplicates inside the level.
+	 * With a fingerprint set, duplicates are removed by the fingerprint set before reaching the frontier.
+	 * 
+	 * @param concurrent <code>true</code> iff several threads may add instances to the level
+	 * @param seen the fingerprint set, or <code>null</code>
+	 * @param spill <code>true</code> iff the frontier may be spilled to disk
+	 * @return the new frontier
+	 */
+	private IFrontier<T> newFrontier(final boolean concurrent, final FingerprintSet seen, final boolean spill) {
+		if(spill) {
+			return new SpillingFrontier<>(this.frontierBudget, this.spillDirectory);
+		}
+		return new InMemoryFrontier<>(concurrent, seen == null);
+	}
+	
+	/**
+	 * Computes the instances of a level given the instances of the preceding one.
+	 * 
+	 * When a pool is provided, the preceding level is read by batches, and each batch is expanded by the threads of the pool.
+	 * 
+	 * @param current the preceding level
+	 * @param next the level to compute
+	 * @param seen the fingerprint set, or <code>null</code>
+	 * @param pool the pool, or <code>null</code>
+	 */
+	private void expand(final IFrontier<T> current, final IFrontier<T> next, final FingerprintSet seen, final ForkJoinPool pool) {
+		if(pool == null) {
+			current.forEach(i -> computeFromPreceedingInstance(i, next::add, seen));
+			return;
+		}
+		final List<T> batch = new ArrayList<>(EXPANSION_BATCH_SIZE);
+		current.forEach(i -> {
+			batch.add(i);
+			if(batch.size() == EXPANSION_BATCH_SIZE) {
+				pool.invoke(new LevelExpansionTask(batch, 0, batch.size(), next, seen));
+				batch.clear();
+			}
+		});
+		if(!batch.isEmpty()) {
+			pool.invoke(new LevelExpansionTask(batch, 0, batch.size(), next, seen));
+		}
+	}
+	
+	/**
+	 * A fork/join task that expands a range of the frontier.
+	 * 
+	 * Ranges are split until they contain a single instance; then, a subtask is forked for each translator that can be applied to it.
+	 * 
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private class LevelExpansionTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final transient List<T> frontier;
+		
+		private final int from;
+		
+		private final int to;
+		
+		private final transient IFrontier<T> next;
+		
+		private final transient FingerprintSet seen;
+		
+		private LevelExpansionTask(final List<T> frontier, final int from, final int to, final IFrontier<T> next, final FingerprintSet seen) {
+			this.frontier = frontier;
+			this.from = from;
+			this.to = to;
+			this.next = next;
+			this.seen = seen;
+		}
 
-	private void computeForDepth(final int depth, final Map<Integer, Set<T>> instances) {
-		instances.get(depth-1).forEach(i -> computeFromPreceedingInstance(i, instances.computeIfAbsent(depth, k -> new HashSet<>())));
+		@Override
+		protected void compute() {
+			if(this.to - this.from > 1) {
+				final int middle = (this.from + this.to) >>> 1;
+				invokeAll(new LevelExpansionTask(this.frontier, this.from, middle, this.next, this.seen),
+						new LevelExpansionTask(this.frontier, middle, this.to, this.next, this.seen));
+			} else if(this.to - this.from == 1) {
+				final T instance = this.frontier.get(this.from);
+				invokeAll(TestGenerator.this.factory.translators().stream()
+						.filter(t -> t.canBeAppliedTo(instance))
+						.map(t -> ForkJoinTask.adapt(() -> addIfNew(t.translate(instance), this.next::add, this.seen)))
+						.collect(Collectors.toList()));
+			}
+		}
+		
 	}
 
-	private void computeFromPreceedingInstance(final T from, final Set<T> to) {
+	private void computeFromPreceedingInstance(final T from, final Consumer<T> to, final FingerprintSet seen) {
 		for(final InstanceTranslator<T> translator : this.factory.translators()) {
 			if(translator.canBeAppliedTo(from)) {
-				to.add(translator.translate(from));
+				addIfNew(translator.translate(from), to, seen);
 			}
 		}
 	}
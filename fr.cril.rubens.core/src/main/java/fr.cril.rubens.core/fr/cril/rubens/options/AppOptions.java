@@ -36,6 +36,9 @@ import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
 import org.slf4j.Logger;
 
+import fr.cril.rubens.core.EDeduplicationIndex;
+import fr.cril.rubens.core.ETraversalStrategy;
+import fr.cril.rubens.core.EWalkEmission;
 import fr.cril.rubens.utils.GNUGPL3;
 import fr.cril.rubens.utils.LoggerHelper;
 
@@ -67,6 +70,70 @@ public abstract class AppOptions<T> {
 	
 	private int maxDepth = DEFAULT_MAX_DEPTH;
 	
+	/** the default strategy used to walk through the generation tree */
+	public static final ETraversalStrategy DEFAULT_TRAVERSAL_STRATEGY = ETraversalStrategy.BREADTH_FIRST;
+	
+	private ETraversalStrategy traversalStrategy = DEFAULT_TRAVERSAL_STRATEGY;
+	
+	/** the default number of threads used to expand the levels of the generation tree */
+	public static final int DEFAULT_GENERATION_THREADS = 1;
+	
+	private int generationThreads = DEFAULT_GENERATION_THREADS;
+	
+	/** the default index used to remove duplicate instances across the generation tree */
+	public static final EDeduplicationIndex DEFAULT_DEDUPLICATION_INDEX = EDeduplicationIndex.NONE;
+	
+	private EDeduplicationIndex deduplicationIndex = DEFAULT_DEDUPLICATION_INDEX;
+	
+	/** the default heap budget (in megabytes) of the breadth-first search frontier; zero means the frontier is never spilled to disk */
+	public static final long DEFAULT_FRONTIER_BUDGET = 0;
+	
+	private long frontierBudget = DEFAULT_FRONTIER_BUDGET;
+	
+	private File spillDirectory;
+	
+	/** the default maximal number of generated instances (no limit) */
+	public static final long DEFAULT_MAX_INSTANCES = 0;
+	
+	private long maxInstances = DEFAULT_MAX_INSTANCES;
+	
+	/** the default maximal generation time, in seconds (no limit) */
+	public static final long DEFAULT_MAX_TIME = 0;
+	
+	private long maxTime = DEFAULT_MAX_TIME;
+	
+	/** the default maximal heap usage of the generation process, in megabytes (no limit) */
+	public static final long DEFAULT_MAX_HEAP = 0;
+	
+	private long maxHeap = DEFAULT_MAX_HEAP;
+	
+	/** the default number of walks performed by the random walk strategy */
+	public static final int DEFAULT_WALKS = 1 << 10;
+	
+	private int walks = DEFAULT_WALKS;
+	
+	/** the default size of the sample kept for each depth by the random walk strategy (no sampling) */
+	public static final int DEFAULT_RESERVOIR_SIZE = 0;
+	
+	private int reservoirSize = DEFAULT_RESERVOIR_SIZE;
+	
+	/** the default instances output by each walk of the random walk strategy */
+	public static final EWalkEmission DEFAULT_WALK_EMISSION = EWalkEmission.LEAVES;
+	
+	private EWalkEmission walkEmission = DEFAULT_WALK_EMISSION;
+	
+	/** the default index of the shard of the generated instances */
+	public static final int DEFAULT_SHARD_INDEX = 0;
+	
+	private int shardIndex = DEFAULT_SHARD_INDEX;
+	
+	/** the default number of shards the generated instances are partitioned into (no partitioning) */
+	public static final int DEFAULT_SHARD_COUNT = 1;
+	
+	private int shardCount = DEFAULT_SHARD_COUNT;
+	
+	private Long seed;
+	
 	private final IAppOption<T>[] appOpts;
 	
 	private boolean mustExit = false;
@@ -125,18 +192,48 @@ public abstract class AppOptions<T> {
 	private void applyOptions(final CommandLine cmdl) {
 		for(final IAppOption<T> option : this.appOpts) {
 			if(cmdl.hasOption(option.getSpecs().getOpt())) {
-				final String value = cmdl.getOptionValue(option.getSpecs().getOpt());
-				option.getOptionConsumer().accept(getThis(), value);
+				applyOption(option, cmdl.getOptionValues(option.getSpecs().getOpt()));
 			}
 			if(this.mustExit) {
 				break;
 			}
 		}
+		if(!this.mustExit) {
+			checkShardRequirements();
+		}
 		if(!this.mustExit) {
 			checkOptionsRequirements();
 		}
 	}
 	
+	/**
+	 * Applies an option given the values it was set to.
+	 * 
+	 * An option taking an argument which is given several times is applied once per value, in the order of the command line.
+	 * 
+	 * @param option the option
+	 * @param values the values, or <code>null</code> for an option without argument
+	 */
+	private void applyOption(final IAppOption<T> option, final String[] values) {
+		if(values == null) {
+			option.getOptionConsumer().accept(getThis(), null);
+			return;
+		}
+		for(final String value : values) {
+			option.getOptionConsumer().accept(getThis(), value);
+			if(this.mustExit) {
+				return;
+			}
+		}
+	}
+	
+	private void checkShardRequirements() {
+		if(this.shardCount > 1 && this.seed == null) {
+			LOGGER.error("a seed must be set when the instances are partitioned into shards, in order to generate the same tree in each process");
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
 	/**
 	 * Returns the instance of the class extending this instance of {@link AppOptions}.
 	 * 
@@ -217,6 +314,20 @@ public abstract class AppOptions<T> {
 	 */
 	protected void reset() {
 		this.maxDepth = DEFAULT_MAX_DEPTH;
+		this.traversalStrategy = DEFAULT_TRAVERSAL_STRATEGY;
+		this.generationThreads = DEFAULT_GENERATION_THREADS;
+		this.deduplicationIndex = DEFAULT_DEDUPLICATION_INDEX;
+		this.frontierBudget = DEFAULT_FRONTIER_BUDGET;
+		this.spillDirectory = null;
+		this.maxInstances = DEFAULT_MAX_INSTANCES;
+		this.maxTime = DEFAULT_MAX_TIME;
+		this.maxHeap = DEFAULT_MAX_HEAP;
+		this.walks = DEFAULT_WALKS;
+		this.reservoirSize = DEFAULT_RESERVOIR_SIZE;
+		this.walkEmission = DEFAULT_WALK_EMISSION;
+		this.shardIndex = DEFAULT_SHARD_INDEX;
+		this.shardCount = DEFAULT_SHARD_COUNT;
+		this.seed = null;
 	}
 	
 	/**
@@ -297,6 +408,280 @@ public abstract class AppOptions<T> {
 		this.maxDepth = depth;
 	}
 	
+	/**
+	 * Sets the strategy used to walk through the generation tree, given its short name (see {@link ETraversalStrategy#getShortName()}).
+	 * 
+	 * If the value does not correspond to a known strategy,
+	 * the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the short name of the traversal strategy
+	 */
+	public void setTraversalStrategy(final String value) {
+		try {
+			this.traversalStrategy = ETraversalStrategy.fromShortName(value);
+		} catch(IllegalArgumentException e) {
+			LOGGER.error(e.getMessage());
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Sets the number of threads used to expand the levels of the generation tree (see {@link fr.cril.rubens.core.TestGenerator#setParallelism(int)}).
+	 * 
+	 * The value is passed as a string; if it does not correspond to a valid number of threads (a strictly positive integer),
+	 * the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the number of threads
+	 */
+	public void setGenerationThreads(final String value) {
+		final String errorMsg = "wrong value for argument threads: expected a strictly positive integer, got {}";
+		try {
+			final int threads = Integer.parseInt(value);
+			if(threads < 1) {
+				LOGGER.error(errorMsg, value);
+				setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+				return;
+			}
+			this.generationThreads = threads;
+		} catch(NumberFormatException e) {
+			LOGGER.error(errorMsg, value);
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Sets the index used to remove duplicate instances across the generation tree, given its short name (see {@link EDeduplicationIndex#getShortName()}).
+	 * 
+	 * If the value does not correspond to a known index,
+	 * the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the short name of the deduplication index
+	 */
+	public void setDeduplicationIndex(final String value) {
+		try {
+			this.deduplicationIndex = EDeduplicationIndex.fromShortName(value);
+		} catch(IllegalArgumentException e) {
+			LOGGER.error(e.getMessage());
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Sets the heap budget of the breadth-first search frontier (see {@link fr.cril.rubens.core.TestGenerator#setFrontierBudget(long)}).
+	 * 
+	 * The value is passed as a string and is expressed in megabytes; if it does not correspond to a valid budget (a nonnegative integer),
+	 * the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the heap budget, in megabytes
+	 */
+	public void setFrontierBudget(final String value) {
+		final long budget = parseNonNegativeLong(value, "frontier-budget");
+		if(budget >= 0) {
+			this.frontierBudget = budget;
+		}
+	}
+	
+	/**
+	 * Sets the maximal number of generated instances (see {@link fr.cril.rubens.core.TestGenerator#setMaxInstances(long)}).
+	 * 
+	 * The value is passed as a string; if it does not correspond to a valid number of instances (a nonnegative integer),
+	 * the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the maximal number of instances
+	 */
+	public void setMaxInstances(final String value) {
+		final long max = parseNonNegativeLong(value, "max-instances");
+		if(max >= 0) {
+			this.maxInstances = max;
+		}
+	}
+	
+	/**
+	 * Sets the maximal generation time (see {@link fr.cril.rubens.core.TestGenerator#setMaxTime(java.time.Duration)}).
+	 * 
+	 * The value is passed as a string and is expressed in seconds; if it does not correspond to a valid duration (a nonnegative integer),
+	 * the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the maximal generation time, in seconds
+	 */
+	public void setMaxTime(final String value) {
+		final long max = parseNonNegativeLong(value, "max-time");
+		if(max >= 0) {
+			this.maxTime = max;
+		}
+	}
+	
+	/**
+	 * Sets the maximal heap usage of the generation process (see {@link fr.cril.rubens.core.TestGenerator#setMaxHeap(long)}).
+	 * 
+	 * The value is passed as a string and is expressed in megabytes; if it does not correspond to a valid heap usage (a nonnegative integer),
+	 * the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the maximal heap usage, in megabytes
+	 */
+	public void setMaxHeap(final String value) {
+		final long max = parseNonNegativeLong(value, "max-heap");
+		if(max >= 0) {
+			this.maxHeap = max;
+		}
+	}
+	
+	/**
+	 * Sets the number of walks performed by the random walk strategy (see {@link fr.cril.rubens.core.TestGenerator#setWalks(int)}).
+	 * 
+	 * The value is passed as a string; if it does not correspond to a valid number of walks (a strictly positive integer),
+	 * the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the number of walks
+	 */
+	public void setWalks(final String value) {
+		final String errorMsg = "wrong value for argument walks: expected a strictly positive integer, got {}";
+		try {
+			final int n = Integer.parseInt(value);
+			if(n < 1) {
+				LOGGER.error(errorMsg, value);
+				setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+				return;
+			}
+			this.walks = n;
+		} catch(NumberFormatException e) {
+			LOGGER.error(errorMsg, value);
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Sets the size of the sample kept for each depth by the random walk strategy (see {@link fr.cril.rubens.core.TestGenerator#setReservoirSize(int)}).
+	 * 
+	 * The value is passed as a string; if it does not correspond to a valid size (a nonnegative integer),
+	 * the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the size of the sample kept for each depth
+	 */
+	public void setReservoirSize(final String value) {
+		final String errorMsg = "wrong value for argument reservoir: expected a nonnegative integer, got {}";
+		try {
+			final int size = Integer.parseInt(value);
+			if(size < 0) {
+				LOGGER.error(errorMsg, value);
+				setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+				return;
+			}
+			this.reservoirSize = size;
+		} catch(NumberFormatException e) {
+			LOGGER.error(errorMsg, value);
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Sets the instances output by each walk of the random walk strategy, given their short name (see {@link EWalkEmission#getShortName()}).
+	 * 
+	 * If the value does not correspond to a known value,
+	 * the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the short name of the instances output by each walk
+	 */
+	public void setWalkEmission(final String value) {
+		try {
+			this.walkEmission = EWalkEmission.fromShortName(value);
+		} catch(IllegalArgumentException e) {
+			LOGGER.error(e.getMessage());
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Sets the shard of the generated instances given to the application (see {@link fr.cril.rubens.core.TestGenerator#setShard(int, int)}).
+	 * 
+	 * The value is passed as a string of the form <code>i/N</code>, where <code>N</code> is the number of shards
+	 * and <code>i</code> the index of the shard, between zero (included) and <code>N</code> (excluded).
+	 * If it does not fit this format, the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the shard
+	 */
+	public void setShard(final String value) {
+		final String errorMsg = "wrong value for argument shard: expected i/N with 0 <= i < N, got {}";
+		final int slashIndex = value.indexOf('/');
+		try {
+			if(slashIndex < 0) {
+				throw new NumberFormatException();
+			}
+			final int index = Integer.parseInt(value.substring(0, slashIndex));
+			final int count = Integer.parseInt(value.substring(slashIndex + 1));
+			if(index < 0 || index >= count) {
+				LOGGER.error(errorMsg, value);
+				setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+				return;
+			}
+			this.shardIndex = index;
+			this.shardCount = count;
+		} catch(NumberFormatException e) {
+			LOGGER.error(errorMsg, value);
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Sets the seed of the random generators used by the translators (see {@link fr.cril.rubens.utils.RandomHelper#setSeed(long)}).
+	 * 
+	 * The value is passed as a string; if it does not correspond to an integer,
+	 * the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param value the seed
+	 */
+	public void setSeed(final String value) {
+		try {
+			this.seed = Long.parseLong(value);
+		} catch(NumberFormatException e) {
+			LOGGER.error("wrong value for argument seed: expected an integer, got {}", value);
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
+	/**
+	 * Parses the value of an option which expects a nonnegative integer.
+	 * 
+	 * In case the value is not a nonnegative integer, the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}
+	 * and a negative value is returned.
+	 * 
+	 * @param value the value
+	 * @param argName the long name of the option, used in the error message
+	 * @return the parsed value, or a negative value in case of error
+	 */
+	protected long parseNonNegativeLong(final String value, final String argName) {
+		final String errorMsg = "wrong value for argument "+argName+": expected a nonnegative integer, got {}";
+		try {
+			final long result = Long.parseLong(value);
+			if(result < 0) {
+				LOGGER.error(errorMsg, value);
+				setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+			}
+			return result;
+		} catch(NumberFormatException e) {
+			LOGGER.error(errorMsg, value);
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+			return -1;
+		}
+	}
+	
+	/**
+	 * Sets the directory in which the breadth-first search frontier is spilled.
+	 * 
+	 * If such path cannot be used as a directory to store the frontier,
+	 * the application exits with a status of {@link AppOptions#STATUS_OPTIONS_EXIT_ERROR}.
+	 * 
+	 * @param path the path of the spill directory
+	 */
+	public void setSpillDirectory(final String path) {
+		try {
+			this.spillDirectory = getOrCreateOutputDirectory(path);
+		} catch(IllegalArgumentException e) {
+			LOGGER.error(e.getMessage());
+			setMustExit(STATUS_OPTIONS_EXIT_ERROR);
+		}
+	}
+	
 	/**
 	 * Returns the output directory in which the generated instances must be stored.
 	 * 
@@ -318,5 +703,159 @@ public abstract class AppOptions<T> {
 	public int getMaxDepth() {
 		return this.maxDepth;
 	}
+	
+	/**
+	 * Returns the strategy used to walk through the generation tree.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link AppOptions#DEFAULT_TRAVERSAL_STRATEGY}.
+	 * 
+	 * @return the strategy used to walk through the generation tree
+	 */
+	public ETraversalStrategy getTraversalStrategy() {
+		return this.traversalStrategy;
+	}
+	
+	/**
+	 * Returns the number of threads used to expand the levels of the generation tree.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link AppOptions#DEFAULT_GENERATION_THREADS}.
+	 * 
+	 * @return the number of threads used to expand the levels of the generation tree
+	 */
+	public int getGenerationThreads() {
+		return this.generationThreads;
+	}
+	
+	/**
+	 * Returns the index used to remove duplicate instances across the generation tree.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link AppOptions#DEFAULT_DEDUPLICATION_INDEX}.
+	 * 
+	 * @return the index used to remove duplicate instances across the generation tree
+	 */
+	public EDeduplicationIndex getDeduplicationIndex() {
+		return this.deduplicationIndex;
+	}
+	
+	/**
+	 * Returns the heap budget (in megabytes) of the breadth-first search frontier.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link AppOptions#DEFAULT_FRONTIER_BUDGET}.
+	 * 
+	 * @return the heap budget of the breadth-first search frontier, in megabytes
+	 */
+	public long getFrontierBudget() {
+		return this.frontierBudget;
+	}
+	
+	/**
+	 * Returns the directory in which the breadth-first search frontier is spilled.
+	 * 
+	 * If it has not been set by the appropriate option, the value is <code>null</code>.
+	 * 
+	 * @return the directory in which the breadth-first search frontier is spilled
+	 */
+	public File getSpillDirectory() {
+		return this.spillDirectory;
+	}
+	
+	/**
+	 * Returns the maximal number of generated instances.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link AppOptions#DEFAULT_MAX_INSTANCES}.
+	 * 
+	 * @return the maximal number of generated instances
+	 */
+	public long getMaxInstances() {
+		return this.maxInstances;
+	}
+	
+	/**
+	 * Returns the maximal generation time (in seconds).
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link AppOptions#DEFAULT_MAX_TIME}.
+	 * 
+	 * @return the maximal generation time, in seconds
+	 */
+	public long getMaxTime() {
+		return this.maxTime;
+	}
+	
+	/**
+	 * Returns the maximal heap usage (in megabytes) of the generation process.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link AppOptions#DEFAULT_MAX_HEAP}.
+	 * 
+	 * @return the maximal heap usage, in megabytes
+	 */
+	public long getMaxHeap() {
+		return this.maxHeap;
+	}
+	
+	/**
+	 * Returns the number of walks performed by the random walk strategy.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link AppOptions#DEFAULT_WALKS}.
+	 * 
+	 * @return the number of walks
+	 */
+	public int getWalks() {
+		return this.walks;
+	}
+	
+	/**
+	 * Returns the size of the sample kept for each depth by the random walk strategy.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link AppOptions#DEFAULT_RESERVOIR_SIZE}.
+	 * 
+	 * @return the size of the sample kept for each depth
+	 */
+	public int getReservoirSize() {
+		return this.reservoirSize;
+	}
+	
+	/**
+	 * Returns the instances output by each walk of the random walk strategy.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link AppOptions#DEFAULT_WALK_EMISSION}.
+	 * 
+	 * @return the instances output by each walk
+	 */
+	public EWalkEmission getWalkEmission() {
+		return this.walkEmission;
+	}
+	
+	/**
+	 * Returns the index of the shard of the generated instances given to the application.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link AppOptions#DEFAULT_SHARD_INDEX}.
+	 * 
+	 * @return the index of the shard
+	 */
+	public int getShardIndex() {
+		return this.shardIndex;
+	}
+	
+	/**
+	 * Returns the number of shards the generated instances are partitioned into.
+	 * 
+	 * If it has not been set by the appropriate option, the value is {@link AppOptions#DEFAULT_SHARD_COUNT}.
+	 * 
+	 * @return the number of shards
+	 */
+	public int getShardCount() {
+		return this.shardCount;
+	}
+	
+	/**
+	 * Returns the seed of the random generators used by the translators.
+	 * 
+	 * If it has not been set by the appropriate option, the value is <code>null</code>, and a random seed is used.
+	 * 
+	 * @return the seed, or <code>null</code>
+	 */
+	public Long getSeed() {
+		return this.seed;
+	}
 
 }
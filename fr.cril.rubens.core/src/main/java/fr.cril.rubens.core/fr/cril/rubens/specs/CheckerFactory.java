@@ -65,6 +65,33 @@ public interface CheckerFactory<T extends Instance> {
 	 */
 	CheckResult checkSoftwareOutput(T instance, String result);
 	
+	/**
+	 * Returns a checker consuming the output of a solver for an instance line by line, while the solver is running.
+	 * 
+	 * Such a checker allows the solver to be stopped as soon as its output is known to be wrong, and avoids to keep its whole output in memory.
+	 * The result of the checker must be the same as the one of {@link CheckerFactory#checkSoftwareOutput(Instance, String)}.
+	 * The default implementation returns <code>null</code>, meaning the output is only checked once the solver has exited.
+	 * 
+	 * @param instance the instance
+	 * @return the output checker, or <code>null</code>
+	 */
+	default OutputChecker newOutputChecker(final T instance) {
+		return null;
+	}
+	
+	/**
+	 * Returns a key identifying the instances generated by the test generators of this factory.
+	 * 
+	 * Factories returning the same non-<code>null</code> key must generate the same instances;
+	 * this allows a checker handling several factories to generate these instances only once, and to check each of them for all these factories.
+	 * The default implementation returns <code>null</code>, meaning the instances of this factory are not shared with other factories.
+	 * 
+	 * @return the key of the generated instances, or <code>null</code>
+	 */
+	default String getTestGeneratorKey() {
+		return null;
+	}
+	
 	/**
 	 * Returns the checker specific options.
 	 * 
@@ -24,10 +24,15 @@ package fr.cril.rubens.specs;
  * #L%
  */
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collection;
 
+import fr.cril.rubens.utils.Fingerprint;
+import fr.cril.rubens.utils.FingerprintHasher;
+
 /**
  * The root interface of all instances.
  * Instances are defined as a couple (problem instance, problem solutions).
@@ -40,6 +45,9 @@ import java.util.Collection;
  * <li> for each extension, call {@link Instance#write(String, OutputStream)} with the corresponding output stream.
  * </ol>
  * 
+ * Among these files, only the ones returned by {@link Instance#getInputFileExtensions()} are given to the software under test;
+ * the others contain the expected solutions, and are only written when the instances are saved.
+ * 
  * @author Emmanuel Lonca - lonca@cril.fr
  */
 public interface Instance {
@@ -52,6 +60,29 @@ public interface Instance {
 	 */
 	Collection<String> getFileExtensions();
 	
+	/**
+	 * Returns the subset of the file extensions (see {@link Instance#getFileExtensions()}) which describe the problem instance,
+	 * i.e. the files the software under test may read, as opposed to the ones describing the expected solutions.
+	 * 
+	 * The default implementation returns all the file extensions.
+	 * 
+	 * @return the list of file extensions the software under test may read
+	 */
+	default Collection<String> getInputFileExtensions() {
+		return getFileExtensions();
+	}
+	
+	/**
+	 * Returns a measure of the size of this instance (e.g. its number of variables), used to group instances of similar difficulty.
+	 * 
+	 * The default implementation returns zero, which puts all the instances in the same group.
+	 * 
+	 * @return the size of this instance
+	 */
+	default int getSize() {
+		return 0;
+	}
+	
 	/**
 	 * Writes the content related to the provided extension in the provided {@link OutputStream}.
 	 * 
@@ -64,5 +95,31 @@ public interface Instance {
 	 * @throws IOException if an I/O error occurs while writing the instance
 	 */
 	void write(final String extension, OutputStream os) throws IOException;
+	
+	/**
+	 * Returns a 128-bits fingerprint of this instance.
+	 * 
+	 * Two equal instances must have the same fingerprint.
+	 * Fingerprints are used by the test generators to remove duplicate instances without retaining them.
+	 * 
+	 * The default implementation hashes the content of the files written by {@link Instance#write(String, OutputStream)}.
+	 * Implementors should override it by a method hashing their own structure, which is faster.
+	 * 
+	 * @return the fingerprint of this instance
+	 * @throws UncheckedIOException if an I/O error occurs while writing the instance
+	 */
+	default Fingerprint fingerprint() {
+		final FingerprintHasher hasher = new FingerprintHasher();
+		for(final String extension : getFileExtensions()) {
+			final ByteArrayOutputStream os = new ByteArrayOutputStream();
+			try {
+				write(extension, os);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			hasher.putString(extension).putBytes(os.toByteArray());
+		}
+		return hasher.fingerprint();
+	}
 
 }
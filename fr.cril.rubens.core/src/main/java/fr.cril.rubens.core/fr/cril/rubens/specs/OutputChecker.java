@@ -0,0 +1,59 @@
+package fr.cril.rubens.specs;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import fr.cril.rubens.core.CheckResult;
+
+/**
+ * A checker of the output of a software, fed line by line while the software is running (see {@link CheckerFactory#newOutputChecker(Instance)}).
+ * 
+ * Each line of the standard output is given to {@link OutputChecker#consumeLine(String)} as soon as it is written.
+ * As soon as the output is known to be wrong, this method returns an error; the software is then stopped and the remaining lines are discarded.
+ * Otherwise, {@link OutputChecker#end()} is called once the software has exited, and returns the final verdict.
+ * 
+ * An output checker is dedicated to a single execution, and its methods are called by a single thread at a time.
+ * 
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public interface OutputChecker {
+	
+	/**
+	 * Consumes a line of the output.
+	 * 
+	 * The line is given without its line terminator.
+	 * 
+	 * @param line the line
+	 * @return an error if the output is known to be wrong, <code>null</code> otherwise
+	 */
+	CheckResult consumeLine(String line);
+	
+	/**
+	 * Returns the result of the check once the whole output has been consumed.
+	 * 
+	 * @return the result of the check
+	 */
+	CheckResult end();
+
+}
@@ -24,36 +24,48 @@ package fr.cril.rubens.utils;
  * #L%
  */
 
-import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.PosixFilePermissions;
-import java.util.HashMap;
+import java.nio.file.Paths;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 
+import fr.cril.rubens.core.CheckResult;
 import fr.cril.rubens.specs.Instance;
+import fr.cril.rubens.specs.OutputChecker;
 
 /**
  * An abstract class used as a helper to launch external softwares on instances and get their result.
  * 
  * Subclasses must implement {@link ASoftwareExecutor#cliArgs(Path, Map, Instance)} to indicate which command line arguments must be set for a given execution.
  * 
+ * Executors which support it may run in server mode (see {@link ASoftwareExecutor#setServerMode(boolean)}):
+ * instead of launching the software for each instance, a software is launched once and receives the instances on its standard input.
+ * At most one software is running for each thread calling {@link ASoftwareExecutor#exec(Instance)} at the same time;
+ * they are stopped by {@link ASoftwareExecutor#close()}.
+ * 
+ * The way the instances are given to the software (temporary files, recycled scratch files or named pipes) is set by {@link ASoftwareExecutor#setStaging(EInstanceStaging)}.
+ * 
+ * The software running on an instance may be stopped at any time by {@link ASoftwareExecutor#cancel()}.
+ * 
  * @author Emmanuel Lonca - lonca@cril.fr
  *
  * @param <T> the type of the instances under consideration
  */
-public abstract class ASoftwareExecutor<T extends Instance> {
+public abstract class ASoftwareExecutor<T extends Instance> implements AutoCloseable {
+	
+	/** the line a software running in server mode must write after the result of each instance */
+	public static final String END_OF_OUTPUT = "--rubens-end--";
 	
 	/** the logger */
 	private static final Logger LOGGER = LoggerHelper.getInstance().getLogger();
@@ -61,29 +73,47 @@ public abstract class ASoftwareExecutor<T extends Instance> {
 	/** the path to the software to launch */
 	private final Path execPath;
 	
-	/** a thread pool used to clean temporary files */
-	private static final ExecutorService TEMP_CLEANING_TH_POOL = Executors.newCachedThreadPool();
-	
 	/** the timeout; its unit is given by the timeoutUnit parameter */
 	private long timeout = 1;
 	
 	/** the timeout unit */
 	private TimeUnit timeoutUnit = TimeUnit.MINUTES;
 	
-	/**
-	 * Adds a shutdown hook to wait for temporary files cleaning.
-	 */
-	static {
-		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-			TEMP_CLEANING_TH_POOL.shutdown();
-			try {
-				TEMP_CLEANING_TH_POOL.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
-			} catch (InterruptedException e) {
-				Thread.currentThread().interrupt();
-				throw new IllegalStateException(e);
-			}
-		}));
-	}
+	/** a flag indicating if the software is run in server mode */
+	private boolean serverMode = false;
+	
+	/** the running softwares which are not processing an instance */
+	private final Deque<SoftwareServer> idleServers = new ConcurrentLinkedDeque<>();
+	
+	/** a flag indicating if the softwares running in server mode have been stopped */
+	private volatile boolean closed = false;
+	
+	/** the softwares launched for a single instance which are running */
+	private final Set<Process> runningProcesses = ConcurrentHashMap.newKeySet();
+	
+	/** the running softwares which are processing an instance in server mode */
+	private final Set<SoftwareServer> busyServers = ConcurrentHashMap.newKeySet();
+	
+	/** a flag indicating if the executions have been cancelled */
+	private volatile boolean cancelled = false;
+	
+	/** the way the instances are given to the software */
+	private EInstanceStaging staging = EInstanceStaging.TEMP_FILES;
+	
+	/** the area in which the instances are written */
+	private IStagingArea stagingArea = this.staging.newStagingArea();
+	
+	/** the policy used to reduce the timeout of each instance, or <code>null</code> */
+	private AdaptiveTimeout adaptiveTimeout;
+	
+	/** the maximal size of the standard output, in bytes (zero means there is no limit) */
+	private long stdoutLimit = 0;
+	
+	/** the way the error output is captured */
+	private EStderrCapture stderrCapture = EStderrCapture.FULL;
+	
+	/** the maximal size of the error output, in bytes (zero means there is no limit) */
+	private long stderrLimit = 0;
 
 	/**
 	 * Builds a software executor for a given software.
@@ -103,21 +133,48 @@ public abstract class ASoftwareExecutor<T extends Instance> {
 	 * @return the result (exit code, stdout, stderr)
 	 */
 	public SoftwareExecutorResult exec(final T instance) {
-		Map<String, Path> instanceFiles;
+		return exec(instance, null);
+	}
+	
+	/**
+	 * Executes the software on an instance and checks its output while it is running.
+	 * 
+	 * The lines of the standard output are given to the output checker as soon as they are written, and are not kept in the result.
+	 * If the checker detects an error, the software is stopped immediately.
+	 * Unless the timeout is reached, the result of the check is available with {@link SoftwareExecutorResult#getCheckResult()}.
+	 * If the output checker is <code>null</code>, this method behaves like {@link ASoftwareExecutor#exec(Instance)}.
+	 * 
+	 * @param instance the instance
+	 * @param outputChecker the output checker
+	 * @return the result (exit code, stderr, check result)
+	 */
+	public SoftwareExecutorResult exec(final T instance, final OutputChecker outputChecker) {
+		StagedInstance staged;
 		try {
-			instanceFiles = writeInstanceToTemp(instance);
+			staged = this.stagingArea.stage(instance);
 		} catch (IOException e) {
 			LOGGER.error("an unexpected exception was thrown", e);
 			return new SoftwareExecutorResult(127, false, "", "");
 		}
-		final List<String> cliArgs = cliArgs(this.execPath, instanceFiles, instance);
-		return execSoftware(cliArgs, instanceFiles);
+		try(staged) {
+			final List<String> cliArgs = cliArgs(this.execPath, staged.getFiles(), instance);
+			final long maxTimeout = this.timeoutUnit.toNanos(this.timeout);
+			final long instanceTimeout = this.adaptiveTimeout == null ? maxTimeout : this.adaptiveTimeout.getTimeout(instance, maxTimeout);
+			final StreamingCheck check = outputChecker == null ? null : new StreamingCheck(outputChecker);
+			final long startTime = System.nanoTime();
+			final SoftwareExecutorResult result = this.serverMode ? execServer(cliArgs, instanceTimeout, check) : execSoftware(cliArgs, instanceTimeout, check);
+			if(this.adaptiveTimeout != null && !result.hasTimeouted() && !result.hasExceededOutputLimit() && (check == null || !check.isStoppedEarly())) {
+				this.adaptiveTimeout.record(instance, System.nanoTime() - startTime);
+			}
+			return result;
+		}
 	}
 	
 	/**
 	 * Returns the command line arguments to involve for an execution.
 	 * 
-	 * The second parameter is a mapping from instance files suffixes to the temporary file in which the content of the corresponding instance part has been copied.
+	 * The second parameter is a mapping from instance input files suffixes (see {@link Instance#getInputFileExtensions()}) to the file from which the content of the corresponding instance part can be read
+	 * (see {@link ASoftwareExecutor#setStaging(EInstanceStaging)}).
 	 * 
 	 * The returned list of arguments must begin with the path to the software to execute. 
 	 * 
@@ -127,88 +184,346 @@ public abstract class ASoftwareExecutor<T extends Instance> {
 	 * @return the list of arguments to pass to the executor
 	 */
 	protected abstract List<String> cliArgs(final Path execLocation, final Map<String, Path> instanceFiles, final T instance);
+	
+	/**
+	 * Returns the command line arguments given to the software for an instance, except the path to the software and the paths to the instance files.
+	 * 
+	 * These arguments are given by {@link ASoftwareExecutor#cliArgs(Path, Map, Instance)}, in which each instance file is replaced by a fixed path
+	 * depending only on its extension.
+	 * Two executions of the same software with the same arguments on equal instances are expected to give the same result;
+	 * this is used to identify the results kept in a cache.
+	 * 
+	 * @param instance the instance
+	 * @return the arguments identifying an execution on this instance
+	 */
+	public List<String> identifyingArgs(final T instance) {
+		final Path root = Paths.get(File.separator);
+		final Map<String, Path> placeholders = instance.getInputFileExtensions().stream()
+				.collect(Collectors.toMap(ext -> ext, ext -> root.resolve("rubens-instance"+ext)));
+		final List<String> args = cliArgs(this.execPath, placeholders, instance);
+		return args.subList(1, args.size());
+	}
+	
+	/**
+	 * Returns the command line arguments used to launch the software in server mode.
+	 * 
+	 * By default, the software is launched with the single argument <code>--server</code>.
+	 * The returned list of arguments must begin with the path to the software to execute.
+	 * 
+	 * @param execLocation the path to the software to execute
+	 * @return the list of arguments to pass to the executor
+	 */
+	protected List<String> serverCliArgs(final Path execLocation) {
+		return Stream.of(execLocation.toAbsolutePath().toString(), "--server").collect(Collectors.toList());
+	}
+	
+	/**
+	 * Returns the request line sent to a software running in server mode for an instance.
+	 * 
+	 * By default, the request is made of the arguments returned by {@link ASoftwareExecutor#cliArgs(Path, Map, Instance)},
+	 * except the path to the software, separated by spaces.
+	 * 
+	 * @param cliArgs the command line arguments of the instance
+	 * @return the request line
+	 */
+	protected String serverRequest(final List<String> cliArgs) {
+		return String.join(" ", cliArgs.subList(1, cliArgs.size()));
+	}
+	
+	/**
+	 * Indicates if this executor can run the software in server mode.
+	 * 
+	 * The default implementation returns <code>false</code>;
+	 * executors for softwares following the protocol described in {@link ASoftwareExecutor#setServerMode(boolean)} must override it.
+	 * 
+	 * @return <code>true</code> iff this executor can run the software in server mode
+	 */
+	public boolean isServerModeSupported() {
+		return false;
+	}
+	
+	/**
+	 * Enables/disables the server mode.
+	 * 
+	 * In server mode, the software is launched once (by {@link ASoftwareExecutor#serverCliArgs(Path)}) and kept running.
+	 * For each instance, a request line (given by {@link ASoftwareExecutor#serverRequest(List)}) is written on its standard input;
+	 * the software must answer by writing its result on its standard output, followed by a line equal to {@link ASoftwareExecutor#END_OF_OUTPUT}.
+	 * The timeout applies to each request.
+	 * If the software does not answer in time, or exits while processing a request, it is replaced by a new one for the next instances.
+	 * 
+	 * In case the server mode is enabled but not supported, an {@link IllegalStateException} is thrown.
+	 * 
+	 * @param enabled <code>true</code> to enable, <code>false</code> to disable
+	 * @throws IllegalStateException if the server mode is enabled but not supported
+	 */
+	public void setServerMode(final boolean enabled) {
+		if(enabled && !isServerModeSupported()) {
+			throw new IllegalStateException("server mode is not supported by this executor");
+		}
+		this.serverMode = enabled;
+	}
+	
+	/**
+	 * Returns <code>true</code> iff the software is run in server mode.
+	 * 
+	 * @return <code>true</code> iff the software is run in server mode
+	 */
+	public boolean isServerMode() {
+		return this.serverMode;
+	}
 
-	private Map<String, Path> writeInstanceToTemp(final T instance) throws IOException {
-		final Map<String, Path> instanceFiles = new HashMap<>();
-		for(final String extension : instance.getFileExtensions()) {
-			final Path p = Files.createTempFile("rubens-instance-", extension, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwxr--r--")));
-			final OutputStream os = Files.newOutputStream(p);
-			instance.write(extension, os);
-			os.close();
-			instanceFiles.put(extension, p);
+	/**
+	 * Sets the way the instances are given to the software.
+	 * 
+	 * By default, each instance is written to new temporary files ({@link EInstanceStaging#TEMP_FILES}).
+	 * Using {@link EInstanceStaging#FIFO} requires the software to read each instance file once, sequentially.
+	 * This method must not be called while instances are processed.
+	 * 
+	 * @param staging the staging mode
+	 */
+	public void setStaging(final EInstanceStaging staging) {
+		if(staging == this.staging) {
+			return;
 		}
-		return instanceFiles;
+		this.stagingArea.close();
+		this.staging = staging;
+		this.stagingArea = staging.newStagingArea();
+	}
+	
+	/**
+	 * Returns the way the instances are given to the software.
+	 * 
+	 * @return the staging mode
+	 */
+	public EInstanceStaging getStaging() {
+		return this.staging;
 	}
 	
-	private SoftwareExecutorResult execSoftware(final List<String> cliArgs, final Map<String, Path> instanceFiles) {
+	/**
+	 * Sets the policy used to reduce the timeout of each instance according to the runtimes observed so far.
+	 * 
+	 * The timeout set by {@link ASoftwareExecutor#setTimeout(long, TimeUnit)} remains an upper bound.
+	 * Setting the policy to <code>null</code> disables it.
+	 * 
+	 * @param adaptiveTimeout the policy
+	 */
+	public void setAdaptiveTimeout(final AdaptiveTimeout adaptiveTimeout) {
+		this.adaptiveTimeout = adaptiveTimeout;
+	}
+	
+	/**
+	 * Returns the policy used to reduce the timeout of each instance, or <code>null</code> if there is none.
+	 * 
+	 * @return the policy
+	 */
+	public AdaptiveTimeout getAdaptiveTimeout() {
+		return this.adaptiveTimeout;
+	}
+	
+	/**
+	 * Sets the limits of the outputs of the software.
+	 * 
+	 * When the standard output exceeds its limit, it is truncated and the software is stopped;
+	 * the result then indicates the limit was exceeded (see {@link SoftwareExecutorResult#hasExceededOutputLimit()}).
+	 * The limit of the error output is applied depending on the capture mode (see {@link EStderrCapture}).
+	 * A limit set to zero means there is no limit, which is the default.
+	 * 
+	 * In server mode, the limits apply to the outputs of each request; lines are counted with a terminator of one byte.
+	 * 
+	 * @param stdoutLimit the maximal size of the standard output, in bytes
+	 * @param stderrCapture the way the error output is captured
+	 * @param stderrLimit the maximal size of the error output, in bytes
+	 * @throws IllegalArgumentException if a limit is negative
+	 */
+	public void setOutputLimits(final long stdoutLimit, final EStderrCapture stderrCapture, final long stderrLimit) {
+		if(stdoutLimit < 0 || stderrLimit < 0) {
+			throw new IllegalArgumentException("output limits must be nonnegative");
+		}
+		this.stdoutLimit = stdoutLimit;
+		this.stderrCapture = stderrCapture;
+		this.stderrLimit = stderrLimit;
+	}
+	
+	/**
+	 * Returns the maximal size of the standard output, in bytes (zero means there is no limit).
+	 * 
+	 * @return the maximal size of the standard output
+	 */
+	public long getStdoutLimit() {
+		return this.stdoutLimit;
+	}
+	
+	/**
+	 * Returns the way the error output is captured.
+	 * 
+	 * @return the way the error output is captured
+	 */
+	public EStderrCapture getStderrCapture() {
+		return this.stderrCapture;
+	}
+	
+	/**
+	 * Returns the maximal size of the error output, in bytes (zero means there is no limit).
+	 * 
+	 * @return the maximal size of the error output
+	 */
+	public long getStderrLimit() {
+		return this.stderrLimit;
+	}
+	
+	private SoftwareExecutorResult execSoftware(final List<String> cliArgs, final long timeoutNanos, final StreamingCheck check) {
 		try {
-			final StringBuilder stdoutBuilder = new StringBuilder();
-			final StringBuilder stderrBuilder = new StringBuilder();
 			final ProcessBuilder pBuilder = new ProcessBuilder(cliArgs);
 			pBuilder.directory(this.execPath.getParent().toFile());
 			final Process p = pBuilder.start();
-			final ExecutorService thPool = Executors.newFixedThreadPool(2);
-			launchStreamThread(thPool, p.getInputStream(), l -> stdoutBuilder.append(l).append('\n'));
-			launchStreamThread(thPool, p.getErrorStream(), l -> stderrBuilder.append(l).append('\n'));
+			this.runningProcesses.add(p);
+			if(this.cancelled) {
+				destroyTree(p.toHandle());
+			}
+			try {
+				return execProcess(p, timeoutNanos, check);
+			} finally {
+				this.runningProcesses.remove(p);
+			}
+		} catch(final IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private SoftwareExecutorResult execProcess(final Process p, final long timeoutNanos, final StreamingCheck check) throws IOException {
+		try {
+			final ResourceMonitor monitor = ResourceMonitor.start(p);
+			final OutputCapture stdout = check == null ? OutputCapture.start(p.getInputStream(), this.stdoutLimit, p::destroy) : OutputCapture.start(p.getInputStream(), l -> {
+				if(check.accept(l)) {
+					return true;
+				}
+				p.destroy();
+				return false;
+			}, this.stdoutLimit, p::destroy);
+			final OutputCapture stderr = this.stderrCapture.start(p.getErrorStream(), this.stderrLimit, p::destroy);
 			p.getOutputStream().close();
-			thPool.shutdown();
-			thPool.awaitTermination(this.timeout, this.timeoutUnit);
-			final boolean timeouted = !p.waitFor(this.timeout, this.timeoutUnit);
+			boolean timeouted = !p.waitFor(timeoutNanos, TimeUnit.NANOSECONDS);
+			final ResourceUsage resourceUsage = monitor.stop();
+			if(!timeouted && !this.cancelled && (check == null || !check.isStoppedEarly()) && !stdout.isLimitExceeded() && !stderr.isLimitExceeded()) {
+				// destroying the process closes its streams, so they must be drained before;
+				// an output still read after the timeout (e.g. because its check is slow) is handled as a timeout, since its check is still in progress
+				timeouted = !stdout.await(timeoutNanos, TimeUnit.NANOSECONDS);
+				stderr.await(timeoutNanos, TimeUnit.NANOSECONDS);
+			}
 			p.destroy();
 			final int status = p.waitFor();
-			if(timeouted) {
+			final boolean limitExceeded = stdout.isLimitExceeded() || stderr.isLimitExceeded();
+			if(this.cancelled) {
+				LOGGER.debug("subprocess stopped on cancellation");
+			} else if(timeouted) {
 				LOGGER.warn("subprocess exited by timeout");
+			} else if(limitExceeded) {
+				LOGGER.warn("subprocess stopped on output limit exceeded");
+			} else if(check != null && check.isStoppedEarly()) {
+				LOGGER.warn("subprocess stopped on wrong output");
 			} else if(status != 0) {
 				LOGGER.warn("subprocess exited with status {}", status);
 			}
-			return new SoftwareExecutorResult(status, timeouted, stdoutBuilder.toString(), stderrBuilder.toString());
+			final CheckResult checkResult = check == null || timeouted || limitExceeded ? null : check.result();
+			return new SoftwareExecutorResult(status, timeouted, stdout.getContent(), stderr.getContent(), resourceUsage, checkResult, limitExceeded);
+		} catch(final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException();
+		}
+	}
+	
+	private SoftwareExecutorResult execServer(final List<String> cliArgs, final long timeoutNanos, final StreamingCheck check) {
+		try {
+			SoftwareServer server = this.idleServers.poll();
+			while(server != null && !server.isAlive()) {
+				server.stop();
+				server = this.idleServers.poll();
+			}
+			if(server == null) {
+				server = SoftwareServer.start(serverCliArgs(this.execPath), this.execPath.getParent().toFile(), this.stdoutLimit,
+						this.stderrCapture, this.stderrLimit);
+			}
+			this.busyServers.add(server);
+			if(this.cancelled) {
+				server.kill();
+			}
+			final SoftwareExecutorResult result;
+			try {
+				result = server.request(serverRequest(cliArgs), timeoutNanos, TimeUnit.NANOSECONDS, check);
+			} finally {
+				this.busyServers.remove(server);
+			}
+			if(server.isAlive()) {
+				this.idleServers.push(server);
+				if(this.closed || this.cancelled) {
+					stopIdleServers();
+				}
+			}
+			return result;
 		} catch(final IOException e) {
 			throw new IllegalStateException(e);
 		} catch(final InterruptedException e) {
 			Thread.currentThread().interrupt();
 			throw new IllegalStateException();
-		} finally {
-			synchronized(TEMP_CLEANING_TH_POOL) {
-				TEMP_CLEANING_TH_POOL.submit(() -> {
-					for(final Path p : instanceFiles.values()) {
-						try {
-							Files.deleteIfExists(p);
-						} catch(IOException e) {
-							LOGGER.error("an unexpected I/O exception occurred", e);
-						}
-					}
-				});
-			}
 		}
 	}
 	
+	public void setTimeout(final long timeout, final TimeUnit timeoutUnit) {
+		this.timeout = timeout;
+		this.timeoutUnit = timeoutUnit;
+	}
+	
 	/**
-	 * Launches a stream used to handle {@link ProcessBuilder} input streams.
+	 * Stops the softwares running in server mode and releases the staging area.
 	 * 
-	 * The stream is read line per line; each line is then process by the provided {@link Consumer}.
+	 * The softwares processing an instance when this method is called are stopped once they are done.
+	 */
+	@Override
+	public void close() {
+		this.closed = true;
+		stopIdleServers();
+		this.stagingArea.close();
+	}
+	
+	/**
+	 * Stops the softwares which are processing an instance, including the processes they launched, and prevents new ones from running.
 	 * 
-	 * @param the thread pool used to launch this thread
-	 * @param is the input stream
-	 * @param lineHandler the line consumer
+	 * The calls to {@link ASoftwareExecutor#exec(Instance)} which are pending or made after this method is called return as soon as possible;
+	 * their results do not reflect the behavior of the software, and must be ignored.
+	 * This method does not wait for the softwares to exit.
 	 */
-	private static void launchStreamThread(final ExecutorService threadPool, final InputStream is, final Consumer<String> lineHandler) {
-		threadPool.submit(() -> {
-			try(final BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-				String line;
-				while((line = reader.readLine()) != null) {
-					lineHandler.accept(line);
-				}
-				is.close();
-			} catch (IOException e) {
-				LOGGER.warn("got an I/O exception while reading software output with reason: {}", e.getMessage());
-				return;
-			}
-		});
+	public void cancel() {
+		this.cancelled = true;
+		this.runningProcesses.forEach(p -> destroyTree(p.toHandle()));
+		this.busyServers.forEach(SoftwareServer::kill);
+		stopIdleServers();
 	}
 	
-	public void setTimeout(final long timeout, final TimeUnit timeoutUnit) {
-		this.timeout = timeout;
-		this.timeoutUnit = timeoutUnit;
+	/**
+	 * Returns <code>true</code> iff the executions have been cancelled by {@link ASoftwareExecutor#cancel()}.
+	 * 
+	 * @return <code>true</code> iff the executions have been cancelled
+	 */
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+	
+	private static void destroyTree(final ProcessHandle process) {
+		process.descendants().forEach(ProcessHandle::destroy);
+		process.destroy();
+	}
+	
+	private void stopIdleServers() {
+		SoftwareServer server;
+		while((server = this.idleServers.poll()) != null) {
+			try {
+				server.stop();
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				LOGGER.error("got an error while stopping a server", e);
+				return;
+			}
+		}
 	}
 	
 }
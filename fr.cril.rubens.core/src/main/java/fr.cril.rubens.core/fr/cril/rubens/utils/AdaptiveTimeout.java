@@ -0,0 +1,162 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import fr.cril.rubens.specs.Instance;
+
+/**
+ * A timeout policy learning the runtimes of a software to stop it early when it hangs.
+ * 
+ * The wall times of the executions which did not reach the timeout are recorded for each instance size (see {@link Instance#getSize()}).
+ * Once enough executions have been recorded for a size, the timeout of the instances of this size is set to a multiple of the
+ * {@link AdaptiveTimeout#PERCENTILE}-th percentile of the recorded times, bounded by a minimal timeout and by the fixed timeout of the executor.
+ * Before, the fixed timeout applies.
+ * 
+ * The runtimes are kept in log-scaled histograms, so the percentiles are overestimated by at most 12.5%.
+ * The methods of this class are thread-safe.
+ * 
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public final class AdaptiveTimeout {
+	
+	/** the percentile of the recorded runtimes the timeout is based on */
+	public static final double PERCENTILE = 0.99;
+	
+	/** the number of runtimes which must be recorded for a size before its timeout is adapted */
+	public static final int MIN_SAMPLES = 30;
+	
+	private final double factor;
+	
+	private final long minTimeout;
+	
+	private final Map<Integer, Histogram> histograms = new ConcurrentHashMap<>();
+	
+	/**
+	 * Builds a new adaptive timeout policy.
+	 * 
+	 * @param factor the multiple of the percentile used as timeout
+	 * @param minTimeout the minimal timeout, in nanoseconds
+	 * @throws IllegalArgumentException if the factor is lower than one or if the minimal timeout is negative
+	 */
+	public AdaptiveTimeout(final double factor, final long minTimeout) {
+		if(!(factor >= 1)) {
+			throw new IllegalArgumentException("the timeout factor must be at least 1, got "+factor);
+		}
+		if(minTimeout < 0) {
+			throw new IllegalArgumentException("the minimal timeout must be nonnegative, got "+minTimeout);
+		}
+		this.factor = factor;
+		this.minTimeout = minTimeout;
+	}
+	
+	/**
+	 * Returns the timeout to apply to an instance.
+	 * 
+	 * @param instance the instance
+	 * @param maxTimeout the fixed timeout of the executor, in nanoseconds
+	 * @return the timeout, in nanoseconds
+	 */
+	public long getTimeout(final Instance instance, final long maxTimeout) {
+		final Histogram histogram = this.histograms.get(instance.getSize());
+		if(histogram == null) {
+			return maxTimeout;
+		}
+		final long percentile = histogram.percentile(PERCENTILE, MIN_SAMPLES);
+		if(percentile < 0) {
+			return maxTimeout;
+		}
+		final double timeout = Math.max(this.minTimeout, percentile * this.factor);
+		return timeout >= maxTimeout ? maxTimeout : (long) timeout;
+	}
+	
+	/**
+	 * Records the wall time of an execution which did not reach the timeout.
+	 * 
+	 * @param instance the instance
+	 * @param wallTime the wall time, in nanoseconds
+	 */
+	public void record(final Instance instance, final long wallTime) {
+		this.histograms.computeIfAbsent(instance.getSize(), k -> new Histogram()).add(wallTime);
+	}
+	
+	/**
+	 * A histogram of durations, with 8 linear buckets for each power of two.
+	 * 
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private static final class Histogram {
+		
+		private static final int SUB_BITS = 3;
+		
+		private static final int SUB_BUCKETS = 1 << SUB_BITS;
+		
+		private final long[] counts = new long[64 * SUB_BUCKETS];
+		
+		private long total;
+		
+		private static int index(final long value) {
+			if(value < SUB_BUCKETS) {
+				return (int) Math.max(0, value);
+			}
+			final int exp = 63 - Long.numberOfLeadingZeros(value);
+			final int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+			return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+		}
+		
+		private static long upperBound(final int index) {
+			if(index < SUB_BUCKETS) {
+				return index;
+			}
+			final int exp = index / SUB_BUCKETS + SUB_BITS - 1;
+			final int sub = index % SUB_BUCKETS;
+			return ((long) (SUB_BUCKETS + sub + 1) << (exp - SUB_BITS)) - 1;
+		}
+		
+		private synchronized void add(final long value) {
+			this.counts[index(value)]++;
+			this.total++;
+		}
+		
+		private synchronized long percentile(final double percentile, final int minSamples) {
+			if(this.total < minSamples) {
+				return -1;
+			}
+			final long rank = (long) Math.ceil(percentile * this.total);
+			long cumulated = 0;
+			for(int i = 0; i < this.counts.length; ++i) {
+				cumulated += this.counts[i];
+				if(cumulated >= rank) {
+					return upperBound(i);
+				}
+			}
+			return upperBound(this.counts.length - 1);
+		}
+		
+	}
+	
+}
@@ -0,0 +1,92 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.Arrays;
+
+/**
+ * An enumeration of the ways a {@link ASoftwareExecutor} can give the instances to the software under test.
+ *
+ * Each staging mode is associated with a short name, which is the one used on the command line interface.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public enum EInstanceStaging {
+
+	/** Each instance is written to new temporary files, which are deleted after the execution. */
+	TEMP_FILES("temp"),
+
+	/**
+	 * Each worker gets its own scratch directory, in which the instances are written to files which names are recycled.
+	 * The scratch directories are created in a memory-backed file system when one is available (<code>/dev/shm</code>).
+	 */
+	SCRATCH("scratch"),
+
+	/**
+	 * Each worker gets its own named pipes (which names are recycled), through which the instances are written while the software reads them.
+	 * The software must read each file once and sequentially; this requires the <code>mkfifo</code> command.
+	 */
+	FIFO("fifo");
+
+	private final String shortName;
+
+	private EInstanceStaging(final String shortName) {
+		this.shortName = shortName;
+	}
+
+	/**
+	 * Returns the short name of the staging mode, as it is expected on the command line interface.
+	 *
+	 * @return the short name of the staging mode
+	 */
+	public String getShortName() {
+		return this.shortName;
+	}
+
+	/**
+	 * Builds a new staging area for this mode.
+	 *
+	 * @return the new staging area
+	 */
+	IStagingArea newStagingArea() {
+		return this == TEMP_FILES ? new TempFileStagingArea() : new ScratchStagingArea(this == FIFO);
+	}
+
+	/**
+	 * Returns the staging mode associated with the provided short name.
+	 *
+	 * The comparison ignores the case.
+	 * In case no staging mode matches the name, an {@link IllegalArgumentException} is thrown.
+	 *
+	 * @param shortName the short name
+	 * @return the corresponding staging mode
+	 * @throws IllegalArgumentException if no staging mode matches the name
+	 */
+	public static EInstanceStaging fromShortName(final String shortName) {
+		return Arrays.stream(values()).filter(s -> s.shortName.equalsIgnoreCase(shortName)).findAny()
+				.orElseThrow(() -> new IllegalArgumentException("unknown instance staging: "+shortName));
+	}
+
+}
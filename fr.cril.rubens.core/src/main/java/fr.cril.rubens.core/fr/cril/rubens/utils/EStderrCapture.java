@@ -0,0 +1,97 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * An enumeration of the ways a {@link ASoftwareExecutor} can capture the error output of the software under test.
+ *
+ * Each capture mode is associated with a short name, which is the one used on the command line interface.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public enum EStderrCapture {
+
+	/** The error output is kept; the software is stopped if it exceeds the limit, like the standard output. */
+	FULL("full"),
+
+	/** Only the last bytes of the error output are kept, up to the limit; the software is never stopped because of its error output. */
+	TAIL("tail"),
+
+	/** The error output is read but not kept. */
+	DISCARD("discard");
+
+	private final String shortName;
+
+	private EStderrCapture(final String shortName) {
+		this.shortName = shortName;
+	}
+
+	/**
+	 * Returns the short name of the capture mode, as it is expected on the command line interface.
+	 *
+	 * @return the short name of the capture mode
+	 */
+	public String getShortName() {
+		return this.shortName;
+	}
+
+	/**
+	 * Starts capturing an error output in this mode.
+	 *
+	 * @param is the error output
+	 * @param limit the limit of the error output, in bytes (zero means there is no limit)
+	 * @param onLimit the handler called when the limit is exceeded
+	 * @return the capture
+	 */
+	OutputCapture start(final InputStream is, final long limit, final Runnable onLimit) {
+		switch(this) {
+		case TAIL:
+			return OutputCapture.startTail(is, limit);
+		case DISCARD:
+			return OutputCapture.startDiscarding(is);
+		default:
+			return OutputCapture.start(is, limit, onLimit);
+		}
+	}
+
+	/**
+	 * Returns the capture mode associated with the provided short name.
+	 *
+	 * The comparison ignores the case.
+	 * In case no capture mode matches the name, an {@link IllegalArgumentException} is thrown.
+	 *
+	 * @param shortName the short name
+	 * @return the corresponding capture mode
+	 * @throws IllegalArgumentException if no capture mode matches the name
+	 */
+	public static EStderrCapture fromShortName(final String shortName) {
+		return Arrays.stream(values()).filter(s -> s.shortName.equalsIgnoreCase(shortName)).findAny()
+				.orElseThrow(() -> new IllegalArgumentException("unknown stderr capture: "+shortName));
+	}
+
+}
@@ -0,0 +1,101 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+/**
+ * A 128-bits fingerprint of an instance.
+ *
+ * Fingerprints are used to detect duplicate instances without retaining them.
+ * Two equal instances must have the same fingerprint; two different instances have the same fingerprint with a negligible probability.
+ *
+ * Fingerprints are built using {@link FingerprintHasher} objects.
+ * They are ordered by their high bits, then by their low bits, both considered as unsigned values.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public final class Fingerprint implements Comparable<Fingerprint> {
+
+	private final long high;
+
+	private final long low;
+
+	/**
+	 * Builds a fingerprint given its 64 high bits and its 64 low bits.
+	 *
+	 * @param high the high bits
+	 * @param low the low bits
+	 */
+	public Fingerprint(final long high, final long low) {
+		this.high = high;
+		this.low = low;
+	}
+
+	/**
+	 * Returns the 64 high bits of this fingerprint.
+	 *
+	 * @return the high bits
+	 */
+	public long getHigh() {
+		return this.high;
+	}
+
+	/**
+	 * Returns the 64 low bits of this fingerprint.
+	 *
+	 * @return the low bits
+	 */
+	public long getLow() {
+		return this.low;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (this.low ^ (this.low >>> 32));
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Fingerprint)) {
+			return false;
+		}
+		final Fingerprint other = (Fingerprint) obj;
+		return this.high == other.high && this.low == other.low;
+	}
+
+	@Override
+	public int compareTo(final Fingerprint other) {
+		final int cmp = Long.compareUnsigned(this.high, other.high);
+		return cmp != 0 ? cmp : Long.compareUnsigned(this.low, other.low);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%016x%016x", this.high, this.low);
+	}
+
+}
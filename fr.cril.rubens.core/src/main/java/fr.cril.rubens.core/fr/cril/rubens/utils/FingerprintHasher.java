@@ -0,0 +1,207 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.stream.Stream;
+
+/**
+ * A class used to compute {@link Fingerprint} objects.
+ *
+ * Values are added to the hasher using the <code>put</code> methods, which are order-sensitive.
+ * When all the values are added, the fingerprint is obtained by a call to {@link FingerprintHasher#fingerprint()}.
+ * Unordered collections (like sets) must be added by {@link FingerprintHasher#putUnordered(Stream)},
+ * which takes the fingerprints of their elements and combines them in an order-insensitive way.
+ *
+ * The hash function is based on the 128-bits version of MurmurHash3.
+ * It is not a cryptographic hash function.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public final class FingerprintHasher {
+
+	private static final long C1 = 0x87c37b91114253d5L;
+
+	private static final long C2 = 0x4cf5ad432745937fL;
+
+	private long h1 = 0;
+
+	private long h2 = 0;
+
+	private long pending;
+
+	private boolean hasPending = false;
+
+	private long length = 0;
+
+	/**
+	 * Adds a long value to the hasher.
+	 *
+	 * @param value the value
+	 * @return this hasher
+	 */
+	public FingerprintHasher putLong(final long value) {
+		if(this.hasPending) {
+			mixBlock(this.pending, value);
+			this.hasPending = false;
+		} else {
+			this.pending = value;
+			this.hasPending = true;
+		}
+		this.length += Long.BYTES;
+		return this;
+	}
+
+	/**
+	 * Adds an integer value to the hasher.
+	 *
+	 * @param value the value
+	 * @return this hasher
+	 */
+	public FingerprintHasher putInt(final int value) {
+		return putLong(value);
+	}
+
+	/**
+	 * Adds a string to the hasher.
+	 *
+	 * @param value the string
+	 * @return this hasher
+	 */
+	public FingerprintHasher putString(final CharSequence value) {
+		final int len = value.length();
+		putInt(len);
+		long block = 0;
+		for(int i=0; i<len; ++i) {
+			block = (block << Character.SIZE) | value.charAt(i);
+			if((i & 3) == 3) {
+				putLong(block);
+				block = 0;
+			}
+		}
+		if((len & 3) != 0) {
+			putLong(block);
+		}
+		return this;
+	}
+
+	/**
+	 * Adds an array of bytes to the hasher.
+	 *
+	 * @param bytes the bytes
+	 * @return this hasher
+	 */
+	public FingerprintHasher putBytes(final byte[] bytes) {
+		putInt(bytes.length);
+		long block = 0;
+		for(int i=0; i<bytes.length; ++i) {
+			block = (block << Byte.SIZE) | (bytes[i] & 0xff);
+			if((i & 7) == 7) {
+				putLong(block);
+				block = 0;
+			}
+		}
+		if((bytes.length & 7) != 0) {
+			putLong(block);
+		}
+		return this;
+	}
+
+	/**
+	 * Adds a fingerprint to the hasher.
+	 *
+	 * @param fingerprint the fingerprint
+	 * @return this hasher
+	 */
+	public FingerprintHasher putFingerprint(final Fingerprint fingerprint) {
+		putLong(fingerprint.getHigh());
+		return putLong(fingerprint.getLow());
+	}
+
+	/**
+	 * Adds an unordered collection to the hasher, given the fingerprints of its elements.
+	 *
+	 * The result does not depend on the order of the fingerprints in the stream.
+	 *
+	 * @param fingerprints the fingerprints of the elements of the collection
+	 * @return this hasher
+	 */
+	public FingerprintHasher putUnordered(final Stream<Fingerprint> fingerprints) {
+		final long[] sums = new long[3];
+		fingerprints.forEach(f -> {
+			sums[0]++;
+			sums[1] += f.getHigh();
+			sums[2] += f.getLow();
+		});
+		putLong(sums[0]);
+		putLong(sums[1]);
+		return putLong(sums[2]);
+	}
+
+	/**
+	 * Computes the fingerprint of the values added so far.
+	 *
+	 * This method does not change the state of the hasher.
+	 *
+	 * @return the fingerprint
+	 */
+	public Fingerprint fingerprint() {
+		long r1 = this.h1;
+		long r2 = this.h2;
+		if(this.hasPending) {
+			r1 ^= Long.rotateLeft(this.pending * C1, 31) * C2;
+		}
+		r1 ^= this.length;
+		r2 ^= this.length;
+		r1 += r2;
+		r2 += r1;
+		r1 = fmix64(r1);
+		r2 = fmix64(r2);
+		r1 += r2;
+		r2 += r1;
+		return new Fingerprint(r1, r2);
+	}
+
+	private void mixBlock(final long k1, final long k2) {
+		this.h1 ^= Long.rotateLeft(k1 * C1, 31) * C2;
+		this.h1 = Long.rotateLeft(this.h1, 27);
+		this.h1 += this.h2;
+		this.h1 = this.h1 * 5 + 0x52dce729;
+		this.h2 ^= Long.rotateLeft(k2 * C2, 33) * C1;
+		this.h2 = Long.rotateLeft(this.h2, 31);
+		this.h2 += this.h1;
+		this.h2 = this.h2 * 5 + 0x38495ab5;
+	}
+
+	private static long fmix64(final long value) {
+		long k = value;
+		k ^= k >>> 33;
+		k *= 0xff51afd7ed558ccdL;
+		k ^= k >>> 33;
+		k *= 0xc4ceb9fe1a85ec53L;
+		k ^= k >>> 33;
+		return k;
+	}
+
+}
@@ -0,0 +1,181 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * A set of {@link Fingerprint} objects, stored in a primitive open-addressing hash table.
+ *
+ * Each fingerprint is stored as two <code>long</code> values, without any object overhead.
+ * The table may be allocated on the heap or off-heap (in a direct buffer), which keeps it out of the garbage collector's reach.
+ * The table doubles its size when it is three-quarters full; it can store up to {@link FingerprintSet#MAX_SIZE} fingerprints.
+ *
+ * The methods of this class are synchronized, so a set may be shared between threads.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public class FingerprintSet {
+
+	/** the maximal number of fingerprints a set can store */
+	public static final int MAX_SIZE = 3 << 24;
+
+	private static final int INITIAL_CAPACITY = 1 << 10;
+
+	private static final int MAX_CAPACITY = 1 << 26;
+
+	private final boolean offHeap;
+
+	private LongBuffer table;
+
+	private int capacity;
+
+	private int size = 0;
+
+	private boolean containsZero = false;
+
+	/**
+	 * Builds an empty set of fingerprints.
+	 *
+	 * @param offHeap <code>true</code> iff the table must be allocated off-heap
+	 */
+	public FingerprintSet(final boolean offHeap) {
+		this.offHeap = offHeap;
+		this.capacity = INITIAL_CAPACITY;
+		this.table = allocate(this.capacity);
+	}
+
+	/**
+	 * Adds a fingerprint to the set.
+	 *
+	 * In case the set is full (it already contains {@link FingerprintSet#MAX_SIZE} fingerprints), an {@link IllegalStateException} is thrown.
+	 *
+	 * @param fingerprint the fingerprint
+	 * @return <code>true</code> iff the fingerprint was not already in the set
+	 * @throws IllegalStateException if the set is full
+	 */
+	public synchronized boolean add(final Fingerprint fingerprint) {
+		final long high = fingerprint.getHigh();
+		final long low = fingerprint.getLow();
+		if(high == 0 && low == 0) {
+			final boolean added = !this.containsZero;
+			this.containsZero = true;
+			return added;
+		}
+		final int slot = findSlot(this.table, this.capacity, high, low);
+		if(this.table.get(slot << 1) != 0 || this.table.get((slot << 1) + 1) != 0) {
+			return false;
+		}
+		if(this.size >= MAX_SIZE) {
+			throw new IllegalStateException("fingerprint set is full");
+		}
+		this.table.put(slot << 1, high);
+		this.table.put((slot << 1) + 1, low);
+		++this.size;
+		if(this.size > (this.capacity >> 2) * 3 && this.capacity < MAX_CAPACITY) {
+			grow();
+		}
+		return true;
+	}
+
+	/**
+	 * Returns <code>true</code> iff the provided fingerprint belongs to this set.
+	 *
+	 * @param fingerprint the fingerprint
+	 * @return <code>true</code> iff the provided fingerprint belongs to this set
+	 */
+	public synchronized boolean contains(final Fingerprint fingerprint) {
+		final long high = fingerprint.getHigh();
+		final long low = fingerprint.getLow();
+		if(high == 0 && low == 0) {
+			return this.containsZero;
+		}
+		final int slot = findSlot(this.table, this.capacity, high, low);
+		return this.table.get(slot << 1) != 0 || this.table.get((slot << 1) + 1) != 0;
+	}
+
+	/**
+	 * Returns the number of fingerprints in this set.
+	 *
+	 * @return the number of fingerprints in this set
+	 */
+	public synchronized int size() {
+		return this.size + (this.containsZero ? 1 : 0);
+	}
+
+	/**
+	 * Returns <code>true</code> iff the table of this set is allocated off-heap.
+	 *
+	 * @return <code>true</code> iff the table of this set is allocated off-heap
+	 */
+	public boolean isOffHeap() {
+		return this.offHeap;
+	}
+
+	/**
+	 * Returns the slot containing the provided fingerprint, or the empty slot where it should be stored.
+	 *
+	 * @param tab the table
+	 * @param cap the number of slots of the table
+	 * @param high the high bits of the fingerprint
+	 * @param low the low bits of the fingerprint
+	 * @return the slot index
+	 */
+	private static int findSlot(final LongBuffer tab, final int cap, final long high, final long low) {
+		final int mask = cap - 1;
+		int slot = (int) (low ^ (low >>> 32)) & mask;
+		while(true) {
+			final long slotHigh = tab.get(slot << 1);
+			final long slotLow = tab.get((slot << 1) + 1);
+			if((slotHigh == 0 && slotLow == 0) || (slotHigh == high && slotLow == low)) {
+				return slot;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	private void grow() {
+		final int newCapacity = this.capacity << 1;
+		final LongBuffer newTable = allocate(newCapacity);
+		for(int i=0; i<this.capacity; ++i) {
+			final long high = this.table.get(i << 1);
+			final long low = this.table.get((i << 1) + 1);
+			if(high != 0 || low != 0) {
+				final int slot = findSlot(newTable, newCapacity, high, low);
+				newTable.put(slot << 1, high);
+				newTable.put((slot << 1) + 1, low);
+			}
+		}
+		this.table = newTable;
+		this.capacity = newCapacity;
+	}
+
+	private LongBuffer allocate(final int nSlots) {
+		final int nLongs = nSlots << 1;
+		return this.offHeap ? ByteBuffer.allocateDirect(nLongs * Long.BYTES).asLongBuffer() : LongBuffer.allocate(nLongs);
+	}
+
+}
@@ -0,0 +1,56 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.io.IOException;
+
+import fr.cril.rubens.specs.Instance;
+
+/**
+ * An interface for the places in which the instances are written before the software under test is executed on them.
+ *
+ * The implementations must be thread-safe.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+interface IStagingArea {
+
+	/**
+	 * Stages an instance, giving a file for each of its input extensions (see {@link Instance#getInputFileExtensions()}).
+	 *
+	 * The returned object must be closed once the software has been executed.
+	 *
+	 * @param instance the instance
+	 * @return the staged instance
+	 * @throws IOException if an I/O exception occurs while staging the instance
+	 */
+	StagedInstance stage(Instance instance) throws IOException;
+
+	/**
+	 * Releases the resources held by this area.
+	 */
+	void close();
+
+}
@@ -0,0 +1,347 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * The capture of an output stream of a software launched by a {@link ASoftwareExecutor}.
+ *
+ * The streams are drained by a pool of reader threads shared by all the executors, so that no thread is created for each execution.
+ * The raw bytes are read into buffers owned by the reader threads, and decoded once the capture is over.
+ * Alternatively, the stream may be decoded line by line while it is read, the lines being given to a handler instead of being kept.
+ *
+ * A capture may be limited to a number of bytes: once the limit is exceeded, the capture stops reading and calls a handler, which is expected to stop the software.
+ * A capture may also keep only the last bytes of the stream, or discard them all; such captures read the whole stream.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+final class OutputCapture {
+
+	private static final Logger LOGGER = LoggerHelper.getInstance().getLogger();
+
+	private static final int BUFFER_SIZE = 1 << 13;
+
+	private static final ExecutorService READERS = Executors.newCachedThreadPool(r -> {
+		final Thread thread = new Thread(r, "rubens-output-capture");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private static final ThreadLocal<byte[]> BUFFERS = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+	private final Supplier<byte[]> content;
+
+	private final Future<?> reader;
+
+	private volatile boolean limitExceeded = false;
+
+	private OutputCapture(final InputStream is, final long limit, final Runnable onLimit, final OutputStream sink, final Supplier<byte[]> content) {
+		this.content = content;
+		final InputStream limited = limit > 0 ? new LimitedInputStream(is, limit, onLimit) : is;
+		this.reader = READERS.submit(() -> drain(limited, sink));
+	}
+
+	private OutputCapture(final InputStream is, final long limit, final Runnable onLimit, final Predicate<String> lineHandler) {
+		this.content = () -> new byte[0];
+		final InputStream limited = limit > 0 ? new LimitedInputStream(is, limit, onLimit) : is;
+		this.reader = READERS.submit(() -> drainLines(limited, lineHandler));
+	}
+
+	/**
+	 * Starts capturing an output stream.
+	 *
+	 * @param is the stream
+	 * @return the capture
+	 */
+	static OutputCapture start(final InputStream is) {
+		return start(is, 0, () -> {});
+	}
+
+	/**
+	 * Starts capturing an output stream, up to a maximal number of bytes.
+	 *
+	 * Once the limit is exceeded, the handler is called and the capture stops reading the stream; the bytes read so far are kept.
+	 * A limit set to zero means there is no limit.
+	 *
+	 * @param is the stream
+	 * @param limit the maximal number of bytes
+	 * @param onLimit the handler called when the limit is exceeded
+	 * @return the capture
+	 */
+	static OutputCapture start(final InputStream is, final long limit, final Runnable onLimit) {
+		final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+		return new OutputCapture(is, limit, onLimit, sink, sink::toByteArray);
+	}
+
+	/**
+	 * Starts capturing an output stream, keeping only its last bytes.
+	 *
+	 * A size set to zero means the whole stream is kept.
+	 *
+	 * @param is the stream
+	 * @param size the maximal number of bytes to keep
+	 * @return the capture
+	 */
+	static OutputCapture startTail(final InputStream is, final long size) {
+		if(size == 0) {
+			return start(is);
+		}
+		final TailBuffer sink = new TailBuffer((int) Math.min(size, Integer.MAX_VALUE - 8));
+		return new OutputCapture(is, 0, () -> {}, sink, sink::toByteArray);
+	}
+
+	/**
+	 * Starts reading an output stream, discarding its content.
+	 *
+	 * @param is the stream
+	 * @return the capture
+	 */
+	static OutputCapture startDiscarding(final InputStream is) {
+		return new OutputCapture(is, 0, () -> {}, OutputStream.nullOutputStream(), () -> new byte[0]);
+	}
+
+	/**
+	 * Starts reading an output stream line by line.
+	 *
+	 * Each line is given to the handler as soon as it is read, without its line terminator.
+	 * Once the handler returns <code>false</code>, the remaining content of the stream is discarded.
+	 * The content of such a capture is always empty.
+	 *
+	 * @param is the stream
+	 * @param lineHandler the line handler
+	 * @return the capture
+	 */
+	static OutputCapture start(final InputStream is, final Predicate<String> lineHandler) {
+		return start(is, lineHandler, 0, () -> {});
+	}
+
+	/**
+	 * Starts reading an output stream line by line, up to a maximal number of bytes.
+	 *
+	 * See {@link OutputCapture#start(InputStream, Predicate)} and {@link OutputCapture#start(InputStream, long, Runnable)}.
+	 *
+	 * @param is the stream
+	 * @param lineHandler the line handler
+	 * @param limit the maximal number of bytes
+	 * @param onLimit the handler called when the limit is exceeded
+	 * @return the capture
+	 */
+	static OutputCapture start(final InputStream is, final Predicate<String> lineHandler, final long limit, final Runnable onLimit) {
+		return new OutputCapture(is, limit, onLimit, lineHandler);
+	}
+
+	private static void drainLines(final InputStream is, final Predicate<String> lineHandler) {
+		try(final BufferedReader reader = new BufferedReader(new InputStreamReader(is, Charset.defaultCharset()), BUFFER_SIZE)) {
+			String line;
+			boolean handling = true;
+			while((line = reader.readLine()) != null) {
+				handling = handling && lineHandler.test(line);
+			}
+		} catch (IOException e) {
+			LOGGER.warn("got an I/O exception while reading software output with reason: {}", e.getMessage());
+		}
+	}
+
+	private static void drain(final InputStream is, final OutputStream sink) {
+		final byte[] buffer = BUFFERS.get();
+		try(is) {
+			int n;
+			while((n = is.read(buffer)) >= 0) {
+				sink.write(buffer, 0, n);
+			}
+		} catch (IOException e) {
+			LOGGER.warn("got an I/O exception while reading software output with reason: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Waits for the end of the stream.
+	 *
+	 * @param timeout the maximal time to wait; its unit is given by the timeoutUnit parameter
+	 * @param timeoutUnit the timeout unit
+	 * @return <code>true</code> iff the end of the stream was reached before the timeout
+	 * @throws InterruptedException if the current thread is interrupted while waiting
+	 */
+	boolean await(final long timeout, final TimeUnit timeoutUnit) throws InterruptedException {
+		try {
+			this.reader.get(timeout, timeoutUnit);
+			return true;
+		} catch(TimeoutException e) {
+			return false;
+		} catch(ExecutionException e) {
+			LOGGER.warn("got an exception while reading software output with reason: {}", e.getCause().getMessage());
+			return true;
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> iff the limit of this capture was exceeded.
+	 *
+	 * @return <code>true</code> iff the limit of this capture was exceeded
+	 */
+	boolean isLimitExceeded() {
+		return this.limitExceeded;
+	}
+
+	/**
+	 * Returns the content captured so far.
+	 *
+	 * Line terminators are normalized to <code>'\n'</code>, and a line terminator is appended to the last line if it has none.
+	 *
+	 * @return the captured content
+	 */
+	String getContent() {
+		final String raw = new String(this.content.get(), Charset.defaultCharset());
+		if(raw.isEmpty()) {
+			return raw;
+		}
+		final String normalized = raw.indexOf('\r') < 0 ? raw : raw.replace("\r\n", "\n").replace('\r', '\n');
+		return normalized.charAt(normalized.length() - 1) == '\n' ? normalized : normalized + '\n';
+	}
+
+	/**
+	 * A stream ending as soon as more than a given number of bytes are read from the underlying stream.
+	 *
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private final class LimitedInputStream extends FilterInputStream {
+
+		private final Runnable onLimit;
+
+		private long remaining;
+
+		private LimitedInputStream(final InputStream in, final long limit, final Runnable onLimit) {
+			super(in);
+			this.remaining = limit;
+			this.onLimit = onLimit;
+		}
+
+		@Override
+		public int read() throws IOException {
+			final byte[] b = new byte[1];
+			return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			if(this.remaining < 0) {
+				return -1;
+			}
+			final int n = super.read(b, off, (int) Math.min(len, this.remaining + 1));
+			if(n <= this.remaining) {
+				this.remaining -= Math.max(n, 0);
+				return n;
+			}
+			final int kept = (int) this.remaining;
+			this.remaining = -1;
+			OutputCapture.this.limitExceeded = true;
+			this.onLimit.run();
+			return kept == 0 ? -1 : kept;
+		}
+
+	}
+
+	/**
+	 * A ring buffer keeping the last bytes written to it.
+	 *
+	 * The buffer grows up to its maximal size before it starts overwriting its oldest bytes.
+	 *
+	 * @author Emmanuel Lonca - lonca@cril.fr
+	 */
+	private static final class TailBuffer extends OutputStream {
+
+		private final int maxSize;
+
+		private byte[] buffer;
+
+		private int position = 0;
+
+		private boolean wrapped = false;
+
+		private TailBuffer(final int maxSize) {
+			this.maxSize = maxSize;
+			this.buffer = new byte[Math.min(maxSize, BUFFER_SIZE)];
+		}
+
+		@Override
+		public void write(final int b) {
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+
+		@Override
+		public synchronized void write(final byte[] b, final int off, final int len) {
+			if(!this.wrapped && this.position + (long) len > this.buffer.length && this.buffer.length < this.maxSize) {
+				this.buffer = Arrays.copyOf(this.buffer, (int) Math.min(this.maxSize, Math.max(2L * this.buffer.length, (long) this.position + len)));
+			}
+			final int capacity = this.buffer.length;
+			if(len >= capacity) {
+				System.arraycopy(b, off + len - capacity, this.buffer, 0, capacity);
+				this.position = 0;
+				this.wrapped = true;
+				return;
+			}
+			final int first = Math.min(len, capacity - this.position);
+			System.arraycopy(b, off, this.buffer, this.position, first);
+			System.arraycopy(b, off + first, this.buffer, 0, len - first);
+			this.position += len;
+			if(this.position >= capacity) {
+				this.position -= capacity;
+				this.wrapped = true;
+			}
+		}
+
+		private synchronized byte[] toByteArray() {
+			if(!this.wrapped) {
+				return Arrays.copyOf(this.buffer, this.position);
+			}
+			final byte[] result = new byte[this.buffer.length];
+			final int tailLength = this.buffer.length - this.position;
+			System.arraycopy(this.buffer, this.position, result, 0, tailLength);
+			System.arraycopy(this.buffer, 0, result, tailLength, this.position);
+			return result;
+		}
+
+	}
+
+}
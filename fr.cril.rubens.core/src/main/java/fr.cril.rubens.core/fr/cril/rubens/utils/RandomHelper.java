@@ -0,0 +1,101 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+import fr.cril.rubens.specs.Instance;
+
+/**
+ * A helper class used in RUBENS to get random generators which results are reproducible.
+ * 
+ * The random generators used by translators must not be shared between translations, since the order in which the translations are applied
+ * depends on the traversal strategy and the number of threads.
+ * Instead, each translation gets its own generator, derived from a global seed and the fingerprint of the instance it is applied to
+ * (see {@link Instance#fingerprint()}).
+ * This way, the generation tree only depends on the seed, and two processes using the same seed generate the same instances.
+ * 
+ * The seed is chosen randomly when this class is loaded, so the generated instances change from one run to another unless a seed is set.
+ * 
+ * This class implements the singleton design pattern; use {@link RandomHelper#getInstance()} to get its instance.
+ * 
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public class RandomHelper {
+	
+	private static RandomHelper instance = null;
+	
+	private long seed;
+	
+	/**
+	 * Returns the helper instance.
+	 * 
+	 * @return the helper instance
+	 */
+	public static synchronized RandomHelper getInstance() {
+		if(instance == null) {
+			instance = new RandomHelper();
+		}
+		return instance;
+	}
+	
+	private RandomHelper() {
+		this.seed = ThreadLocalRandom.current().nextLong();
+	}
+	
+	/**
+	 * Sets the global seed.
+	 * 
+	 * @param seed the seed
+	 */
+	public synchronized void setSeed(final long seed) {
+		this.seed = seed;
+	}
+	
+	/**
+	 * Returns the global seed.
+	 * 
+	 * @return the seed
+	 */
+	public synchronized long getSeed() {
+		return this.seed;
+	}
+	
+	/**
+	 * Returns a new random generator dedicated to a translation of the provided instance.
+	 * 
+	 * Two calls with the same seed and equal instances return generators giving the same sequences.
+	 * 
+	 * @param instance the instance under translation
+	 * @return a new random generator
+	 */
+	public Random newRandom(final Instance instance) {
+		final Fingerprint fingerprint = instance.fingerprint();
+		return new Random(new SplittableRandom(getSeed() ^ fingerprint.getHigh()).nextLong() ^ fingerprint.getLow());
+	}
+
+}
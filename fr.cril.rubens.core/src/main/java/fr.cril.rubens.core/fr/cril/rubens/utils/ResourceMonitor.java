@@ -0,0 +1,245 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+
+/**
+ * A monitor of the resources used by a process and its descendants (see {@link ResourceUsage}).
+ *
+ * The CPU times and the peak memory are read from <code>/proc/[pid]/stat</code> and <code>/proc/[pid]/status</code>.
+ * Since these files vanish as soon as the process exits, the monitor samples them periodically while the process is running;
+ * thus, the CPU times spent after the last sample are not accounted.
+ * The samples are taken by a single thread shared by all the monitors.
+ * Listing the descendants of a process requires to scan all the processes of the system;
+ * this list is thus refreshed at a lower rate than the samples, except when the monitor starts and stops.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+final class ResourceMonitor {
+
+	private static final Logger LOGGER = LoggerHelper.getInstance().getLogger();
+
+	/** the time between two samples, in milliseconds */
+	static final long SAMPLING_PERIOD = 10;
+
+	/** the time between two refreshes of the list of the descendants of the process, in milliseconds */
+	static final long DESCENDANTS_REFRESH_PERIOD = 500;
+
+	private static final Path PROC = Paths.get("/proc");
+
+	private static final boolean PROC_AVAILABLE = Files.isDirectory(PROC.resolve("self"));
+
+	private static final long NANOS_PER_TICK = TimeUnit.SECONDS.toNanos(1) / clockTicks();
+
+	private static final ScheduledExecutorService SAMPLER = Executors.newSingleThreadScheduledExecutor(r -> {
+		final Thread thread = new Thread(r, "rubens-resource-monitor");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final ProcessHandle process;
+
+	private final long startTime;
+
+	private final long startUserTicks;
+
+	private final long startSystemTicks;
+
+	private final ScheduledFuture<?> sampling;
+
+	private List<ProcessHandle> descendants = Collections.emptyList();
+
+	private long nextDescendantsRefresh;
+
+	private long userTicks = -1;
+
+	private long systemTicks = -1;
+
+	private long peakMemory = -1;
+
+	private ResourceMonitor(final ProcessHandle process, final boolean periodic) {
+		this.process = process;
+		this.startTime = System.nanoTime();
+		sample(true);
+		this.startUserTicks = Math.max(0, this.userTicks);
+		this.startSystemTicks = Math.max(0, this.systemTicks);
+		this.sampling = periodic && PROC_AVAILABLE ? SAMPLER.scheduleAtFixedRate(() -> sample(false), SAMPLING_PERIOD, SAMPLING_PERIOD, TimeUnit.MILLISECONDS) : null;
+	}
+
+	/**
+	 * Starts monitoring a process which has just been launched.
+	 *
+	 * The process is sampled periodically until {@link ResourceMonitor#stop()} is called.
+	 *
+	 * @param process the process
+	 * @return the monitor
+	 */
+	static ResourceMonitor start(final Process process) {
+		return new ResourceMonitor(process.toHandle(), true);
+	}
+
+	/**
+	 * Starts monitoring a running process on which a request is about to be processed.
+	 *
+	 * The process is sampled when the monitor starts and when it stops; the returned usage is the difference between the two samples.
+	 * The peak memory is the one of the whole life of the process.
+	 *
+	 * @param process the process
+	 * @return the monitor
+	 */
+	static ResourceMonitor startRequest(final Process process) {
+		return new ResourceMonitor(process.toHandle(), false);
+	}
+
+	/**
+	 * Stops monitoring the process and returns the resources it used since the monitor was started.
+	 *
+	 * @return the resources used by the process
+	 */
+	ResourceUsage stop() {
+		final long wallTime = System.nanoTime() - this.startTime;
+		if(this.sampling != null) {
+			this.sampling.cancel(false);
+		}
+		sample(true);
+		synchronized(this) {
+			final long user = this.userTicks < 0 ? -1 : (this.userTicks - this.startUserTicks) * NANOS_PER_TICK;
+			final long system = this.systemTicks < 0 ? -1 : (this.systemTicks - this.startSystemTicks) * NANOS_PER_TICK;
+			return new ResourceUsage(wallTime, user, system, this.peakMemory);
+		}
+	}
+
+	private void sample(final boolean refreshDescendants) {
+		if(!PROC_AVAILABLE || !this.process.isAlive()) {
+			return;
+		}
+		long user = 0;
+		long system = 0;
+		long memory = -1;
+		final List<ProcessHandle> tree = Stream.concat(Stream.of(this.process), descendants(refreshDescendants).stream()).collect(Collectors.toList());
+		for(final ProcessHandle handle : tree) {
+			final long[] times = readTimes(handle.pid());
+			if(times == null) {
+				if(handle == this.process) {
+					return;
+				}
+				continue;
+			}
+			user += times[0];
+			system += times[1];
+			memory = Math.max(memory, readPeakMemory(handle.pid()));
+		}
+		synchronized(this) {
+			this.userTicks = Math.max(this.userTicks, user);
+			this.systemTicks = Math.max(this.systemTicks, system);
+			this.peakMemory = Math.max(this.peakMemory, memory);
+		}
+	}
+
+	/**
+	 * Returns the descendants of the process, refreshing them if they are outdated or if it is requested.
+	 *
+	 * @param forceRefresh <code>true</code> to refresh the descendants in any case
+	 * @return the descendants of the process
+	 */
+	private synchronized List<ProcessHandle> descendants(final boolean forceRefresh) {
+		final long now = System.nanoTime();
+		if(forceRefresh || now - this.nextDescendantsRefresh >= 0) {
+			this.descendants = this.process.descendants().collect(Collectors.toList());
+			this.nextDescendantsRefresh = now + TimeUnit.MILLISECONDS.toNanos(DESCENDANTS_REFRESH_PERIOD);
+		}
+		return this.descendants;
+	}
+
+	/**
+	 * Reads the user and system times of a process and its waited-for children, in clock ticks.
+	 *
+	 * @param pid the process id
+	 * @return the user and system times, or <code>null</code> if they cannot be read
+	 */
+	private static long[] readTimes(final long pid) {
+		final String stat;
+		try {
+			stat = new String(Files.readAllBytes(PROC.resolve(Long.toString(pid)).resolve("stat")), StandardCharsets.US_ASCII);
+		} catch(IOException e) {
+			return null;
+		}
+		// the command name (2nd field) may contain spaces, so fields are counted from its closing parenthesis
+		final String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+		try {
+			return new long[] {Long.parseLong(fields[11]) + Long.parseLong(fields[13]), Long.parseLong(fields[12]) + Long.parseLong(fields[14])};
+		} catch(NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			LOGGER.debug("cannot parse the stat file of process {}", pid);
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the peak resident set size of a process.
+	 *
+	 * @param pid the process id
+	 * @return the peak resident set size in bytes, or <code>-1</code> if it cannot be read
+	 */
+	private static long readPeakMemory(final long pid) {
+		try(final Stream<String> lines = Files.lines(PROC.resolve(Long.toString(pid)).resolve("status"), StandardCharsets.US_ASCII)) {
+			return lines.filter(l -> l.startsWith("VmHWM:")).findAny()
+					.map(l -> Long.parseLong(l.substring(6).replace("kB", "").trim()) << 10).orElse(-1L);
+		} catch(IOException | NumberFormatException | UncheckedIOException e) {
+			return -1;
+		}
+	}
+
+	private static long clockTicks() {
+		try {
+			final Process p = new ProcessBuilder("getconf", "CLK_TCK").redirectErrorStream(true).start();
+			final String value = new String(p.getInputStream().readAllBytes(), StandardCharsets.US_ASCII).trim();
+			if(p.waitFor() == 0) {
+				return Long.parseLong(value);
+			}
+		} catch(IOException | NumberFormatException e) {
+			LOGGER.debug("cannot read the number of clock ticks per second; assuming 100");
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return 100;
+	}
+
+}
@@ -0,0 +1,104 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+/**
+ * The resources used by a single execution of a software: wall time, user and system CPU times, and peak memory.
+ *
+ * The CPU times and the peak memory are read from the <code>/proc</code> file system, and include the descendants of the process.
+ * When they cannot be read (e.g. on systems without <code>/proc</code>), their value is <code>-1</code>.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public final class ResourceUsage {
+
+	/** the usage associated with executions which did not take place */
+	public static final ResourceUsage NONE = new ResourceUsage(0, -1, -1, -1);
+
+	private final long wallTime;
+
+	private final long userTime;
+
+	private final long systemTime;
+
+	private final long peakMemory;
+
+	/**
+	 * Builds a new resource usage.
+	 *
+	 * @param wallTime the wall time, in nanoseconds
+	 * @param userTime the user CPU time, in nanoseconds, or <code>-1</code> if unknown
+	 * @param systemTime the system CPU time, in nanoseconds, or <code>-1</code> if unknown
+	 * @param peakMemory the peak resident set size, in bytes, or <code>-1</code> if unknown
+	 */
+	public ResourceUsage(final long wallTime, final long userTime, final long systemTime, final long peakMemory) {
+		this.wallTime = wallTime;
+		this.userTime = userTime;
+		this.systemTime = systemTime;
+		this.peakMemory = peakMemory;
+	}
+
+	/**
+	 * Returns the wall time, in nanoseconds.
+	 *
+	 * @return the wall time
+	 */
+	public long getWallTime() {
+		return this.wallTime;
+	}
+
+	/**
+	 * Returns the user CPU time, in nanoseconds, or <code>-1</code> if unknown.
+	 *
+	 * @return the user CPU time
+	 */
+	public long getUserTime() {
+		return this.userTime;
+	}
+
+	/**
+	 * Returns the system CPU time, in nanoseconds, or <code>-1</code> if unknown.
+	 *
+	 * @return the system CPU time
+	 */
+	public long getSystemTime() {
+		return this.systemTime;
+	}
+
+	/**
+	 * Returns the largest peak resident set size among the process and its descendants, in bytes, or <code>-1</code> if unknown.
+	 *
+	 * @return the peak memory
+	 */
+	public long getPeakMemory() {
+		return this.peakMemory;
+	}
+
+	@Override
+	public String toString() {
+		return "[wallTime="+this.wallTime+", userTime="+this.userTime+", systemTime="+this.systemTime+", peakMemory="+this.peakMemory+"]";
+	}
+
+}
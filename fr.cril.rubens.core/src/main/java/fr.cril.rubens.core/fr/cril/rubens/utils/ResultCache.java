@@ -0,0 +1,244 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+
+/**
+ * An on-disk cache of software execution results, used to avoid executing a software again on an instance it has already processed.
+ * 
+ * The results are stored in a directory, one file per result, named after a key given by the caller;
+ * the key must identify the software (e.g. by a hash of its executable), the way it is called and the instance.
+ * Reading a result updates its modification time, which is used to evict the entries:
+ * the ones older than the maximal age are removed, and then the least recently used ones are removed until the cache fits the maximal size.
+ * Eviction takes place when the cache is opened and when {@link ResultCache#evict()} is called.
+ * 
+ * The methods of this class are thread-safe, and several processes may share a cache directory.
+ * 
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+public final class ResultCache {
+	
+	private static final Logger LOGGER = LoggerHelper.getInstance().getLogger();
+	
+	private static final int VERSION = 1;
+	
+	private static final String SUFFIX = ".result";
+	
+	private final Path directory;
+	
+	private final long maxSize;
+	
+	private final Duration maxAge;
+	
+	/**
+	 * Opens a cache, creating its directory if needed, and evicts the outdated entries.
+	 * 
+	 * @param directory the cache directory
+	 * @param maxSize the maximal size of the cache, in bytes (0 for no limit)
+	 * @param maxAge the maximal time since an entry was last used ({@link Duration#ZERO} for no limit)
+	 * @throws IOException if the cache directory cannot be created
+	 */
+	public ResultCache(final Path directory, final long maxSize, final Duration maxAge) throws IOException {
+		this.directory = directory;
+		this.maxSize = maxSize;
+		this.maxAge = maxAge;
+		Files.createDirectories(directory);
+		evict();
+	}
+	
+	private Path entry(final Fingerprint key) {
+		final String name = key.toString();
+		return this.directory.resolve(name.substring(0, 2)).resolve(name+SUFFIX);
+	}
+	
+	/**
+	 * Returns the result associated with a key, if any.
+	 * 
+	 * Entries which cannot be read are removed.
+	 * 
+	 * @param key the key
+	 * @return the result, if it is in the cache
+	 */
+	public Optional<SoftwareExecutorResult> get(final Fingerprint key) {
+		final Path path = entry(key);
+		try(final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if(in.readInt() != VERSION) {
+				throw new IOException("unsupported cache entry version");
+			}
+			final int status = in.readInt();
+			final boolean timeouted = in.readBoolean();
+			final String stdout = readString(in);
+			final String stderr = readString(in);
+			final ResourceUsage usage = new ResourceUsage(in.readLong(), in.readLong(), in.readLong(), in.readLong());
+			Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+			return Optional.of(new SoftwareExecutorResult(status, timeouted, stdout, stderr, usage));
+		} catch(NoSuchFileException e) {
+			return Optional.empty();
+		} catch(IOException e) {
+			LOGGER.warn("removing unreadable cache entry {}: {}", path, e.getMessage());
+			delete(path);
+			return Optional.empty();
+		}
+	}
+	
+	/**
+	 * Stores a result, replacing the one associated with the same key if any.
+	 * 
+	 * @param key the key
+	 * @param result the result
+	 */
+	public void put(final Fingerprint key, final SoftwareExecutorResult result) {
+		final Path path = entry(key);
+		try {
+			Files.createDirectories(path.getParent());
+			final Path tmpPath = Files.createTempFile(path.getParent(), "rubens-", ".tmp");
+			try(final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpPath)))) {
+				out.writeInt(VERSION);
+				out.writeInt(result.getStatus());
+				out.writeBoolean(result.hasTimeouted());
+				writeString(out, result.getStdout());
+				writeString(out, result.getStderr());
+				final ResourceUsage usage = result.getResourceUsage();
+				out.writeLong(usage.getWallTime());
+				out.writeLong(usage.getUserTime());
+				out.writeLong(usage.getSystemTime());
+				out.writeLong(usage.getPeakMemory());
+			}
+			Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch(IOException e) {
+			LOGGER.warn("cannot write cache entry {}: {}", path, e.getMessage());
+		}
+	}
+	
+	private static String readString(final DataInputStream in) throws IOException {
+		final byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	private static void writeString(final DataOutputStream out, final String str) throws IOException {
+		final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+	
+	/**
+	 * Removes the entries which were not used for longer than the maximal age,
+	 * and then the least recently used entries until the cache fits the maximal size.
+	 */
+	public synchronized void evict() {
+		final List<Path> paths;
+		try(final Stream<Path> stream = Files.walk(this.directory, 2)) {
+			paths = stream.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).collect(Collectors.toList());
+		} catch(IOException e) {
+			LOGGER.warn("cannot list the cache directory {}: {}", this.directory, e.getMessage());
+			return;
+		}
+		final List<CacheFile> files = new ArrayList<>(paths.size());
+		for(final Path path : paths) {
+			try {
+				final BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+				files.add(new CacheFile(path, attrs.lastModifiedTime().toMillis(), attrs.size()));
+			} catch(IOException e) {
+				// removed by another process
+			}
+		}
+		files.sort(Comparator.comparingLong(CacheFile::getLastUse));
+		final long oldest = System.currentTimeMillis() - this.maxAge.toMillis();
+		long size = files.stream().mapToLong(CacheFile::getSize).sum();
+		int nEvicted = 0;
+		for(final CacheFile file : files) {
+			final boolean tooOld = !this.maxAge.isZero() && file.getLastUse() < oldest;
+			final boolean tooLarge = this.maxSize > 0 && size > this.maxSize;
+			if(!tooOld && !tooLarge) {
+				break;
+			}
+			delete(file.getPath());
+			size -= file.getSize();
+			nEvicted++;
+		}
+		if(nEvicted > 0) {
+			LOGGER.info("evicted {} entries from the result cache", nEvicted);
+		}
+	}
+	
+	private static void delete(final Path path) {
+		try {
+			Files.deleteIfExists(path);
+		} catch(IOException e) {
+			LOGGER.warn("cannot delete cache entry {}: {}", path, e.getMessage());
+		}
+	}
+	
+	private static final class CacheFile {
+		
+		private final Path path;
+		
+		private final long lastUse;
+		
+		private final long size;
+		
+		private CacheFile(final Path path, final long lastUse, final long size) {
+			this.path = path;
+			this.lastUse = lastUse;
+			this.size = size;
+		}
+		
+		private Path getPath() {
+			return this.path;
+		}
+		
+		private long getLastUse() {
+			return this.lastUse;
+		}
+		
+		private long getSize() {
+			return this.size;
+		}
+		
+	}
+	
+}
@@ -0,0 +1,209 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+
+import fr.cril.rubens.specs.Instance;
+
+/**
+ * A staging area made of per-worker scratch directories, in which the file names are recycled from an instance to the next one.
+ *
+ * A slot directory is taken from a pool each time an instance is staged, and given back when the staged instance is closed;
+ * thus, the number of slots never exceeds the number of concurrent executions.
+ * The slots are created in a memory-backed file system when one is available (<code>/dev/shm</code>), in the temporary directory otherwise.
+ *
+ * In the FIFO mode, the files are named pipes (created once using the <code>mkfifo</code> command) and the instances are written
+ * by dedicated threads while the software reads them.
+ * When the staged instance is closed, the content the software did not read is drained, so that no writer is left blocked.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+final class ScratchStagingArea implements IStagingArea {
+
+	private static final Logger LOGGER = LoggerHelper.getInstance().getLogger();
+
+	private static final Path SHM = Paths.get("/dev/shm");
+
+	private final boolean fifo;
+
+	private final Deque<Path> idleSlots = new ConcurrentLinkedDeque<>();
+
+	private final AtomicInteger nSlots = new AtomicInteger();
+
+	private final ExecutorService writers;
+
+	private Path root;
+
+	/**
+	 * Builds a new scratch staging area.
+	 *
+	 * @param fifo <code>true</code> iff the files must be named pipes
+	 */
+	ScratchStagingArea(final boolean fifo) {
+		this.fifo = fifo;
+		this.writers = fifo ? Executors.newCachedThreadPool(r -> {
+			final Thread thread = new Thread(r, "rubens-fifo-writer");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+	}
+
+	@Override
+	public StagedInstance stage(final Instance instance) throws IOException {
+		final Path slot = takeSlot();
+		final Map<String, Path> instanceFiles = new HashMap<>();
+		final Map<Path, Future<?>> pendingWrites = new HashMap<>();
+		try {
+			for(final String extension : instance.getInputFileExtensions()) {
+				final Path p = slot.resolve("instance"+extension);
+				instanceFiles.put(extension, p);
+				if(this.fifo) {
+					if(!Files.exists(p)) {
+						mkfifo(p);
+					}
+					pendingWrites.put(p, this.writers.submit(() -> writeInstance(instance, extension, p)));
+				} else {
+					writeInstance(instance, extension, p);
+				}
+			}
+		} catch(IOException e) {
+			release(slot, pendingWrites);
+			throw e;
+		}
+		return new StagedInstance(instanceFiles, () -> release(slot, pendingWrites));
+	}
+
+	private static Void writeInstance(final Instance instance, final String extension, final Path path) throws IOException {
+		try(final OutputStream os = Files.newOutputStream(path)) {
+			instance.write(extension, os);
+		}
+		return null;
+	}
+
+	private synchronized Path takeSlot() throws IOException {
+		final Path slot = this.idleSlots.poll();
+		if(slot != null) {
+			return slot;
+		}
+		if(this.root == null) {
+			final Path base = Files.isDirectory(SHM) && Files.isWritable(SHM) ? SHM : Paths.get(System.getProperty("java.io.tmpdir"));
+			this.root = Files.createTempDirectory(base, "rubens-staging-");
+			LOGGER.debug("staging instances in {}", this.root);
+		}
+		return Files.createDirectory(this.root.resolve("slot-"+this.nSlots.incrementAndGet()));
+	}
+
+	private static void mkfifo(final Path path) throws IOException {
+		final Process process = new ProcessBuilder("mkfifo", path.toString()).redirectErrorStream(true).start();
+		try {
+			final int status = process.waitFor();
+			if(status != 0) {
+				throw new IOException("mkfifo exited with status "+status+" for "+path);
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("interrupted while creating "+path, e);
+		}
+	}
+
+	private void release(final Path slot, final Map<Path, Future<?>> pendingWrites) {
+		for(final Map.Entry<Path, Future<?>> entry : pendingWrites.entrySet()) {
+			if(!entry.getValue().isDone()) {
+				drain(entry.getKey(), entry.getValue());
+			}
+		}
+		this.idleSlots.add(slot);
+	}
+
+	private static void drain(final Path path, final Future<?> writer) {
+		// the read-write channel keeps the pipe open, so that neither the writer nor the reader below can block when opening it
+		try(final FileChannel keeper = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+				final InputStream is = new FileInputStream(path.toFile())) {
+			final byte[] buffer = new byte[1 << 16];
+			while(true) {
+				try {
+					writer.get(1, TimeUnit.MILLISECONDS);
+					return;
+				} catch(TimeoutException e) {
+					final int available = is.available();
+					if(available > 0) {
+						is.read(buffer, 0, Math.min(available, buffer.length));
+					}
+				}
+			}
+		} catch(ExecutionException e) {
+			LOGGER.debug("got an exception while writing to {} with reason: {}", path, e.getCause().getMessage());
+		} catch(InterruptedException e) {
+			writer.cancel(true);
+			Thread.currentThread().interrupt();
+		} catch(IOException e) {
+			LOGGER.error("cannot drain {}", path, e);
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		if(this.root == null) {
+			return;
+		}
+		try(final Stream<Path> paths = Files.walk(this.root)) {
+			final List<Path> toDelete = paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+			for(final Path p : toDelete) {
+				Files.deleteIfExists(p);
+			}
+		} catch(IOException e) {
+			LOGGER.error("cannot delete the staging directory {}", this.root, e);
+		}
+		this.root = null;
+		this.idleSlots.clear();
+	}
+
+}
@@ -24,10 +24,15 @@ package fr.cril.rubens.utils;
  * #L%
  */
 
+import fr.cril.rubens.core.CheckResult;
+
 /**
  * A class used to handle results of a software execution.
  * 
- * It keeps the exit status (including timeout) and the contents of both standard and error outputs.
+ * It keeps the exit status (including timeout), the contents of both standard and error outputs, and the resources used by the execution.
+ * When the output was checked while the software was running (see {@link ASoftwareExecutor#exec(fr.cril.rubens.specs.Instance, fr.cril.rubens.specs.OutputChecker)}),
+ * it keeps the result of the check instead of the content of the standard output.
+ * When an output exceeded its limit (see {@link ASoftwareExecutor#setOutputLimits(long, EStderrCapture, long)}), the software was stopped and the outputs are truncated.
  * 
  * @author Emmanuel Lonca - lonca@cril.fr
  */
@@ -41,6 +46,12 @@ public class SoftwareExecutorResult {
 
 	private final boolean timeouted;
 
+	private final ResourceUsage resourceUsage;
+
+	private final CheckResult checkResult;
+
+	private final boolean outputLimitExceeded;
+
 	/**
 	 * Builds a result handler given all its characteristics.
 	 * 
@@ -50,10 +61,57 @@ public class SoftwareExecutorResult {
 	 * @param stderr the content of the error output
 	 */
 	public SoftwareExecutorResult(final int status, final boolean timeouted, final String stdout, final String stderr) {
+		this(status, timeouted, stdout, stderr, ResourceUsage.NONE);
+	}
+
+	/**
+	 * Builds a result handler given all its characteristics, including the resources used by the execution.
+	 * 
+	 * @param status the exit status
+	 * @param timeouted a flag indicated the instance reached the timeout
+	 * @param stdout the content of the standard output
+	 * @param stderr the content of the error output
+	 * @param resourceUsage the resources used by the execution
+	 */
+	public SoftwareExecutorResult(final int status, final boolean timeouted, final String stdout, final String stderr, final ResourceUsage resourceUsage) {
+		this(status, timeouted, stdout, stderr, resourceUsage, null);
+	}
+
+	/**
+	 * Builds a result handler given all its characteristics, including the resources used by the execution and the result of the check of its output.
+	 * 
+	 * @param status the exit status
+	 * @param timeouted a flag indicated the instance reached the timeout
+	 * @param stdout the content of the standard output
+	 * @param stderr the content of the error output
+	 * @param resourceUsage the resources used by the execution
+	 * @param checkResult the result of the check of the output, or <code>null</code> if it was not checked during the execution
+	 */
+	public SoftwareExecutorResult(final int status, final boolean timeouted, final String stdout, final String stderr, final ResourceUsage resourceUsage,
+			final CheckResult checkResult) {
+		this(status, timeouted, stdout, stderr, resourceUsage, checkResult, false);
+	}
+
+	/**
+	 * Builds a result handler given all its characteristics, including whether an output exceeded its limit.
+	 * 
+	 * @param status the exit status
+	 * @param timeouted a flag indicated the instance reached the timeout
+	 * @param stdout the content of the standard output
+	 * @param stderr the content of the error output
+	 * @param resourceUsage the resources used by the execution
+	 * @param checkResult the result of the check of the output, or <code>null</code> if it was not checked during the execution
+	 * @param outputLimitExceeded a flag indicating an output exceeded its limit
+	 */
+	public SoftwareExecutorResult(final int status, final boolean timeouted, final String stdout, final String stderr, final ResourceUsage resourceUsage,
+			final CheckResult checkResult, final boolean outputLimitExceeded) {
 		this.status = status;
 		this.timeouted = timeouted;
 		this.stdout = stdout;
 		this.stderr = stderr;
+		this.resourceUsage = resourceUsage;
+		this.checkResult = checkResult;
+		this.outputLimitExceeded = outputLimitExceeded;
 	}
 
 	/**
@@ -74,6 +132,15 @@ public class SoftwareExecutorResult {
 		return this.timeouted;
 	}
 
+	/**
+	 * Returns <code>true</code> iff an output exceeded its limit, in which case the software was stopped.
+	 * 
+	 * @return <code>true</code> iff an output exceeded its limit
+	 */
+	public boolean hasExceededOutputLimit() {
+		return this.outputLimitExceeded;
+	}
+
 	/**
 	 * Returns the content of the standard output.
 	 * 
@@ -92,4 +159,24 @@ public class SoftwareExecutorResult {
 		return stderr;
 	}
 
+	/**
+	 * Returns the resources used by the execution.
+	 * 
+	 * @return the resources used by the execution
+	 */
+	public ResourceUsage getResourceUsage() {
+		return this.resourceUsage;
+	}
+
+	/**
+	 * Returns the result of the check of the output made during the execution.
+	 * 
+	 * In case the output was not checked during the execution, or the execution reached the timeout or exceeded an output limit, <code>null</code> is returned.
+	 * 
+	 * @return the result of the check of the output
+	 */
+	public CheckResult getCheckResult() {
+		return this.checkResult;
+	}
+
 }
@@ -0,0 +1,315 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+
+import fr.cril.rubens.core.CheckResult;
+
+/**
+ * A software launched once and kept running to process several requests (see {@link ASoftwareExecutor#setServerMode(boolean)}).
+ *
+ * Each request is written as a single line on the standard input of the software.
+ * The software must answer by writing its result on its standard output, followed by a line equal to {@link ASoftwareExecutor#END_OF_OUTPUT}.
+ * The error output is collected continuously; the content collected while a request is processed is attached to its result.
+ * The resources attached to a result are the CPU times spent while the request was processed, and the peak memory of the whole life of the software.
+ *
+ * When the software does not answer before the timeout, it is killed.
+ * When it exits while processing a request, the exit status is attached to the result.
+ * In both cases, the server is no longer alive, and must be replaced by a new one.
+ * The lines written by the software after the end of an output do not belong to any request; they are discarded before the next request is sent.
+ * The same happens when the output of a request is checked while it is written, and an error is detected,
+ * and when an output exceeds its limit (see {@link ASoftwareExecutor#setOutputLimits(long, EStderrCapture, long)}).
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+final class SoftwareServer {
+
+	private static final Logger LOGGER = LoggerHelper.getInstance().getLogger();
+
+	private final Process process;
+
+	private final BufferedWriter stdin;
+
+	private final BlockingQueue<Optional<String>> stdoutLines = new LinkedBlockingQueue<>();
+
+	private final StringBuilder stderr = new StringBuilder();
+
+	private volatile boolean alive = true;
+
+	private final long stdoutLimit;
+
+	private final EStderrCapture stderrCapture;
+
+	private final long stderrLimit;
+
+	private volatile boolean stderrLimitExceeded = false;
+
+	private SoftwareServer(final Process process, final long stdoutLimit, final EStderrCapture stderrCapture, final long stderrLimit) {
+		this.process = process;
+		this.stdoutLimit = stdoutLimit;
+		this.stderrCapture = stderrCapture;
+		this.stderrLimit = stderrLimit;
+		this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
+		launchStreamThread(process.getInputStream(), stdoutLimit, l -> this.stdoutLines.add(Optional.of(l)), () -> this.stdoutLines.add(Optional.empty()));
+		launchStreamThread(process.getErrorStream(), stderrLimit, this::appendStderr, () -> {});
+	}
+
+	private void appendStderr(final String line) {
+		if(this.stderrCapture == EStderrCapture.DISCARD) {
+			return;
+		}
+		synchronized(this.stderr) {
+			if(this.stderrLimit > 0 && this.stderr.length() + line.length() + 1 > this.stderrLimit) {
+				if(this.stderrCapture == EStderrCapture.FULL) {
+					this.stderrLimitExceeded = true;
+					this.process.destroy();
+					return;
+				}
+				this.stderr.append(line).append('\n');
+				this.stderr.delete(0, (int) Math.max(0, this.stderr.length() - this.stderrLimit));
+				return;
+			}
+			this.stderr.append(line).append('\n');
+		}
+	}
+
+	/**
+	 * Launches a new server.
+	 *
+	 * @param cliArgs the command line used to launch the software
+	 * @param directory the working directory of the software
+	 * @param stdoutLimit the maximal size of the standard output of a request, in bytes (zero means there is no limit)
+	 * @param stderrCapture the way the error output is captured
+	 * @param stderrLimit the maximal size of the error output of a request, in bytes (zero means there is no limit)
+	 * @return the server
+	 * @throws IOException if the software cannot be launched
+	 */
+	static SoftwareServer start(final List<String> cliArgs, final File directory, final long stdoutLimit, final EStderrCapture stderrCapture,
+			final long stderrLimit) throws IOException {
+		final ProcessBuilder pBuilder = new ProcessBuilder(cliArgs);
+		pBuilder.directory(directory);
+		return new SoftwareServer(pBuilder.start(), stdoutLimit, stderrCapture, stderrLimit);
+	}
+
+	/**
+	 * Sends a request to the software and waits for its result.
+	 *
+	 * @param request the request line
+	 * @param timeout the timeout; its unit is given by the timeoutUnit parameter
+	 * @param timeoutUnit the timeout unit
+	 * @param check the check of the output made while it is written, or <code>null</code> to keep the output in the result
+	 * @return the result
+	 * @throws InterruptedException if the current thread is interrupted while waiting for the result
+	 */
+	SoftwareExecutorResult request(final String request, final long timeout, final TimeUnit timeoutUnit, final StreamingCheck check) throws InterruptedException {
+		final StringBuilder stdout = new StringBuilder();
+		final ResourceMonitor monitor = ResourceMonitor.startRequest(this.process);
+		if(!discardLeftoverLines()) {
+			return crashed(stdout, monitor, check);
+		}
+		try {
+			this.stdin.write(request);
+			this.stdin.newLine();
+			this.stdin.flush();
+		} catch(IOException e) {
+			return crashed(stdout, monitor, check);
+		}
+		final long deadline = System.nanoTime() + timeoutUnit.toNanos(timeout);
+		long stdoutSize = 0;
+		while(true) {
+			final long remaining = deadline - System.nanoTime();
+			final Optional<String> line = remaining > 0 ? this.stdoutLines.poll(remaining, TimeUnit.NANOSECONDS) : null;
+			if(line == null) {
+				LOGGER.warn("server exited by timeout");
+				final ResourceUsage resourceUsage = monitor.stop();
+				final int status = stop();
+				return new SoftwareExecutorResult(status, true, stdout.toString(), takeStderr(), resourceUsage);
+			}
+			if(line.isEmpty()) {
+				return crashed(stdout, monitor, check);
+			}
+			if(ASoftwareExecutor.END_OF_OUTPUT.equals(line.get())) {
+				return new SoftwareExecutorResult(0, false, stdout.toString(), takeStderr(), monitor.stop(), check == null ? null : check.result());
+			}
+			stdoutSize += line.get().length() + 1;
+			if(this.stdoutLimit > 0 && stdoutSize > this.stdoutLimit) {
+				LOGGER.warn("server stopped on output limit exceeded");
+				final ResourceUsage resourceUsage = monitor.stop();
+				final int status = stop();
+				return new SoftwareExecutorResult(status, false, stdout.toString(), takeStderr(), resourceUsage, null, true);
+			}
+			if(check == null) {
+				stdout.append(line.get()).append('\n');
+			} else if(!check.accept(line.get())) {
+				LOGGER.warn("server stopped on wrong output");
+				final ResourceUsage resourceUsage = monitor.stop();
+				final int status = stop();
+				return new SoftwareExecutorResult(status, false, "", takeStderr(), resourceUsage, check.result());
+			}
+		}
+	}
+
+	/**
+	 * Discards the lines written by the software after the end of the previous output.
+	 *
+	 * @return <code>false</code> iff the software closed its standard output
+	 */
+	private boolean discardLeftoverLines() {
+		int nDiscarded = 0;
+		Optional<String> line;
+		while((line = this.stdoutLines.poll()) != null) {
+			if(line.isEmpty()) {
+				return false;
+			}
+			nDiscarded++;
+		}
+		if(nDiscarded > 0) {
+			LOGGER.warn("discarded {} line(s) written by the server after the end of an output", nDiscarded);
+		}
+		return true;
+	}
+
+	private SoftwareExecutorResult crashed(final StringBuilder stdout, final ResourceMonitor monitor, final StreamingCheck check) throws InterruptedException {
+		this.alive = false;
+		final ResourceUsage resourceUsage = monitor.stop();
+		final int status = this.process.waitFor();
+		if(this.stderrLimitExceeded) {
+			LOGGER.warn("server stopped on output limit exceeded");
+			return new SoftwareExecutorResult(status, false, stdout.toString(), takeStderr(), resourceUsage, null, true);
+		}
+		LOGGER.warn("server exited with status {}", status);
+		return new SoftwareExecutorResult(status, false, stdout.toString(), takeStderr(), resourceUsage, check == null ? null : check.result());
+	}
+
+	private String takeStderr() {
+		synchronized(this.stderr) {
+			final String content = this.stderr.toString();
+			this.stderr.setLength(0);
+			return content;
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> iff the server can process new requests.
+	 *
+	 * @return <code>true</code> iff the server can process new requests
+	 */
+	boolean isAlive() {
+		return this.alive && this.process.isAlive();
+	}
+
+	/**
+	 * Kills the software, including the processes it launched, without waiting for it to exit.
+	 * The request it is processing, if any, returns as if the software had crashed.
+	 */
+	void kill() {
+		this.alive = false;
+		this.process.descendants().forEach(ProcessHandle::destroy);
+		this.process.destroy();
+	}
+	
+	/**
+	 * Stops the server.
+	 *
+	 * @return the exit status of the software
+	 * @throws InterruptedException if the current thread is interrupted while waiting for the software to exit
+	 */
+	int stop() throws InterruptedException {
+		this.alive = false;
+		try {
+			this.stdin.close();
+		} catch(IOException e) {
+			// the software has already exited
+		}
+		this.process.destroy();
+		return this.process.waitFor();
+	}
+
+	private static void launchStreamThread(final InputStream is, final long maxLineLength, final Consumer<String> lineHandler, final Runnable endHandler) {
+		final Thread thread = new Thread(() -> {
+			try(final BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
+				String line;
+				while((line = readLine(reader, maxLineLength)) != null) {
+					lineHandler.accept(line);
+				}
+			} catch (IOException e) {
+				LOGGER.debug("got an I/O exception while reading server output with reason: {}", e.getMessage());
+			} finally {
+				endHandler.run();
+			}
+		}, "rubens-server-stream");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Reads a line like {@link BufferedReader#readLine()}, except that lines longer than the given length are split.
+	 *
+	 * @param reader the reader
+	 * @param maxLength the maximal length of a line (zero means there is no limit)
+	 * @return the line, or <code>null</code> if the end of the stream is reached
+	 * @throws IOException if an I/O exception occurs
+	 */
+	private static String readLine(final BufferedReader reader, final long maxLength) throws IOException {
+		if(maxLength == 0) {
+			return reader.readLine();
+		}
+		final StringBuilder line = new StringBuilder();
+		int c;
+		while((c = reader.read()) >= 0) {
+			if(c == '\n') {
+				return line.toString();
+			}
+			if(c == '\r') {
+				reader.mark(1);
+				if(reader.read() != '\n') {
+					reader.reset();
+				}
+				return line.toString();
+			}
+			line.append((char) c);
+			if(line.length() > maxLength) {
+				return line.toString();
+			}
+		}
+		return line.length() == 0 ? null : line.toString();
+	}
+
+}
@@ -0,0 +1,69 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * An instance written in a staging area (see {@link IStagingArea}).
+ *
+ * Closing this object gives the files back to the staging area.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+final class StagedInstance implements AutoCloseable {
+
+	private final Map<String, Path> files;
+
+	private final Runnable release;
+
+	/**
+	 * Builds a staged instance.
+	 *
+	 * @param files a mapping from the instance extensions to the files the software must read
+	 * @param release the action giving the files back to the staging area
+	 */
+	StagedInstance(final Map<String, Path> files, final Runnable release) {
+		this.files = files;
+		this.release = release;
+	}
+
+	/**
+	 * Returns a mapping from the instance extensions to the files the software must read.
+	 *
+	 * @return the instance files mapping
+	 */
+	Map<String, Path> getFiles() {
+		return Collections.unmodifiableMap(this.files);
+	}
+
+	@Override
+	public void close() {
+		this.release.run();
+	}
+
+}
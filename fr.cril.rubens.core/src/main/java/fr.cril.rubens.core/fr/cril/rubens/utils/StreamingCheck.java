@@ -0,0 +1,89 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import fr.cril.rubens.core.CheckResult;
+import fr.cril.rubens.specs.OutputChecker;
+
+/**
+ * The check of the output of a single execution, made while the software is running (see {@link ASoftwareExecutor#exec(fr.cril.rubens.specs.Instance, OutputChecker)}).
+ * 
+ * The lines are given to the underlying {@link OutputChecker} until it returns an error; the next lines are ignored.
+ * 
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+final class StreamingCheck {
+	
+	private final OutputChecker checker;
+	
+	private volatile CheckResult earlyResult;
+	
+	/**
+	 * Builds a new check.
+	 * 
+	 * @param checker the underlying output checker
+	 */
+	StreamingCheck(final OutputChecker checker) {
+		this.checker = checker;
+	}
+	
+	/**
+	 * Gives a line of the output to the checker.
+	 * 
+	 * @param line the line
+	 * @return <code>true</code> iff the software may go on, <code>false</code> if its output is known to be wrong
+	 */
+	boolean accept(final String line) {
+		if(this.earlyResult != null) {
+			return false;
+		}
+		final CheckResult result = this.checker.consumeLine(line);
+		if(result != null) {
+			this.earlyResult = result;
+			return false;
+		}
+		return true;
+	}
+	
+	/**
+	 * Returns <code>true</code> iff an error was detected before the end of the output.
+	 * 
+	 * @return <code>true</code> iff an error was detected before the end of the output
+	 */
+	boolean isStoppedEarly() {
+		return this.earlyResult != null;
+	}
+	
+	/**
+	 * Returns the result of the check, once the whole output has been given to the checker or an error was detected.
+	 * 
+	 * @return the result of the check
+	 */
+	CheckResult result() {
+		final CheckResult result = this.earlyResult;
+		return result != null ? result : this.checker.end();
+	}
+
+}
@@ -0,0 +1,102 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+
+import fr.cril.rubens.specs.Instance;
+
+/**
+ * A staging area writing each instance to new temporary files, which are deleted (asynchronously) after the execution.
+ *
+ * @author Emmanuel Lonca - lonca@cril.fr
+ */
+final class TempFileStagingArea implements IStagingArea {
+
+	/** the logger */
+	private static final Logger LOGGER = LoggerHelper.getInstance().getLogger();
+
+	/** a thread pool used to clean temporary files */
+	private static final ExecutorService TEMP_CLEANING_TH_POOL = Executors.newCachedThreadPool();
+
+	/**
+	 * Adds a shutdown hook to wait for temporary files cleaning.
+	 */
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			TEMP_CLEANING_TH_POOL.shutdown();
+			try {
+				TEMP_CLEANING_TH_POOL.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}));
+	}
+
+	@Override
+	public StagedInstance stage(final Instance instance) throws IOException {
+		final Map<String, Path> instanceFiles = new HashMap<>();
+		for(final String extension : instance.getInputFileExtensions()) {
+			final Path p = Files.createTempFile("rubens-instance-", extension, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwxr--r--")));
+			final OutputStream os = Files.newOutputStream(p);
+			instance.write(extension, os);
+			os.close();
+			instanceFiles.put(extension, p);
+		}
+		return new StagedInstance(instanceFiles, () -> cleanTempFiles(instanceFiles));
+	}
+
+	private static void cleanTempFiles(final Map<String, Path> instanceFiles) {
+		synchronized(TEMP_CLEANING_TH_POOL) {
+			TEMP_CLEANING_TH_POOL.submit(() -> {
+				for(final Path p : instanceFiles.values()) {
+					try {
+						Files.deleteIfExists(p);
+					} catch(IOException e) {
+						LOGGER.error("an unexpected I/O exception occurred", e);
+					}
+				}
+			});
+		}
+	}
+
+	@Override
+	public void close() {
+		// temporary files are deleted after each execution
+	}
+
+}
@@ -0,0 +1,113 @@
+package fr.cril.rubens.core;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import fr.cril.rubens.testutils.StringInstance;
+
+class SpillingFrontierTest {
+
+	private Path dir;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		this.dir = Files.createTempDirectory("rubens-test-");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		Files.delete(this.dir);
+	}
+
+	@Test
+	void testEmpty() {
+		try(final SpillingFrontier<StringInstance> frontier = new SpillingFrontier<>(0, this.dir, 1)) {
+			assertTrue(frontier.isEmpty());
+			final List<StringInstance> instances = new ArrayList<>();
+			frontier.forEach(instances::add);
+			assertTrue(instances.isEmpty());
+		}
+	}
+
+	@Test
+	void testNoSpill() {
+		try(final SpillingFrontier<StringInstance> frontier = new SpillingFrontier<>(Long.MAX_VALUE, this.dir, 1)) {
+			Stream.of("a", "b", "a").map(StringInstance::new).forEach(frontier::add);
+			assertFalse(frontier.isEmpty());
+			assertEquals(0, frontier.nRuns());
+			assertEquals(Stream.of("a", "b").collect(Collectors.toList()), sortedStrings(frontier));
+		}
+	}
+
+	@Test
+	void testSpillRemovesDuplicates() throws IOException {
+		try(final SpillingFrontier<StringInstance> frontier = new SpillingFrontier<>(0, this.dir, 3)) {
+			IntStream.range(0, 30).mapToObj(i -> new StringInstance(Integer.toString(i % 10))).forEach(frontier::add);
+			assertEquals(10, frontier.nRuns());
+			final List<String> expected = IntStream.range(0, 10).mapToObj(Integer::toString).sorted().collect(Collectors.toList());
+			assertEquals(expected, sortedStrings(frontier));
+			assertEquals(expected, sortedStrings(frontier));
+			try(final Stream<Path> files = Files.list(this.dir)) {
+				assertEquals(frontier.nRuns(), files.count());
+			}
+		}
+		try(final Stream<Path> files = Files.list(this.dir)) {
+			assertEquals(0, files.count());
+		}
+	}
+
+	@Test
+	void testCompaction() {
+		try(final SpillingFrontier<StringInstance> frontier = new SpillingFrontier<>(0, this.dir, 1)) {
+			IntStream.range(0, 200).mapToObj(i -> new StringInstance(Integer.toString(i % 100))).forEach(frontier::add);
+			assertTrue(frontier.nRuns() < 64);
+			final List<String> expected = IntStream.range(0, 100).mapToObj(Integer::toString).sorted().collect(Collectors.toList());
+			assertEquals(expected, sortedStrings(frontier));
+		}
+	}
+
+	private static List<String> sortedStrings(final SpillingFrontier<StringInstance> frontier) {
+		final List<String> strings = new ArrayList<>();
+		frontier.forEach(i -> strings.add(i.str()));
+		return strings.stream().sorted().collect(Collectors.toList());
+	}
+
+}
@@ -25,18 +25,32 @@ package fr.cril.rubens.core;
  */
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Flow;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
+import fr.cril.rubens.testutils.CyclicStringGeneratorFactory;
 import fr.cril.rubens.testutils.LazyStringGeneratorFactory;
+import fr.cril.rubens.testutils.NumberingStringGeneratorFactory;
 import fr.cril.rubens.testutils.StringConcatGeneratorFactory;
 import fr.cril.rubens.testutils.StringInstance;
 
@@ -88,5 +102,500 @@ class TestGeneratorTest {
 		assertEquals(1, instances.size());
 		assertEquals(this.factory.initInstance(), instances.get(0));
 	}
+	
+	@ParameterizedTest
+	@EnumSource(value = ETraversalStrategy.class, names = "RANDOM_WALK", mode = EnumSource.Mode.EXCLUDE)
+	void testStrategyDepth3(final ETraversalStrategy strategy) {
+		this.generator.setTraversalStrategy(strategy);
+		final List<StringInstance> instances = this.generator.computeToDepth(3);
+		assertEquals(7, instances.size());
+		final Set<String> expectedStr = Stream.of("", "1", "2", "11", "12", "21", "22").collect(Collectors.toSet());
+		assertEquals(expectedStr, instances.stream().map(StringInstance::str).collect(Collectors.toSet()));
+	}
+	
+	@ParameterizedTest
+	@EnumSource(ETraversalStrategy.class)
+	void testStrategyNoGeneratorsCanBeApplied(final ETraversalStrategy strategy) {
+		final TestGenerator<StringInstance> lazyGenerator = new TestGenerator<>(new LazyStringGeneratorFactory());
+		lazyGenerator.setTraversalStrategy(strategy);
+		final List<StringInstance> instances = lazyGenerator.computeToDepth(3);
+		assertEquals(1, instances.size());
+		assertEquals(this.factory.initInstance(), instances.get(0));
+	}
+	
+	@Test
+	void testDepthFirstOrder() {
+		this.generator.setTraversalStrategy(ETraversalStrategy.DEPTH_FIRST);
+		final List<String> actualStr = new ArrayList<>();
+		this.generator.computeToDepth(3, i -> actualStr.add(i.str()));
+		assertEquals(Stream.of("", "1", "11", "12", "2", "21", "22").collect(Collectors.toList()), actualStr);
+	}
+	
+	@Test
+	void testIterativeDeepeningOrder() {
+		this.generator.setTraversalStrategy(ETraversalStrategy.ITERATIVE_DEEPENING);
+		final List<String> actualStr = new ArrayList<>();
+		this.generator.computeToDepth(3, i -> actualStr.add(i.str()));
+		assertEquals(Stream.of("", "1", "2", "11", "12", "21", "22").collect(Collectors.toList()), actualStr);
+	}
+	
+	@Test
+	void testNullParallelism() {
+		assertThrows(IllegalArgumentException.class, () -> this.generator.setParallelism(0));
+	}
+	
+	@ParameterizedTest
+	@ValueSource(ints = {2, 4})
+	void testParallelDepth4(final int parallelism) {
+		this.generator.setParallelism(parallelism);
+		final List<String> actualStr = new ArrayList<>();
+		this.generator.computeToDepth(4, i -> actualStr.add(i.str()));
+		assertEquals(15, actualStr.size());
+		assertEquals(Stream.of("", "1", "2").collect(Collectors.toSet()), actualStr.subList(0, 3).stream().collect(Collectors.toSet()));
+		assertEquals(Stream.of("11", "12", "21", "22").collect(Collectors.toSet()), actualStr.subList(3, 7).stream().collect(Collectors.toSet()));
+		assertEquals(8, actualStr.subList(7, 15).stream().filter(str -> str.length() == 3).distinct().count());
+	}
+	
+	@Test
+	void testParallelNoGeneratorsCanBeApplied() {
+		final TestGenerator<StringInstance> lazyGenerator = new TestGenerator<>(new LazyStringGeneratorFactory());
+		lazyGenerator.setParallelism(4);
+		final List<StringInstance> instances = lazyGenerator.computeToDepth(3);
+		assertEquals(1, instances.size());
+	}
+	
+	@ParameterizedTest
+	@EnumSource(EDeduplicationIndex.class)
+	void testDeduplicationDepth3(final EDeduplicationIndex index) {
+		this.generator.setDeduplicationIndex(index);
+		final List<String> actualStr = new ArrayList<>();
+		this.generator.computeToDepth(3, i -> actualStr.add(i.str()));
+		assertEquals(7, actualStr.size());
+		assertEquals(Stream.of("", "1", "2", "11", "12", "21", "22").collect(Collectors.toSet()), new HashSet<>(actualStr));
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = ETraversalStrategy.class, names = "RANDOM_WALK", mode = EnumSource.Mode.EXCLUDE)
+	void testDeduplicationAcrossDepths(final ETraversalStrategy strategy) {
+		final TestGenerator<StringInstance> cyclicGenerator = new TestGenerator<>(new CyclicStringGeneratorFactory());
+		cyclicGenerator.setTraversalStrategy(strategy);
+		cyclicGenerator.setDeduplicationIndex(EDeduplicationIndex.HEAP);
+		final List<String> actualStr = new ArrayList<>();
+		cyclicGenerator.computeToDepth(6, i -> actualStr.add(i.str()));
+		assertEquals(Stream.of("", "a", "b").collect(Collectors.toList()), actualStr.stream().sorted().collect(Collectors.toList()));
+	}
+	
+	@Test
+	void testNoDeduplicationAcrossDepths() {
+		final TestGenerator<StringInstance> cyclicGenerator = new TestGenerator<>(new CyclicStringGeneratorFactory());
+		final List<String> actualStr = new ArrayList<>();
+		cyclicGenerator.computeToDepth(6, i -> actualStr.add(i.str()));
+		assertEquals(6, actualStr.size());
+	}
+	
+	@Test
+	void testParallelDeduplication() {
+		this.generator.setParallelism(4);
+		this.generator.setDeduplicationIndex(EDeduplicationIndex.OFF_HEAP);
+		final List<String> actualStr = new ArrayList<>();
+		this.generator.computeToDepth(4, i -> actualStr.add(i.str()));
+		assertEquals(15, actualStr.size());
+		assertEquals(15, new HashSet<>(actualStr).size());
+	}
+	
+	@Test
+	void testNegativeFrontierBudget() {
+		assertThrows(IllegalArgumentException.class, () -> this.generator.setFrontierBudget(-1));
+	}
+	
+	@ParameterizedTest
+	@ValueSource(ints = {1, 4})
+	void testFrontierBudget(final int parallelism) throws IOException {
+		final Path dir = Files.createTempDirectory("rubens-test-");
+		this.generator.setParallelism(parallelism);
+		this.generator.setFrontierBudget(1);
+		this.generator.setSpillDirectory(dir);
+		final List<String> actualStr = new ArrayList<>();
+		this.generator.computeToDepth(4, i -> actualStr.add(i.str()));
+		assertEquals(15, actualStr.size());
+		assertEquals(15, new HashSet<>(actualStr).size());
+		try(final Stream<Path> files = Files.list(dir)) {
+			assertEquals(0, files.count());
+		}
+		Files.delete(dir);
+	}
+	
+	@Test
+	void testNegativeLimits() {
+		assertThrows(IllegalArgumentException.class, () -> this.generator.setMaxInstances(-1));
+		assertThrows(IllegalArgumentException.class, () -> this.generator.setMaxTime(Duration.ofSeconds(-1)));
+		assertThrows(IllegalArgumentException.class, () -> this.generator.setMaxHeap(-1));
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = ETraversalStrategy.class, names = "RANDOM_WALK", mode = EnumSource.Mode.EXCLUDE)
+	void testNoLimitReport(final ETraversalStrategy strategy) {
+		this.generator.setTraversalStrategy(strategy);
+		final GenerationReport report = this.generator.computeToDepth(3, i -> {});
+		assertEquals(7, report.getInstanceCount());
+		assertEquals(3, report.getDepth());
+		assertEquals(EStopReason.COMPLETED, report.getStopReason());
+	}
+	
+	@ParameterizedTest
+	@EnumSource(ETraversalStrategy.class)
+	void testMaxInstances(final ETraversalStrategy strategy) {
+		this.generator.setTraversalStrategy(strategy);
+		this.generator.setMaxInstances(5);
+		final List<String> actualStr = new ArrayList<>();
+		final GenerationReport report = this.generator.computeToDepth(64, i -> actualStr.add(i.str()));
+		assertEquals(5, actualStr.size());
+		assertEquals(5, report.getInstanceCount());
+		assertEquals(EStopReason.MAX_INSTANCES, report.getStopReason());
+	}
+	
+	@Test
+	void testMaxInstancesParallel() {
+		this.generator.setParallelism(4);
+		this.generator.setMaxInstances(100);
+		final List<String> actualStr = Collections.synchronizedList(new ArrayList<>());
+		final GenerationReport report = this.generator.computeToDepth(10, i -> actualStr.add(i.str()));
+		assertEquals(100, actualStr.size());
+		assertEquals(7, report.getDepth());
+		assertEquals(EStopReason.MAX_INSTANCES, report.getStopReason());
+	}
+	
+	@Test
+	void testMaxTimeFinishesLevel() {
+		this.generator.setMaxTime(Duration.ofNanos(1));
+		final GenerationReport report = this.generator.computeToDepth(64, i -> {});
+		assertEquals(1, report.getInstanceCount());
+		assertEquals(1, report.getDepth());
+		assertEquals(EStopReason.MAX_TIME, report.getStopReason());
+	}
+	
+	@Test
+	void testMaxHeapFinishesLevel() {
+		this.generator.setMaxHeap(1);
+		final GenerationReport report = this.generator.computeToDepth(64, i -> {});
+		assertEquals(1, report.getInstanceCount());
+		assertEquals(EStopReason.MAX_HEAP, report.getStopReason());
+	}
+	
+	@ParameterizedTest
+	@EnumSource(ETraversalStrategy.class)
+	void testStreamMaxInstances(final ETraversalStrategy strategy) {
+		this.generator.setTraversalStrategy(strategy);
+		this.generator.setMaxInstances(5);
+		assertEquals(5, this.generator.stream(64).count());
+	}
+	
+	@Test
+	void testParallelStreamMaxInstances() {
+		this.generator.setMaxInstances(100);
+		assertEquals(100, this.generator.stream(10).parallel().count());
+	}
+	
+	@Test
+	void testWrongWalkParameters() {
+		assertThrows(IllegalArgumentException.class, () -> this.generator.setWalks(0));
+		assertThrows(IllegalArgumentException.class, () -> this.generator.setReservoirSize(-1));
+	}
+	
+	@ParameterizedTest
+	@ValueSource(ints = {1, 4})
+	void testRandomWalkLeaves(final int parallelism) {
+		this.generator.setTraversalStrategy(ETraversalStrategy.RANDOM_WALK);
+		this.generator.setParallelism(parallelism);
+		this.generator.setWalks(100);
+		final List<String> actualStr = new ArrayList<>();
+		this.generator.computeToDepth(8, i -> actualStr.add(i.str()));
+		assertEquals(100, actualStr.size());
+		assertTrue(actualStr.stream().allMatch(str -> str.length() == 7));
+	}
+	
+	@Test
+	void testRandomWalkAll() {
+		this.generator.setTraversalStrategy(ETraversalStrategy.RANDOM_WALK);
+		this.generator.setWalkEmission(EWalkEmission.ALL);
+		this.generator.setWalks(10);
+		final List<String> actualStr = new ArrayList<>();
+		this.generator.computeToDepth(5, i -> actualStr.add(i.str()));
+		assertEquals(41, actualStr.size());
+		assertEquals(1, actualStr.stream().filter(String::isEmpty).count());
+		assertEquals(10, actualStr.stream().filter(str -> str.length() == 4).count());
+	}
+	
+	@Test
+	void testRandomWalkDeduplication() {
+		this.generator.setTraversalStrategy(ETraversalStrategy.RANDOM_WALK);
+		this.generator.setWalkEmission(EWalkEmission.ALL);
+		this.generator.setDeduplicationIndex(EDeduplicationIndex.HEAP);
+		this.generator.setWalks(1000);
+		final Set<String> expectedStr = Stream.of("", "1", "2", "11", "12", "21", "22").collect(Collectors.toSet());
+		final List<String> actualStr = new ArrayList<>();
+		this.generator.computeToDepth(3, i -> actualStr.add(i.str()));
+		assertEquals(7, actualStr.size());
+		assertEquals(expectedStr, new HashSet<>(actualStr));
+	}
+	
+	@ParameterizedTest
+	@ValueSource(ints = {1, 4})
+	void testRandomWalkReservoir(final int parallelism) {
+		this.generator.setTraversalStrategy(ETraversalStrategy.RANDOM_WALK);
+		this.generator.setParallelism(parallelism);
+		this.generator.setWalkEmission(EWalkEmission.ALL);
+		this.generator.setReservoirSize(3);
+		this.generator.setWalks(100);
+		final List<String> actualStr = new ArrayList<>();
+		this.generator.computeToDepth(5, i -> actualStr.add(i.str()));
+		assertEquals(13, actualStr.size());
+		for(int i=1; i<actualStr.size(); ++i) {
+			assertTrue(actualStr.get(i-1).length() <= actualStr.get(i).length());
+		}
+	}
+	
+	@Test
+	void testRandomWalkDeep() {
+		this.generator.setTraversalStrategy(ETraversalStrategy.RANDOM_WALK);
+		this.generator.setWalks(10);
+		assertTrue(this.generator.stream(1000).allMatch(i -> i.str().length() == 999));
+	}
+	
+	@Test
+	void testRandomWalkDeadEnd() {
+		final TestGenerator<StringInstance> lazyGenerator = new TestGenerator<>(new LazyStringGeneratorFactory());
+		lazyGenerator.setTraversalStrategy(ETraversalStrategy.RANDOM_WALK);
+		lazyGenerator.setWalks(10);
+		assertEquals(10, lazyGenerator.stream(3).filter(i -> i.str().isEmpty()).count());
+	}
+	
+	@Test
+	void testParallelStreamRandomWalk() {
+		this.generator.setTraversalStrategy(ETraversalStrategy.RANDOM_WALK);
+		this.generator.setWalks(1000);
+		assertEquals(1000, this.generator.stream(8).parallel().count());
+	}
+	
+	@Test
+	void testStreamNullDepth() {
+		assertThrows(IllegalArgumentException.class, () -> this.generator.stream(0));
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = ETraversalStrategy.class, names = "RANDOM_WALK", mode = EnumSource.Mode.EXCLUDE)
+	void testStreamDepth3(final ETraversalStrategy strategy) {
+		this.generator.setTraversalStrategy(strategy);
+		final Set<String> expectedStr = Stream.of("", "1", "2", "11", "12", "21", "22").collect(Collectors.toSet());
+		assertEquals(expectedStr, this.generator.stream(3).map(StringInstance::str).collect(Collectors.toSet()));
+	}
+	
+	@Test
+	void testStreamBreadthFirstOrder() {
+		final List<String> actualStr = this.generator.stream(3).map(StringInstance::str).collect(Collectors.toList());
+		assertEquals(Stream.of("", "1", "2", "11", "12", "21", "22").collect(Collectors.toList()), actualStr);
+	}
+	
+	@Test
+	void testStreamDepthFirstOrder() {
+		this.generator.setTraversalStrategy(ETraversalStrategy.DEPTH_FIRST);
+		final List<String> actualStr = this.generator.stream(3).map(StringInstance::str).collect(Collectors.toList());
+		assertEquals(Stream.of("", "1", "11", "12", "2", "21", "22").collect(Collectors.toList()), actualStr);
+	}
+	
+	@ParameterizedTest
+	@EnumSource(ETraversalStrategy.class)
+	void testStreamIsLazy(final ETraversalStrategy strategy) {
+		this.generator.setTraversalStrategy(strategy);
+		assertEquals(5, this.generator.stream(64).limit(5).count());
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = ETraversalStrategy.class, names = "RANDOM_WALK", mode = EnumSource.Mode.EXCLUDE)
+	void testStreamNoGeneratorsCanBeApplied(final ETraversalStrategy strategy) {
+		final TestGenerator<StringInstance> lazyGenerator = new TestGenerator<>(new LazyStringGeneratorFactory());
+		lazyGenerator.setTraversalStrategy(strategy);
+		assertEquals(1, lazyGenerator.stream(3).count());
+	}
+	
+	@Test
+	void testParallelStream() {
+		final List<String> actualStr = this.generator.stream(10).parallel().map(StringInstance::str).collect(Collectors.toList());
+		assertEquals(1023, actualStr.size());
+		assertEquals(1023, new HashSet<>(actualStr).size());
+	}
+	
+	@Test
+	void testStreamWithStatefulTranslators() {
+		final TestGenerator<StringInstance> numberingGenerator = new TestGenerator<>(new NumberingStringGeneratorFactory());
+		final Set<String> expectedStr = numberingGenerator.computeToDepth(6).stream().map(StringInstance::str).collect(Collectors.toSet());
+		assertEquals(63, expectedStr.size());
+		assertEquals(expectedStr, numberingGenerator.stream(6).map(StringInstance::str).collect(Collectors.toSet()));
+		assertEquals(expectedStr, numberingGenerator.stream(6).parallel().map(StringInstance::str).collect(Collectors.toSet()));
+	}
+	
+	@Test
+	void testParallelStreamDeduplication() {
+		final TestGenerator<StringInstance> cyclicGenerator = new TestGenerator<>(new CyclicStringGeneratorFactory());
+		cyclicGenerator.setDeduplicationIndex(EDeduplicationIndex.HEAP);
+		assertEquals(3, cyclicGenerator.stream(6).parallel().count());
+	}
+	
+	@ParameterizedTest
+	@EnumSource(value = ETraversalStrategy.class, names = "RANDOM_WALK", mode = EnumSource.Mode.EXCLUDE)
+	void testShards(final ETraversalStrategy strategy) {
+		final Set<String> union = new HashSet<>();
+		int total = 0;
+		for(int i=0; i<3; ++i) {
+			this.generator.setTraversalStrategy(strategy);
+			this.generator.setShard(i, 3);
+			final List<String> shard = new ArrayList<>();
+			this.generator.computeToDepth(5, inst -> shard.add(inst.str()));
+			total += shard.size();
+			union.addAll(shard);
+		}
+		assertEquals(31, total);
+		assertEquals(31, union.size());
+	}
+	
+	@Test
+	void testShardsParallelStream() {
+		final Set<String> union = new HashSet<>();
+		for(int i=0; i<3; ++i) {
+			this.generator.setShard(i, 3);
+			union.addAll(this.generator.stream(10).parallel().map(StringInstance::str).collect(Collectors.toList()));
+		}
+		assertEquals(1023, union.size());
+	}
+	
+	@Test
+	void testWrongShard() {
+		assertThrows(IllegalArgumentException.class, () -> this.generator.setShard(3, 3));
+		assertThrows(IllegalArgumentException.class, () -> this.generator.setShard(-1, 3));
+		assertThrows(IllegalArgumentException.class, () -> this.generator.setShard(0, 0));
+	}
+	
+	@Test
+	void testPublisherNullDepth() {
+		assertThrows(IllegalArgumentException.class, () -> this.generator.publisher(0));
+	}
+	
+	@Test
+	void testPublisherDemand() {
+		final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+		this.generator.publisher(64).subscribe(subscriber);
+		assertTrue(subscriber.received.isEmpty());
+		subscriber.subscription.request(2);
+		assertEquals(Stream.of("", "1").collect(Collectors.toList()), subscriber.received);
+		subscriber.subscription.request(1);
+		assertEquals(Stream.of("", "1", "2").collect(Collectors.toList()), subscriber.received);
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(1);
+		assertEquals(3, subscriber.received.size());
+		assertFalse(subscriber.completed);
+	}
+	
+	@Test
+	void testPublisherCompletes() {
+		final RecordingSubscriber subscriber = new RecordingSubscriber(1);
+		this.generator.publisher(3).subscribe(subscriber);
+		assertEquals(Stream.of("", "1", "2", "11", "12", "21", "22").collect(Collectors.toList()), subscriber.received);
+		assertTrue(subscriber.completed);
+	}
+	
+	@Test
+	void testParallelPublisher() {
+		this.generator.setParallelism(4);
+		final RecordingSubscriber subscriber = new RecordingSubscriber(1);
+		this.generator.publisher(4).subscribe(subscriber);
+		assertEquals(15, subscriber.received.size());
+		assertEquals(15, new HashSet<>(subscriber.received).size());
+		assertTrue(subscriber.completed);
+	}
+	
+	@Test
+	void testParallelPublisherCancel() {
+		this.generator.setParallelism(4);
+		final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+		this.generator.publisher(64).subscribe(subscriber);
+		subscriber.subscription.request(3);
+		assertEquals(3, subscriber.received.size());
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(1);
+		assertEquals(3, subscriber.received.size());
+		assertFalse(subscriber.completed);
+	}
+	
+	@Test
+	void testParallelRandomWalkPublisherCancel() throws InterruptedException {
+		this.generator.setTraversalStrategy(ETraversalStrategy.RANDOM_WALK);
+		this.generator.setParallelism(4);
+		this.generator.setWalks(1000);
+		final Set<Thread> threadsBefore = Thread.getAllStackTraces().keySet();
+		final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+		this.generator.publisher(64).subscribe(subscriber);
+		subscriber.subscription.request(3);
+		assertEquals(3, subscriber.received.size());
+		final Set<Thread> generationThreads = Thread.getAllStackTraces().keySet().stream().filter(t -> !threadsBefore.contains(t)).collect(Collectors.toSet());
+		assertFalse(generationThreads.isEmpty());
+		subscriber.subscription.cancel();
+		for(final Thread thread : generationThreads) {
+			thread.join(5000);
+			assertFalse(thread.isAlive(), thread.getName());
+		}
+	}
+	
+	@Test
+	void testPublisherWrongRequest() {
+		final RecordingSubscriber subscriber = new RecordingSubscriber(0);
+		this.generator.publisher(3).subscribe(subscriber);
+		subscriber.subscription.request(0);
+		assertTrue(subscriber.error instanceof IllegalArgumentException);
+		assertTrue(subscriber.received.isEmpty());
+	}
+	
+	private static class RecordingSubscriber implements Flow.Subscriber<StringInstance> {
+		
+		private final int requestOnNext;
+		
+		private Flow.Subscription subscription;
+		
+		private final List<String> received = new ArrayList<>();
+		
+		private boolean completed = false;
+		
+		private Throwable error;
+		
+		private RecordingSubscriber(final int requestOnNext) {
+			this.requestOnNext = requestOnNext;
+		}
+		
+		@Override
+		public void onSubscribe(final Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if(this.requestOnNext > 0) {
+				subscription.request(this.requestOnNext);
+			}
+		}
+		
+		@Override
+		public void onNext(final StringInstance item) {
+			this.received.add(item.str());
+			if(this.requestOnNext > 0) {
+				this.subscription.request(this.requestOnNext);
+			}
+		}
+		
+		@Override
+		public void onError(final Throwable throwable) {
+			this.error = throwable;
+		}
+		
+		@Override
+		public void onComplete() {
+			this.completed = true;
+		}
+		
+	}
 
 }
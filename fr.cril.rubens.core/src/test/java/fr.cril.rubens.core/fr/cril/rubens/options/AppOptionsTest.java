@@ -26,6 +26,7 @@ package fr.cril.rubens.options;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -42,6 +43,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.slf4j.Logger;
 
+import fr.cril.rubens.core.EDeduplicationIndex;
+import fr.cril.rubens.core.ETraversalStrategy;
+import fr.cril.rubens.core.EWalkEmission;
 import fr.cril.rubens.utils.LoggerHelper;
 
 class AppOptionsTest {
@@ -133,6 +137,216 @@ class AppOptionsTest {
 		assertTrue(options.mustExit());
 	}
 	
+	@Test
+	void testDefaultTraversalStrategy() {
+		assertEquals(AppOptions.DEFAULT_TRAVERSAL_STRATEGY, options.getTraversalStrategy());
+	}
+	
+	@Test
+	void testTraversalStrategy() {
+		options.setTraversalStrategy("iddfs");
+		assertEquals(ETraversalStrategy.ITERATIVE_DEEPENING, options.getTraversalStrategy());
+		assertFalse(options.mustExit());
+	}
+	
+	@Test
+	void testUnknownTraversalStrategy() {
+		options.setTraversalStrategy("foo");
+		assertTrue(options.mustExit());
+	}
+	
+	@Test
+	void testGenerationThreads() {
+		options.setGenerationThreads("4");
+		assertEquals(4, options.getGenerationThreads());
+		assertFalse(options.mustExit());
+	}
+	
+	@Test
+	void testNullGenerationThreads() {
+		options.setGenerationThreads("0");
+		assertTrue(options.mustExit());
+		assertEquals(AppOptions.DEFAULT_GENERATION_THREADS, options.getGenerationThreads());
+	}
+	
+	@Test
+	void testNaNGenerationThreads() {
+		options.setGenerationThreads("foo");
+		assertTrue(options.mustExit());
+	}
+	
+	@Test
+	void testDeduplicationIndex() {
+		options.setDeduplicationIndex("off-heap");
+		assertEquals(EDeduplicationIndex.OFF_HEAP, options.getDeduplicationIndex());
+		assertFalse(options.mustExit());
+	}
+	
+	@Test
+	void testUnknownDeduplicationIndex() {
+		options.setDeduplicationIndex("foo");
+		assertTrue(options.mustExit());
+	}
+	
+	@Test
+	void testFrontierBudget() {
+		options.setFrontierBudget("512");
+		assertEquals(512, options.getFrontierBudget());
+		assertFalse(options.mustExit());
+	}
+	
+	@Test
+	void testNegativeFrontierBudget() {
+		options.setFrontierBudget("-1");
+		assertTrue(options.mustExit());
+		assertEquals(AppOptions.DEFAULT_FRONTIER_BUDGET, options.getFrontierBudget());
+	}
+	
+	@Test
+	void testNaNFrontierBudget() {
+		options.setFrontierBudget("foo");
+		assertTrue(options.mustExit());
+	}
+	
+	@Test
+	void testGenerationLimits() {
+		options.setMaxInstances("1000");
+		options.setMaxTime("60");
+		options.setMaxHeap("512");
+		assertEquals(1000, options.getMaxInstances());
+		assertEquals(60, options.getMaxTime());
+		assertEquals(512, options.getMaxHeap());
+		assertFalse(options.mustExit());
+	}
+	
+	@Test
+	void testNegativeMaxInstances() {
+		options.setMaxInstances("-1");
+		assertTrue(options.mustExit());
+		assertEquals(AppOptions.DEFAULT_MAX_INSTANCES, options.getMaxInstances());
+	}
+	
+	@Test
+	void testNaNMaxTime() {
+		options.setMaxTime("foo");
+		assertTrue(options.mustExit());
+		assertEquals(AppOptions.DEFAULT_MAX_TIME, options.getMaxTime());
+	}
+	
+	@Test
+	void testNaNMaxHeap() {
+		options.setMaxHeap("foo");
+		assertTrue(options.mustExit());
+		assertEquals(AppOptions.DEFAULT_MAX_HEAP, options.getMaxHeap());
+	}
+	
+	@Test
+	void testResetGenerationLimits() {
+		options.setMaxInstances("1000");
+		options.setMaxTime("60");
+		options.setMaxHeap("512");
+		options.reset();
+		assertEquals(AppOptions.DEFAULT_MAX_INSTANCES, options.getMaxInstances());
+		assertEquals(AppOptions.DEFAULT_MAX_TIME, options.getMaxTime());
+		assertEquals(AppOptions.DEFAULT_MAX_HEAP, options.getMaxHeap());
+	}
+	
+	@Test
+	void testWalkParameters() {
+		options.setTraversalStrategy("rw");
+		options.setWalks("100");
+		options.setReservoirSize("10");
+		options.setWalkEmission("all");
+		assertEquals(ETraversalStrategy.RANDOM_WALK, options.getTraversalStrategy());
+		assertEquals(100, options.getWalks());
+		assertEquals(10, options.getReservoirSize());
+		assertEquals(EWalkEmission.ALL, options.getWalkEmission());
+		assertFalse(options.mustExit());
+	}
+	
+	@Test
+	void testNullWalks() {
+		options.setWalks("0");
+		assertTrue(options.mustExit());
+		assertEquals(AppOptions.DEFAULT_WALKS, options.getWalks());
+	}
+	
+	@Test
+	void testNegativeReservoirSize() {
+		options.setReservoirSize("-1");
+		assertTrue(options.mustExit());
+		assertEquals(AppOptions.DEFAULT_RESERVOIR_SIZE, options.getReservoirSize());
+	}
+	
+	@Test
+	void testUnknownWalkEmission() {
+		options.setWalkEmission("foo");
+		assertTrue(options.mustExit());
+	}
+	
+	@Test
+	void testResetWalkParameters() {
+		options.setWalks("100");
+		options.setReservoirSize("10");
+		options.setWalkEmission("all");
+		options.reset();
+		assertEquals(AppOptions.DEFAULT_WALKS, options.getWalks());
+		assertEquals(AppOptions.DEFAULT_RESERVOIR_SIZE, options.getReservoirSize());
+		assertEquals(AppOptions.DEFAULT_WALK_EMISSION, options.getWalkEmission());
+	}
+	
+	@Test
+	void testShardAndSeed() {
+		options.setShard("2/3");
+		options.setSeed("-42");
+		assertEquals(2, options.getShardIndex());
+		assertEquals(3, options.getShardCount());
+		assertEquals(-42L, options.getSeed());
+		assertFalse(options.mustExit());
+	}
+	
+	@ParameterizedTest
+	@ValueSource(strings = {"3/3", "-1/3", "1", "a/3", "1/"})
+	void testWrongShard(final String value) {
+		options.setShard(value);
+		assertTrue(options.mustExit());
+		assertEquals(AppOptions.DEFAULT_SHARD_COUNT, options.getShardCount());
+	}
+	
+	@Test
+	void testWrongSeed() {
+		options.setSeed("foo");
+		assertTrue(options.mustExit());
+		assertNull(options.getSeed());
+	}
+	
+	@Test
+	void testResetShardAndSeed() {
+		options.setShard("2/3");
+		options.setSeed("42");
+		options.reset();
+		assertEquals(AppOptions.DEFAULT_SHARD_INDEX, options.getShardIndex());
+		assertEquals(AppOptions.DEFAULT_SHARD_COUNT, options.getShardCount());
+		assertNull(options.getSeed());
+	}
+	
+	@Test
+	void testSpillDirectory() throws IOException {
+		final Path dir = Files.createTempDirectory("rubens-test-");
+		options.setSpillDirectory(dir.toAbsolutePath().toString());
+		assertEquals(dir.toFile().getAbsoluteFile(), options.getSpillDirectory().getAbsoluteFile());
+		assertFalse(options.mustExit());
+		Files.delete(dir);
+	}
+	
+	@Test
+	void testSpillDirectoryIsAFile() throws IOException {
+		final Path file = Files.createTempFile("rubens-test-", ".tmp");
+		options.setSpillDirectory(file.toAbsolutePath().toString());
+		assertTrue(options.mustExit());
+		Files.delete(file);
+	}
+	
 	@Test
 	void testLoadOptions() {
 		options.loadOptions(new String[] {"-o1"});
@@ -180,6 +394,38 @@ class AppOptionsTest {
 		assertEquals(d, options.getMaxDepth());
 	}
 	
+	@Test
+	void testResetTraversalStrategy() {
+		options.setTraversalStrategy("DFS");
+		options.reset();
+		assertEquals(AppOptions.DEFAULT_TRAVERSAL_STRATEGY, options.getTraversalStrategy());
+	}
+	
+	@Test
+	void testResetGenerationThreads() {
+		options.setGenerationThreads("4");
+		options.reset();
+		assertEquals(AppOptions.DEFAULT_GENERATION_THREADS, options.getGenerationThreads());
+	}
+	
+	@Test
+	void testResetDeduplicationIndex() {
+		options.setDeduplicationIndex("heap");
+		options.reset();
+		assertEquals(AppOptions.DEFAULT_DEDUPLICATION_INDEX, options.getDeduplicationIndex());
+	}
+	
+	@Test
+	void testResetFrontierBudget() throws IOException {
+		final Path dir = Files.createTempDirectory("rubens-test-");
+		options.setFrontierBudget("512");
+		options.setSpillDirectory(dir.toAbsolutePath().toString());
+		options.reset();
+		assertEquals(AppOptions.DEFAULT_FRONTIER_BUDGET, options.getFrontierBudget());
+		assertNull(options.getSpillDirectory());
+		Files.delete(dir);
+	}
+	
 	@Test
 	void testSetOutputDirectoryNew() throws IOException {
 		final Path dir0 = Files.createTempDirectory("rubens-test-", PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
@@ -0,0 +1,59 @@
+package fr.cril.rubens.testutils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.List;
+
+import fr.cril.rubens.reflection.ReflectorParam;
+import fr.cril.rubens.specs.InstanceTranslator;
+import fr.cril.rubens.specs.TestGeneratorFactory;
+
+@ReflectorParam(enabled=false)
+public class CyclicStringGeneratorFactory implements TestGeneratorFactory<StringInstance> {
+
+	@Override
+	public StringInstance initInstance() {
+		return new StringInstance("");
+	}
+
+	@Override
+	public List<InstanceTranslator<StringInstance>> translators() {
+		return Collections.singletonList(new InstanceTranslator<StringInstance>() {
+
+			@Override
+			public boolean canBeAppliedTo(final StringInstance instance) {
+				return true;
+			}
+
+			@Override
+			public StringInstance translate(final StringInstance instance) {
+				return new StringInstance("a".equals(instance.str()) ? "b" : "a");
+			}
+			
+		});
+	}
+
+}
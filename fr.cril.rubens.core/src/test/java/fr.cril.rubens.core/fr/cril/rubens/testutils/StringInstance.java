@@ -26,13 +26,16 @@ package fr.cril.rubens.testutils;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import fr.cril.rubens.specs.Instance;
 
-public class StringInstance implements Instance {
+public class StringInstance implements Instance, Serializable {
+	
+	private static final long serialVersionUID = 1L;
 	
 	private final String str;
 	
@@ -58,6 +61,11 @@ public class StringInstance implements Instance {
 		}
 	}
 	
+	@Override
+	public int getSize() {
+		return this.str.length();
+	}
+	
 	@Override
 	public String toString() {
 		return this.str;
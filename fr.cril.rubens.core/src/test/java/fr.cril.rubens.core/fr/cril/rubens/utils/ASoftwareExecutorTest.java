@@ -25,22 +25,35 @@ package fr.cril.rubens.utils;
  */
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
+import fr.cril.rubens.core.CheckResult;
 import fr.cril.rubens.specs.Instance;
+import fr.cril.rubens.specs.OutputChecker;
 import fr.cril.rubens.testutils.StringInstance;
 
 class ASoftwareExecutorTest {
@@ -85,6 +98,25 @@ class ASoftwareExecutorTest {
 		assertEquals("", result.getStderr());
 	}
 	
+	@Test
+	void testOnlyInputFilesAreStaged() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		final StringInstance instance = new StringInstance("foo") {
+			@Override
+			public Collection<String> getFileExtensions() {
+				return Stream.of(".str", ".sol").collect(Collectors.toList());
+			}
+			
+			@Override
+			public Collection<String> getInputFileExtensions() {
+				return Stream.of(".str").collect(Collectors.toList());
+			}
+		};
+		assertEquals("foo\n", new StringInstanceSoftwareExecutor().exec(instance).getStdout());
+	}
+	
 	@Test
 	void testStatus() throws IOException, InterruptedException {
 		if(!checkTest()) {
@@ -110,6 +142,372 @@ class ASoftwareExecutorTest {
 		assertTrue(result.hasTimeouted());
 	}
 	
+	private boolean checkMkfifo() throws IOException, InterruptedException {
+		return checkExec(Stream.of("/usr/bin/mkfifo", "--version").collect(Collectors.toList()), "/usr/bin");
+	}
+	
+	@Test
+	void testScratchStaging() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		try(final StringInstanceSoftwareExecutor executor = new StringInstanceSoftwareExecutor()) {
+			executor.setStaging(EInstanceStaging.SCRATCH);
+			assertEquals(EInstanceStaging.SCRATCH, executor.getStaging());
+			assertEquals("foo\n", executor.exec(new StringInstance("foo")).getStdout());
+			assertEquals("bar\n", executor.exec(new StringInstance("bar")).getStdout());
+		}
+	}
+	
+	@Test
+	void testFifoStaging() throws IOException, InterruptedException {
+		if(!checkCat() || !checkMkfifo()) {
+			return;
+		}
+		try(final StringInstanceSoftwareExecutor executor = new StringInstanceSoftwareExecutor()) {
+			executor.setStaging(EInstanceStaging.FIFO);
+			assertEquals("foo\n", executor.exec(new StringInstance("foo")).getStdout());
+			assertEquals("bar\n", executor.exec(new StringInstance("bar")).getStdout());
+		}
+	}
+	
+	@Test
+	void testFifoStagingUnreadInstance() throws IOException, InterruptedException {
+		if(!checkTest() || !checkMkfifo()) {
+			return;
+		}
+		try(final PositiveStatusSoftwareExecutor executor = new PositiveStatusSoftwareExecutor()) {
+			executor.setStaging(EInstanceStaging.FIFO);
+			assertNotEquals(0, executor.exec(new StringInstance("foo")).getStatus());
+			assertNotEquals(0, executor.exec(new StringInstance("bar")).getStatus());
+		}
+	}
+	
+	@Test
+	void testStagingFromShortName() {
+		assertEquals(EInstanceStaging.FIFO, EInstanceStaging.fromShortName("FIFO"));
+		assertThrows(IllegalArgumentException.class, () -> EInstanceStaging.fromShortName("foo"));
+	}
+	
+	@Test
+	void testStderrCaptureFromShortName() {
+		assertEquals(EStderrCapture.TAIL, EStderrCapture.fromShortName("TAIL"));
+		assertThrows(IllegalArgumentException.class, () -> EStderrCapture.fromShortName("foo"));
+	}
+	
+	@Test
+	void testWrongOutputLimits() {
+		final StringInstanceSoftwareExecutor executor = new StringInstanceSoftwareExecutor();
+		assertThrows(IllegalArgumentException.class, () -> executor.setOutputLimits(-1, EStderrCapture.FULL, 0));
+	}
+	
+	@Test
+	void testStdoutLimit() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		final Path software = writeServer("while true; do echo \"v 1 2 3\"; done");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(software)) {
+			executor.setOutputLimits(1000, EStderrCapture.FULL, 0);
+			final SoftwareExecutorResult result = executor.exec(new StringInstance("foo"));
+			assertTrue(result.hasExceededOutputLimit());
+			assertFalse(result.hasTimeouted());
+			assertTrue(result.getStdout().length() <= 1001);
+		}
+	}
+	
+	@Test
+	void testStderrTail() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		final Path software = writeServer("i=0; while [ $i -lt 1000 ]; do echo $i >&2; i=$((i+1)); done");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(software)) {
+			executor.setOutputLimits(0, EStderrCapture.TAIL, 8);
+			final SoftwareExecutorResult result = executor.exec(new StringInstance("foo"));
+			assertFalse(result.hasExceededOutputLimit());
+			assertEquals("998\n999\n", result.getStderr());
+			executor.setOutputLimits(0, EStderrCapture.DISCARD, 0);
+			assertEquals("", executor.exec(new StringInstance("foo")).getStderr());
+			executor.setOutputLimits(0, EStderrCapture.FULL, 8);
+			assertTrue(executor.exec(new StringInstance("foo")).hasExceededOutputLimit());
+		}
+	}
+	
+	@Test
+	void testServerModeStdoutLimit() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		final Path server = writeServer("while read f; do if grep -q loop \"$f\"; then while true; do echo \"v 1 2 3\"; done; fi; cat \"$f\"; echo; echo \"--rubens-end--\"; done");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(server)) {
+			executor.setServerMode(true);
+			executor.setOutputLimits(1000, EStderrCapture.FULL, 0);
+			assertTrue(executor.exec(new StringInstance("loop")).hasExceededOutputLimit());
+			final SoftwareExecutorResult result = executor.exec(new StringInstance("foo"));
+			assertFalse(result.hasExceededOutputLimit());
+			assertEquals("foo\n", result.getStdout());
+		}
+	}
+	
+	private Path writeServer(final String script) throws IOException {
+		final Path server = Files.createTempFile("rubens-server-", ".sh");
+		Files.write(server, ("#!/bin/sh\n"+script+"\n").getBytes());
+		Files.setPosixFilePermissions(server, PosixFilePermissions.fromString("rwx------"));
+		server.toFile().deleteOnExit();
+		return server;
+	}
+	
+	@Test
+	void testResourceUsage() throws IOException, InterruptedException {
+		if(!checkCat() || !Files.isDirectory(Paths.get("/proc/self"))) {
+			return;
+		}
+		final Path software = writeServer("i=0; while [ $i -lt 300000 ]; do i=$((i+1)); done; cat \"$1\"");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(software)) {
+			final SoftwareExecutorResult result = executor.exec(new StringInstance("foo"));
+			assertEquals("foo\n", result.getStdout());
+			final ResourceUsage usage = result.getResourceUsage();
+			assertTrue(usage.getWallTime() > 0);
+			assertTrue(usage.getUserTime() + usage.getSystemTime() > 0);
+			assertTrue(usage.getPeakMemory() > 0);
+		}
+	}
+	
+	@Test
+	void testServerModeResourceUsage() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		final Path server = writeServer("while read f; do cat \"$f\"; echo; echo \"--rubens-end--\"; done");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(server)) {
+			executor.setServerMode(true);
+			assertTrue(executor.exec(new StringInstance("foo")).getResourceUsage().getWallTime() > 0);
+		}
+	}
+	
+	@Test
+	void testNoResourceUsage() {
+		assertEquals(ResourceUsage.NONE, new SoftwareExecutorResult(0, false, "", "").getResourceUsage());
+	}
+	
+	@Test
+	void testServerModeNotSupported() {
+		final StringInstanceSoftwareExecutor executor = new StringInstanceSoftwareExecutor();
+		assertFalse(executor.isServerModeSupported());
+		assertThrows(IllegalStateException.class, () -> executor.setServerMode(true));
+	}
+	
+	@Test
+	void testServerModeReusesProcess() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		final Path server = writeServer("while read f; do echo $$; cat \"$f\"; echo; echo \"--rubens-end--\"; done");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(server)) {
+			executor.setServerMode(true);
+			final SoftwareExecutorResult result1 = executor.exec(new StringInstance("foo"));
+			final SoftwareExecutorResult result2 = executor.exec(new StringInstance("bar"));
+			assertEquals(0, result1.getStatus());
+			assertEquals(0, result2.getStatus());
+			final String[] lines1 = result1.getStdout().split("\n");
+			final String[] lines2 = result2.getStdout().split("\n");
+			assertEquals("foo", lines1[1]);
+			assertEquals("bar", lines2[1]);
+			assertEquals(lines1[0], lines2[0]);
+		}
+	}
+	
+	@Test
+	void testServerModeDiscardsLeftoverLines() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		final Path server = writeServer("while read f; do cat \"$f\"; echo; echo \"--rubens-end--\"; echo leftover; done");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(server)) {
+			executor.setServerMode(true);
+			final SoftwareExecutorResult result1 = executor.exec(new StringInstance("foo"));
+			Thread.sleep(200);
+			final SoftwareExecutorResult result2 = executor.exec(new StringInstance("bar"));
+			assertEquals("foo\n", result1.getStdout());
+			assertEquals("bar\n", result2.getStdout());
+		}
+	}
+	
+	@Test
+	void testServerModeRestartsAfterCrash() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		final Path server = writeServer("while read f; do if grep -q crash \"$f\"; then exit 3; fi; cat \"$f\"; echo; echo \"--rubens-end--\"; done");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(server)) {
+			executor.setServerMode(true);
+			final SoftwareExecutorResult crashed = executor.exec(new StringInstance("crash"));
+			assertEquals(3, crashed.getStatus());
+			assertFalse(crashed.hasTimeouted());
+			final SoftwareExecutorResult result = executor.exec(new StringInstance("foo"));
+			assertEquals(0, result.getStatus());
+			assertEquals("foo\n", result.getStdout());
+		}
+	}
+	
+	@Test
+	void testServerModeTimeout() throws IOException, InterruptedException {
+		if(!checkSleep()) {
+			return;
+		}
+		final Path server = writeServer("while read f; do sleep 10; done");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(server)) {
+			executor.setServerMode(true);
+			executor.setTimeout(100, TimeUnit.MILLISECONDS);
+			assertTrue(executor.exec(new StringInstance("foo")).hasTimeouted());
+		}
+	}
+	
+	private void assertCancelStopsSoftware(final ServerSoftwareExecutor executor) throws InterruptedException, ExecutionException, TimeoutException {
+		final long start = System.nanoTime();
+		final CompletableFuture<SoftwareExecutorResult> future = CompletableFuture.supplyAsync(() -> executor.exec(new StringInstance("foo")));
+		Thread.sleep(200);
+		executor.cancel();
+		assertTrue(executor.isCancelled());
+		assertFalse(future.get(10, TimeUnit.SECONDS).hasTimeouted());
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+	}
+	
+	@Test
+	void testCancel() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+		if(!checkSleep()) {
+			return;
+		}
+		final Path software = writeServer("sleep 30; echo");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(software)) {
+			assertFalse(executor.isCancelled());
+			assertCancelStopsSoftware(executor);
+		}
+	}
+	
+	@Test
+	void testServerModeCancel() throws IOException, InterruptedException, ExecutionException, TimeoutException {
+		if(!checkSleep()) {
+			return;
+		}
+		final Path server = writeServer("while read f; do sleep 30; done");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(server)) {
+			executor.setServerMode(true);
+			assertCancelStopsSoftware(executor);
+		}
+	}
+	
+	@Test
+	void testExecAfterCancel() throws IOException, InterruptedException {
+		if(!checkSleep()) {
+			return;
+		}
+		final Path software = writeServer("sleep 30; echo");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(software)) {
+			executor.cancel();
+			final long start = System.nanoTime();
+			executor.exec(new StringInstance("foo"));
+			assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+		}
+	}
+	
+	private OutputChecker newLineChecker(final String expected) {
+		return new OutputChecker() {
+			
+			private final List<String> lines = new ArrayList<>();
+			
+			@Override
+			public CheckResult consumeLine(final String line) {
+				this.lines.add(line);
+				return line.equals(expected) ? null : CheckResult.newError("unexpected line: "+line);
+			}
+			
+			@Override
+			public CheckResult end() {
+				return this.lines.equals(Collections.singletonList(expected)) ? CheckResult.SUCCESS : CheckResult.newError("wrong output");
+			}
+		};
+	}
+	
+	@Test
+	void testOutputChecker() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		final SoftwareExecutorResult result = new StringInstanceSoftwareExecutor().exec(new StringInstance("foo"), newLineChecker("foo"));
+		assertEquals(CheckResult.SUCCESS, result.getCheckResult());
+		assertEquals("", result.getStdout());
+	}
+	
+	@Test
+	void testOutputCheckerStopsSoftware() throws IOException, InterruptedException {
+		if(!checkSleep()) {
+			return;
+		}
+		final Path software = writeServer("cat \"$1\"; echo; exec sleep 30");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(software)) {
+			final long start = System.nanoTime();
+			final SoftwareExecutorResult result = executor.exec(new StringInstance("bar"), newLineChecker("foo"));
+			assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+			assertFalse(result.hasTimeouted());
+			assertFalse(result.getCheckResult().isSuccessful());
+		}
+	}
+	
+	@Test
+	void testSlowOutputChecker() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		final OutputChecker lineChecker = newLineChecker("foo");
+		final OutputChecker slowChecker = new OutputChecker() {
+			
+			@Override
+			public CheckResult consumeLine(final String line) {
+				try {
+					Thread.sleep(2000);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return lineChecker.consumeLine(line);
+			}
+			
+			@Override
+			public CheckResult end() {
+				return lineChecker.end();
+			}
+		};
+		final StringInstanceSoftwareExecutor executor = new StringInstanceSoftwareExecutor();
+		executor.setTimeout(1, TimeUnit.SECONDS);
+		final SoftwareExecutorResult result = executor.exec(new StringInstance("foo"), slowChecker);
+		assertTrue(result.hasTimeouted());
+		assertNull(result.getCheckResult());
+	}
+	
+	@Test
+	void testNoOutputChecker() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		final SoftwareExecutorResult result = new StringInstanceSoftwareExecutor().exec(new StringInstance("foo"), null);
+		assertNull(result.getCheckResult());
+		assertEquals("foo\n", result.getStdout());
+	}
+	
+	@Test
+	void testServerModeOutputChecker() throws IOException, InterruptedException {
+		if(!checkCat()) {
+			return;
+		}
+		final Path server = writeServer("while read f; do cat \"$f\"; echo; echo \"--rubens-end--\"; done");
+		try(final ServerSoftwareExecutor executor = new ServerSoftwareExecutor(server)) {
+			executor.setServerMode(true);
+			assertFalse(executor.exec(new StringInstance("bar"), newLineChecker("foo")).getCheckResult().isSuccessful());
+			assertEquals(CheckResult.SUCCESS, executor.exec(new StringInstance("foo"), newLineChecker("foo")).getCheckResult());
+		}
+	}
+	
 	private class StringInstanceSoftwareExecutor extends ASoftwareExecutor<StringInstance> {
 		
 		private StringInstanceSoftwareExecutor() {
@@ -123,6 +521,24 @@ class ASoftwareExecutorTest {
 		
 	}
 	
+	private class ServerSoftwareExecutor extends ASoftwareExecutor<StringInstance> {
+		
+		private ServerSoftwareExecutor(final Path server) {
+			super(server);
+		}
+
+		@Override
+		protected List<String> cliArgs(final Path execLocation, final Map<String, Path> instanceFiles, final StringInstance instance) {
+			return Stream.of(execLocation.toAbsolutePath().toString(), instanceFiles.get(".str").toAbsolutePath().toString()).collect(Collectors.toList());
+		}
+		
+		@Override
+		public boolean isServerModeSupported() {
+			return true;
+		}
+		
+	}
+	
 	private class PositiveStatusSoftwareExecutor extends ASoftwareExecutor<Instance> {
 		
 		public PositiveStatusSoftwareExecutor() {
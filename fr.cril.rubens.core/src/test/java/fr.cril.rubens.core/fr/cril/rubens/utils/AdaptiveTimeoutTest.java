@@ -0,0 +1,109 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import fr.cril.rubens.testutils.StringInstance;
+
+class AdaptiveTimeoutTest {
+	
+	private static final long MAX = TimeUnit.MINUTES.toNanos(1);
+	
+	@Test
+	void testNotEnoughSamples() {
+		final AdaptiveTimeout timeout = new AdaptiveTimeout(2, 0);
+		final StringInstance instance = new StringInstance("a");
+		assertEquals(MAX, timeout.getTimeout(instance, MAX));
+		for(int i=0; i<AdaptiveTimeout.MIN_SAMPLES-1; ++i) {
+			timeout.record(instance, 1000);
+		}
+		assertEquals(MAX, timeout.getTimeout(instance, MAX));
+	}
+	
+	@Test
+	void testAdapted() {
+		final AdaptiveTimeout timeout = new AdaptiveTimeout(2, 0);
+		final StringInstance instance = new StringInstance("a");
+		for(int i=0; i<AdaptiveTimeout.MIN_SAMPLES; ++i) {
+			timeout.record(instance, 1000);
+		}
+		final long value = timeout.getTimeout(instance, MAX);
+		assertTrue(value >= 2000);
+		assertTrue(value <= 2250);
+	}
+	
+	@Test
+	void testPercentile() {
+		final AdaptiveTimeout timeout = new AdaptiveTimeout(1, 0);
+		final StringInstance instance = new StringInstance("a");
+		for(int i=0; i<1000; ++i) {
+			timeout.record(instance, i < 995 ? 1000 : 1_000_000);
+		}
+		final long value = timeout.getTimeout(instance, MAX);
+		assertTrue(value >= 1000);
+		assertTrue(value <= 1125);
+	}
+	
+	@Test
+	void testSizesAreSeparated() {
+		final AdaptiveTimeout timeout = new AdaptiveTimeout(2, 0);
+		final StringInstance small = new StringInstance("a");
+		final StringInstance big = new StringInstance("abc");
+		for(int i=0; i<AdaptiveTimeout.MIN_SAMPLES; ++i) {
+			timeout.record(small, 1000);
+		}
+		assertTrue(timeout.getTimeout(small, MAX) < MAX);
+		assertEquals(MAX, timeout.getTimeout(big, MAX));
+	}
+	
+	@Test
+	void testBounds() {
+		final AdaptiveTimeout timeout = new AdaptiveTimeout(2, 5000);
+		final StringInstance instance = new StringInstance("a");
+		for(int i=0; i<AdaptiveTimeout.MIN_SAMPLES; ++i) {
+			timeout.record(instance, 1000);
+		}
+		assertEquals(5000, timeout.getTimeout(instance, MAX));
+		assertEquals(3000, timeout.getTimeout(instance, 3000));
+	}
+	
+	@Test
+	void testWrongFactor() {
+		assertThrows(IllegalArgumentException.class, () -> new AdaptiveTimeout(0.5, 0));
+	}
+	
+	@Test
+	void testWrongMinTimeout() {
+		assertThrows(IllegalArgumentException.class, () -> new AdaptiveTimeout(2, -1));
+	}
+	
+}
@@ -0,0 +1,70 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class FingerprintHasherTest {
+	
+	@Test
+	void testDeterministic() {
+		assertEquals(new FingerprintHasher().putString("foo").putInt(1).fingerprint(), new FingerprintHasher().putString("foo").putInt(1).fingerprint());
+	}
+	
+	@Test
+	void testOrderSensitive() {
+		assertNotEquals(new FingerprintHasher().putInt(1).putInt(2).fingerprint(), new FingerprintHasher().putInt(2).putInt(1).fingerprint());
+	}
+	
+	@Test
+	void testStrings() {
+		assertNotEquals(new FingerprintHasher().putString("ab").putString("c").fingerprint(), new FingerprintHasher().putString("a").putString("bc").fingerprint());
+	}
+	
+	@Test
+	void testBytes() {
+		assertNotEquals(new FingerprintHasher().putBytes(new byte[] {1, 2}).fingerprint(), new FingerprintHasher().putBytes(new byte[] {1, 2, 0}).fingerprint());
+	}
+	
+	@Test
+	void testUnordered() {
+		final Fingerprint f1 = new FingerprintHasher().putString("a").fingerprint();
+		final Fingerprint f2 = new FingerprintHasher().putString("b").fingerprint();
+		assertEquals(new FingerprintHasher().putUnordered(Stream.of(f1, f2)).fingerprint(), new FingerprintHasher().putUnordered(Stream.of(f2, f1)).fingerprint());
+		assertNotEquals(new FingerprintHasher().putUnordered(Stream.of(f1, f2)).fingerprint(), new FingerprintHasher().putUnordered(Stream.of(f1)).fingerprint());
+	}
+	
+	@Test
+	void testFingerprintDoesNotChangeState() {
+		final FingerprintHasher hasher = new FingerprintHasher().putInt(1);
+		assertEquals(hasher.fingerprint(), hasher.fingerprint());
+	}
+
+}
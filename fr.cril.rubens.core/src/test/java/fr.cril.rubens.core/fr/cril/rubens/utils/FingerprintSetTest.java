@@ -0,0 +1,74 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class FingerprintSetTest {
+	
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void testAdd(final boolean offHeap) {
+		final FingerprintSet set = new FingerprintSet(offHeap);
+		assertEquals(offHeap, set.isOffHeap());
+		assertTrue(set.add(new Fingerprint(1, 2)));
+		assertFalse(set.add(new Fingerprint(1, 2)));
+		assertTrue(set.add(new Fingerprint(2, 1)));
+		assertTrue(set.contains(new Fingerprint(1, 2)));
+		assertFalse(set.contains(new Fingerprint(2, 2)));
+		assertEquals(2, set.size());
+	}
+	
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void testZero(final boolean offHeap) {
+		final FingerprintSet set = new FingerprintSet(offHeap);
+		assertFalse(set.contains(new Fingerprint(0, 0)));
+		assertTrue(set.add(new Fingerprint(0, 0)));
+		assertFalse(set.add(new Fingerprint(0, 0)));
+		assertTrue(set.contains(new Fingerprint(0, 0)));
+		assertEquals(1, set.size());
+	}
+	
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void testGrow(final boolean offHeap) {
+		final FingerprintSet set = new FingerprintSet(offHeap);
+		final int n = 10000;
+		for(int i=0; i<n; ++i) {
+			assertTrue(set.add(new FingerprintHasher().putInt(i).fingerprint()));
+		}
+		for(int i=0; i<n; ++i) {
+			assertFalse(set.add(new FingerprintHasher().putInt(i).fingerprint()));
+		}
+		assertEquals(n, set.size());
+	}
+
+}
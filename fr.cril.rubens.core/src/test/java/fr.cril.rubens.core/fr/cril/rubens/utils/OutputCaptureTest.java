@@ -0,0 +1,122 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class OutputCaptureTest {
+	
+	private String capture(final String content) throws InterruptedException {
+		final OutputCapture capture = OutputCapture.start(new ByteArrayInputStream(content.getBytes()));
+		assertTrue(capture.await(1, TimeUnit.MINUTES));
+		return capture.getContent();
+	}
+	
+	@Test
+	void testEmpty() throws InterruptedException {
+		assertEquals("", capture(""));
+	}
+	
+	@Test
+	void testLastLineTerminated() throws InterruptedException {
+		assertEquals("foo\nbar\n", capture("foo\nbar"));
+		assertEquals("foo\nbar\n", capture("foo\nbar\n"));
+	}
+	
+	@Test
+	void testLineTerminatorsNormalized() throws InterruptedException {
+		assertEquals("foo\nbar\nbaz\n", capture("foo\r\nbar\rbaz"));
+	}
+	
+	@Test
+	void testLargeContent() throws InterruptedException {
+		final String line = "0123456789abcdef\n";
+		assertEquals(line.repeat(10000), capture(line.repeat(10000)));
+	}
+
+	@Test
+	void testLimit() throws InterruptedException {
+		final AtomicBoolean called = new AtomicBoolean();
+		final OutputCapture capture = OutputCapture.start(new ByteArrayInputStream("0123456789".getBytes()), 4, () -> called.set(true));
+		assertTrue(capture.await(1, TimeUnit.MINUTES));
+		assertEquals("0123\n", capture.getContent());
+		assertTrue(capture.isLimitExceeded());
+		assertTrue(called.get());
+	}
+	
+	@Test
+	void testLimitNotExceeded() throws InterruptedException {
+		final AtomicBoolean called = new AtomicBoolean();
+		final OutputCapture capture = OutputCapture.start(new ByteArrayInputStream("0123456789".getBytes()), 10, () -> called.set(true));
+		assertTrue(capture.await(1, TimeUnit.MINUTES));
+		assertEquals("0123456789\n", capture.getContent());
+		assertFalse(capture.isLimitExceeded());
+		assertFalse(called.get());
+	}
+	
+	@Test
+	void testLineLimit() throws InterruptedException {
+		final List<String> lines = new ArrayList<>();
+		final OutputCapture capture = OutputCapture.start(new ByteArrayInputStream("foo\nbar\nbaz\n".getBytes()), lines::add, 6, () -> {});
+		assertTrue(capture.await(1, TimeUnit.MINUTES));
+		assertEquals(Arrays.asList("foo", "ba"), lines);
+		assertTrue(capture.isLimitExceeded());
+	}
+	
+	@Test
+	void testTail() throws InterruptedException {
+		final OutputCapture capture = OutputCapture.startTail(new ByteArrayInputStream("0123456789".getBytes()), 4);
+		assertTrue(capture.await(1, TimeUnit.MINUTES));
+		assertEquals("6789\n", capture.getContent());
+		assertFalse(capture.isLimitExceeded());
+	}
+	
+	@Test
+	void testLargeTail() throws InterruptedException {
+		final String line = "0123456789abcdef\n";
+		final OutputCapture capture = OutputCapture.startTail(new ByteArrayInputStream(line.repeat(10000).getBytes()), 100 * line.length());
+		assertTrue(capture.await(1, TimeUnit.MINUTES));
+		assertEquals(line.repeat(100), capture.getContent());
+	}
+	
+	@Test
+	void testDiscard() throws InterruptedException {
+		final OutputCapture capture = OutputCapture.startDiscarding(new ByteArrayInputStream("foo\n".getBytes()));
+		assertTrue(capture.await(1, TimeUnit.MINUTES));
+		assertEquals("", capture.getContent());
+	}
+
+}
@@ -0,0 +1,67 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+import fr.cril.rubens.testutils.StringInstance;
+
+class RandomHelperTest {
+	
+	@Test
+	void testSeed() {
+		final RandomHelper helper = RandomHelper.getInstance();
+		helper.setSeed(42);
+		assertEquals(42, helper.getSeed());
+	}
+	
+	@Test
+	void testSameInstanceSameRandom() {
+		final RandomHelper helper = RandomHelper.getInstance();
+		helper.setSeed(42);
+		final long expected = helper.newRandom(new StringInstance("12")).nextLong();
+		assertEquals(expected, helper.newRandom(new StringInstance("12")).nextLong());
+	}
+	
+	@Test
+	void testDifferentInstancesDifferentRandoms() {
+		final RandomHelper helper = RandomHelper.getInstance();
+		helper.setSeed(42);
+		assertNotEquals(helper.newRandom(new StringInstance("12")).nextLong(), helper.newRandom(new StringInstance("21")).nextLong());
+	}
+	
+	@Test
+	void testDifferentSeedsDifferentRandoms() {
+		final RandomHelper helper = RandomHelper.getInstance();
+		helper.setSeed(42);
+		final long first = helper.newRandom(new StringInstance("12")).nextLong();
+		helper.setSeed(43);
+		assertNotEquals(first, helper.newRandom(new StringInstance("12")).nextLong());
+	}
+
+}
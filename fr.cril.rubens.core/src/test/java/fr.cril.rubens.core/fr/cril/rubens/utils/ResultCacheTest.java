@@ -0,0 +1,121 @@
+package fr.cril.rubens.utils;
+
+/*-
+ * #%L
+ * RUBENS
+ * %%
+ * Copyright (C) 2019 Artois University and CNRS
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ * Contributors:
+ *   *   CRIL - initial API and implementation
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ResultCacheTest {
+	
+	private Path cacheDir;
+	
+	@BeforeEach
+	void setUp() throws IOException {
+		this.cacheDir = Files.createTempDirectory("rubens-cache-");
+	}
+	
+	@AfterEach
+	void tearDown() throws IOException {
+		try(final Stream<Path> paths = Files.walk(this.cacheDir)) {
+			for(final Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.delete(path);
+			}
+		}
+	}
+	
+	private List<Path> entries() throws IOException {
+		try(final Stream<Path> paths = Files.walk(this.cacheDir)) {
+			return paths.filter(Files::isRegularFile).collect(Collectors.toList());
+		}
+	}
+	
+	@Test
+	void testPutGet() throws IOException {
+		final ResultCache cache = new ResultCache(this.cacheDir, 0, Duration.ZERO);
+		final Fingerprint key = new Fingerprint(1, 2);
+		assertFalse(cache.get(key).isPresent());
+		cache.put(key, new SoftwareExecutorResult(3, false, "outé\n", "err\n", new ResourceUsage(4, 5, 6, 7)));
+		final Optional<SoftwareExecutorResult> result = new ResultCache(this.cacheDir, 0, Duration.ZERO).get(key);
+		assertTrue(result.isPresent());
+		assertEquals(3, result.get().getStatus());
+		assertFalse(result.get().hasTimeouted());
+		assertEquals("outé\n", result.get().getStdout());
+		assertEquals("err\n", result.get().getStderr());
+		assertEquals(4, result.get().getResourceUsage().getWallTime());
+		assertEquals(7, result.get().getResourceUsage().getPeakMemory());
+		assertFalse(cache.get(new Fingerprint(2, 1)).isPresent());
+	}
+	
+	@Test
+	void testUnreadableEntry() throws IOException {
+		final ResultCache cache = new ResultCache(this.cacheDir, 0, Duration.ZERO);
+		final Fingerprint key = new Fingerprint(1, 2);
+		cache.put(key, new SoftwareExecutorResult(0, false, "", ""));
+		Files.write(entries().get(0), "foo".getBytes());
+		assertFalse(cache.get(key).isPresent());
+		assertTrue(entries().isEmpty());
+	}
+	
+	@Test
+	void testEvictByAge() throws IOException {
+		final ResultCache cache = new ResultCache(this.cacheDir, 0, Duration.ofDays(1));
+		cache.put(new Fingerprint(1, 1), new SoftwareExecutorResult(0, false, "", ""));
+		cache.put(new Fingerprint(2, 2), new SoftwareExecutorResult(0, false, "", ""));
+		Files.setLastModifiedTime(entries().get(0), FileTime.fromMillis(System.currentTimeMillis() - Duration.ofDays(2).toMillis()));
+		cache.evict();
+		assertEquals(1, entries().size());
+	}
+	
+	@Test
+	void testEvictBySize() throws IOException {
+		final ResultCache cache = new ResultCache(this.cacheDir, 1000, Duration.ZERO);
+		final String output = "x".repeat(400);
+		final Fingerprint oldKey = new Fingerprint(1, 1);
+		cache.put(oldKey, new SoftwareExecutorResult(0, false, output, ""));
+		Files.setLastModifiedTime(entries().get(0), FileTime.fromMillis(System.currentTimeMillis() - 10000));
+		cache.put(new Fingerprint(2, 2), new SoftwareExecutorResult(0, false, output, ""));
+		cache.put(new Fingerprint(3, 3), new SoftwareExecutorResult(0, false, output, ""));
+		cache.evict();
+		assertEquals(2, entries().size());
+		assertFalse(cache.get(oldKey).isPresent());
+	}
+	
+}
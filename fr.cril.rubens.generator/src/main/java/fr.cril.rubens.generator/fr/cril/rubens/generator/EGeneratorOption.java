@@ -53,6 +53,45 @@ public enum EGeneratorOption implements IAppOption<GeneratorOptionsReader> {
 	/** set the generation tree max depth */
 	SET_DEPTH("d", "depth", true, "set the computation tree max depth", setMaxDepth()),
 	
+	/** set the generation tree traversal strategy */
+	SET_STRATEGY("s", "strategy", true, "set the computation tree traversal strategy (BFS, DFS, IDDFS or RW)", setTraversalStrategy()),
+	
+	/** set the number of threads used to expand the generation tree levels */
+	SET_THREADS("t", "threads", true, "set the number of threads used to expand the computation tree levels (BFS only)", setGenerationThreads()),
+	
+	/** set the index used to remove duplicate instances across the generation tree */
+	SET_DEDUPLICATION("u", "dedup", true, "set the index used to remove duplicates across the computation tree (none, heap or off-heap)", setDeduplicationIndex()),
+	
+	/** set the heap budget of the breadth-first search frontier */
+	SET_FRONTIER_BUDGET("f", "frontier-budget", true, "set the heap budget (in MB) above which the BFS frontier is spilled to disk (0 to disable)", setFrontierBudget()),
+	
+	/** set the directory in which the frontier is spilled */
+	SET_SPILL_DIR("F", "spill-dir", true, "set the directory in which the BFS frontier is spilled (defaults to the system temporary directory)", setSpillDirectory()),
+	
+	/** set the maximal number of generated instances */
+	SET_MAX_INSTANCES("n", "max-instances", true, "set the maximal number of generated instances (0 for no limit)", setMaxInstances()),
+	
+	/** set the maximal generation time */
+	SET_MAX_TIME("x", "max-time", true, "set the maximal generation time (in seconds), after which the current level is finished and the generation stops (0 for no limit)", setMaxTime()),
+	
+	/** set the maximal heap usage of the generation process */
+	SET_MAX_HEAP("y", "max-heap", true, "set the maximal heap usage (in MB), above which the current level is finished and the generation stops (0 for no limit)", setMaxHeap()),
+	
+	/** set the number of walks of the random walk strategy */
+	SET_WALKS("w", "walks", true, "set the number of walks performed by the random walk strategy (RW only)", setWalks()),
+	
+	/** set the size of the per-depth samples of the random walk strategy */
+	SET_RESERVOIR("r", "reservoir", true, "set the size of the sample kept for each depth by the random walk strategy (RW only, 0 to output every instance)", setReservoirSize()),
+	
+	/** set the instances output by each walk */
+	SET_WALK_EMISSION("W", "walk-emit", true, "set the instances output by each walk (leaves or all; RW only)", setWalkEmission()),
+	
+	/** set the shard of the generated instances */
+	SET_SHARD("z", "shard", true, "only keep the i-th of N shards of the generated instances (format: i/N, 0 <= i < N; requires a seed)", setShard()),
+	
+	/** set the seed of the random generators */
+	SET_SEED("Z", "seed", true, "set the seed of the random generators used to build the instances", setSeed()),
+	
 	/** display the license and exit */
 	DISPLAY_LICENCE("g", "license", false, "display the license and exit", displayLicense());
 
@@ -115,6 +154,58 @@ public enum EGeneratorOption implements IAppOption<GeneratorOptionsReader> {
 		return (o, s) -> o.setMaxDepth(s);
 	}
 	
+	private static BiConsumer<GeneratorOptionsReader, String> setTraversalStrategy() {
+		return (o, s) -> o.setTraversalStrategy(s);
+	}
+	
+	private static BiConsumer<GeneratorOptionsReader, String> setGenerationThreads() {
+		return (o, s) -> o.setGenerationThreads(s);
+	}
+	
+	private static BiConsumer<GeneratorOptionsReader, String> setDeduplicationIndex() {
+		return (o, s) -> o.setDeduplicationIndex(s);
+	}
+	
+	private static BiConsumer<GeneratorOptionsReader, String> setFrontierBudget() {
+		return (o, s) -> o.setFrontierBudget(s);
+	}
+	
+	private static BiConsumer<GeneratorOptionsReader, String> setSpillDirectory() {
+		return (o, s) -> o.setSpillDirectory(s);
+	}
+	
+	private static BiConsumer<GeneratorOptionsReader, String> setMaxInstances() {
+		return (o, s) -> o.setMaxInstances(s);
+	}
+	
+	private static BiConsumer<GeneratorOptionsReader, String> setMaxTime() {
+		return (o, s) -> o.setMaxTime(s);
+	}
+	
+	private static BiConsumer<GeneratorOptionsReader, String> setMaxHeap() {
+		return (o, s) -> o.setMaxHeap(s);
+	}
+	
+	private static BiConsumer<GeneratorOptionsReader, String> setWalks() {
+		return (o, s) -> o.setWalks(s);
+	}
+	
+	private static BiConsumer<GeneratorOptionsReader, String> setReservoirSize() {
+		return (o, s) -> o.setReservoirSize(s);
+	}
+	
+	private static BiConsumer<GeneratorOptionsReader, String> setWalkEmission() {
+		return (o, s) -> o.setWalkEmission(s);
+	}
+	
+	private static BiConsumer<GeneratorOptionsReader, String> setShard() {
+		return (o, s) -> o.setShard(s);
+	}
+	
+	private static BiConsumer<GeneratorOptionsReader, String> setSeed() {
+		return (o, s) -> o.setSeed(s);
+	}
+	
 	private static BiConsumer<GeneratorOptionsReader, String> displayLicense() {
 		return (o, s) -> o.printLicenseAndExit();
 	}
@@ -27,16 +27,20 @@ package fr.cril.rubens.generator;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 
+import fr.cril.rubens.core.EStopReason;
+import fr.cril.rubens.core.GenerationReport;
 import fr.cril.rubens.core.TestGenerator;
 import fr.cril.rubens.specs.Instance;
 import fr.cril.rubens.utils.FileUtils;
 import fr.cril.rubens.utils.GNUGPL3;
 import fr.cril.rubens.utils.LoggerHelper;
+import fr.cril.rubens.utils.RandomHelper;
 
 /**
  * Application entry-point for RUBENS instance generator.
@@ -106,7 +110,28 @@ public class Generator {
 			return;
 		}
 		final TestGenerator<Instance> generator = new TestGenerator<>(this.generatorOptions.getFactory());
-		generator.computeToDepth(this.generatorOptions.getMaxDepth(), this::outputInstance);
+		generator.setTraversalStrategy(this.generatorOptions.getTraversalStrategy());
+		generator.setParallelism(this.generatorOptions.getGenerationThreads());
+		generator.setDeduplicationIndex(this.generatorOptions.getDeduplicationIndex());
+		generator.setFrontierBudget(this.generatorOptions.getFrontierBudget() << 20);
+		if(this.generatorOptions.getSpillDirectory() != null) {
+			generator.setSpillDirectory(this.generatorOptions.getSpillDirectory().toPath());
+		}
+		generator.setMaxInstances(this.generatorOptions.getMaxInstances());
+		generator.setMaxTime(Duration.ofSeconds(this.generatorOptions.getMaxTime()));
+		generator.setMaxHeap(this.generatorOptions.getMaxHeap() << 20);
+		generator.setWalks(this.generatorOptions.getWalks());
+		generator.setReservoirSize(this.generatorOptions.getReservoirSize());
+		generator.setWalkEmission(this.generatorOptions.getWalkEmission());
+		generator.setShard(this.generatorOptions.getShardIndex(), this.generatorOptions.getShardCount());
+		if(this.generatorOptions.getSeed() != null) {
+			RandomHelper.getInstance().setSeed(this.generatorOptions.getSeed());
+		}
+		LOGGER.info("using random seed {}", RandomHelper.getInstance().getSeed());
+		final GenerationReport report = generator.computeToDepth(this.generatorOptions.getMaxDepth(), this::outputInstance);
+		if(report.getStopReason() != EStopReason.COMPLETED) {
+			LOGGER.info("generation stopped early at depth {} ({})", report.getDepth(), report.getStopReason());
+		}
 		final Supplier<String> strTimeSupplier = () -> String.format("%.3f", (System.currentTimeMillis() - startTime)/1000f);
 		LOGGER.info("generated {} instances in {}s", this.instanceCount, strTimeSupplier.get());
 	}
@@ -178,6 +178,26 @@ class GeneratorOptionsReaderTest {
 		assertEquals(GeneratorOptionsReader.STATUS_OPTIONS_EXIT_ERROR, this.optReader.exitStatus());
 	}
 	
+	@Test
+	void testShardWithSeed() throws IOException {
+		final Path file = Files.createTempDirectory(TMPFILE_PREFIX);
+		tempFiles.add(file);
+		this.optReader.loadOptions(new String[] {"-o", file.toString(), "-m", "CNF", "-z", "1/2", "-Z", "42"});
+		assertFalse(this.optReader.mustExit());
+		assertEquals(1, this.optReader.getShardIndex());
+		assertEquals(2, this.optReader.getShardCount());
+		assertEquals(42L, this.optReader.getSeed());
+	}
+	
+	@Test
+	void testShardWithoutSeed() throws IOException {
+		final Path file = Files.createTempDirectory(TMPFILE_PREFIX);
+		tempFiles.add(file);
+		this.optReader.loadOptions(new String[] {"-o", file.toString(), "-m", "CNF", "-z", "1/2"});
+		assertTrue(this.optReader.mustExit());
+		assertEquals(GeneratorOptionsReader.STATUS_OPTIONS_EXIT_ERROR, this.optReader.exitStatus());
+	}
+	
 	@AfterAll
 	public static void tearDownAfterClass() {
 		for(final Path p : tempFiles) {